@@ -0,0 +1,17 @@
+package jandas.base.data;
+
+/**
+ * Lugar donde una columna numérica guarda sus valores y su mapa de bits de validez.
+ */
+public enum Almacenamiento {
+
+    /** Arreglos primitivos en el heap de la JVM, liberados por el recolector de basura. */
+    HEAP,
+
+    /**
+     * Segmentos de memoria nativa ({@link java.lang.foreign.MemorySegment}) fuera del heap.
+     * Solo aplica a las columnas {@code Integer}, {@code Long} y {@code Double}; la memoria
+     * se libera al cerrar la columna o la tabla ({@link Tabla#close()}).
+     */
+    FUERA_HEAP
+}
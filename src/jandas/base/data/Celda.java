@@ -76,7 +76,7 @@ public class Celda<T> {
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
-        if (obj == null || getClass() != obj.getClass()) return false;
+        if (!(obj instanceof Celda)) return false;
 
         Celda<?> other = (Celda<?>) obj;
         return valor != null ? valor.equals(other.valor) : other.valor == null;
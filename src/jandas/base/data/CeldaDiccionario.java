@@ -0,0 +1,58 @@
+package jandas.base.data;
+
+/**
+ * Celda de una {@link ColumnaDiccionario} que, además del valor, conserva su código
+ * en el diccionario de la columna.
+ * <p>
+ * Permite que las operaciones que reciben filas (por ejemplo, los filtros) comparen
+ * códigos enteros en lugar de cadenas.
+ */
+public class CeldaDiccionario extends Celda<String> {
+
+    /** Diccionario al que pertenece el código. */
+    private final Diccionario diccionario;
+
+    /** Código del valor en el diccionario, o -1 si el valor no pertenece a él. */
+    private int codigo;
+
+    /**
+     * Crea una celda a partir de un código del diccionario.
+     *
+     * @param diccionario Diccionario de la columna.
+     * @param codigo Código del valor.
+     */
+    public CeldaDiccionario(Diccionario diccionario, int codigo) {
+        super(diccionario.getValor(codigo));
+        this.diccionario = diccionario;
+        this.codigo = codigo;
+    }
+
+    /**
+     * Devuelve el código del valor en el diccionario.
+     *
+     * @return Código del valor, o -1 si el valor fue modificado a uno fuera del diccionario o a NA.
+     */
+    public int getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Devuelve el diccionario al que pertenece el código.
+     *
+     * @return Diccionario de la celda.
+     */
+    public Diccionario getDiccionario() {
+        return diccionario;
+    }
+
+    /**
+     * Asigna un nuevo valor a la celda y actualiza su código sin modificar el diccionario.
+     *
+     * @param valor Nuevo valor a establecer. Puede ser {@code null} para representar NA.
+     */
+    @Override
+    public void setValor(String valor) {
+        super.setValor(valor);
+        this.codigo = valor == null ? -1 : diccionario.buscarCodigo(valor);
+    }
+}
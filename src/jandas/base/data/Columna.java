@@ -3,13 +3,23 @@ package jandas.base.data;
 import jandas.base.etiquetas.Etiqueta;
 import jandas.excepciones.JandasException;
 
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * Representa una columna de una tabla en el sistema Jandas.
  * Cada columna tiene una etiqueta, un tipo de dato y una lista de celdas que almacenan los valores.
+ * <p>
+ * Para los tipos {@code Integer}, {@code Long}, {@code Double} y {@code Boolean} existen
+ * implementaciones especializadas respaldadas por arreglos primitivos ({@link ColumnaInt},
+ * {@link ColumnaLong}, {@link ColumnaDouble}, {@link ColumnaBoolean}), que se obtienen mediante
+ * {@link #crear(Etiqueta, Class)}. Las columnas numéricas pueden guardarse además fuera del heap
+ * mediante {@link #crear(Etiqueta, Class, Almacenamiento)}.
  *
  * @param <T> Tipo de dato contenido en la columna (Integer, String, etc.).
  */
@@ -19,6 +29,12 @@ public class Columna<T> {
     private Etiqueta etiqueta;
     private Class<T> tipo;
 
+    /** Vistas de selección creadas sobre esta columna, que se materializan antes de modificarla. */
+    private List<WeakReference<ColumnaSeleccion<T>>> vistas;
+
+    /** Tamaño de {@link #vistas} a partir del cual se descartan las referencias ya liberadas. */
+    private int limiteVistas;
+
     /**
      * Crea una nueva columna con una etiqueta y un tipo de dato especificado.
      *
@@ -27,6 +43,18 @@ public class Columna<T> {
      * @throws JandasException Si la etiqueta o el tipo son null.
      */
     public Columna(Etiqueta etiqueta, Class<T> tipo) {
+        this(etiqueta, tipo, new ArrayList<>());
+    }
+
+    /**
+     * Constructor base para las subclases que administran su propio almacenamiento.
+     *
+     * @param etiqueta Etiqueta asociada a la columna (no debe ser null).
+     * @param tipo Clase que representa el tipo de dato de la columna (no debe ser null).
+     * @param celdas Lista de celdas a usar como almacenamiento, o {@code null} si la subclase no la utiliza.
+     * @throws JandasException Si la etiqueta o el tipo son null.
+     */
+    protected Columna(Etiqueta etiqueta, Class<T> tipo, List<Celda<T>> celdas) {
         if (etiqueta == null) {
             throw new JandasException("La etiqueta no puede ser null");
         }
@@ -36,7 +64,318 @@ public class Columna<T> {
 
         this.etiqueta = etiqueta;
         this.tipo = tipo;
-        this.celdas = new ArrayList<>();
+        this.celdas = celdas;
+    }
+
+    /**
+     * Crea una columna vacía usando la implementación más adecuada para el tipo indicado.
+     * <p>
+     * Los tipos {@code Integer}, {@code Long}, {@code Double} y {@code Boolean} se almacenan
+     * en arreglos primitivos con un mapa de bits para los NA; el resto usa celdas genéricas.
+     *
+     * @param <T> Tipo de dato de la columna.
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @param tipo Clase que representa el tipo de dato de la columna.
+     * @return Nueva columna vacía.
+     * @throws JandasException Si la etiqueta o el tipo son null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Columna<T> crear(Etiqueta etiqueta, Class<T> tipo) {
+        if (tipo == Integer.class) {
+            return (Columna<T>) new ColumnaInt(etiqueta);
+        } else if (tipo == Long.class) {
+            return (Columna<T>) new ColumnaLong(etiqueta);
+        } else if (tipo == Double.class) {
+            return (Columna<T>) new ColumnaDouble(etiqueta);
+        } else if (tipo == Boolean.class) {
+            return (Columna<T>) new ColumnaBoolean(etiqueta);
+        }
+        return new Columna<>(etiqueta, tipo);
+    }
+
+    /**
+     * Crea una columna vacía con el almacenamiento indicado.
+     * <p>
+     * Con {@link Almacenamiento#FUERA_HEAP}, los tipos {@code Integer}, {@code Long} y
+     * {@code Double} guardan sus valores y su mapa de bits en memoria nativa, que debe liberarse
+     * con {@link #cerrar()}; el resto de los tipos se crea igual que con {@link #crear(Etiqueta, Class)}.
+     * </p>
+     *
+     * @param <T> Tipo de dato de la columna.
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @param tipo Clase que representa el tipo de dato de la columna.
+     * @param almacenamiento Dónde se guardan los valores.
+     * @return Nueva columna vacía.
+     * @throws JandasException Si la etiqueta, el tipo o el almacenamiento son null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Columna<T> crear(Etiqueta etiqueta, Class<T> tipo, Almacenamiento almacenamiento) {
+        if (almacenamiento == null) {
+            throw new JandasException("El almacenamiento no puede ser null");
+        }
+        if (almacenamiento == Almacenamiento.FUERA_HEAP) {
+            if (tipo == Integer.class) {
+                return (Columna<T>) new ColumnaIntFueraHeap(etiqueta);
+            } else if (tipo == Long.class) {
+                return (Columna<T>) new ColumnaLongFueraHeap(etiqueta);
+            } else if (tipo == Double.class) {
+                return (Columna<T>) new ColumnaDoubleFueraHeap(etiqueta);
+            }
+        }
+        return crear(etiqueta, tipo);
+    }
+
+    /**
+     * Crea una columna {@code Integer}, {@code Long} o {@code Double} proyectada en memoria desde
+     * una región de un archivo, sin leerla: el sistema operativo carga las páginas a medida que se
+     * recorren. La región contiene los {@code filas} valores contiguos en el orden de bytes nativo
+     * (las posiciones NA con 0, o {@code NaN} en las decimales) seguidos, a partir del siguiente
+     * múltiplo de 8, por el mapa de bits de validez en palabras {@code long}.
+     * <p>
+     * La columna es fuera del heap y debe cerrarse con {@link #cerrar()}. El archivo nunca se
+     * modifica: la primera escritura copia los valores a memoria nativa propia.
+     * </p>
+     *
+     * @param <T> Tipo de dato de la columna.
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @param tipo {@code Integer}, {@code Long} o {@code Double}.
+     * @param archivo Archivo que contiene la región.
+     * @param posicion Byte inicial de la región; debe ser múltiplo de 8.
+     * @param filas Cantidad de valores de la columna.
+     * @return Columna respaldada por el archivo.
+     * @throws JandasException Si el tipo no es numérico o no se puede proyectar el archivo.
+     */
+    public static <T> Columna<T> mapear(Etiqueta etiqueta, Class<T> tipo, Path archivo, long posicion, int filas) {
+        return mapear(etiqueta, tipo, archivo, posicion, filas, null);
+    }
+
+    /**
+     * Crea una columna proyectada como {@link #mapear(Etiqueta, Class, Path, long, int)} que además
+     * conoce las estadísticas por grupos de filas de los valores del archivo. La columna las
+     * informa en {@link #getEstadisticasGrupos()} mientras no se modifique.
+     *
+     * @param <T> Tipo de dato de la columna.
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @param tipo {@code Integer}, {@code Long} o {@code Double}.
+     * @param archivo Archivo que contiene la región.
+     * @param posicion Byte inicial de la región; debe ser múltiplo de 8.
+     * @param filas Cantidad de valores de la columna.
+     * @param estadisticas Estadísticas de los valores de la región, o null si no se conocen.
+     * @return Columna respaldada por el archivo.
+     * @throws JandasException Si el tipo no es numérico, las estadísticas no corresponden a la
+     *                         cantidad de filas o no se puede proyectar el archivo.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Columna<T> mapear(Etiqueta etiqueta, Class<T> tipo, Path archivo, long posicion, int filas,
+                                        EstadisticasGrupos estadisticas) {
+        validarEstadisticas(estadisticas, filas);
+        int ancho = anchoFijo(tipo);
+        if (ancho == 0) {
+            throw new JandasException("Solo pueden proyectarse columnas Integer, Long o Double: " + tipo);
+        }
+        long bytesValores = (long) filas * ancho;
+        long inicioValidos = posicion + ((bytesValores + Long.BYTES - 1) & -Long.BYTES);
+        SegmentoFueraHeap valores = SegmentoFueraHeap.mapear(archivo, posicion, bytesValores);
+        SegmentoFueraHeap validos;
+        try {
+            validos = SegmentoFueraHeap.mapear(archivo, inicioValidos,
+                    (long) ColumnaPrimitiva.palabras(filas) * Long.BYTES);
+        } catch (JandasException e) {
+            valores.cerrar();
+            throw e;
+        }
+        if (tipo == Integer.class) {
+            return (Columna<T>) new ColumnaIntFueraHeap(etiqueta, valores, validos, filas, estadisticas);
+        } else if (tipo == Long.class) {
+            return (Columna<T>) new ColumnaLongFueraHeap(etiqueta, valores, validos, filas, estadisticas);
+        }
+        return (Columna<T>) new ColumnaDoubleFueraHeap(etiqueta, valores, validos, filas, estadisticas);
+    }
+
+    /**
+     * Crea una columna que se carga recién la primera vez que se lee. Mientras tanto conoce su
+     * etiqueta, su tipo y su cantidad de filas, de modo que una tabla puede abrirse sin leer
+     * las columnas que ninguna operación recorre.
+     *
+     * @param <T> Tipo de dato de la columna.
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @param tipo Clase que representa el tipo de dato de la columna.
+     * @param filas Cantidad de filas que tendrá la columna cargada.
+     * @param cargador Función que carga la columna; se invoca una sola vez.
+     * @return Columna de carga diferida.
+     * @throws JandasException Si la etiqueta, el tipo o el cargador son null.
+     */
+    public static <T> Columna<T> diferir(Etiqueta etiqueta, Class<T> tipo, int filas, Supplier<Columna<T>> cargador) {
+        return diferir(etiqueta, tipo, filas, null, cargador);
+    }
+
+    /**
+     * Crea una columna de carga diferida como {@link #diferir(Etiqueta, Class, int, Supplier)} que
+     * además conoce las estadísticas por grupos de filas de los valores que cargará, de modo que
+     * un filtro puede descartar grupos, o la columna entera, sin cargarla.
+     *
+     * @param <T> Tipo de dato de la columna.
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @param tipo Clase que representa el tipo de dato de la columna.
+     * @param filas Cantidad de filas que tendrá la columna cargada.
+     * @param estadisticas Estadísticas de los valores a cargar, o null si no se conocen.
+     * @param cargador Función que carga la columna; se invoca una sola vez.
+     * @return Columna de carga diferida.
+     * @throws JandasException Si la etiqueta, el tipo o el cargador son null, o las estadísticas
+     *                         no corresponden a la cantidad de filas.
+     */
+    public static <T> Columna<T> diferir(Etiqueta etiqueta, Class<T> tipo, int filas, EstadisticasGrupos estadisticas,
+                                         Supplier<Columna<T>> cargador) {
+        if (cargador == null) {
+            throw new JandasException("El cargador no puede ser null");
+        }
+        validarEstadisticas(estadisticas, filas);
+        return new ColumnaDiferida<>(etiqueta, tipo, filas, estadisticas, cargador);
+    }
+
+    /**
+     * Verifica que unas estadísticas por grupos describan la cantidad de filas indicada.
+     *
+     * @param estadisticas Estadísticas a verificar; null no se verifica.
+     * @param filas Cantidad de filas de la columna.
+     * @throws JandasException Si las estadísticas describen otra cantidad de filas.
+     */
+    private static void validarEstadisticas(EstadisticasGrupos estadisticas, int filas) {
+        if (estadisticas != null && estadisticas.getFilas() != filas) {
+            throw new JandasException("Las estadísticas describen " + estadisticas.getFilas()
+                    + " filas pero la columna tiene " + filas);
+        }
+    }
+
+    /**
+     * Devuelve el ancho en bytes de cada valor de los tipos que pueden guardarse fuera del heap.
+     *
+     * @param tipo Tipo de dato de la columna.
+     * @return 4 para {@code Integer}, 8 para {@code Long} y {@code Double}, 0 para el resto.
+     */
+    public static int anchoFijo(Class<?> tipo) {
+        if (tipo == Integer.class) {
+            return Integer.BYTES;
+        } else if (tipo == Long.class || tipo == Double.class) {
+            return Long.BYTES;
+        }
+        return 0;
+    }
+
+    /**
+     * Crea una columna vacía con la misma implementación de almacenamiento que esta.
+     * Se usa al derivar columnas (filtrar, copiar, seleccionar filas) para conservar,
+     * por ejemplo, la codificación por diccionario.
+     *
+     * @param etiqueta Etiqueta de la nueva columna.
+     * @return Nueva columna vacía del mismo tipo de dato.
+     */
+    public Columna<T> crearVacia(Etiqueta etiqueta) {
+        return crear(etiqueta, tipo);
+    }
+
+    /**
+     * Crea una nueva columna, con la misma etiqueta y almacenamiento, que contiene
+     * solo las filas indicadas y en el orden indicado.
+     *
+     * @param indices Posiciones de las filas a copiar.
+     * @return Nueva columna con los valores seleccionados.
+     * @throws JandasException Si algún índice es inválido.
+     */
+    public Columna<T> seleccionarFilas(int[] indices) {
+        Columna<T> nueva = crearVacia(etiqueta);
+        for (int indice : indices) {
+            nueva.agregarCelda(new Celda<>(getCelda(indice).getValor()));
+        }
+        return nueva;
+    }
+
+    /**
+     * Crea una vista, sin copiar valores, de las filas indicadas y en el orden indicado.
+     * <p>
+     * La vista lee los valores de esta columna hasta que alguna de las dos se modifique:
+     * si se modifica la vista, copia sus filas; si se reemplazan o eliminan celdas de esta
+     * columna, las vistas copian antes sus filas. Agregar celdas al final no afecta a las vistas.
+     * </p>
+     *
+     * @param indices Posiciones de las filas a seleccionar.
+     * @return Vista de selección con la misma etiqueta y tipo de dato.
+     * @throws JandasException Si algún índice es inválido.
+     */
+    public Columna<T> seleccionVista(int[] indices) {
+        for (int indice : indices) {
+            validarIndice(indice);
+        }
+        ColumnaSeleccion<T> vista = new ColumnaSeleccion<>(this, indices);
+        if (vistas == null) {
+            vistas = new ArrayList<>();
+            limiteVistas = 16;
+        } else if (vistas.size() >= limiteVistas) {
+            // Depuración amortizada: el límite crece con las vistas que siguen vigentes
+            vistas.removeIf(referencia -> referencia.get() == null);
+            limiteVistas = Math.max(16, vistas.size() * 2);
+        }
+        vistas.add(new WeakReference<>(vista));
+        return vista;
+    }
+
+    /**
+     * Devuelve la columna que almacena los valores. Las columnas concretas se devuelven
+     * a sí mismas; las vistas de selección copian sus filas la primera vez.
+     * <p>
+     * Las operaciones que dependen de la implementación de almacenamiento (por ejemplo,
+     * los códigos de {@link ColumnaDiccionario}) la usan para acceder a ella a través de una vista.
+     * </p>
+     *
+     * @return Columna con almacenamiento propio.
+     */
+    public Columna<T> materializar() {
+        return this;
+    }
+
+    /**
+     * Indica dónde guarda sus valores la columna.
+     *
+     * @return {@link Almacenamiento#HEAP} salvo en las columnas respaldadas por memoria nativa.
+     */
+    public Almacenamiento getAlmacenamiento() {
+        return Almacenamiento.HEAP;
+    }
+
+    /**
+     * Devuelve las estadísticas por grupos de filas de los valores de la columna, si se conocen.
+     * Solo las columnas abiertas desde un archivo que las guarda las conocen, y dejan de
+     * informarlas en cuanto se modifican.
+     *
+     * @return Estadísticas vigentes, o null si no se conocen.
+     */
+    public EstadisticasGrupos getEstadisticasGrupos() {
+        return null;
+    }
+
+    /**
+     * Libera la memoria que la columna reserva fuera del heap. En las columnas del heap no
+     * tiene efecto. Después de cerrarla, la columna y las vistas de selección que leen de ella
+     * ya no pueden leerse. Cerrar más de una vez no tiene efecto.
+     */
+    public void cerrar() {
+    }
+
+    /**
+     * Materializa las vistas de selección vigentes de esta columna. Se invoca antes de
+     * reemplazar o eliminar celdas, para que las vistas conserven sus valores.
+     */
+    protected void desacoplarVistas() {
+        if (vistas == null) {
+            return;
+        }
+        for (WeakReference<ColumnaSeleccion<T>> referencia : vistas) {
+            ColumnaSeleccion<T> vista = referencia.get();
+            if (vista != null) {
+                vista.materializar();
+            }
+        }
+        vistas = null;
     }
 
     /**
@@ -88,10 +427,7 @@ public class Columna<T> {
      * @throws JandasException Si el índice es inválido.
      */
     public Celda<T> getCelda(int indice) {
-        if (indice < 0 || indice >= celdas.size()) {
-            throw new JandasException(String.format(
-                "Índice inválido: %d. Debe estar entre 0 y %d", indice, celdas.size() - 1));
-        }
+        validarIndice(indice);
         return celdas.get(indice);
     }
 
@@ -103,16 +439,126 @@ public class Columna<T> {
      * @throws JandasException Si el índice es inválido o la celda es null.
      */
     public void setCelda(int indice, Celda<T> celda) {
-        if (indice < 0 || indice >= celdas.size()) {
-            throw new JandasException(String.format(
-                "Índice inválido: %d. Debe estar entre 0 y %d", indice, celdas.size() - 1));
-        }
+        validarIndice(indice);
         if (celda == null) {
             throw new JandasException("La celda no puede ser null");
         }
+        desacoplarVistas();
         celdas.set(indice, celda);
     }
 
+    /**
+     * Elimina la celda en la posición indicada, desplazando las siguientes.
+     *
+     * @param indice Índice de la celda a eliminar.
+     * @throws JandasException Si el índice es inválido.
+     */
+    public void eliminarCelda(int indice) {
+        validarIndice(indice);
+        desacoplarVistas();
+        celdas.remove(indice);
+    }
+
+    /**
+     * Indica si el valor en la posición indicada es NA, sin crear una {@link Celda}.
+     *
+     * @param indice Índice de la celda.
+     * @return true si el valor es NA; false en caso contrario.
+     * @throws JandasException Si el índice es inválido.
+     */
+    public boolean isNA(int indice) {
+        return getCelda(indice).esNA();
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code int}.
+     * Las celdas NA devuelven 0; usar {@link #isNA(int)} para distinguirlas.
+     *
+     * @param indice Índice de la celda.
+     * @return Valor entero de la celda.
+     * @throws JandasException Si el índice es inválido o el valor no es numérico.
+     */
+    public int getInt(int indice) {
+        Number numero = getNumero(indice);
+        return numero == null ? 0 : numero.intValue();
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code long}.
+     * Las celdas NA devuelven 0; usar {@link #isNA(int)} para distinguirlas.
+     *
+     * @param indice Índice de la celda.
+     * @return Valor entero largo de la celda.
+     * @throws JandasException Si el índice es inválido o el valor no es numérico.
+     */
+    public long getLong(int indice) {
+        Number numero = getNumero(indice);
+        return numero == null ? 0L : numero.longValue();
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code double}.
+     * Las celdas NA devuelven {@link Double#NaN}; usar {@link #isNA(int)} para distinguirlas.
+     *
+     * @param indice Índice de la celda.
+     * @return Valor decimal de la celda.
+     * @throws JandasException Si el índice es inválido o el valor no es numérico.
+     */
+    public double getDouble(int indice) {
+        Number numero = getNumero(indice);
+        return numero == null ? Double.NaN : numero.doubleValue();
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code boolean}.
+     * Las celdas NA devuelven {@code false}; usar {@link #isNA(int)} para distinguirlas.
+     *
+     * @param indice Índice de la celda.
+     * @return Valor booleano de la celda.
+     * @throws JandasException Si el índice es inválido o el valor no es booleano.
+     */
+    public boolean getBoolean(int indice) {
+        Object valor = getCelda(indice).getValor();
+        if (valor == null) {
+            return false;
+        }
+        if (!(valor instanceof Boolean)) {
+            throw JandasException.tipoIncompatible(Boolean.class, valor.getClass());
+        }
+        return (Boolean) valor;
+    }
+
+    /**
+     * Obtiene el valor numérico de una celda, o null si es NA.
+     *
+     * @param indice Índice de la celda.
+     * @return Valor numérico o null.
+     * @throws JandasException Si el valor no es numérico.
+     */
+    private Number getNumero(int indice) {
+        Object valor = getCelda(indice).getValor();
+        if (valor == null) {
+            return null;
+        }
+        if (!(valor instanceof Number)) {
+            throw JandasException.tipoIncompatible(Number.class, valor.getClass());
+        }
+        return (Number) valor;
+    }
+
+    /**
+     * Verifica que el índice esté dentro del rango de la columna.
+     *
+     * @param indice Índice a validar.
+     * @throws JandasException Si el índice es inválido.
+     */
+    protected void validarIndice(int indice) {
+        if (indice < 0 || indice >= size()) {
+            throw new JandasException(String.format(
+                "Índice inválido: %d. Debe estar entre 0 y %d", indice, size() - 1));
+        }
+    }
+
     /**
      * Devuelve el tipo de dato almacenado en la columna.
      *
@@ -127,6 +573,17 @@ public class Columna<T> {
      */
     public List<Celda<T>> getCeldas() {return new ArrayList<>(celdas);}
 
+    /**
+     * Devuelve una vista inmodificable de las celdas de la columna, sin copiarlas.
+     * <p>
+     * La vista refleja los cambios posteriores de la columna. Las celdas obtenidas
+     * a través de ella no deben modificarse; para obtener celdas independientes
+     * usar {@link #getCeldas()}.
+     *
+     * @return Vista de solo lectura de las celdas.
+     */
+    public List<Celda<T>> vista() {return Collections.unmodifiableList(celdas);}
+
     /**
      * Devuelve la etiqueta asociada a esta columna.
      *
@@ -146,10 +603,11 @@ public class Columna<T> {
      *
      * @return true si no hay celdas; false en caso contrario.
      */
-    public boolean isEmpty() {return celdas.isEmpty();}
+    public boolean isEmpty() {return size() == 0;}
 
     /**
      * Compara esta columna con otra para verificar si son iguales.
+     * La comparación es por contenido, independientemente de la implementación de almacenamiento.
      *
      * @param obj Objeto a comparar.
      * @return true si tienen la misma etiqueta, tipo y celdas; false en caso contrario.
@@ -157,12 +615,20 @@ public class Columna<T> {
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
-        if (obj == null || getClass() != obj.getClass()) return false;
+        if (!(obj instanceof Columna)) return false;
 
         Columna<?> other = (Columna<?>) obj;
-        return Objects.equals(etiqueta, other.etiqueta) &&
-                Objects.equals(tipo, other.tipo) &&
-                Objects.equals(celdas, other.celdas);
+        if (!Objects.equals(etiqueta, other.etiqueta) ||
+                !Objects.equals(tipo, other.tipo) ||
+                size() != other.size()) {
+            return false;
+        }
+        for (int i = 0; i < size(); i++) {
+            if (!getCelda(i).equals(other.getCelda(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -172,7 +638,11 @@ public class Columna<T> {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(etiqueta, tipo, celdas);
+        int hash = Objects.hash(etiqueta, tipo);
+        for (int i = 0; i < size(); i++) {
+            hash = 31 * hash + getCelda(i).hashCode();
+        }
+        return hash;
     }
 
 
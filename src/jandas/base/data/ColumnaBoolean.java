@@ -0,0 +1,148 @@
+package jandas.base.data;
+
+import jandas.base.etiquetas.Etiqueta;
+import jandas.excepciones.JandasException;
+
+import java.util.Arrays;
+
+/**
+ * Columna de valores {@code boolean} empaquetados en un mapa de bits.
+ * <p>
+ * Cada valor ocupa un bit; los NA se registran en el mapa de bits de validez
+ * heredado de {@link ColumnaPrimitiva}.
+ */
+public class ColumnaBoolean extends ColumnaPrimitiva<Boolean> {
+
+    /** Valores de la columna, un bit por fila; las posiciones NA contienen 0. */
+    private long[] valores;
+
+    /** Capacidad en bits del arreglo de valores. */
+    private int capacidad;
+
+    /**
+     * Crea una columna de tipo {@code Boolean} vacía.
+     *
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @throws JandasException Si la etiqueta es null.
+     */
+    public ColumnaBoolean(Etiqueta etiqueta) {
+        super(etiqueta, Boolean.class);
+        this.capacidad = CAPACIDAD_INICIAL;
+        this.valores = new long[palabras(CAPACIDAD_INICIAL)];
+    }
+
+    /**
+     * Crea una columna de tipo {@code Boolean} que adopta los mapas de bits indicados sin
+     * copiarlos, para cargar valores en bloque. Los bits de las posiciones NA deben estar en 0.
+     *
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @param valores Mapa de bits de los valores; la columna pasa a ser su dueña.
+     * @param validos Mapa de bits de validez; la columna pasa a ser su dueña.
+     * @param tamanio Cantidad de valores de la columna.
+     * @throws JandasException Si algún argumento es null o los mapas no alcanzan para {@code tamanio} valores.
+     */
+    public ColumnaBoolean(Etiqueta etiqueta, long[] valores, long[] validos, int tamanio) {
+        super(etiqueta, Boolean.class, validos, tamanio, valores == null ? 0 : valores.length * Long.SIZE);
+        if (valores == null || valores.length < palabras(tamanio)) {
+            throw new JandasException("El mapa de valores no alcanza para " + tamanio + " valores");
+        }
+        this.valores = valores;
+        this.capacidad = valores.length * Long.SIZE;
+    }
+
+    /**
+     * Agrega un valor {@code boolean} al final de la columna sin crear objetos intermedios.
+     *
+     * @param valor Valor a agregar.
+     */
+    public void agregarBoolean(boolean valor) {
+        asegurarCapacidad(tamanio + 1);
+        escribirBit(valores, tamanio, valor);
+        marcarValido(tamanio, true);
+        tamanio++;
+    }
+
+    /**
+     * Devuelve el valor booleano en la posición indicada sin crear objetos.
+     * Las posiciones NA devuelven {@code false}; usar {@link #isNA(int)} para distinguirlas.
+     *
+     * @param indice Índice del valor.
+     * @return Valor booleano.
+     * @throws JandasException Si el índice es inválido.
+     */
+    @Override
+    public boolean getBoolean(int indice) {
+        validarIndice(indice);
+        return leerBit(valores, indice);
+    }
+
+    /**
+     * Devuelve la capacidad en bits del arreglo de valores.
+     *
+     * @return Capacidad del almacenamiento.
+     */
+    @Override
+    protected int capacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Redimensiona el arreglo de valores a la capacidad indicada.
+     *
+     * @param nuevaCapacidad Nueva capacidad en bits.
+     */
+    @Override
+    protected void redimensionar(int nuevaCapacidad) {
+        valores = Arrays.copyOf(valores, palabras(nuevaCapacidad));
+        capacidad = nuevaCapacidad;
+    }
+
+    /**
+     * Lee el valor almacenado en una posición válida.
+     *
+     * @param indice Posición a leer.
+     * @return Valor envuelto.
+     */
+    @Override
+    protected Boolean leerValor(int indice) {
+        return leerBit(valores, indice);
+    }
+
+    /**
+     * Escribe un valor booleano en una posición.
+     *
+     * @param indice Posición a escribir.
+     * @param valor Valor a almacenar (no null).
+     * @throws JandasException Si el valor no es {@code Boolean}.
+     */
+    @Override
+    protected void escribirValor(int indice, Object valor) {
+        if (!(valor instanceof Boolean)) {
+            throw JandasException.tipoIncompatible(Boolean.class, valor.getClass());
+        }
+        escribirBit(valores, indice, (Boolean) valor);
+    }
+
+    /**
+     * Limpia el bit de valor de una posición NA.
+     *
+     * @param indice Posición a limpiar.
+     */
+    @Override
+    protected void limpiarValor(int indice) {
+        escribirBit(valores, indice, false);
+    }
+
+    /**
+     * Desplaza una posición hacia la izquierda los bits a partir de {@code desde}.
+     *
+     * @param desde Primera posición a desplazar.
+     */
+    @Override
+    protected void desplazarValores(int desde) {
+        for (int i = desde; i < tamanio - 1; i++) {
+            escribirBit(valores, i, leerBit(valores, i + 1));
+        }
+        escribirBit(valores, tamanio - 1, false);
+    }
+}
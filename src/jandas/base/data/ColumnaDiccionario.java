@@ -0,0 +1,253 @@
+package jandas.base.data;
+
+import jandas.base.etiquetas.Etiqueta;
+import jandas.excepciones.JandasException;
+
+import java.util.Arrays;
+
+/**
+ * Columna de cadenas codificada por diccionario.
+ * <p>
+ * Cada fila guarda un código entero que referencia un valor de un {@link Diccionario}
+ * compartido, de modo que los valores repetidos se almacenan una sola vez. Es adecuada para
+ * columnas de baja cardinalidad (códigos de aerolínea, aeropuertos, equipos, etc.).
+ * Las comparaciones de igualdad, agrupamientos y ordenamientos pueden trabajar directamente
+ * sobre los códigos mediante {@link #getCodigo(int)} y {@link Diccionario#rangos()}.
+ */
+public class ColumnaDiccionario extends ColumnaPrimitiva<String> {
+
+    /** Códigos de los valores; las posiciones NA contienen -1. */
+    private int[] codigos;
+
+    /** Diccionario que traduce códigos a cadenas. */
+    private final Diccionario diccionario;
+
+    /**
+     * Crea una columna codificada vacía con un diccionario propio.
+     *
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @throws JandasException Si la etiqueta es null.
+     */
+    public ColumnaDiccionario(Etiqueta etiqueta) {
+        this(etiqueta, new Diccionario());
+    }
+
+    /**
+     * Crea una columna codificada vacía que comparte el diccionario indicado.
+     *
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @param diccionario Diccionario a utilizar (no null).
+     * @throws JandasException Si la etiqueta o el diccionario son null.
+     */
+    public ColumnaDiccionario(Etiqueta etiqueta, Diccionario diccionario) {
+        super(etiqueta, String.class);
+        if (diccionario == null) {
+            throw new JandasException("El diccionario no puede ser null");
+        }
+        this.diccionario = diccionario;
+        this.codigos = new int[CAPACIDAD_INICIAL];
+    }
+
+    /**
+     * Crea una columna codificada que adopta los códigos indicados sin copiarlos, para cargar
+     * valores en bloque. Las posiciones con código negativo son NA.
+     *
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @param diccionario Diccionario de los códigos (no null).
+     * @param codigos Códigos de la columna; la columna pasa a ser su dueña.
+     * @param tamanio Cantidad de valores de la columna.
+     * @throws JandasException Si algún argumento es null, el arreglo no alcanza para
+     *                         {@code tamanio} valores o un código no pertenece al diccionario.
+     */
+    public ColumnaDiccionario(Etiqueta etiqueta, Diccionario diccionario, int[] codigos, int tamanio) {
+        super(etiqueta, String.class, validosDeCodigos(codigos, tamanio), tamanio, codigos == null ? 0 : codigos.length);
+        if (diccionario == null || codigos == null || codigos.length < tamanio) {
+            throw new JandasException("El diccionario y los códigos deben alcanzar para " + tamanio + " valores");
+        }
+        this.diccionario = diccionario;
+        this.codigos = codigos;
+        for (int i = 0; i < tamanio; i++) {
+            int codigo = codigos[i];
+            if (codigo >= diccionario.size()) {
+                throw JandasException.indiceInvalido(codigo, diccionario.size());
+            }
+            if (codigo < 0) {
+                codigos[i] = -1;
+            }
+        }
+    }
+
+    /**
+     * Calcula el mapa de bits de validez de los códigos adoptados: válidas las posiciones con
+     * código no negativo.
+     *
+     * @param codigos Códigos de la columna, o null.
+     * @param tamanio Cantidad de valores de la columna.
+     * @return Mapa de validez; vacío si los códigos no alcanzan, para que el constructor informe el error.
+     */
+    private static long[] validosDeCodigos(int[] codigos, int tamanio) {
+        long[] validos = new long[palabras(Math.max(tamanio, 0))];
+        if (codigos != null && codigos.length >= tamanio) {
+            for (int i = 0; i < tamanio; i++) {
+                if (codigos[i] >= 0) {
+                    escribirBit(validos, i, true);
+                }
+            }
+        }
+        return validos;
+    }
+
+    /**
+     * Agrega un código ya existente en el diccionario al final de la columna.
+     *
+     * @param codigo Código a agregar.
+     * @throws JandasException Si el código no pertenece al diccionario.
+     */
+    public void agregarCodigo(int codigo) {
+        if (codigo < 0 || codigo >= diccionario.size()) {
+            throw JandasException.indiceInvalido(codigo, diccionario.size());
+        }
+        asegurarCapacidad(tamanio + 1);
+        codigos[tamanio] = codigo;
+        marcarValido(tamanio, true);
+        tamanio++;
+    }
+
+    /**
+     * Devuelve el código de la posición indicada sin decodificar la cadena.
+     *
+     * @param indice Índice del valor.
+     * @return Código del valor, o -1 si es NA.
+     * @throws JandasException Si el índice es inválido.
+     */
+    public int getCodigo(int indice) {
+        validarIndice(indice);
+        return codigos[indice];
+    }
+
+    /**
+     * Devuelve el diccionario de la columna.
+     *
+     * @return Diccionario compartido por la columna.
+     */
+    public Diccionario getDiccionario() {
+        return diccionario;
+    }
+
+    /**
+     * Crea una columna codificada vacía que comparte este diccionario,
+     * de modo que los valores copiados conservan sus códigos.
+     *
+     * @param etiqueta Etiqueta de la nueva columna.
+     * @return Nueva columna vacía.
+     */
+    @Override
+    public Columna<String> crearVacia(Etiqueta etiqueta) {
+        return new ColumnaDiccionario(etiqueta, diccionario);
+    }
+
+    /**
+     * Crea una nueva columna con las filas indicadas copiando sus códigos,
+     * sin decodificar ni volver a codificar las cadenas.
+     *
+     * @param indices Posiciones de las filas a copiar.
+     * @return Nueva columna que comparte este diccionario.
+     * @throws JandasException Si algún índice es inválido.
+     */
+    @Override
+    public Columna<String> seleccionarFilas(int[] indices) {
+        ColumnaDiccionario nueva = new ColumnaDiccionario(getEtiqueta(), diccionario);
+        nueva.asegurarCapacidad(indices.length);
+        for (int indice : indices) {
+            int codigo = getCodigo(indice);
+            if (codigo == -1) {
+                nueva.agregarNA();
+            } else {
+                nueva.agregarCodigo(codigo);
+            }
+        }
+        return nueva;
+    }
+
+    /**
+     * Devuelve una celda que conserva el código del valor de la posición indicada.
+     *
+     * @param indice Índice de la celda.
+     * @return Celda con el valor y su código.
+     * @throws JandasException Si el índice es inválido.
+     */
+    @Override
+    public Celda<String> getCelda(int indice) {
+        validarIndice(indice);
+        if (!esValido(indice)) {
+            return new Celda<>();
+        }
+        return new CeldaDiccionario(diccionario, codigos[indice]);
+    }
+
+    /**
+     * Devuelve la capacidad actual del arreglo de códigos.
+     *
+     * @return Capacidad del almacenamiento.
+     */
+    @Override
+    protected int capacidad() {
+        return codigos.length;
+    }
+
+    /**
+     * Redimensiona el arreglo de códigos a la capacidad indicada.
+     *
+     * @param nuevaCapacidad Nueva capacidad del arreglo.
+     */
+    @Override
+    protected void redimensionar(int nuevaCapacidad) {
+        codigos = Arrays.copyOf(codigos, nuevaCapacidad);
+    }
+
+    /**
+     * Decodifica el valor almacenado en una posición válida.
+     *
+     * @param indice Posición a leer.
+     * @return Cadena correspondiente al código.
+     */
+    @Override
+    protected String leerValor(int indice) {
+        return diccionario.getValor(codigos[indice]);
+    }
+
+    /**
+     * Codifica y escribe una cadena en una posición.
+     *
+     * @param indice Posición a escribir.
+     * @param valor Valor a almacenar (no null).
+     * @throws JandasException Si el valor no es {@code String}.
+     */
+    @Override
+    protected void escribirValor(int indice, Object valor) {
+        if (!(valor instanceof String)) {
+            throw JandasException.tipoIncompatible(String.class, valor.getClass());
+        }
+        codigos[indice] = diccionario.codificar((String) valor);
+    }
+
+    /**
+     * Marca el código de una posición NA con -1.
+     *
+     * @param indice Posición a limpiar.
+     */
+    @Override
+    protected void limpiarValor(int indice) {
+        codigos[indice] = -1;
+    }
+
+    /**
+     * Desplaza una posición hacia la izquierda los códigos a partir de {@code desde}.
+     *
+     * @param desde Primera posición a desplazar.
+     */
+    @Override
+    protected void desplazarValores(int desde) {
+        System.arraycopy(codigos, desde + 1, codigos, desde, tamanio - desde - 1);
+    }
+}
@@ -0,0 +1,342 @@
+package jandas.base.data;
+
+import jandas.base.etiquetas.Etiqueta;
+import jandas.excepciones.JandasException;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+
+/**
+ * Columna cuyos valores se cargan recién la primera vez que se leen.
+ * <p>
+ * Conoce su etiqueta, su tipo y su cantidad de filas sin cargar nada, de modo que una tabla
+ * con muchas columnas puede abrirse de inmediato y cada operación carga solo las columnas que
+ * recorre. Una vez cargada, todas las operaciones se delegan en la columna obtenida. Las vistas
+ * de selección creadas sobre ella tampoco la cargan hasta que se leen.
+ * </p>
+ * <p>
+ * Se obtienen mediante {@link Columna#diferir(Etiqueta, Class, int, Supplier)}.
+ * </p>
+ *
+ * @param <T> Tipo de dato contenido en la columna.
+ */
+public class ColumnaDiferida<T> extends Columna<T> {
+
+    /** Cantidad de filas de la columna. */
+    private final int filas;
+
+    /** Función que carga la columna; se descarta después de usarla. */
+    private Supplier<Columna<T>> cargador;
+
+    /** Columna cargada, o null si todavía no se leyó. */
+    private volatile Columna<T> datos;
+
+    /** Estadísticas por grupos de los valores a cargar; se descartan al modificar la columna. */
+    private volatile EstadisticasGrupos estadisticas;
+
+    /**
+     * Crea una columna que se cargará bajo demanda.
+     *
+     * @param etiqueta Etiqueta de la columna.
+     * @param tipo Tipo de dato de la columna.
+     * @param filas Cantidad de filas que tendrá la columna cargada.
+     * @param estadisticas Estadísticas por grupos de los valores a cargar, o null si no se conocen.
+     * @param cargador Función que carga la columna.
+     */
+    ColumnaDiferida(Etiqueta etiqueta, Class<T> tipo, int filas, EstadisticasGrupos estadisticas,
+                    Supplier<Columna<T>> cargador) {
+        super(etiqueta, tipo, null);
+        this.filas = filas;
+        this.estadisticas = estadisticas;
+        this.cargador = cargador;
+    }
+
+    /**
+     * Indica si la columna ya se cargó.
+     *
+     * @return true si los valores ya se leyeron.
+     */
+    public boolean estaCargada() {
+        return datos != null;
+    }
+
+    /**
+     * Carga la columna si todavía no se hizo y la devuelve.
+     *
+     * @return Columna con los valores.
+     * @throws JandasException Si la columna cargada no coincide con la declarada.
+     */
+    @Override
+    public Columna<T> materializar() {
+        Columna<T> cargada = datos;
+        if (cargada == null) {
+            synchronized (this) {
+                cargada = datos;
+                if (cargada == null) {
+                    cargada = cargador.get();
+                    if (cargada.size() != filas || cargada.getTipoDato() != getTipoDato()) {
+                        throw new JandasException("La columna '" + getEtiqueta() + "' no coincide con su esquema");
+                    }
+                    datos = cargada;
+                    cargador = null;
+                }
+            }
+        }
+        return cargada;
+    }
+
+    /**
+     * Indica dónde guarda sus valores la columna cargada. Si todavía no se cargó, devuelve
+     * {@link Almacenamiento#HEAP}, que es donde se cargará.
+     *
+     * @return Almacenamiento de la columna.
+     */
+    @Override
+    public Almacenamiento getAlmacenamiento() {
+        Columna<T> cargada = datos;
+        return cargada != null ? cargada.getAlmacenamiento() : Almacenamiento.HEAP;
+    }
+
+    /**
+     * Devuelve las estadísticas por grupos de los valores, que se conocen sin cargar la columna.
+     * Dejan de informarse en cuanto la columna se modifica.
+     *
+     * @return Estadísticas vigentes, o null si no se conocen o la columna se modificó.
+     */
+    @Override
+    public EstadisticasGrupos getEstadisticasGrupos() {
+        return estadisticas;
+    }
+
+    /**
+     * Libera la columna cargada, si se cargó.
+     */
+    @Override
+    public void cerrar() {
+        Columna<T> cargada = datos;
+        if (cargada != null) {
+            cargada.cerrar();
+        }
+    }
+
+    /**
+     * Crea una columna vacía con la misma implementación de almacenamiento que la cargada.
+     *
+     * @param etiqueta Etiqueta de la nueva columna.
+     * @return Nueva columna vacía del mismo tipo de dato.
+     */
+    @Override
+    public Columna<T> crearVacia(Etiqueta etiqueta) {
+        return materializar().crearVacia(etiqueta);
+    }
+
+    /**
+     * Copia las filas indicadas de la columna cargada.
+     *
+     * @param indices Posiciones de las filas a copiar.
+     * @return Nueva columna con los valores seleccionados.
+     * @throws JandasException Si algún índice es inválido.
+     */
+    @Override
+    public Columna<T> seleccionarFilas(int[] indices) {
+        return materializar().seleccionarFilas(indices);
+    }
+
+    /**
+     * Agrega las celdas al final de la columna cargada.
+     *
+     * @param nuevasCeldas Lista de celdas a agregar.
+     * @throws JandasException Si la lista es null.
+     */
+    @Override
+    public void agregarCeldas(List<Celda<T>> nuevasCeldas) {
+        estadisticas = null;
+        materializar().agregarCeldas(nuevasCeldas);
+    }
+
+    /**
+     * Agrega una celda al final de la columna cargada.
+     *
+     * @param nuevaCelda Celda a agregar.
+     * @throws JandasException Si la celda es null.
+     */
+    @Override
+    public void agregarCelda(Celda<T> nuevaCelda) {
+        estadisticas = null;
+        materializar().agregarCelda(nuevaCelda);
+    }
+
+    /**
+     * Agrega un valor al final de la columna cargada.
+     *
+     * @param valor Valor a agregar (puede ser null).
+     * @throws JandasException Si el valor no es del tipo esperado.
+     */
+    @Override
+    public void setValor(T valor) {
+        estadisticas = null;
+        materializar().setValor(valor);
+    }
+
+    /**
+     * Devuelve la celda en la posición indicada.
+     *
+     * @param indice Índice de la celda.
+     * @return Celda en esa posición.
+     * @throws JandasException Si el índice es inválido.
+     */
+    @Override
+    public Celda<T> getCelda(int indice) {
+        return materializar().getCelda(indice);
+    }
+
+    /**
+     * Reemplaza la celda en el índice dado, materializando antes las vistas creadas sobre esta columna.
+     *
+     * @param indice Índice donde se debe reemplazar la celda.
+     * @param celda Nueva celda (no null).
+     * @throws JandasException Si el índice es inválido o la celda es null.
+     */
+    @Override
+    public void setCelda(int indice, Celda<T> celda) {
+        Columna<T> cargada = materializar();
+        desacoplarVistas();
+        estadisticas = null;
+        cargada.setCelda(indice, celda);
+    }
+
+    /**
+     * Elimina la celda en la posición indicada, materializando antes las vistas creadas sobre esta columna.
+     *
+     * @param indice Índice de la celda a eliminar.
+     * @throws JandasException Si el índice es inválido.
+     */
+    @Override
+    public void eliminarCelda(int indice) {
+        Columna<T> cargada = materializar();
+        desacoplarVistas();
+        estadisticas = null;
+        cargada.eliminarCelda(indice);
+    }
+
+    /**
+     * Indica si el valor en la posición indicada es NA.
+     *
+     * @param indice Índice de la celda.
+     * @return true si el valor es NA; false en caso contrario.
+     * @throws JandasException Si el índice es inválido.
+     */
+    @Override
+    public boolean isNA(int indice) {
+        return materializar().isNA(indice);
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code int}.
+     *
+     * @param indice Índice de la celda.
+     * @return Valor entero de la celda, o 0 si es NA.
+     * @throws JandasException Si el índice es inválido o el valor no es numérico.
+     */
+    @Override
+    public int getInt(int indice) {
+        return materializar().getInt(indice);
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code long}.
+     *
+     * @param indice Índice de la celda.
+     * @return Valor entero largo de la celda, o 0 si es NA.
+     * @throws JandasException Si el índice es inválido o el valor no es numérico.
+     */
+    @Override
+    public long getLong(int indice) {
+        return materializar().getLong(indice);
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code double}.
+     *
+     * @param indice Índice de la celda.
+     * @return Valor decimal de la celda, o {@link Double#NaN} si es NA.
+     * @throws JandasException Si el índice es inválido o el valor no es numérico.
+     */
+    @Override
+    public double getDouble(int indice) {
+        return materializar().getDouble(indice);
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code boolean}.
+     *
+     * @param indice Índice de la celda.
+     * @return Valor booleano de la celda, o {@code false} si es NA.
+     * @throws JandasException Si el índice es inválido o el valor no es booleano.
+     */
+    @Override
+    public boolean getBoolean(int indice) {
+        return materializar().getBoolean(indice);
+    }
+
+    /**
+     * Devuelve una lista de celdas con los valores de la columna cargada.
+     *
+     * @return Lista de celdas.
+     */
+    @Override
+    public List<Celda<T>> getCeldas() {
+        return materializar().getCeldas();
+    }
+
+    /**
+     * Devuelve una vista inmodificable de las celdas; la columna se carga con la primera lectura.
+     *
+     * @return Vista de solo lectura de las celdas.
+     */
+    @Override
+    public List<Celda<T>> vista() {
+        Columna<T> cargada = datos;
+        return cargada != null ? cargada.vista() : new VistaCeldas();
+    }
+
+    /**
+     * Devuelve la cantidad de filas sin cargar la columna.
+     *
+     * @return Tamaño de la columna.
+     */
+    @Override
+    public int size() {
+        Columna<T> cargada = datos;
+        return cargada != null ? cargada.size() : filas;
+    }
+
+    /**
+     * Lista de solo lectura que carga la columna con el primer acceso a una celda.
+     */
+    private class VistaCeldas extends AbstractList<Celda<T>> implements RandomAccess {
+
+        /**
+         * Devuelve la celda de la posición indicada.
+         *
+         * @param indice Índice de la celda.
+         * @return Celda con el valor de la posición.
+         */
+        @Override
+        public Celda<T> get(int indice) {
+            return getCelda(indice);
+        }
+
+        /**
+         * Devuelve la cantidad de filas de la columna.
+         *
+         * @return Tamaño de la columna.
+         */
+        @Override
+        public int size() {
+            return ColumnaDiferida.this.size();
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package jandas.base.data;
+
+import jandas.base.etiquetas.Etiqueta;
+import jandas.excepciones.JandasException;
+
+/**
+ * Columna de valores {@code int} almacenados en memoria nativa fuera del heap.
+ * <p>
+ * Los valores y el mapa de bits de validez viven en segmentos de memoria reservados con
+ * {@link java.lang.foreign.Arena}, de modo que tablas de varios gigabytes no presionan al
+ * recolector de basura. Como extiende {@link ColumnaInt}, el filtrado, el ordenamiento y el
+ * agrupamiento la recorren con los mismos accesos primitivos, sin copiarla al heap. La memoria
+ * se libera con {@link #cerrar()}; después de cerrarla, cualquier lectura lanza una excepción.
+ * Las columnas derivadas que crea {@link #crearVacia(Etiqueta)} no necesitan cerrarse: su memoria
+ * la libera el recolector de basura.
+ * </p>
+ */
+public class ColumnaIntFueraHeap extends ColumnaInt {
+
+    /** Valores de la columna; las posiciones NA contienen 0. */
+    private final SegmentoFueraHeap valores;
+
+    /** Mapa de bits de validez: bit en 1 si la posición tiene valor, en 0 si es NA. */
+    private final SegmentoFueraHeap validos;
+
+    /** Estadísticas por grupos de los valores proyectados, o null si no se conocen. */
+    private final EstadisticasGrupos estadisticas;
+
+    /**
+     * Crea una columna de tipo {@code Integer} vacía fuera del heap.
+     *
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @throws JandasException Si la etiqueta es null.
+     */
+    public ColumnaIntFueraHeap(Etiqueta etiqueta) {
+        this(etiqueta, false);
+    }
+
+    /**
+     * Crea una columna de tipo {@code Integer} vacía fuera del heap.
+     *
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @param automatica Si la memoria la libera el recolector de basura en lugar de {@link #cerrar()}.
+     * @throws JandasException Si la etiqueta es null.
+     */
+    private ColumnaIntFueraHeap(Etiqueta etiqueta, boolean automatica) {
+        super(etiqueta);
+        this.valores = new SegmentoFueraHeap((long) CAPACIDAD_INICIAL * Integer.BYTES, automatica);
+        this.validos = new SegmentoFueraHeap((long) palabras(CAPACIDAD_INICIAL) * Long.BYTES, automatica);
+        this.estadisticas = null;
+    }
+
+    /**
+     * Crea una columna con valores ya almacenados en segmentos, por ejemplo proyectados desde un archivo.
+     *
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @param valores Segmento con al menos {@code tamanio} valores.
+     * @param validos Segmento con el mapa de bits de validez de esos valores.
+     * @param tamanio Cantidad de valores de la columna.
+     * @param estadisticas Estadísticas por grupos de esos valores, o null si no se conocen.
+     * @throws JandasException Si la etiqueta es null.
+     */
+    ColumnaIntFueraHeap(Etiqueta etiqueta, SegmentoFueraHeap valores, SegmentoFueraHeap validos, int tamanio,
+                        EstadisticasGrupos estadisticas) {
+        super(etiqueta);
+        this.valores = valores;
+        this.validos = validos;
+        this.tamanio = tamanio;
+        this.estadisticas = estadisticas;
+    }
+
+    /**
+     * Crea una columna vacía también fuera del heap. Es la que reciben las columnas derivadas
+     * (filtrado, ordenamiento, agrupamiento, muestreo y copias), que no suelen cerrarse: su
+     * memoria la libera el recolector de basura cuando la columna deja de usarse.
+     *
+     * @param etiqueta Etiqueta de la nueva columna.
+     * @return Nueva columna vacía fuera del heap.
+     */
+    @Override
+    public Columna<Integer> crearVacia(Etiqueta etiqueta) {
+        return new ColumnaIntFueraHeap(etiqueta, true);
+    }
+
+    /**
+     * Agrega un valor {@code int} al final de la columna sin crear objetos intermedios.
+     *
+     * @param valor Valor a agregar.
+     */
+    @Override
+    public void agregarInt(int valor) {
+        asegurarCapacidad(tamanio + 1);
+        valores.escribirInt(tamanio, valor);
+        marcarValido(tamanio, true);
+        tamanio++;
+    }
+
+    /**
+     * Devuelve el valor entero en la posición indicada sin crear objetos.
+     * Las posiciones NA devuelven 0.
+     *
+     * @param indice Índice del valor.
+     * @return Valor entero.
+     * @throws JandasException Si el índice es inválido o la columna fue cerrada.
+     */
+    @Override
+    public int getInt(int indice) {
+        validarIndice(indice);
+        return valores.leerInt(indice);
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code long} sin crear objetos.
+     * Las posiciones NA devuelven 0.
+     *
+     * @param indice Índice del valor.
+     * @return Valor entero largo.
+     * @throws JandasException Si el índice es inválido o la columna fue cerrada.
+     */
+    @Override
+    public long getLong(int indice) {
+        validarIndice(indice);
+        return valores.leerInt(indice);
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code double} sin crear objetos.
+     * Las posiciones NA devuelven {@link Double#NaN}.
+     *
+     * @param indice Índice del valor.
+     * @return Valor decimal.
+     * @throws JandasException Si el índice es inválido o la columna fue cerrada.
+     */
+    @Override
+    public double getDouble(int indice) {
+        validarIndice(indice);
+        return esValido(indice) ? valores.leerInt(indice) : Double.NaN;
+    }
+
+    /**
+     * Indica que la columna guarda sus valores fuera del heap.
+     *
+     * @return {@link Almacenamiento#FUERA_HEAP}.
+     */
+    @Override
+    public Almacenamiento getAlmacenamiento() {
+        return Almacenamiento.FUERA_HEAP;
+    }
+
+    /**
+     * Devuelve las estadísticas por grupos del archivo proyectado mientras la columna no se
+     * haya modificado; la primera escritura copia los valores y las descarta.
+     *
+     * @return Estadísticas vigentes, o null si no se conocen o la columna se modificó.
+     */
+    @Override
+    public EstadisticasGrupos getEstadisticasGrupos() {
+        if (estadisticas == null || !valores.esProyectado() || !validos.esProyectado()
+                || tamanio != estadisticas.getFilas()) {
+            return null;
+        }
+        return estadisticas;
+    }
+
+    /**
+     * Libera la memoria nativa de los valores y del mapa de bits.
+     */
+    @Override
+    public void cerrar() {
+        valores.cerrar();
+        validos.cerrar();
+    }
+
+    /**
+     * Verifica que el índice esté dentro del rango y que la columna siga abierta.
+     *
+     * @param indice Índice a validar.
+     * @throws JandasException Si el índice es inválido o la columna fue cerrada.
+     */
+    @Override
+    protected void validarIndice(int indice) {
+        valores.verificarAbierto();
+        super.validarIndice(indice);
+    }
+
+    /**
+     * Devuelve la capacidad actual del segmento de valores.
+     *
+     * @return Capacidad del almacenamiento.
+     */
+    @Override
+    protected int capacidad() {
+        return (int) (valores.bytes() / Integer.BYTES);
+    }
+
+    /**
+     * Redimensiona el segmento de valores a la capacidad indicada.
+     *
+     * @param nuevaCapacidad Nueva capacidad del segmento.
+     */
+    @Override
+    protected void redimensionar(int nuevaCapacidad) {
+        valores.redimensionar((long) nuevaCapacidad * Integer.BYTES);
+    }
+
+    /**
+     * Redimensiona el segmento del mapa de bits para la capacidad indicada.
+     *
+     * @param nuevaCapacidad Nueva capacidad del almacenamiento.
+     */
+    @Override
+    protected void redimensionarValidos(int nuevaCapacidad) {
+        validos.redimensionar((long) palabras(nuevaCapacidad) * Long.BYTES);
+    }
+
+    /**
+     * Marca una posición como válida o NA en el mapa de bits nativo.
+     *
+     * @param indice Posición a marcar.
+     * @param valido true si la posición tiene valor; false si es NA.
+     */
+    @Override
+    protected void marcarValido(int indice, boolean valido) {
+        validos.escribirBit(indice, valido);
+    }
+
+    /**
+     * Indica si una posición tiene valor consultando el mapa de bits nativo.
+     *
+     * @param indice Posición a consultar.
+     * @return true si la posición no es NA.
+     */
+    @Override
+    protected boolean esValido(int indice) {
+        return validos.leerBit(indice);
+    }
+
+    /**
+     * Lee el valor almacenado en una posición válida.
+     *
+     * @param indice Posición a leer.
+     * @return Valor envuelto.
+     */
+    @Override
+    protected Integer leerValor(int indice) {
+        return valores.leerInt(indice);
+    }
+
+    /**
+     * Escribe un valor en una posición, convirtiéndolo al tipo primitivo de la columna.
+     *
+     * @param indice Posición a escribir.
+     * @param valor Valor a almacenar (no null).
+     * @throws JandasException Si el valor no es compatible con {@code Integer}.
+     */
+    @Override
+    protected void escribirValor(int indice, Object valor) {
+        if (!(valor instanceof Integer)) {
+            throw JandasException.tipoIncompatible(Integer.class, valor.getClass());
+        }
+        valores.escribirInt(indice, (Integer) valor);
+    }
+
+    /**
+     * Limpia el valor de una posición NA.
+     *
+     * @param indice Posición a limpiar.
+     */
+    @Override
+    protected void limpiarValor(int indice) {
+        valores.escribirInt(indice, 0);
+    }
+
+    /**
+     * Desplaza una posición hacia la izquierda los valores a partir de {@code desde}.
+     *
+     * @param desde Primera posición a desplazar.
+     */
+    @Override
+    protected void desplazarValores(int desde) {
+        valores.mover((long) (desde + 1) * Integer.BYTES, (long) desde * Integer.BYTES,
+                (long) (tamanio - desde - 1) * Integer.BYTES);
+    }
+}
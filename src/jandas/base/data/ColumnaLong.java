@@ -0,0 +1,168 @@
+package jandas.base.data;
+
+import jandas.base.etiquetas.Etiqueta;
+import jandas.excepciones.JandasException;
+
+import java.util.Arrays;
+
+/**
+ * Columna de valores {@code long} almacenados en un arreglo primitivo.
+ * <p>
+ * Evita crear un objeto {@link Celda} y un {@code Long} por cada valor; los NA se
+ * registran en el mapa de bits de validez heredado de {@link ColumnaPrimitiva}.
+ */
+public class ColumnaLong extends ColumnaPrimitiva<Long> {
+
+    /** Valores de la columna; las posiciones NA contienen 0. */
+    private long[] valores;
+
+    /**
+     * Crea una columna de tipo {@code Long} vacía.
+     *
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @throws JandasException Si la etiqueta es null.
+     */
+    public ColumnaLong(Etiqueta etiqueta) {
+        super(etiqueta, Long.class);
+        this.valores = new long[CAPACIDAD_INICIAL];
+    }
+
+    /**
+     * Crea una columna de tipo {@code Long} que adopta los arreglos indicados sin copiarlos,
+     * para cargar valores en bloque. Las posiciones NA de {@code valores} deben contener 0.
+     *
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @param valores Valores de la columna; la columna pasa a ser su dueña.
+     * @param validos Mapa de bits de validez; la columna pasa a ser su dueña.
+     * @param tamanio Cantidad de valores de la columna.
+     * @throws JandasException Si algún argumento es null o los arreglos no alcanzan para {@code tamanio} valores.
+     */
+    public ColumnaLong(Etiqueta etiqueta, long[] valores, long[] validos, int tamanio) {
+        super(etiqueta, Long.class, validos, tamanio, valores == null ? 0 : valores.length);
+        if (valores == null || valores.length < tamanio) {
+            throw new JandasException("El arreglo de valores no alcanza para " + tamanio + " valores");
+        }
+        this.valores = valores;
+    }
+
+    /**
+     * Agrega un valor {@code long} al final de la columna sin crear objetos intermedios.
+     *
+     * @param valor Valor a agregar.
+     */
+    public void agregarLong(long valor) {
+        asegurarCapacidad(tamanio + 1);
+        valores[tamanio] = valor;
+        marcarValido(tamanio, true);
+        tamanio++;
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code int} sin crear objetos.
+     * Las posiciones NA devuelven 0.
+     *
+     * @param indice Índice del valor.
+     * @return Valor entero (truncado si excede el rango de {@code int}).
+     * @throws JandasException Si el índice es inválido.
+     */
+    @Override
+    public int getInt(int indice) {
+        validarIndice(indice);
+        return (int) valores[indice];
+    }
+
+    /**
+     * Devuelve el valor entero largo en la posición indicada sin crear objetos.
+     * Las posiciones NA devuelven 0; usar {@link #isNA(int)} para distinguirlas.
+     *
+     * @param indice Índice del valor.
+     * @return Valor entero largo.
+     * @throws JandasException Si el índice es inválido.
+     */
+    @Override
+    public long getLong(int indice) {
+        validarIndice(indice);
+        return valores[indice];
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code double} sin crear objetos.
+     * Las posiciones NA devuelven {@link Double#NaN}.
+     *
+     * @param indice Índice del valor.
+     * @return Valor decimal.
+     * @throws JandasException Si el índice es inválido.
+     */
+    @Override
+    public double getDouble(int indice) {
+        validarIndice(indice);
+        return esValido(indice) ? valores[indice] : Double.NaN;
+    }
+
+    /**
+     * Devuelve la capacidad actual del arreglo de valores.
+     *
+     * @return Capacidad del almacenamiento.
+     */
+    @Override
+    protected int capacidad() {
+        return valores.length;
+    }
+
+    /**
+     * Redimensiona el arreglo de valores a la capacidad indicada.
+     *
+     * @param nuevaCapacidad Nueva capacidad del arreglo.
+     */
+    @Override
+    protected void redimensionar(int nuevaCapacidad) {
+        valores = Arrays.copyOf(valores, nuevaCapacidad);
+    }
+
+    /**
+     * Lee el valor almacenado en una posición válida.
+     *
+     * @param indice Posición a leer.
+     * @return Valor envuelto.
+     */
+    @Override
+    protected Long leerValor(int indice) {
+        return valores[indice];
+    }
+
+    /**
+     * Escribe un valor en una posición, convirtiéndolo al tipo primitivo de la columna.
+     *
+     * @param indice Posición a escribir.
+     * @param valor Valor a almacenar (no null).
+     * @throws JandasException Si el valor no es compatible con {@code Long}.
+     */
+    @Override
+    protected void escribirValor(int indice, Object valor) {
+        if (valor instanceof Long || valor instanceof Integer || valor instanceof Short || valor instanceof Byte) {
+            valores[indice] = ((Number) valor).longValue();
+        } else {
+            throw JandasException.tipoIncompatible(Long.class, valor.getClass());
+        }
+    }
+
+    /**
+     * Limpia el valor de una posición NA.
+     *
+     * @param indice Posición a limpiar.
+     */
+    @Override
+    protected void limpiarValor(int indice) {
+        valores[indice] = 0L;
+    }
+
+    /**
+     * Desplaza una posición hacia la izquierda los valores a partir de {@code desde}.
+     *
+     * @param desde Primera posición a desplazar.
+     */
+    @Override
+    protected void desplazarValores(int desde) {
+        System.arraycopy(valores, desde + 1, valores, desde, tamanio - desde - 1);
+    }
+}
@@ -0,0 +1,423 @@
+package jandas.base.data;
+
+import jandas.base.etiquetas.Etiqueta;
+import jandas.excepciones.JandasException;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Base para las columnas cuyos valores se almacenan en un arreglo primitivo.
+ * <p>
+ * Los valores faltantes (NA) se registran en un mapa de bits de validez: un bit en 1 indica
+ * que la posición tiene valor y un bit en 0 que es NA. Las celdas se crean solo cuando
+ * se accede a ellas mediante la API de {@link Columna}; los accesos primitivos
+ * ({@link #isNA(int)}, {@link #getInt(int)}, {@link #getDouble(int)}, etc.) no crean objetos.
+ *
+ * @param <T> Tipo envoltorio de los valores de la columna (Integer, Double, etc.).
+ */
+public abstract class ColumnaPrimitiva<T> extends Columna<T> {
+
+    /** Capacidad inicial de los arreglos de almacenamiento. */
+    protected static final int CAPACIDAD_INICIAL = 16;
+
+    /** Mapa de bits de validez: bit en 1 si la posición tiene valor, en 0 si es NA. */
+    private long[] validos;
+
+    /** Cantidad de valores almacenados. */
+    protected int tamanio;
+
+    /**
+     * Crea una columna primitiva vacía.
+     *
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @param tipo Clase envoltorio del tipo de dato.
+     * @throws JandasException Si la etiqueta o el tipo son null.
+     */
+    protected ColumnaPrimitiva(Etiqueta etiqueta, Class<T> tipo) {
+        super(etiqueta, tipo, null);
+        this.validos = new long[palabras(CAPACIDAD_INICIAL)];
+    }
+
+    /**
+     * Crea una columna primitiva con {@code tamanio} valores cuyo mapa de bits de validez es
+     * el arreglo indicado, sin copiarlo salvo que sea más corto que el arreglo de valores que
+     * adopta la subclase. La subclase debe adoptar un arreglo de valores de al menos
+     * {@code tamanio} posiciones.
+     *
+     * @param etiqueta Etiqueta asociada a la columna.
+     * @param tipo Clase envoltorio del tipo de dato.
+     * @param validos Mapa de bits de validez; la columna pasa a ser su dueña.
+     * @param tamanio Cantidad de valores de la columna.
+     * @param capacidad Capacidad del arreglo de valores que adopta la subclase.
+     * @throws JandasException Si la etiqueta, el tipo o el mapa son null, o el mapa no alcanza
+     *                         para {@code tamanio} valores.
+     */
+    protected ColumnaPrimitiva(Etiqueta etiqueta, Class<T> tipo, long[] validos, int tamanio, int capacidad) {
+        super(etiqueta, tipo, null);
+        if (validos == null || tamanio < 0 || validos.length < palabras(tamanio)) {
+            throw new JandasException("El mapa de validez no alcanza para " + tamanio + " valores");
+        }
+        this.validos = validos.length < palabras(capacidad) ? Arrays.copyOf(validos, palabras(capacidad)) : validos;
+        this.tamanio = tamanio;
+    }
+
+    /**
+     * Devuelve la capacidad actual del arreglo de valores.
+     *
+     * @return Capacidad del almacenamiento.
+     */
+    protected abstract int capacidad();
+
+    /**
+     * Redimensiona el arreglo de valores a la capacidad indicada.
+     *
+     * @param nuevaCapacidad Nueva capacidad del arreglo.
+     */
+    protected abstract void redimensionar(int nuevaCapacidad);
+
+    /**
+     * Lee el valor almacenado en una posición válida (no NA).
+     *
+     * @param indice Posición a leer.
+     * @return Valor envuelto.
+     */
+    protected abstract T leerValor(int indice);
+
+    /**
+     * Escribe un valor no nulo en una posición, validando y convirtiendo su tipo.
+     *
+     * @param indice Posición a escribir.
+     * @param valor Valor a almacenar (no null).
+     * @throws JandasException Si el valor no es compatible con el tipo de la columna.
+     */
+    protected abstract void escribirValor(int indice, Object valor);
+
+    /**
+     * Limpia la posición indicada al marcarla como NA.
+     *
+     * @param indice Posición a limpiar.
+     */
+    protected abstract void limpiarValor(int indice);
+
+    /**
+     * Desplaza una posición hacia la izquierda los valores a partir de {@code desde}.
+     *
+     * @param desde Primera posición a desplazar.
+     */
+    protected abstract void desplazarValores(int desde);
+
+    /**
+     * Asegura que el almacenamiento pueda contener la cantidad de valores indicada.
+     *
+     * @param cantidad Cantidad mínima de valores.
+     */
+    protected void asegurarCapacidad(int cantidad) {
+        if (cantidad > capacidad()) {
+            int nuevaCapacidad = Math.max(cantidad, capacidad() * 2);
+            redimensionar(nuevaCapacidad);
+            redimensionarValidos(nuevaCapacidad);
+        }
+    }
+
+    /**
+     * Redimensiona el mapa de bits de validez para la capacidad indicada.
+     *
+     * @param nuevaCapacidad Nueva capacidad del almacenamiento.
+     */
+    protected void redimensionarValidos(int nuevaCapacidad) {
+        validos = Arrays.copyOf(validos, palabras(nuevaCapacidad));
+    }
+
+    /**
+     * Marca una posición como válida o NA en el mapa de bits.
+     *
+     * @param indice Posición a marcar.
+     * @param valido true si la posición tiene valor; false si es NA.
+     */
+    protected void marcarValido(int indice, boolean valido) {
+        escribirBit(validos, indice, valido);
+    }
+
+    /**
+     * Agrega un valor NA al final de la columna.
+     */
+    public void agregarNA() {
+        asegurarCapacidad(tamanio + 1);
+        limpiarValor(tamanio);
+        marcarValido(tamanio, false);
+        tamanio++;
+    }
+
+    /**
+     * Agrega un valor (o NA si es null) al final de la columna.
+     *
+     * @param valor Valor a agregar.
+     * @throws JandasException Si el valor no es compatible con el tipo de la columna.
+     */
+    protected void agregarObjeto(Object valor) {
+        if (valor == null) {
+            agregarNA();
+            return;
+        }
+        asegurarCapacidad(tamanio + 1);
+        escribirValor(tamanio, valor);
+        marcarValido(tamanio, true);
+        tamanio++;
+    }
+
+    /**
+     * Reemplaza el valor (o NA si es null) en una posición existente.
+     *
+     * @param indice Posición a reemplazar.
+     * @param valor Nuevo valor.
+     * @throws JandasException Si el valor no es compatible con el tipo de la columna.
+     */
+    protected void reemplazarObjeto(int indice, Object valor) {
+        if (valor == null) {
+            limpiarValor(indice);
+            marcarValido(indice, false);
+        } else {
+            escribirValor(indice, valor);
+            marcarValido(indice, true);
+        }
+    }
+
+    /**
+     * Crea una nueva columna con las filas indicadas copiando directamente
+     * los valores almacenados, sin crear celdas intermedias.
+     *
+     * @param indices Posiciones de las filas a copiar.
+     * @return Nueva columna con los valores seleccionados.
+     * @throws JandasException Si algún índice es inválido.
+     */
+    @Override
+    public Columna<T> seleccionarFilas(int[] indices) {
+        ColumnaPrimitiva<T> nueva = (ColumnaPrimitiva<T>) crearVacia(getEtiqueta());
+        nueva.asegurarCapacidad(indices.length);
+        for (int indice : indices) {
+            validarIndice(indice);
+            nueva.agregarObjeto(esValido(indice) ? leerValor(indice) : null);
+        }
+        return nueva;
+    }
+
+    /**
+     * Agrega una lista de celdas a la columna, copiando sus valores al arreglo primitivo.
+     *
+     * @param nuevasCeldas Lista de celdas a agregar.
+     * @throws JandasException Si la lista es null o algún valor no es del tipo de la columna.
+     */
+    @Override
+    public void agregarCeldas(List<Celda<T>> nuevasCeldas) {
+        if (nuevasCeldas == null) {
+            throw new JandasException("La lista de celdas no puede ser null");
+        }
+        asegurarCapacidad(tamanio + nuevasCeldas.size());
+        for (Celda<T> celda : nuevasCeldas) {
+            agregarCelda(celda);
+        }
+    }
+
+    /**
+     * Agrega el valor de una celda al final de la columna.
+     *
+     * @param nuevaCelda Celda a agregar.
+     * @throws JandasException Si la celda es null o su valor no es del tipo de la columna.
+     */
+    @Override
+    public void agregarCelda(Celda<T> nuevaCelda) {
+        if (nuevaCelda == null) {
+            throw new JandasException("La celda no puede ser null");
+        }
+        agregarObjeto(nuevaCelda.getValor());
+    }
+
+    /**
+     * Agrega un valor al final de la columna.
+     *
+     * @param valor Valor a agregar (puede ser null).
+     * @throws JandasException Si el valor no es del tipo esperado.
+     */
+    @Override
+    public void setValor(T valor) {
+        if (valor != null && !getTipoDato().isInstance(valor)) {
+            throw new JandasException(String.format(
+                "Tipo incompatible. Se esperaba %s, pero se recibió %s",
+                getTipoDato().getSimpleName(), valor.getClass().getSimpleName()));
+        }
+        agregarObjeto(valor);
+    }
+
+    /**
+     * Devuelve una nueva celda con el valor de la posición indicada.
+     * Modificar la celda devuelta no altera la columna; usar {@link #setCelda(int, Celda)}.
+     *
+     * @param indice Índice de la celda.
+     * @return Celda con el valor de esa posición.
+     * @throws JandasException Si el índice es inválido.
+     */
+    @Override
+    public Celda<T> getCelda(int indice) {
+        validarIndice(indice);
+        return new Celda<>(esValido(indice) ? leerValor(indice) : null);
+    }
+
+    /**
+     * Reemplaza el valor en el índice dado por el valor de la celda.
+     *
+     * @param indice Índice donde se debe reemplazar el valor.
+     * @param celda Celda con el nuevo valor (no null).
+     * @throws JandasException Si el índice es inválido, la celda es null o el tipo no es compatible.
+     */
+    @Override
+    public void setCelda(int indice, Celda<T> celda) {
+        validarIndice(indice);
+        if (celda == null) {
+            throw new JandasException("La celda no puede ser null");
+        }
+        desacoplarVistas();
+        reemplazarObjeto(indice, celda.getValor());
+    }
+
+    /**
+     * Elimina el valor en la posición indicada, desplazando los siguientes.
+     *
+     * @param indice Índice del valor a eliminar.
+     * @throws JandasException Si el índice es inválido.
+     */
+    @Override
+    public void eliminarCelda(int indice) {
+        validarIndice(indice);
+        desacoplarVistas();
+        desplazarValores(indice);
+        for (int i = indice; i < tamanio - 1; i++) {
+            marcarValido(i, esValido(i + 1));
+        }
+        tamanio--;
+        marcarValido(tamanio, false);
+    }
+
+    /**
+     * Indica si el valor en la posición indicada es NA consultando el mapa de bits.
+     *
+     * @param indice Índice a consultar.
+     * @return true si el valor es NA; false en caso contrario.
+     * @throws JandasException Si el índice es inválido.
+     */
+    @Override
+    public boolean isNA(int indice) {
+        validarIndice(indice);
+        return !esValido(indice);
+    }
+
+    /**
+     * Devuelve una lista de celdas nuevas con los valores de la columna.
+     *
+     * @return Lista de celdas.
+     */
+    @Override
+    public List<Celda<T>> getCeldas() {
+        List<Celda<T>> celdas = new ArrayList<>(tamanio);
+        for (int i = 0; i < tamanio; i++) {
+            celdas.add(new Celda<>(esValido(i) ? leerValor(i) : null));
+        }
+        return celdas;
+    }
+
+    /**
+     * Devuelve una vista inmodificable de la columna sin copiar el almacenamiento.
+     * Cada acceso crea la celda correspondiente bajo demanda mediante {@link #getCelda(int)}.
+     *
+     * @return Vista de solo lectura de las celdas.
+     */
+    @Override
+    public List<Celda<T>> vista() {
+        return new VistaCeldas();
+    }
+
+    /**
+     * Devuelve la cantidad de valores en la columna.
+     *
+     * @return Tamaño de la columna.
+     */
+    @Override
+    public int size() {return tamanio;}
+
+    /**
+     * Indica si una posición tiene valor sin validar el índice.
+     * Uso interno de las subclases en sus accesos primitivos.
+     *
+     * @param indice Posición a consultar.
+     * @return true si la posición no es NA.
+     */
+    protected boolean esValido(int indice) {
+        return leerBit(validos, indice);
+    }
+
+    /**
+     * Calcula la cantidad de palabras de 64 bits necesarias para una cantidad de bits.
+     *
+     * @param bits Cantidad de bits.
+     * @return Cantidad de palabras {@code long}.
+     */
+    protected static int palabras(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * Lee un bit de un mapa de bits.
+     *
+     * @param bits Mapa de bits.
+     * @param indice Posición del bit.
+     * @return true si el bit está en 1.
+     */
+    protected static boolean leerBit(long[] bits, int indice) {
+        return (bits[indice >>> 6] & (1L << indice)) != 0;
+    }
+
+    /**
+     * Escribe un bit en un mapa de bits.
+     *
+     * @param bits Mapa de bits.
+     * @param indice Posición del bit.
+     * @param valor Valor del bit.
+     */
+    protected static void escribirBit(long[] bits, int indice, boolean valor) {
+        if (valor) {
+            bits[indice >>> 6] |= 1L << indice;
+        } else {
+            bits[indice >>> 6] &= ~(1L << indice);
+        }
+    }
+
+    /**
+     * Lista de solo lectura respaldada por el almacenamiento primitivo de la columna.
+     */
+    private class VistaCeldas extends AbstractList<Celda<T>> implements RandomAccess {
+
+        /**
+         * Devuelve la celda de la posición indicada.
+         *
+         * @param indice Índice de la celda.
+         * @return Celda con el valor de la posición.
+         */
+        @Override
+        public Celda<T> get(int indice) {
+            return getCelda(indice);
+        }
+
+        /**
+         * Devuelve la cantidad de valores de la columna.
+         *
+         * @return Tamaño de la columna.
+         */
+        @Override
+        public int size() {
+            return tamanio;
+        }
+    }
+}
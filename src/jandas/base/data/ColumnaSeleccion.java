@@ -0,0 +1,371 @@
+package jandas.base.data;
+
+import jandas.base.etiquetas.Etiqueta;
+import jandas.excepciones.JandasException;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Vista de una selección de filas de otra columna, sin copiar sus valores.
+ * <p>
+ * La vista guarda la columna de origen y un vector de selección {@code int[]}: la posición
+ * {@code i} de la vista es la fila {@code filas[i]} del origen. Las lecturas se resuelven contra
+ * el origen; la primera modificación copia las filas seleccionadas a una columna propia
+ * (copia al escribir) y a partir de ahí la vista se comporta como esa columna. Si el origen
+ * se modifica en el lugar, primero materializa sus vistas, de modo que estas conservan los
+ * valores que tenían al crearse.
+ * </p>
+ * <p>
+ * Las vistas de una vista se componen sobre el origen, por lo que nunca hay cadenas de vistas.
+ * Se obtienen mediante {@link Columna#seleccionVista(int[])}.
+ * </p>
+ *
+ * @param <T> Tipo de dato contenido en la columna.
+ */
+public class ColumnaSeleccion<T> extends Columna<T> {
+
+    /** Columna de la que se leen los valores mientras la vista no se materialice. */
+    private Columna<T> origen;
+
+    /** Fila del origen que corresponde a cada posición de la vista. */
+    private int[] filas;
+
+    /** Copia propia de las filas seleccionadas, creada en la primera modificación. */
+    private Columna<T> datos;
+
+    /**
+     * Crea una vista sobre las filas indicadas de una columna.
+     *
+     * @param origen Columna de origen (no debe ser una vista sin materializar).
+     * @param filas Filas del origen, ya validadas.
+     */
+    ColumnaSeleccion(Columna<T> origen, int[] filas) {
+        super(origen.getEtiqueta(), origen.getTipoDato(), null);
+        this.origen = origen;
+        this.filas = filas;
+    }
+
+    /**
+     * Indica si la vista ya copió sus filas a una columna propia.
+     *
+     * @return true si la vista está materializada.
+     */
+    public boolean estaMaterializada() {
+        return datos != null;
+    }
+
+    /**
+     * Copia las filas seleccionadas a una columna propia, si no se hizo antes, y la devuelve.
+     * La vista deja de depender del origen.
+     *
+     * @return Columna con los valores de la vista y el almacenamiento del origen.
+     */
+    @Override
+    public Columna<T> materializar() {
+        if (datos == null) {
+            datos = origen.seleccionarFilas(filas);
+            origen = null;
+            filas = null;
+        }
+        return datos;
+    }
+
+    /**
+     * Crea una columna vacía con la misma implementación de almacenamiento que el origen.
+     *
+     * @param etiqueta Etiqueta de la nueva columna.
+     * @return Nueva columna vacía del mismo tipo de dato.
+     */
+    @Override
+    public Columna<T> crearVacia(Etiqueta etiqueta) {
+        return datos != null ? datos.crearVacia(etiqueta) : origen.crearVacia(etiqueta);
+    }
+
+    /**
+     * Indica dónde guarda sus valores la columna de la que lee la vista.
+     *
+     * @return Almacenamiento del origen o de la copia propia.
+     */
+    @Override
+    public Almacenamiento getAlmacenamiento() {
+        return datos != null ? datos.getAlmacenamiento() : origen.getAlmacenamiento();
+    }
+
+    /**
+     * Libera la copia propia de la vista, si se materializó. La memoria del origen pertenece
+     * a la columna de origen y no se libera: cerrar el origen invalida las vistas sin materializar.
+     */
+    @Override
+    public void cerrar() {
+        if (datos != null) {
+            datos.cerrar();
+        }
+    }
+
+    /**
+     * Copia las filas indicadas de la vista, leyéndolas directamente del origen.
+     *
+     * @param indices Posiciones de la vista a copiar.
+     * @return Nueva columna con los valores seleccionados.
+     * @throws JandasException Si algún índice es inválido.
+     */
+    @Override
+    public Columna<T> seleccionarFilas(int[] indices) {
+        if (datos != null) {
+            return datos.seleccionarFilas(indices);
+        }
+        return origen.seleccionarFilas(componer(indices));
+    }
+
+    /**
+     * Crea una vista de las filas indicadas de esta vista, compuesta directamente sobre el origen.
+     *
+     * @param indices Posiciones de la vista a seleccionar.
+     * @return Nueva vista de selección.
+     * @throws JandasException Si algún índice es inválido.
+     */
+    @Override
+    public Columna<T> seleccionVista(int[] indices) {
+        if (datos != null) {
+            return datos.seleccionVista(indices);
+        }
+        return origen.seleccionVista(componer(indices));
+    }
+
+    /**
+     * Traduce posiciones de la vista a filas del origen.
+     *
+     * @param indices Posiciones de la vista.
+     * @return Filas del origen correspondientes.
+     * @throws JandasException Si algún índice es inválido.
+     */
+    private int[] componer(int[] indices) {
+        int[] compuestas = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            validarIndice(indices[i]);
+            compuestas[i] = filas[indices[i]];
+        }
+        return compuestas;
+    }
+
+    /**
+     * Materializa la vista y agrega las celdas al final.
+     *
+     * @param nuevasCeldas Lista de celdas a agregar.
+     * @throws JandasException Si la lista es null.
+     */
+    @Override
+    public void agregarCeldas(List<Celda<T>> nuevasCeldas) {
+        materializar().agregarCeldas(nuevasCeldas);
+    }
+
+    /**
+     * Materializa la vista y agrega una celda al final.
+     *
+     * @param nuevaCelda Celda a agregar.
+     * @throws JandasException Si la celda es null.
+     */
+    @Override
+    public void agregarCelda(Celda<T> nuevaCelda) {
+        materializar().agregarCelda(nuevaCelda);
+    }
+
+    /**
+     * Materializa la vista y agrega un valor al final.
+     *
+     * @param valor Valor a agregar (puede ser null).
+     * @throws JandasException Si el valor no es del tipo esperado.
+     */
+    @Override
+    public void setValor(T valor) {
+        materializar().setValor(valor);
+    }
+
+    /**
+     * Devuelve la celda en la posición indicada. Mientras la vista no esté materializada,
+     * la celda es nueva y modificarla no altera el origen.
+     *
+     * @param indice Índice de la celda.
+     * @return Celda en esa posición.
+     * @throws JandasException Si el índice es inválido.
+     */
+    @Override
+    public Celda<T> getCelda(int indice) {
+        if (datos != null) {
+            return datos.getCelda(indice);
+        }
+        validarIndice(indice);
+        Celda<T> celda = origen.getCelda(filas[indice]);
+        return origen instanceof ColumnaPrimitiva ? celda : new Celda<>(celda.getValor());
+    }
+
+    /**
+     * Materializa la vista y reemplaza la celda en el índice dado.
+     *
+     * @param indice Índice donde se debe reemplazar la celda.
+     * @param celda Nueva celda (no null).
+     * @throws JandasException Si el índice es inválido o la celda es null.
+     */
+    @Override
+    public void setCelda(int indice, Celda<T> celda) {
+        materializar().setCelda(indice, celda);
+    }
+
+    /**
+     * Materializa la vista y elimina la celda en la posición indicada.
+     *
+     * @param indice Índice de la celda a eliminar.
+     * @throws JandasException Si el índice es inválido.
+     */
+    @Override
+    public void eliminarCelda(int indice) {
+        materializar().eliminarCelda(indice);
+    }
+
+    /**
+     * Indica si el valor en la posición indicada es NA.
+     *
+     * @param indice Índice de la celda.
+     * @return true si el valor es NA; false en caso contrario.
+     * @throws JandasException Si el índice es inválido.
+     */
+    @Override
+    public boolean isNA(int indice) {
+        if (datos != null) {
+            return datos.isNA(indice);
+        }
+        validarIndice(indice);
+        return origen.isNA(filas[indice]);
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code int}.
+     *
+     * @param indice Índice de la celda.
+     * @return Valor entero de la celda, o 0 si es NA.
+     * @throws JandasException Si el índice es inválido o el valor no es numérico.
+     */
+    @Override
+    public int getInt(int indice) {
+        if (datos != null) {
+            return datos.getInt(indice);
+        }
+        validarIndice(indice);
+        return origen.getInt(filas[indice]);
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code long}.
+     *
+     * @param indice Índice de la celda.
+     * @return Valor entero largo de la celda, o 0 si es NA.
+     * @throws JandasException Si el índice es inválido o el valor no es numérico.
+     */
+    @Override
+    public long getLong(int indice) {
+        if (datos != null) {
+            return datos.getLong(indice);
+        }
+        validarIndice(indice);
+        return origen.getLong(filas[indice]);
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code double}.
+     *
+     * @param indice Índice de la celda.
+     * @return Valor decimal de la celda, o {@link Double#NaN} si es NA.
+     * @throws JandasException Si el índice es inválido o el valor no es numérico.
+     */
+    @Override
+    public double getDouble(int indice) {
+        if (datos != null) {
+            return datos.getDouble(indice);
+        }
+        validarIndice(indice);
+        return origen.getDouble(filas[indice]);
+    }
+
+    /**
+     * Devuelve el valor en la posición indicada como {@code boolean}.
+     *
+     * @param indice Índice de la celda.
+     * @return Valor booleano de la celda, o {@code false} si es NA.
+     * @throws JandasException Si el índice es inválido o el valor no es booleano.
+     */
+    @Override
+    public boolean getBoolean(int indice) {
+        if (datos != null) {
+            return datos.getBoolean(indice);
+        }
+        validarIndice(indice);
+        return origen.getBoolean(filas[indice]);
+    }
+
+    /**
+     * Devuelve una lista de celdas nuevas con los valores de la vista.
+     *
+     * @return Lista de celdas.
+     */
+    @Override
+    public List<Celda<T>> getCeldas() {
+        if (datos != null) {
+            return datos.getCeldas();
+        }
+        List<Celda<T>> celdas = new ArrayList<>(filas.length);
+        for (int i = 0; i < filas.length; i++) {
+            celdas.add(getCelda(i));
+        }
+        return celdas;
+    }
+
+    /**
+     * Devuelve una vista inmodificable de las celdas, creadas bajo demanda.
+     *
+     * @return Vista de solo lectura de las celdas.
+     */
+    @Override
+    public List<Celda<T>> vista() {
+        return datos != null ? datos.vista() : new VistaCeldas();
+    }
+
+    /**
+     * Devuelve la cantidad de filas de la vista.
+     *
+     * @return Tamaño de la columna.
+     */
+    @Override
+    public int size() {
+        return datos != null ? datos.size() : filas.length;
+    }
+
+    /**
+     * Lista de solo lectura que resuelve cada celda contra el origen.
+     */
+    private class VistaCeldas extends AbstractList<Celda<T>> implements RandomAccess {
+
+        /**
+         * Devuelve la celda de la posición indicada.
+         *
+         * @param indice Índice de la celda.
+         * @return Celda con el valor de la posición.
+         */
+        @Override
+        public Celda<T> get(int indice) {
+            return getCelda(indice);
+        }
+
+        /**
+         * Devuelve la cantidad de filas de la vista.
+         *
+         * @return Tamaño de la columna.
+         */
+        @Override
+        public int size() {
+            return ColumnaSeleccion.this.size();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package jandas.base.data;
+
+import jandas.excepciones.JandasException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diccionario de cadenas utilizado por las columnas codificadas ({@link ColumnaDiccionario}).
+ * <p>
+ * Asigna a cada cadena distinta un código entero denso (0, 1, 2, ...) en orden de aparición.
+ * Es de solo agregado: un código asignado nunca cambia, por lo que varias columnas pueden
+ * compartir el mismo diccionario (por ejemplo, el resultado de filtrar una columna codificada).
+ * Al igual que las colecciones de {@code java.util}, no está sincronizado: puede leerse desde
+ * varios hilos, pero no agregarse valores concurrentemente.
+ */
+public class Diccionario {
+
+    /** Valores del diccionario, indexados por código. */
+    private final List<String> valores;
+
+    /** Código asignado a cada valor. */
+    private final Map<String, Integer> codigos;
+
+    /** Rango de orden lexicográfico de cada código; se recalcula al agregar valores. */
+    private int[] rangos;
+
+    /**
+     * Crea un diccionario vacío.
+     */
+    public Diccionario() {
+        this.valores = new ArrayList<>();
+        this.codigos = new HashMap<>();
+    }
+
+    /**
+     * Devuelve el código de un valor, agregándolo al diccionario si no existe.
+     *
+     * @param valor Cadena a codificar (no null).
+     * @return Código del valor.
+     * @throws JandasException Si el valor es null.
+     */
+    public int codificar(String valor) {
+        if (valor == null) {
+            throw new JandasException("No se puede codificar un valor null");
+        }
+        Integer codigo = codigos.get(valor);
+        if (codigo == null) {
+            codigo = valores.size();
+            valores.add(valor);
+            codigos.put(valor, codigo);
+            rangos = null;
+        }
+        return codigo;
+    }
+
+    /**
+     * Busca el código de un valor sin modificar el diccionario.
+     *
+     * @param valor Cadena a buscar.
+     * @return Código del valor, o -1 si no está en el diccionario.
+     */
+    public int buscarCodigo(String valor) {
+        Integer codigo = codigos.get(valor);
+        return codigo == null ? -1 : codigo;
+    }
+
+    /**
+     * Devuelve el valor asociado a un código.
+     *
+     * @param codigo Código a decodificar.
+     * @return Cadena correspondiente al código.
+     * @throws JandasException Si el código no existe.
+     */
+    public String getValor(int codigo) {
+        if (codigo < 0 || codigo >= valores.size()) {
+            throw JandasException.indiceInvalido(codigo, valores.size());
+        }
+        return valores.get(codigo);
+    }
+
+    /**
+     * Devuelve la cantidad de valores distintos del diccionario.
+     *
+     * @return Cardinalidad del diccionario.
+     */
+    public int size() {
+        return valores.size();
+    }
+
+    /**
+     * Devuelve una copia inmodificable de los valores, indexados por código.
+     *
+     * @return Lista de valores del diccionario.
+     */
+    public List<String> getValores() {
+        return Collections.unmodifiableList(new ArrayList<>(valores));
+    }
+
+    /**
+     * Devuelve, para cada código, su posición en el orden lexicográfico de los valores.
+     * <p>
+     * Comparar rangos es equivalente a comparar las cadenas con {@link String#compareTo(String)},
+     * lo que permite ordenar una columna codificada comparando enteros.
+     * El arreglo devuelto se comparte entre llamadas y no debe modificarse.
+     *
+     * @return Arreglo de rangos indexado por código.
+     */
+    public int[] rangos() {
+        if (rangos == null) {
+            Integer[] orden = new Integer[valores.size()];
+            for (int i = 0; i < orden.length; i++) {
+                orden[i] = i;
+            }
+            Arrays.sort(orden, (a, b) -> valores.get(a).compareTo(valores.get(b)));
+            int[] nuevosRangos = new int[orden.length];
+            for (int rango = 0; rango < orden.length; rango++) {
+                nuevosRangos[orden[rango]] = rango;
+            }
+            rangos = nuevosRangos;
+        }
+        return rangos;
+    }
+}
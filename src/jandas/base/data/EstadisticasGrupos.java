@@ -0,0 +1,440 @@
+package jandas.base.data;
+
+import jandas.excepciones.JandasException;
+
+import java.util.Arrays;
+
+/**
+ * Estadísticas de una columna por grupos de filas consecutivas: mínimo, máximo, cantidad de NA
+ * y una estimación de la cantidad de valores distintos de cada grupo.
+ * <p>
+ * Los formatos binarios las guardan al escribir una tabla y los filtros las consultan para
+ * descartar grupos enteros sin leerlos: si ningún valor entre el mínimo y el máximo de un grupo
+ * cumple una comparación, ninguna de sus filas la cumple. Todos los grupos tienen
+ * {@link #getFilasPorGrupo()} filas salvo el último, y ese tamaño es múltiplo de 64 para que
+ * cada grupo ocupe palabras completas de los mapas de bits.
+ * </p>
+ * <p>
+ * Los mínimos y máximos siguen el orden de {@link Comparable} del tipo de la columna, que para
+ * los decimales es el de {@link Double#compare(double, double)}. Un grupo sin valores, o con
+ * valores que no pueden compararse, tiene mínimo y máximo null.
+ * </p>
+ */
+public final class EstadisticasGrupos {
+
+    /** Cantidad de bits del mapa con que se estiman los valores distintos de un grupo. */
+    private static final int BITS_DISTINTOS = 1 << 12;
+
+    /** Cantidad de filas de la columna. */
+    private final int filas;
+
+    /** Cantidad de filas de cada grupo, salvo el último. */
+    private final int filasPorGrupo;
+
+    /** Menor valor de cada grupo, o null si no se conoce. */
+    private final Object[] minimos;
+
+    /** Mayor valor de cada grupo, o null si no se conoce. */
+    private final Object[] maximos;
+
+    /** Cantidad de valores NA de cada grupo. */
+    private final int[] cantidadesNA;
+
+    /** Cantidad estimada de valores distintos (sin contar NA) de cada grupo. */
+    private final int[] distintos;
+
+    /**
+     * Crea las estadísticas a partir de sus valores por grupo. Los arreglos pasan a pertenecer
+     * a las estadísticas.
+     *
+     * @param filas Cantidad de filas de la columna.
+     * @param filasPorGrupo Cantidad de filas de cada grupo, múltiplo positivo de 64.
+     * @param minimos Menor valor de cada grupo, o null si no se conoce.
+     * @param maximos Mayor valor de cada grupo, o null si no se conoce.
+     * @param cantidadesNA Cantidad de valores NA de cada grupo.
+     * @param distintos Cantidad estimada de valores distintos de cada grupo.
+     * @throws JandasException Si el tamaño de grupo no es válido o los arreglos no tienen un
+     *                         elemento por grupo.
+     */
+    public EstadisticasGrupos(int filas, int filasPorGrupo, Object[] minimos, Object[] maximos,
+                              int[] cantidadesNA, int[] distintos) {
+        validarFilasPorGrupo(filasPorGrupo);
+        if (filas < 0) {
+            throw new JandasException("La cantidad de filas no puede ser negativa: " + filas);
+        }
+        int grupos = (int) (((long) filas + filasPorGrupo - 1) / filasPorGrupo);
+        if (minimos == null || maximos == null || cantidadesNA == null || distintos == null
+                || minimos.length != grupos || maximos.length != grupos
+                || cantidadesNA.length != grupos || distintos.length != grupos) {
+            throw new JandasException("Las estadísticas deben tener un valor por cada uno de los " + grupos + " grupos");
+        }
+        this.filas = filas;
+        this.filasPorGrupo = filasPorGrupo;
+        this.minimos = minimos;
+        this.maximos = maximos;
+        this.cantidadesNA = cantidadesNA;
+        this.distintos = distintos;
+    }
+
+    /**
+     * Calcula las estadísticas de una columna dividiéndola en grupos del tamaño indicado.
+     *
+     * @param columna Columna a recorrer.
+     * @param filasPorGrupo Cantidad de filas de cada grupo, múltiplo positivo de 64.
+     * @return Estadísticas de la columna.
+     * @throws JandasException Si la columna es null o el tamaño de grupo no es válido.
+     */
+    public static EstadisticasGrupos calcular(Columna<?> columna, int filasPorGrupo) {
+        if (columna == null) {
+            throw new JandasException("La columna no puede ser null");
+        }
+        validarFilasPorGrupo(filasPorGrupo);
+        Columna<?> datos = columna.materializar();
+        int filas = datos.size();
+        int grupos = (int) (((long) filas + filasPorGrupo - 1) / filasPorGrupo);
+        Object[] minimos = new Object[grupos];
+        Object[] maximos = new Object[grupos];
+        int[] cantidadesNA = new int[grupos];
+        int[] distintos = new int[grupos];
+        long[] mapa = new long[BITS_DISTINTOS / Long.SIZE];
+
+        for (int g = 0; g < grupos; g++) {
+            int desde = g * filasPorGrupo;
+            int hasta = Math.min(desde + filasPorGrupo, filas);
+            Arrays.fill(mapa, 0L);
+            if (datos instanceof ColumnaInt) {
+                resumirInt(datos, desde, hasta, g, minimos, maximos, mapa);
+            } else if (datos instanceof ColumnaLong) {
+                resumirLong(datos, desde, hasta, g, minimos, maximos, mapa);
+            } else if (datos instanceof ColumnaDouble) {
+                resumirDouble(datos, desde, hasta, g, minimos, maximos, mapa);
+            } else if (datos instanceof ColumnaDiccionario diccionario) {
+                resumirCodigos(diccionario, desde, hasta, g, minimos, maximos, mapa);
+            } else {
+                resumirValores(datos, desde, hasta, g, minimos, maximos, mapa);
+            }
+            int valores = 0;
+            for (int i = desde; i < hasta; i++) {
+                if (!datos.isNA(i)) {
+                    valores++;
+                }
+            }
+            cantidadesNA[g] = hasta - desde - valores;
+            distintos[g] = estimarDistintos(mapa, valores);
+        }
+        return new EstadisticasGrupos(filas, filasPorGrupo, minimos, maximos, cantidadesNA, distintos);
+    }
+
+    /**
+     * Verifica que un tamaño de grupo sea un múltiplo positivo de 64.
+     *
+     * @param filasPorGrupo Tamaño de grupo a verificar.
+     * @throws JandasException Si el tamaño no es válido.
+     */
+    public static void validarFilasPorGrupo(int filasPorGrupo) {
+        if (filasPorGrupo <= 0 || (filasPorGrupo & 63) != 0) {
+            throw new JandasException("Las filas por grupo deben ser un múltiplo positivo de 64: " + filasPorGrupo);
+        }
+    }
+
+    /**
+     * Devuelve la cantidad de filas de la columna.
+     *
+     * @return Cantidad de filas.
+     */
+    public int getFilas() {
+        return filas;
+    }
+
+    /**
+     * Devuelve la cantidad de filas de cada grupo, salvo el último.
+     *
+     * @return Filas por grupo.
+     */
+    public int getFilasPorGrupo() {
+        return filasPorGrupo;
+    }
+
+    /**
+     * Devuelve la cantidad de grupos.
+     *
+     * @return Cantidad de grupos.
+     */
+    public int cantidadGrupos() {
+        return minimos.length;
+    }
+
+    /**
+     * Devuelve la primera fila de un grupo.
+     *
+     * @param grupo Posición del grupo.
+     * @return Primera fila del grupo (inclusive).
+     */
+    public int inicioGrupo(int grupo) {
+        return grupo * filasPorGrupo;
+    }
+
+    /**
+     * Devuelve la fila siguiente a la última de un grupo.
+     *
+     * @param grupo Posición del grupo.
+     * @return Última fila del grupo (exclusive).
+     */
+    public int finGrupo(int grupo) {
+        return (int) Math.min((long) grupo * filasPorGrupo + filasPorGrupo, filas);
+    }
+
+    /**
+     * Devuelve el menor valor de un grupo.
+     *
+     * @param grupo Posición del grupo.
+     * @return Menor valor, o null si el grupo no tiene valores o no se conoce.
+     */
+    public Object getMinimo(int grupo) {
+        return minimos[grupo];
+    }
+
+    /**
+     * Devuelve el mayor valor de un grupo.
+     *
+     * @param grupo Posición del grupo.
+     * @return Mayor valor, o null si el grupo no tiene valores o no se conoce.
+     */
+    public Object getMaximo(int grupo) {
+        return maximos[grupo];
+    }
+
+    /**
+     * Devuelve la cantidad de valores NA de un grupo.
+     *
+     * @param grupo Posición del grupo.
+     * @return Cantidad de NA.
+     */
+    public int getCantidadNA(int grupo) {
+        return cantidadesNA[grupo];
+    }
+
+    /**
+     * Devuelve la cantidad estimada de valores distintos de un grupo, sin contar los NA.
+     * La estimación es exacta para pocos valores distintos y pierde precisión cuando se
+     * acercan a algunos miles.
+     *
+     * @param grupo Posición del grupo.
+     * @return Cantidad estimada de valores distintos.
+     */
+    public int getDistintos(int grupo) {
+        return distintos[grupo];
+    }
+
+    /**
+     * Resume un grupo de una columna {@code Integer}.
+     *
+     * @param datos Columna a recorrer.
+     * @param desde Primera fila del grupo.
+     * @param hasta Fila siguiente a la última del grupo.
+     * @param grupo Posición del grupo.
+     * @param minimos Mínimos por grupo a completar.
+     * @param maximos Máximos por grupo a completar.
+     * @param mapa Mapa de bits para estimar los valores distintos.
+     */
+    private static void resumirInt(Columna<?> datos, int desde, int hasta, int grupo,
+                                   Object[] minimos, Object[] maximos, long[] mapa) {
+        int minimo = Integer.MAX_VALUE;
+        int maximo = Integer.MIN_VALUE;
+        boolean hayValores = false;
+        for (int i = desde; i < hasta; i++) {
+            if (!datos.isNA(i)) {
+                int valor = datos.getInt(i);
+                minimo = Math.min(minimo, valor);
+                maximo = Math.max(maximo, valor);
+                marcarDistinto(mapa, valor);
+                hayValores = true;
+            }
+        }
+        if (hayValores) {
+            minimos[grupo] = minimo;
+            maximos[grupo] = maximo;
+        }
+    }
+
+    /**
+     * Resume un grupo de una columna {@code Long}.
+     *
+     * @param datos Columna a recorrer.
+     * @param desde Primera fila del grupo.
+     * @param hasta Fila siguiente a la última del grupo.
+     * @param grupo Posición del grupo.
+     * @param minimos Mínimos por grupo a completar.
+     * @param maximos Máximos por grupo a completar.
+     * @param mapa Mapa de bits para estimar los valores distintos.
+     */
+    private static void resumirLong(Columna<?> datos, int desde, int hasta, int grupo,
+                                    Object[] minimos, Object[] maximos, long[] mapa) {
+        long minimo = Long.MAX_VALUE;
+        long maximo = Long.MIN_VALUE;
+        boolean hayValores = false;
+        for (int i = desde; i < hasta; i++) {
+            if (!datos.isNA(i)) {
+                long valor = datos.getLong(i);
+                minimo = Math.min(minimo, valor);
+                maximo = Math.max(maximo, valor);
+                marcarDistinto(mapa, valor);
+                hayValores = true;
+            }
+        }
+        if (hayValores) {
+            minimos[grupo] = minimo;
+            maximos[grupo] = maximo;
+        }
+    }
+
+    /**
+     * Resume un grupo de una columna {@code Double} con el orden de {@link Double#compare(double, double)}.
+     *
+     * @param datos Columna a recorrer.
+     * @param desde Primera fila del grupo.
+     * @param hasta Fila siguiente a la última del grupo.
+     * @param grupo Posición del grupo.
+     * @param minimos Mínimos por grupo a completar.
+     * @param maximos Máximos por grupo a completar.
+     * @param mapa Mapa de bits para estimar los valores distintos.
+     */
+    private static void resumirDouble(Columna<?> datos, int desde, int hasta, int grupo,
+                                      Object[] minimos, Object[] maximos, long[] mapa) {
+        double minimo = Double.NaN;
+        double maximo = Double.NaN;
+        boolean hayValores = false;
+        for (int i = desde; i < hasta; i++) {
+            if (!datos.isNA(i)) {
+                double valor = datos.getDouble(i);
+                if (!hayValores || Double.compare(valor, minimo) < 0) {
+                    minimo = valor;
+                }
+                if (!hayValores || Double.compare(valor, maximo) > 0) {
+                    maximo = valor;
+                }
+                marcarDistinto(mapa, Double.doubleToLongBits(valor));
+                hayValores = true;
+            }
+        }
+        if (hayValores) {
+            minimos[grupo] = minimo;
+            maximos[grupo] = maximo;
+        }
+    }
+
+    /**
+     * Resume un grupo de una columna codificada comparando los rangos de sus códigos.
+     *
+     * @param datos Columna a recorrer.
+     * @param desde Primera fila del grupo.
+     * @param hasta Fila siguiente a la última del grupo.
+     * @param grupo Posición del grupo.
+     * @param minimos Mínimos por grupo a completar.
+     * @param maximos Máximos por grupo a completar.
+     * @param mapa Mapa de bits para estimar los valores distintos.
+     */
+    private static void resumirCodigos(ColumnaDiccionario datos, int desde, int hasta, int grupo,
+                                       Object[] minimos, Object[] maximos, long[] mapa) {
+        int[] rangos = datos.getDiccionario().rangos();
+        int minimo = -1;
+        int maximo = -1;
+        for (int i = desde; i < hasta; i++) {
+            int codigo = datos.getCodigo(i);
+            if (codigo != -1) {
+                if (minimo == -1 || rangos[codigo] < rangos[minimo]) {
+                    minimo = codigo;
+                }
+                if (maximo == -1 || rangos[codigo] > rangos[maximo]) {
+                    maximo = codigo;
+                }
+                marcarDistinto(mapa, codigo);
+            }
+        }
+        if (minimo != -1) {
+            minimos[grupo] = datos.getDiccionario().getValor(minimo);
+            maximos[grupo] = datos.getDiccionario().getValor(maximo);
+        }
+    }
+
+    /**
+     * Resume un grupo de cualquier columna comparando sus valores con {@link Comparable}.
+     * Si algún valor no es comparable con los demás, el mínimo y el máximo quedan sin conocer.
+     *
+     * @param datos Columna a recorrer.
+     * @param desde Primera fila del grupo.
+     * @param hasta Fila siguiente a la última del grupo.
+     * @param grupo Posición del grupo.
+     * @param minimos Mínimos por grupo a completar.
+     * @param maximos Máximos por grupo a completar.
+     * @param mapa Mapa de bits para estimar los valores distintos.
+     */
+    @SuppressWarnings("unchecked")
+    private static void resumirValores(Columna<?> datos, int desde, int hasta, int grupo,
+                                       Object[] minimos, Object[] maximos, long[] mapa) {
+        Comparable<Object> minimo = null;
+        Comparable<Object> maximo = null;
+        boolean comparables = true;
+        for (int i = desde; i < hasta; i++) {
+            Object valor = datos.getCelda(i).getValor();
+            if (valor == null) {
+                continue;
+            }
+            marcarDistinto(mapa, valor.hashCode());
+            if (!comparables) {
+                continue;
+            }
+            if (!(valor instanceof Comparable) || (minimo != null && minimo.getClass() != valor.getClass())) {
+                comparables = false;
+                continue;
+            }
+            Comparable<Object> comparable = (Comparable<Object>) valor;
+            if (minimo == null || comparable.compareTo(minimo) < 0) {
+                minimo = comparable;
+            }
+            if (maximo == null || comparable.compareTo(maximo) > 0) {
+                maximo = comparable;
+            }
+        }
+        if (comparables) {
+            minimos[grupo] = minimo;
+            maximos[grupo] = maximo;
+        }
+    }
+
+    /**
+     * Marca en el mapa de bits el bit que corresponde al hash de un valor.
+     *
+     * @param mapa Mapa de bits del grupo.
+     * @param valor Bits del valor.
+     */
+    private static void marcarDistinto(long[] mapa, long valor) {
+        long hash = valor * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 29;
+        hash *= 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 32;
+        int bit = (int) hash & (BITS_DISTINTOS - 1);
+        mapa[bit >>> 6] |= 1L << bit;
+    }
+
+    /**
+     * Estima la cantidad de valores distintos a partir de la proporción de bits en cero del
+     * mapa (conteo lineal).
+     *
+     * @param mapa Mapa de bits del grupo.
+     * @param valores Cantidad de valores no NA del grupo, que acota la estimación.
+     * @return Cantidad estimada de valores distintos.
+     */
+    private static int estimarDistintos(long[] mapa, int valores) {
+        int unos = 0;
+        for (long palabra : mapa) {
+            unos += Long.bitCount(palabra);
+        }
+        int ceros = BITS_DISTINTOS - unos;
+        if (ceros == 0) {
+            return valores;
+        }
+        long estimacion = Math.round(BITS_DISTINTOS * Math.log((double) BITS_DISTINTOS / ceros));
+        return (int) Math.min(estimacion, valores);
+    }
+}
@@ -0,0 +1,125 @@
+package jandas.base.data;
+
+import jandas.base.etiquetas.Etiqueta;
+import jandas.base.etiquetas.EtiquetaInt;
+import jandas.excepciones.JandasException;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Etiquetas de filas 0, 1, 2, ... que se crean recién al leerlas.
+ * <p>
+ * Una tabla nueva no reserva un objeto por fila para sus etiquetas por defecto: la etiqueta de
+ * la posición {@code i} es {@code new EtiquetaInt(i)}. La primera modificación copia las
+ * etiquetas a una lista común y a partir de ahí la lista se comporta como esa copia.
+ * </p>
+ */
+final class EtiquetasSecuencia extends AbstractList<Etiqueta> implements RandomAccess {
+
+    /** Cantidad de etiquetas de la secuencia. */
+    private final int cantidad;
+
+    /** Copia modificable de las etiquetas, creada en la primera modificación. */
+    private List<Etiqueta> copia;
+
+    /**
+     * Crea la secuencia de etiquetas 0 a {@code cantidad - 1}.
+     *
+     * @param cantidad Cantidad de etiquetas.
+     */
+    EtiquetasSecuencia(int cantidad) {
+        this.cantidad = cantidad;
+    }
+
+    /**
+     * Devuelve la etiqueta de la posición indicada.
+     *
+     * @param indice Posición de la etiqueta.
+     * @return Etiqueta de la posición.
+     * @throws JandasException Si la posición es inválida.
+     */
+    @Override
+    public Etiqueta get(int indice) {
+        if (copia != null) {
+            return copia.get(indice);
+        }
+        if (indice < 0 || indice >= cantidad) {
+            throw JandasException.indiceInvalido(indice, cantidad);
+        }
+        return new EtiquetaInt(indice);
+    }
+
+    /**
+     * Devuelve la cantidad de etiquetas.
+     *
+     * @return Tamaño de la lista.
+     */
+    @Override
+    public int size() {
+        return copia != null ? copia.size() : cantidad;
+    }
+
+    /**
+     * Reemplaza la etiqueta de una posición.
+     *
+     * @param indice Posición a reemplazar.
+     * @param etiqueta Nueva etiqueta.
+     * @return Etiqueta anterior.
+     */
+    @Override
+    public Etiqueta set(int indice, Etiqueta etiqueta) {
+        return copiar().set(indice, etiqueta);
+    }
+
+    /**
+     * Inserta una etiqueta en una posición.
+     *
+     * @param indice Posición de la nueva etiqueta.
+     * @param etiqueta Etiqueta a insertar.
+     */
+    @Override
+    public void add(int indice, Etiqueta etiqueta) {
+        copiar().add(indice, etiqueta);
+        modCount++;
+    }
+
+    /**
+     * Elimina la etiqueta de una posición.
+     *
+     * @param indice Posición a eliminar.
+     * @return Etiqueta eliminada.
+     */
+    @Override
+    public Etiqueta remove(int indice) {
+        modCount++;
+        return copiar().remove(indice);
+    }
+
+    /**
+     * Elimina todas las etiquetas sin crearlas.
+     */
+    @Override
+    public void clear() {
+        copia = new ArrayList<>();
+        modCount++;
+    }
+
+    /**
+     * Copia la secuencia a una lista modificable, si no se hizo antes, y la devuelve.
+     *
+     * @return Lista modificable con las etiquetas.
+     */
+    private List<Etiqueta> copiar() {
+        if (copia == null) {
+            List<Etiqueta> etiquetas = new ArrayList<>(cantidad + 16);
+            for (int i = 0; i < cantidad; i++) {
+                etiquetas.add(new EtiquetaInt(i));
+            }
+            copia = etiquetas;
+        }
+        return copia;
+    }
+}
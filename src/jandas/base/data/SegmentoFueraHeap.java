@@ -0,0 +1,300 @@
+package jandas.base.data;
+
+import jandas.excepciones.JandasException;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Bloque de memoria nativa redimensionable que respalda una columna fuera del heap.
+ * <p>
+ * Cada bloque tiene su propia {@link Arena} compartida, de modo que puede leerse desde varios
+ * hilos (ordenamiento y agrupamiento en paralelo) y liberarse en forma explícita con
+ * {@link #cerrar()}. Al crecer se reserva un segmento nuevo en otra arena, se copian los
+ * bytes y se libera la arena anterior. Los accesos usan posiciones de elementos, no de bytes.
+ * </p>
+ * <p>
+ * Los bloques automáticos usan {@link Arena#ofAuto()}: su memoria la libera el recolector de
+ * basura cuando el bloque deja de usarse. Son los de las columnas derivadas que la biblioteca
+ * crea al ordenar, agrupar o muestrear, que nadie cierra. {@link #cerrar()} los invalida, pero
+ * la memoria se libera recién en la recolección.
+ * </p>
+ * <p>
+ * Un bloque también puede proyectar una región de un archivo ({@link #mapear(Path, long, long)}):
+ * el sistema operativo carga las páginas a medida que se leen. La proyección es de solo lectura;
+ * la primera escritura copia la región a memoria nativa propia, sin modificar el archivo.
+ * </p>
+ */
+final class SegmentoFueraHeap {
+
+    /** Alineación de los segmentos reservados, suficiente para {@code long} y {@code double}. */
+    private static final long ALINEACION = Long.BYTES;
+
+    /** Indica si la memoria la libera el recolector de basura en lugar de {@link #cerrar()}. */
+    private final boolean automatico;
+
+    /** Arena dueña del segmento actual, o null si el bloque fue cerrado. */
+    private Arena arena;
+
+    /** Segmento con los datos. */
+    private MemorySegment segmento;
+
+    /** Indica si el segmento proyecta un archivo y todavía no se copió a memoria propia. */
+    private boolean soloLectura;
+
+    /**
+     * Reserva un bloque de memoria nativa inicializado en cero.
+     *
+     * @param bytes Tamaño del bloque en bytes.
+     */
+    SegmentoFueraHeap(long bytes) {
+        this(bytes, false);
+    }
+
+    /**
+     * Reserva un bloque de memoria nativa inicializado en cero.
+     *
+     * @param bytes Tamaño del bloque en bytes.
+     * @param automatico Si la memoria la libera el recolector de basura en lugar de {@link #cerrar()}.
+     */
+    SegmentoFueraHeap(long bytes, boolean automatico) {
+        this.automatico = automatico;
+        this.arena = nuevaArena();
+        this.segmento = arena.allocate(Math.max(bytes, ALINEACION), ALINEACION);
+    }
+
+    /**
+     * Crea un bloque sobre un segmento ya reservado en la arena indicada.
+     *
+     * @param arena Arena dueña del segmento.
+     * @param segmento Segmento con los datos.
+     * @param soloLectura Si el segmento proyecta un archivo.
+     */
+    private SegmentoFueraHeap(Arena arena, MemorySegment segmento, boolean soloLectura) {
+        this.automatico = false;
+        this.arena = arena;
+        this.segmento = segmento;
+        this.soloLectura = soloLectura;
+    }
+
+    /**
+     * Proyecta en memoria una región de un archivo, sin leerla.
+     *
+     * @param archivo Archivo a proyectar.
+     * @param posicion Byte inicial de la región; debe ser múltiplo de 8.
+     * @param bytes Tamaño de la región en bytes.
+     * @return Bloque de solo lectura respaldado por el archivo.
+     * @throws JandasException Si la región no está alineada o no se puede proyectar el archivo.
+     */
+    static SegmentoFueraHeap mapear(Path archivo, long posicion, long bytes) {
+        if (posicion % ALINEACION != 0) {
+            throw new JandasException("La región proyectada debe comenzar en un múltiplo de " + ALINEACION);
+        }
+        Arena arena = Arena.ofShared();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            MemorySegment segmento = bytes == 0
+                    ? arena.allocate(ALINEACION, ALINEACION)
+                    : canal.map(FileChannel.MapMode.READ_ONLY, posicion, bytes, arena);
+            return new SegmentoFueraHeap(arena, segmento, bytes != 0);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw new JandasException("No se pudo proyectar el archivo " + archivo + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Devuelve el tamaño del bloque en bytes.
+     *
+     * @return Bytes reservados.
+     */
+    long bytes() {
+        return segmento.byteSize();
+    }
+
+    /**
+     * Cambia el tamaño del bloque conservando su contenido; los bytes nuevos quedan en cero.
+     *
+     * @param bytes Nuevo tamaño en bytes.
+     * @throws JandasException Si el bloque fue cerrado.
+     */
+    void redimensionar(long bytes) {
+        verificarAbierto();
+        Arena nuevaArena = nuevaArena();
+        MemorySegment nuevo = nuevaArena.allocate(Math.max(bytes, ALINEACION), ALINEACION);
+        MemorySegment.copy(segmento, 0, nuevo, 0, Math.min(segmento.byteSize(), nuevo.byteSize()));
+        liberarArena();
+        arena = nuevaArena;
+        segmento = nuevo;
+        soloLectura = false;
+    }
+
+    /**
+     * Crea la arena de un segmento nuevo según el modo de liberación del bloque.
+     *
+     * @return Arena automática o compartida.
+     */
+    private Arena nuevaArena() {
+        return automatico ? Arena.ofAuto() : Arena.ofShared();
+    }
+
+    /**
+     * Libera la arena actual; la de un bloque automático queda para el recolector de basura.
+     */
+    private void liberarArena() {
+        if (!automatico) {
+            arena.close();
+        }
+    }
+
+    /**
+     * Copia a memoria nativa propia un bloque que proyecta un archivo, antes de escribirlo.
+     */
+    private void desacoplar() {
+        if (soloLectura) {
+            redimensionar(segmento.byteSize());
+        }
+    }
+
+    /**
+     * Lee el {@code int} de la posición indicada.
+     *
+     * @param indice Posición del elemento.
+     * @return Valor almacenado.
+     */
+    int leerInt(long indice) {
+        return segmento.getAtIndex(ValueLayout.JAVA_INT, indice);
+    }
+
+    /**
+     * Escribe un {@code int} en la posición indicada.
+     *
+     * @param indice Posición del elemento.
+     * @param valor Valor a escribir.
+     */
+    void escribirInt(long indice, int valor) {
+        desacoplar();
+        segmento.setAtIndex(ValueLayout.JAVA_INT, indice, valor);
+    }
+
+    /**
+     * Lee el {@code long} de la posición indicada.
+     *
+     * @param indice Posición del elemento.
+     * @return Valor almacenado.
+     */
+    long leerLong(long indice) {
+        return segmento.getAtIndex(ValueLayout.JAVA_LONG, indice);
+    }
+
+    /**
+     * Escribe un {@code long} en la posición indicada.
+     *
+     * @param indice Posición del elemento.
+     * @param valor Valor a escribir.
+     */
+    void escribirLong(long indice, long valor) {
+        desacoplar();
+        segmento.setAtIndex(ValueLayout.JAVA_LONG, indice, valor);
+    }
+
+    /**
+     * Lee el {@code double} de la posición indicada.
+     *
+     * @param indice Posición del elemento.
+     * @return Valor almacenado.
+     */
+    double leerDouble(long indice) {
+        return segmento.getAtIndex(ValueLayout.JAVA_DOUBLE, indice);
+    }
+
+    /**
+     * Escribe un {@code double} en la posición indicada.
+     *
+     * @param indice Posición del elemento.
+     * @param valor Valor a escribir.
+     */
+    void escribirDouble(long indice, double valor) {
+        desacoplar();
+        segmento.setAtIndex(ValueLayout.JAVA_DOUBLE, indice, valor);
+    }
+
+    /**
+     * Lee un bit del bloque, interpretado como mapa de bits de palabras {@code long}.
+     *
+     * @param indice Posición del bit.
+     * @return true si el bit está en 1.
+     */
+    boolean leerBit(int indice) {
+        return (leerLong(indice >>> 6) & (1L << indice)) != 0;
+    }
+
+    /**
+     * Escribe un bit del bloque, interpretado como mapa de bits de palabras {@code long}.
+     *
+     * @param indice Posición del bit.
+     * @param valor Valor del bit.
+     */
+    void escribirBit(int indice, boolean valor) {
+        long palabra = leerLong(indice >>> 6);
+        escribirLong(indice >>> 6, valor ? palabra | (1L << indice) : palabra & ~(1L << indice));
+    }
+
+    /**
+     * Copia bytes dentro del bloque; los rangos pueden superponerse.
+     *
+     * @param desde Byte inicial de origen.
+     * @param hacia Byte inicial de destino.
+     * @param bytes Cantidad de bytes a copiar.
+     */
+    void mover(long desde, long hacia, long bytes) {
+        desacoplar();
+        MemorySegment.copy(segmento, desde, segmento, hacia, bytes);
+    }
+
+    /**
+     * Indica si el segmento sigue proyectando el archivo, es decir, si no se escribió ni se
+     * redimensionó desde que se proyectó.
+     *
+     * @return true si el segmento todavía lee del archivo.
+     */
+    boolean esProyectado() {
+        return soloLectura;
+    }
+
+    /**
+     * Indica si el bloque sigue reservado.
+     *
+     * @return true si no fue cerrado.
+     */
+    boolean estaAbierto() {
+        return arena != null && arena.scope().isAlive();
+    }
+
+    /**
+     * Lanza una excepción si el bloque fue cerrado.
+     *
+     * @throws JandasException Si el bloque fue cerrado.
+     */
+    void verificarAbierto() {
+        if (!estaAbierto()) {
+            throw new JandasException("La columna fuera del heap ya fue cerrada");
+        }
+    }
+
+    /**
+     * Libera la memoria nativa del bloque; la de un bloque automático se libera en la próxima
+     * recolección de basura. Llamadas posteriores no tienen efecto.
+     */
+    void cerrar() {
+        if (estaAbierto()) {
+            liberarArena();
+            arena = null;
+            segmento = MemorySegment.NULL;
+        }
+    }
+}
@@ -2,16 +2,19 @@ package jandas.base.data;
 
 import jandas.operaciones.Agrupable;
 import jandas.operaciones.estadisticas.AgruparTabla;
+import jandas.operaciones.estadisticas.ModoAgrupamiento;
 import jandas.operaciones.estadisticas.OperacionEstadistica;
 import jandas.operaciones.filtros.*;
 import jandas.visualizacion.*;
 import jandas.base.etiquetas.EtiquetaString;
 import jandas.excepciones.JandasException;
+import jandas.io.ConversorTexto;
 import jandas.base.etiquetas.Etiqueta;
 import jandas.base.etiquetas.EtiquetaInt;
 import jandas.operaciones.Muestreable;
 import jandas.operaciones.concatenacion.ConcatenarTabla;
 import jandas.operaciones.muestreo.MuestreadorTabla;
+import jandas.operaciones.muestreo.ModoMuestreo;
 import jandas.operaciones.Ordenable;
 import jandas.operaciones.ordenamiento.OrdenadorTabla;
 import jandas.operaciones.ordenamiento.CriterioOrden;
@@ -19,6 +22,8 @@ import jandas.operaciones.ordenamiento.Orden;
 import jandas.operaciones.Concatenable;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -35,7 +40,8 @@ public class Tabla implements
         Ordenable,
         Muestreable,
         Concatenable,
-        Agrupable {
+        Agrupable,
+        AutoCloseable {
 
     /**
      * Lista de columnas que conforman la tabla
@@ -52,6 +58,18 @@ public class Tabla implements
      */
     private List<Etiqueta> etiquetasColumnas;
 
+    /**
+     * Índice hash del valor de cada etiqueta de fila a su posición (primera aparición).
+     * Se construye bajo demanda y se descarta cuando las etiquetas de filas cambian de posición.
+     */
+    private Map<Object, Integer> indiceFilas;
+
+    /**
+     * Índice hash del valor de cada etiqueta de columna a su posición (primera aparición).
+     * Se construye bajo demanda y se descarta cuando las etiquetas de columnas cambian de posición.
+     */
+    private Map<Object, Integer> indiceColumnas;
+
     /**
      * Constructor por defecto que inicializa una tabla vacía.
      * Crea listas vacías para columnas, etiquetas de filas y etiquetas de columnas.
@@ -75,6 +93,19 @@ public class Tabla implements
 
     }
 
+    /**
+     * Constructor interno que adopta las listas recibidas sin copiarlas ni generar etiquetas de filas.
+     *
+     * @param etiquetasColumnas Lista de etiquetas para las columnas
+     * @param columnas Lista de columnas que conformarán la tabla
+     * @param etiquetasFilas Lista de etiquetas de filas, una por fila
+     */
+    private Tabla(List<Etiqueta> etiquetasColumnas, List<Columna<?>> columnas, List<Etiqueta> etiquetasFilas) {
+        this.columnas = columnas;
+        this.etiquetasColumnas = etiquetasColumnas;
+        this.etiquetasFilas = etiquetasFilas;
+    }
+
     /**
      * Constructor que crea una tabla a partir de una matriz de objetos.
      * La primera fila se interpreta como encabezados de columna.
@@ -212,7 +243,8 @@ public class Tabla implements
 
     /**
      * Parsea un string intentando convertirlo al tipo de dato más apropiado.
-     * Intenta convertir en orden: Integer, Double, Boolean, y finalmente String.
+     * Intenta convertir en orden: Integer, Double, Boolean, y finalmente String,
+     * usando {@link ConversorTexto} para no lanzar una excepción por cada texto.
      *
      * @param s String a parsear
      * @return Objeto del tipo más apropiado o null si el string está vacío
@@ -220,16 +252,17 @@ public class Tabla implements
     private Object parsearValor(String s) {
         if (s == null || s.trim().isEmpty()) return null;
 
-        try {
-            return Integer.parseInt(s);
-        } catch (NumberFormatException e1) {
-            try {
-                return Double.parseDouble(s);
-            } catch (NumberFormatException e2) {
-                if (s.equalsIgnoreCase("true") || s.equalsIgnoreCase("false")) {
-                    return Boolean.parseBoolean(s);
-                }
-            }
+        int largo = s.length();
+        long entero = ConversorTexto.leerEntero(s, 0, largo);
+        if (entero != ConversorTexto.NO_ENTERO) {
+            return (int) entero;
+        }
+        double decimal = ConversorTexto.leerDecimal(s, 0, largo);
+        if (!Double.isNaN(decimal) || ConversorTexto.esDecimal(s, 0, largo)) {
+            return decimal;
+        }
+        if (ConversorTexto.esBooleano(s, 0, largo)) {
+            return ConversorTexto.esVerdadero(s, 0, largo);
         }
 
         return s; // default: sigue siendo string
@@ -382,6 +415,7 @@ public class Tabla implements
             for (int i = 0; i < valores.size(); i++) {
                 etiquetasFilas.add(new EtiquetaInt(i));
             }
+            indiceFilas = null;
         }
     }
 
@@ -396,25 +430,42 @@ public class Tabla implements
      * @throws JandasException si las dimensiones no coinciden
      */
     public <T> void agregarColumna(Etiqueta etiquetaColumna, Class<T> tipo, List<T> valores) {
+        agregarColumna(etiquetaColumna, tipo, valores, Almacenamiento.HEAP);
+    }
+
+    /**
+     * Agrega una nueva columna a la tabla con los valores especificados y el almacenamiento indicado.
+     * Las columnas {@code Integer}, {@code Long} y {@code Double} creadas con
+     * {@link Almacenamiento#FUERA_HEAP} reservan memoria nativa que se libera con {@link #close()}.
+     *
+     * @param <T> Tipo de datos de la columna
+     * @param etiquetaColumna Etiqueta identificadora de la columna
+     * @param tipo Clase que representa el tipo de datos
+     * @param valores Lista de valores para la columna
+     * @param almacenamiento Dónde se guardan los valores de la columna
+     * @throws JandasException si las dimensiones no coinciden o el almacenamiento es null
+     */
+    public <T> void agregarColumna(Etiqueta etiquetaColumna, Class<T> tipo, List<T> valores, Almacenamiento almacenamiento) {
         if (!columnas.isEmpty() && valores.size() != cantFilas()) {
             throw new JandasException(String.format(
                     "Dimensiones no coinciden. Se esperaban %d filas, pero se recibieron %d",
                     cantFilas(), valores.size()));
         }
 
-        Columna<T> nuevaColumna = new Columna<>(etiquetaColumna, tipo);
+        Columna<T> nuevaColumna = Columna.crear(etiquetaColumna, tipo, almacenamiento);
         for (T valor : valores) {
             nuevaColumna.agregarCelda(new Celda<>(valor));
         }
 
         columnas.add(nuevaColumna);
-        etiquetasColumnas.add(etiquetaColumna);
+        agregarEtiquetaColumna(etiquetaColumna);
 
         // Si es la primera columna, genera etiquetas de filas automáticamente
         if (etiquetasFilas.isEmpty()) {
             for (int i = 0; i < valores.size(); i++) {
                 etiquetasFilas.add(new EtiquetaInt(i));
             }
+            indiceFilas = null;
         }
     }
 
@@ -434,17 +485,18 @@ public class Tabla implements
                     cantFilas(), celdas.size()));
         }
 
-        Columna<T> nuevaColumna = new Columna<>(etiquetaColumna, tipo);
+        Columna<T> nuevaColumna = Columna.crear(etiquetaColumna, tipo);
         nuevaColumna.agregarCeldas(celdas);
 
         columnas.add(nuevaColumna);
-        etiquetasColumnas.add(etiquetaColumna);
+        agregarEtiquetaColumna(etiquetaColumna);
 
         // Si es la primera columna, generar etiquetas de filas
         if (etiquetasFilas.isEmpty()) {
             for (int i = 0; i < celdas.size(); i++) {
                 etiquetasFilas.add(new EtiquetaInt(i));
             }
+            indiceFilas = null;
         }
     }
 
@@ -463,13 +515,14 @@ public class Tabla implements
         }
 
         columnas.add(columna);
-        etiquetasColumnas.add(columna.getEtiqueta());
+        agregarEtiquetaColumna(columna.getEtiqueta());
 
         // Si es la primera columna, generar etiquetas de filas
         if (etiquetasFilas.isEmpty()) {
             for (int i = 0; i < columna.size(); i++) {
                 etiquetasFilas.add(new EtiquetaInt(i));
             }
+            indiceFilas = null;
         }
 
     }
@@ -493,21 +546,33 @@ public class Tabla implements
             columna.agregarCelda(celda);
         }
         etiquetasFilas.add(etiquetaFila);
+        if (indiceFilas != null) {
+            indiceFilas.putIfAbsent(etiquetaFila.getValor(), etiquetasFilas.size() - 1);
+        }
+    }
+
+    /**
+     * Agrega una etiqueta de columna al final, manteniendo actualizado el índice de columnas.
+     *
+     * @param etiqueta Etiqueta de la columna agregada
+     */
+    private void agregarEtiquetaColumna(Etiqueta etiqueta) {
+        etiquetasColumnas.add(etiqueta);
+        if (indiceColumnas != null) {
+            indiceColumnas.putIfAbsent(etiqueta.getValor(), etiquetasColumnas.size() - 1);
+        }
     }
 
     /**
      * Genera etiquetas automáticas para las filas basándose en índices numéricos.
+     * Las etiquetas se crean recién al leerlas, de modo que construir una tabla grande
+     * no reserva un objeto por fila.
      *
      * @return Lista de etiquetas de filas generadas automáticamente
      */
     private List<Etiqueta> generarEtiquetaFilas() {
         if (!columnas.isEmpty()) {
-            int cantFilas = columnas.get(0).size();
-            List<Etiqueta> etiquetas = new ArrayList<>();
-            for (int i = 0; i < cantFilas; i++) {
-                etiquetas.add(new EtiquetaInt(i));
-            }
-            return etiquetas;
+            return new EtiquetasSecuencia(columnas.get(0).size());
         }
         return new ArrayList<>();
     }
@@ -527,17 +592,17 @@ public class Tabla implements
 
         // Crear nueva columna con el mismo tipo que la columna origen
         Class<T> tipoColumna = (Class<T>) columnaOrigen.getTipoDato();
-        Columna<T> nuevaColumna = new Columna<>(nuevaEtiqueta, tipoColumna);
+        Columna<T> nuevaColumna = Columna.crear(nuevaEtiqueta, tipoColumna);
 
         // Copiar todas las celdas de la columna origen
-        for (Celda<?> celdaOrigen : columnaOrigen.getCeldas()) {
-            T valor = (T) celdaOrigen.getValor();
+        for (int i = 0; i < columnaOrigen.size(); i++) {
+            T valor = (T) columnaOrigen.getCelda(i).getValor();
             nuevaColumna.agregarCelda(new Celda<>(valor));
         }
 
         // Agregar la nueva columna a la tabla
         columnas.add(nuevaColumna);
-        etiquetasColumnas.add(nuevaEtiqueta);
+        agregarEtiquetaColumna(nuevaEtiqueta);
     }
 
     /**
@@ -568,17 +633,18 @@ public class Tabla implements
             for (int i = 0; i < secuencia.size(); i++) {
                 etiquetasFilas.add(new EtiquetaInt(i));
             }
+            indiceFilas = null;
         }
 
         // Crear nueva columna
-        Columna<T> nuevaColumna = new Columna<>(etiquetaColumna, tipo);
+        Columna<T> nuevaColumna = Columna.crear(etiquetaColumna, tipo);
         for (T valor : secuencia) {
             nuevaColumna.agregarCelda(new Celda<>(valor));
         }
 
         // Agregar columna a la tabla
         columnas.add(nuevaColumna);
-        etiquetasColumnas.add(etiquetaColumna);
+        agregarEtiquetaColumna(etiquetaColumna);
     }
 
     /**
@@ -595,13 +661,7 @@ public class Tabla implements
         }
 
         // Buscar el índice de la columna a eliminar
-        int indiceColumna = -1;
-        for (int i = 0; i < etiquetasColumnas.size(); i++) {
-            if (etiquetasColumnas.get(i).getValor().equals(etiqueta.getValor())) {
-                indiceColumna = i;
-                break;
-            }
-        }
+        int indiceColumna = posicionColumna(etiqueta.getValor());
 
         // Verificar que la columna existe
         if (indiceColumna == -1) {
@@ -611,10 +671,12 @@ public class Tabla implements
         // Eliminar la columna y su etiqueta
         columnas.remove(indiceColumna);
         etiquetasColumnas.remove(indiceColumna);
+        indiceColumnas = null;
 
         // Si eliminamos todas las columnas, también limpiamos las etiquetas de filas
         if (columnas.isEmpty()) {
             etiquetasFilas.clear();
+            indiceFilas = null;
         }
     }
 
@@ -632,13 +694,7 @@ public class Tabla implements
         }
 
         // Buscar el índice de la fila a eliminar
-        int indiceFila = -1;
-        for (int i = 0; i < etiquetasFilas.size(); i++) {
-            if (etiquetasFilas.get(i).getValor().equals(etiqueta.getValor())) {
-                indiceFila = i;
-                break;
-            }
-        }
+        int indiceFila = posicionFila(etiqueta.getValor());
 
         // Verificar que la fila existe
         if (indiceFila == -1) {
@@ -646,20 +702,14 @@ public class Tabla implements
         }
 
         // Eliminar la celda correspondiente de cada columna
+        // (si se eliminan todas las filas, las columnas quedan vacías pero mantienen su estructura)
         for (Columna<?> columna : columnas) {
-            columna.getCeldas().remove(indiceFila);
+            columna.eliminarCelda(indiceFila);
         }
 
-        // Eliminar la etiqueta de la fila
+        // Eliminar la etiqueta de la fila (las posiciones siguientes se desplazan)
         etiquetasFilas.remove(indiceFila);
-
-        // Si eliminamos todas las filas, también limpiamos las etiquetas de filas
-        if (etiquetasFilas.isEmpty()) {
-            // Las columnas quedan vacías pero mantienen su estructura
-            for (Columna<?> columna : columnas) {
-                columna.getCeldas().clear();
-            }
-        }
+        indiceFilas = null;
     }
 
     /**
@@ -675,13 +725,7 @@ public class Tabla implements
         EtiquetaInt etiquetaFila = new EtiquetaInt(indiceFila);
 
         // Buscar el índice de la columna
-        int indiceColumna = -1;
-        for (int i = 0; i < etiquetasColumnas.size(); i++) {
-            if (etiquetasColumnas.get(i).getValor().equals(etiquetaColumna.getValor())) {
-                indiceColumna = i;
-                break;
-            }
-        }
+        int indiceColumna = posicionColumna(etiquetaColumna.getValor());
 
         // Verificar que la columna existe
         if (indiceColumna == -1) {
@@ -689,13 +733,7 @@ public class Tabla implements
         }
 
         // Buscar el índice de la fila
-        int indiceFilaReal = -1;
-        for (int i = 0; i < etiquetasFilas.size(); i++) {
-            if (etiquetasFilas.get(i).getValor().equals(etiquetaFila.getValor())) {
-                indiceFilaReal = i;
-                break;
-            }
-        }
+        int indiceFilaReal = posicionFila(etiquetaFila.getValor());
 
         // Verificar que la fila existe
         if (indiceFilaReal == -1) {
@@ -704,7 +742,7 @@ public class Tabla implements
 
         // Obtener la celda
         Columna<?> columna = columnas.get(indiceColumna);
-        Celda<?> celda = columna.getCeldas().get(indiceFilaReal);
+        Celda<?> celda = columna.getCelda(indiceFilaReal);
 
         return celda.getValor();
     }
@@ -723,26 +761,27 @@ public class Tabla implements
         EtiquetaInt fila = new EtiquetaInt(valorfila);
         EtiquetaString columna = new EtiquetaString(valorcolumna);
 
-        int idxfilas = etiquetasFilas.indexOf(fila);
+        int idxfilas = posicionFila(fila.getValor());
         if (idxfilas == -1) {
             throw new JandasException("Etiqueta de fila no encontrada: " + fila.getValor());
         }
 
-        for (Columna<?> col : columnas) {
-            if (col.getEtiqueta().getValor().equals(columna.getValor())) {
-                if (!col.getTipoDato().isInstance(valor)) {
-                    throw new JandasException(String.format(
-                            "Tipo incompatible. Se esperaba %s pero se recibió %s.",
-                            col.getTipoDato().getSimpleName(),
-                            valor == null ? "null" : valor.getClass().getSimpleName()
-                    ));
-                }
-                Celda celda = col.getCeldas().get(idxfilas);
-                celda.setValor(valor);  // Actualiza directamente la celda
-                return;
-            }
+        int idxcolumna = posicionColumna(columna.getValor());
+        if (idxcolumna == -1) {
+            throw new JandasException("Etiqueta de columna no encontrada: " + columna.getValor());
+        }
+
+        Columna<?> col = columnas.get(idxcolumna);
+        if (!col.getTipoDato().isInstance(valor)) {
+            throw new JandasException(String.format(
+                    "Tipo incompatible. Se esperaba %s pero se recibió %s.",
+                    col.getTipoDato().getSimpleName(),
+                    valor == null ? "null" : valor.getClass().getSimpleName()
+            ));
         }
-        throw new JandasException("Etiqueta de columna no encontrada: " + columna.getValor());
+        @SuppressWarnings("unchecked")
+        Columna<Object> columnaObj = (Columna<Object>) col;
+        columnaObj.setCelda(idxfilas, new Celda<>(valor));
     }
 
 // operaciones
@@ -771,6 +810,16 @@ public class Tabla implements
      */
     @Override
     public Tabla ordenar(String... criterios) {
+        return this.ordenarPorCriterios(parsearCriterios(criterios));
+    }
+
+    /**
+     * Convierte criterios de ordenamiento en texto (ej: "Ciudad DESC", "Edad") en objetos CriterioOrden.
+     *
+     * @param criterios Array de strings con los criterios de ordenamiento
+     * @return Lista de criterios de ordenamiento
+     */
+    private static List<CriterioOrden> parsearCriterios(String... criterios) {
         List<CriterioOrden> lista = new ArrayList<>();
         for (String criterio : criterios) {
             String[] partes = criterio.trim().split("\\s+"); // Ej: "Ciudad DESC"
@@ -780,7 +829,7 @@ public class Tabla implements
                     : Orden.ASCENDENTE;
             lista.add(new CriterioOrden(new EtiquetaString(nombre), orden));
         }
-        return this.ordenarPorCriterios(lista);
+        return lista;
     }
 
     /**
@@ -794,6 +843,32 @@ public class Tabla implements
         return OrdenadorTabla.ordenarPorCriterios(this, criterios);
     }
 
+    /**
+     * Devuelve las primeras n filas según criterios especificados como strings, sin ordenar la tabla completa.
+     * El resultado es el mismo que {@code ordenar(criterios).head(n)}.
+     *
+     * @param n Cantidad de filas a devolver
+     * @param criterios Array de strings con los criterios de ordenamiento (ej: "dep_delay DESC")
+     * @return Una nueva tabla con las n primeras filas en orden
+     */
+    @Override
+    public Tabla topN(int n, String... criterios) {
+        return OrdenadorTabla.topN(this, n, parsearCriterios(criterios));
+    }
+
+    /**
+     * Devuelve las primeras n filas según una lista de criterios, sin ordenar la tabla completa.
+     * El resultado es el mismo que {@code ordenarPorCriterios(criterios).head(n)}.
+     *
+     * @param n Cantidad de filas a devolver
+     * @param criterios Lista de objetos CriterioOrden que especifican las columnas y direcciones de ordenamiento
+     * @return Una nueva tabla con las n primeras filas en orden
+     */
+    @Override
+    public Tabla topN(int n, List<CriterioOrden> criterios) {
+        return OrdenadorTabla.topN(this, n, criterios);
+    }
+
 // // Muestrear
 
     /**
@@ -831,6 +906,59 @@ public class Tabla implements
         return MuestreadorTabla.muestrearEstratificado(this, nombreColumna, porcentaje);
     }
 
+    /**
+     * Realiza un muestreo estratificado basado en los valores de una columna específica,
+     * muestreando los estratos en el modo indicado.
+     *
+     * @param nombreColumna El nombre de la columna a usar para la estratificación
+     * @param porcentaje El porcentaje de filas a incluir en cada estrato
+     * @param modo Si los estratos se muestrean uno tras otro o en paralelo
+     * @return Una nueva tabla con la muestra estratificada
+     */
+    @Override
+    public Tabla muestrearEstratificado(String nombreColumna, int porcentaje, ModoMuestreo modo) {
+        return MuestreadorTabla.muestrearEstratificado(this, nombreColumna, porcentaje, modo);
+    }
+
+    /**
+     * Obtiene una muestra aleatoria de un porcentaje de filas, reproducible a partir de una semilla.
+     *
+     * @param porcentaje El porcentaje de filas a incluir en la muestra (1-100)
+     * @param semilla Semilla del generador de esta llamada
+     * @return Una nueva tabla con la muestra aleatoria
+     */
+    @Override
+    public Tabla muestrear(int porcentaje, long semilla) {
+        return MuestreadorTabla.muestrear(this, porcentaje, semilla);
+    }
+
+    /**
+     * Obtiene una muestra aleatoria con una cantidad fija de filas, reproducible a partir de una semilla.
+     *
+     * @param cantidadFilas El número de filas a incluir en la muestra
+     * @param exacto Si es true, la muestra tendrá exactamente cantidadFilas filas
+     * @param semilla Semilla del generador de esta llamada
+     * @return Una nueva tabla con la muestra aleatoria
+     */
+    @Override
+    public Tabla muestrear(int cantidadFilas, boolean exacto, long semilla) {
+        return MuestreadorTabla.muestrear(this, cantidadFilas, exacto, semilla);
+    }
+
+    /**
+     * Realiza un muestreo estratificado reproducible a partir de una semilla.
+     *
+     * @param nombreColumna El nombre de la columna a usar para la estratificación
+     * @param porcentaje El porcentaje de filas a incluir en cada estrato
+     * @param modo Si los estratos se muestrean uno tras otro o en paralelo
+     * @param semilla Semilla del generador de esta llamada
+     * @return Una nueva tabla con la muestra estratificada
+     */
+    @Override
+    public Tabla muestrearEstratificado(String nombreColumna, int porcentaje, ModoMuestreo modo, long semilla) {
+        return MuestreadorTabla.muestrearEstratificado(this, nombreColumna, porcentaje, modo, semilla);
+    }
+
 // // Concatenacion
 
     /**
@@ -848,40 +976,17 @@ public class Tabla implements
 
     /**
      * Filtra las filas de la tabla basándose en una condición específica.
+     * <p>
+     * La condición se compila una vez contra el esquema de la tabla y se evalúa
+     * columna a columna en un mapa de bits; el resultado es una vista de las filas
+     * seleccionadas (ver {@link #vistaFilas(int[])}).
+     * </p>
      *
      * @param condicion La condición que deben cumplir las filas para ser incluidas en el resultado
      * @return Una nueva tabla que contiene solo las filas que cumplen la condición
      */
     public Tabla filtrar(Condicion condicion) {
-        List<Columna<?>> nuevasColumnas = new ArrayList<>();
-        List<Etiqueta> nuevasEtiquetasFilas = new ArrayList<>();
-
-        // Crear nuevas columnas vacías con sus tipos correctos
-        for (Columna<?> columnaOriginal : columnas) {
-            Columna<?> nuevaColumna = new Columna<>(
-                    columnaOriginal.getEtiqueta(),
-                    columnaOriginal.getTipoDato()
-            );
-            nuevasColumnas.add(nuevaColumna);
-        }
-
-        // Evaluar cada fila y agregar las que cumplen la condición
-        for (int i = 0; i < cantFilas(); i++) {
-            Fila fila = getFila(etiquetasFilas.get(i));
-            if (condicion.evaluar(fila)) {
-                // Agregar la fila a las nuevas columnas
-                for (int j = 0; j < cantColumnas(); j++) {
-                    Celda<?> celdaOriginal = fila.getCeldasFila().get(j);
-                    Columna columna = nuevasColumnas.get(j);
-                    columna.agregarCelda(new Celda<>(celdaOriginal.getValor()));
-                }
-                nuevasEtiquetasFilas.add(etiquetasFilas.get(i));
-            }
-        }
-
-        Tabla resultado = new Tabla(etiquetasColumnas, nuevasColumnas);
-        resultado.setEtiquetasFilas(nuevasEtiquetasFilas);
-        return resultado;
+        return vistaFilas(condicion.compilar(this).evaluar().indices());
     }
 
 // // Imputar
@@ -909,9 +1014,8 @@ public class Tabla implements
         Columna<T> columnaTyped = (Columna<T>) columna;
 
         for (int i = 0; i < columnaTyped.size(); i++) {
-            Celda<T> celda = columnaTyped.getCelda(i);
-            if (celda.esNA()) {
-                celda.setValor(valorImputacion);
+            if (columnaTyped.isNA(i)) {
+                columnaTyped.setCelda(i, new Celda<>(valorImputacion));
             }
         }
     }
@@ -975,13 +1079,41 @@ public class Tabla implements
         return AgruparTabla.agruparPor(this, nombreColumna, operacion);
     }
 
+    /**
+     * Agrupa las filas de la tabla por los valores de múltiples columnas y aplica operaciones estadísticas,
+     * en modo secuencial o paralelo.
+     *
+     * @param nombresColumnas Array con los nombres de las columnas por las cuales agrupar
+     * @param operaciones Mapa que especifica las operaciones estadísticas a aplicar a cada columna
+     * @param modo Modo de agrupamiento
+     * @return Una nueva tabla con los resultados de las operaciones de agrupamiento
+     */
+    @Override
+    public Tabla agruparPor(String[] nombresColumnas, Map<String, OperacionEstadistica> operaciones, ModoAgrupamiento modo) {
+        return AgruparTabla.agruparPor(this, nombresColumnas, operaciones, modo);
+    }
+
+    /**
+     * Agrupa las filas de la tabla por los valores de una columna específica y aplica una operación estadística,
+     * en modo secuencial o paralelo.
+     *
+     * @param nombreColumna El nombre de la columna por la cual agrupar
+     * @param operacion La operación estadística a aplicar
+     * @param modo Modo de agrupamiento
+     * @return Una nueva tabla con los resultados de la operación de agrupamiento
+     */
+    @Override
+    public Tabla agruparPor(String nombreColumna, OperacionEstadistica operacion, ModoAgrupamiento modo) {
+        return AgruparTabla.agruparPor(this, nombreColumna, operacion, modo);
+    }
+
 // Seleccionar
 
     /**
      * Obtiene las primeras n filas de la tabla.
      *
      * @param n El número de filas a obtener desde el inicio de la tabla
-     * @return Una nueva tabla con las primeras n filas
+     * @return Una nueva tabla, vista de las primeras n filas (ver {@link #vistaFilas(int[])})
      * @throws JandasException Si n es menor o igual a 0
      */
     public Tabla head(int n) {
@@ -992,40 +1124,18 @@ public class Tabla implements
         // Ajustar n si es mayor que el número total de filas
         n = Math.min(n, cantFilas());
 
-        // Crear nuevas columnas con las primeras n filas
-        List<Columna<?>> nuevasColumnas = new ArrayList<>();
-        for (Columna<?> columnaOriginal : getColumnas()) {
-            @SuppressWarnings("unchecked")
-            Columna<Object> nuevaColumna = new Columna<>(
-                    columnaOriginal.getEtiqueta(),
-                    (Class<Object>) columnaOriginal.getTipoDato()
-            );
-
-            List<? extends Celda<?>> celdasOriginales = columnaOriginal.getCeldas();
-            for (int i = 0; i < Math.min(n, celdasOriginales.size()); i++) {
-                Celda<?> celdaOriginal = celdasOriginales.get(i);
-                @SuppressWarnings("unchecked")
-                Celda<Object> nuevaCelda = new Celda<>(celdaOriginal.getValor());
-                nuevaColumna.agregarCelda(nuevaCelda);
-            }
-            nuevasColumnas.add(nuevaColumna);
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
         }
-
-        // Crear nueva tabla con las etiquetas de columnas y las nuevas columnas
-        Tabla resultado = new Tabla(getEtiquetasColumnas(), nuevasColumnas);
-
-        // Establecer las etiquetas de filas correspondientes
-        List<Etiqueta> nuevasEtiquetasFilas = getEtiquetasFilas().subList(0, n);
-        resultado.setEtiquetasFilas(nuevasEtiquetasFilas);
-
-        return resultado;
+        return vistaFilas(indices);
     }
 
     /**
      * Obtiene las últimas n filas de la tabla.
      *
      * @param n El número de filas a obtener desde el final de la tabla
-     * @return Una nueva tabla con las últimas n filas
+     * @return Una nueva tabla, vista de las últimas n filas (ver {@link #vistaFilas(int[])})
      * @throws JandasException Si n es menor o igual a 0
      */
     public Tabla tail(int n) {
@@ -1039,33 +1149,39 @@ public class Tabla implements
         // Calcular el índice de inicio
         int inicio = cantFilas() - n;
 
-        // Crear nuevas columnas con las últimas n filas
-        List<Columna<?>> nuevasColumnas = new ArrayList<>();
-        for (Columna<?> columnaOriginal : getColumnas()) {
-            @SuppressWarnings("unchecked")
-            Columna<Object> nuevaColumna = new Columna<>(
-                    columnaOriginal.getEtiqueta(),
-                    (Class<Object>) columnaOriginal.getTipoDato()
-            );
-
-            List<? extends Celda<?>> celdasOriginales = columnaOriginal.getCeldas();
-            for (int i = inicio; i < cantFilas(); i++) {
-                Celda<?> celdaOriginal = celdasOriginales.get(i);
-                @SuppressWarnings("unchecked")
-                Celda<Object> nuevaCelda = new Celda<>(celdaOriginal.getValor());
-                nuevaColumna.agregarCelda(nuevaCelda);
-            }
-            nuevasColumnas.add(nuevaColumna);
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = inicio + i;
         }
+        return vistaFilas(indices);
+    }
 
-        // Crear nueva tabla con las etiquetas de columnas y las nuevas columnas
-        Tabla resultado = new Tabla(getEtiquetasColumnas(), nuevasColumnas);
+    /**
+     * Crea una tabla con las filas indicadas, en el orden indicado, sin copiar los valores.
+     * <p>
+     * Cada columna del resultado es una vista de selección ({@link Columna#seleccionVista(int[])})
+     * que comparte el almacenamiento de esta tabla y solo copia sus filas cuando se modifica
+     * ella o la columna original (copia al escribir). Las vistas de vistas se componen sobre
+     * las columnas originales, de modo que encadenar filtros, ordenamientos y {@code head}
+     * no crea tablas intermedias. Las etiquetas de filas se copian.
+     * </p>
+     *
+     * @param indices Posiciones de las filas a seleccionar.
+     * @return Nueva tabla con las filas seleccionadas.
+     * @throws JandasException Si algún índice es inválido.
+     */
+    public Tabla vistaFilas(int[] indices) {
+        List<Columna<?>> nuevasColumnas = new ArrayList<>(columnas.size());
+        for (Columna<?> columnaOriginal : columnas) {
+            nuevasColumnas.add(columnaOriginal.seleccionVista(indices));
+        }
 
-        // Establecer las etiquetas de filas correspondientes
-        List<Etiqueta> nuevasEtiquetasFilas = getEtiquetasFilas().subList(inicio, cantFilas());
-        resultado.setEtiquetasFilas(nuevasEtiquetasFilas);
+        List<Etiqueta> nuevasEtiquetasFilas = new ArrayList<>(indices.length);
+        for (int indice : indices) {
+            nuevasEtiquetasFilas.add(etiquetasFilas.get(indice));
+        }
 
-        return resultado;
+        return new Tabla(new ArrayList<>(etiquetasColumnas), nuevasColumnas, nuevasEtiquetasFilas);
     }
 
     /**
@@ -1112,19 +1228,18 @@ public class Tabla implements
 
     /**
      * Crea una copia profunda de una columna específica.
+     * Las columnas codificadas por diccionario comparten el diccionario original,
+     * que es de solo agregado y no se ve afectado por cambios en la copia.
      *
      * @param <T> El tipo de dato de la columna
      * @param columnaOriginal La columna original a copiar
      * @return Una nueva columna que es una copia profunda de la original
      */
     private <T> Columna<T> copiarColumna(Columna<T> columnaOriginal) {
-        Columna<T> columnaCopia = new Columna<>(
-                copiarEtiqueta(columnaOriginal.getEtiqueta()),
-                columnaOriginal.getTipoDato()
-        );
+        Columna<T> columnaCopia = columnaOriginal.crearVacia(copiarEtiqueta(columnaOriginal.getEtiqueta()));
 
         // Copiar cada celda de la columna
-        for (Celda<T> celdaOriginal : columnaOriginal.getCeldas()) {
+        for (Celda<T> celdaOriginal : columnaOriginal.vista()) {
             columnaCopia.agregarCelda(copiarCelda(celdaOriginal));
         }
 
@@ -1160,20 +1275,66 @@ public class Tabla implements
     }
 
     /**
-     * Obtiene el índice de una etiqueta específica en una lista de etiquetas.
+     * Obtiene el índice de una etiqueta específica en las etiquetas de filas o de columnas.
      *
      * @param etiqueta La etiqueta a buscar
-     * @param etiquetas La lista de etiquetas donde buscar
+     * @param etiquetas La lista de etiquetas donde buscar ({@code etiquetasFilas} o {@code etiquetasColumnas})
      * @return El índice de la etiqueta en la lista
      * @throws JandasException Si la etiqueta no se encuentra en la lista
      */
     private int getIndex(Etiqueta etiqueta, List<Etiqueta> etiquetas) {
+        int indice = etiquetas == etiquetasColumnas
+                ? posicionColumna(etiqueta.getValor())
+                : posicionFila(etiqueta.getValor());
+        if (indice == -1) {
+            throw new JandasException("Etiqueta no encontrada: " + etiqueta.getValor());
+        }
+        return indice;
+    }
+
+    /**
+     * Obtiene la posición de la primera fila cuya etiqueta tiene el valor indicado.
+     * La búsqueda usa el índice hash de filas, que se reconstruye si fue invalidado.
+     *
+     * @param valor Valor de la etiqueta de fila
+     * @return La posición de la fila, o -1 si no existe
+     */
+    private int posicionFila(Object valor) {
+        if (indiceFilas == null) {
+            indiceFilas = construirIndice(etiquetasFilas);
+        }
+        Integer posicion = indiceFilas.get(valor);
+        return posicion == null ? -1 : posicion;
+    }
+
+    /**
+     * Obtiene la posición de la primera columna cuya etiqueta tiene el valor indicado.
+     * La búsqueda usa el índice hash de columnas, que se reconstruye si fue invalidado.
+     *
+     * @param valor Valor de la etiqueta de columna
+     * @return La posición de la columna, o -1 si no existe
+     */
+    private int posicionColumna(Object valor) {
+        if (indiceColumnas == null) {
+            indiceColumnas = construirIndice(etiquetasColumnas);
+        }
+        Integer posicion = indiceColumnas.get(valor);
+        return posicion == null ? -1 : posicion;
+    }
+
+    /**
+     * Construye un índice hash del valor de cada etiqueta a su posición.
+     * Ante etiquetas repetidas conserva la primera aparición, igual que una búsqueda lineal.
+     *
+     * @param etiquetas Lista de etiquetas a indexar
+     * @return Mapa de valor de etiqueta a posición
+     */
+    private static Map<Object, Integer> construirIndice(List<Etiqueta> etiquetas) {
+        Map<Object, Integer> indice = new HashMap<>(Math.max(16, etiquetas.size() * 4 / 3 + 1));
         for (int i = 0; i < etiquetas.size(); i++) {
-            if (etiquetas.get(i).getValor().equals(etiqueta.getValor())) {
-                return i;
-            }
+            indice.putIfAbsent(etiquetas.get(i).getValor(), i);
         }
-        throw new JandasException("Etiqueta no encontrada: " + etiqueta.getValor());
+        return indice;
     }
 
     /**
@@ -1187,7 +1348,7 @@ public class Tabla implements
         int indexFila = getIndex(etiquetaFila, etiquetasFilas);
         List<Celda<?>> celdasFilas = new ArrayList<>();
         for (Columna<?> col : columnas) {
-            celdasFilas.add(col.getCeldas().get(indexFila));
+            celdasFilas.add(col.getCelda(indexFila));
         }
         return new Fila(etiquetaFila, celdasFilas, etiquetasColumnas);
     }
@@ -1203,7 +1364,11 @@ public class Tabla implements
             throw new JandasException(String.format(
                     "Debe proporcionar exactamente %d etiquetas", cantFilas()));
         }
-        this.etiquetasFilas = new ArrayList<>(nuevasEtiquetas);
+        // Se reemplaza el contenido (y no la lista) para que las vistas sigan siendo válidas
+        List<Etiqueta> copia = new ArrayList<>(nuevasEtiquetas);
+        this.etiquetasFilas.clear();
+        this.etiquetasFilas.addAll(copia);
+        this.indiceFilas = null;
     }
 
     /**
@@ -1215,6 +1380,16 @@ public class Tabla implements
         return new ArrayList<>(columnas); // copia defensiva
     }
 
+    /**
+     * Obtiene una vista inmodificable de las columnas de la tabla, sin copiar la lista.
+     * La vista refleja los cambios posteriores de la tabla.
+     *
+     * @return Vista de solo lectura de las columnas
+     */
+    public List<Columna<?>> columnasVista() {
+        return Collections.unmodifiableList(columnas);
+    }
+
     /**
      * Obtiene una columna específica por su etiqueta.
      *
@@ -1235,12 +1410,11 @@ public class Tabla implements
      * @throws JandasException Si no se encuentra una columna con la etiqueta especificada
      */
     public Columna<?> getColumna(String nombreEtiqueta) {
-        for (Columna<?> columna : columnas) {
-            if (columna.getEtiqueta().getValor().equals(nombreEtiqueta)) {
-                return columna;
-            }
+        int indice = posicionColumna(nombreEtiqueta);
+        if (indice == -1) {
+            throw new JandasException("No se encontró una columna con la etiqueta: " + nombreEtiqueta);
         }
-        throw new JandasException("No se encontró una columna con la etiqueta: " + nombreEtiqueta);
+        return columnas.get(indice);
     }
 
     /**
@@ -1275,6 +1449,20 @@ public class Tabla implements
         return columnas.isEmpty() ? 0 : columnas.get(0).size();
     }
 
+    /**
+     * Libera la memoria fuera del heap de las columnas de la tabla. Las columnas del heap no
+     * se modifican. Las tablas derivadas que comparten columnas con esta (vistas de filtrar,
+     * ordenar, head, etc. sin materializar) dejan de poder leerse; las columnas materializadas
+     * de esas tablas se liberan cerrándolas a ellas o, si no se cierran, cuando el recolector de
+     * basura las descarta. Cerrar más de una vez no tiene efecto.
+     */
+    @Override
+    public void close() {
+        for (Columna<?> columna : columnas) {
+            columna.cerrar();
+        }
+    }
+
     /**
      * Obtiene una copia defensiva de la lista de etiquetas de columnas.
      *
@@ -1284,6 +1472,16 @@ public class Tabla implements
         return new ArrayList<>(etiquetasColumnas);
     }
 
+    /**
+     * Obtiene una vista inmodificable de las etiquetas de columnas, sin copiar la lista.
+     * La vista refleja los cambios posteriores de la tabla.
+     *
+     * @return Vista de solo lectura de las etiquetas de columnas
+     */
+    public List<Etiqueta> etiquetasColumnasVista() {
+        return Collections.unmodifiableList(etiquetasColumnas);
+    }
+
     /**
      * Obtiene una copia defensiva de la lista de etiquetas de filas.
      *
@@ -1293,6 +1491,16 @@ public class Tabla implements
         return new ArrayList<>(etiquetasFilas);
     }
 
+    /**
+     * Obtiene una vista inmodificable de las etiquetas de filas, sin copiar la lista.
+     * La vista refleja los cambios posteriores de la tabla.
+     *
+     * @return Vista de solo lectura de las etiquetas de filas
+     */
+    public List<Etiqueta> etiquetasFilasVista() {
+        return Collections.unmodifiableList(etiquetasFilas);
+    }
+
     /**
      * Compara esta tabla con otro objeto para determinar si son iguales.
      * Dos tablas son iguales si tienen las mismas columnas, etiquetas de filas y etiquetas de columnas.
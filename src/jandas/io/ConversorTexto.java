@@ -0,0 +1,540 @@
+package jandas.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Utilidades para reconocer y convertir valores numéricos y booleanos escritos como texto,
+ * sin lanzar excepciones y sin crear subcadenas.
+ * <p>
+ * Los métodos trabajan sobre un rango {@code [inicio, fin)} de un {@link CharSequence} o de un
+ * {@link ByteBuffer} con texto ASCII, y aceptan exactamente los mismos valores que
+ * {@link Integer#parseInt(String)}, {@link Long#parseLong(String)}, {@link Double#parseDouble(String)}
+ * y {@link String#equalsIgnoreCase(String)} con {@code "true"}/{@code "false"}. En lugar de lanzar
+ * {@link NumberFormatException}, un valor inválido se indica con {@link #NO_ENTERO} o {@link Double#NaN}.
+ * <p>
+ * Los decimales simples (hasta 18 dígitos y exponente decimal de hasta 22) se calculan de forma exacta
+ * sobre el texto; los demás casos válidos (notación hexadecimal, sufijos {@code f}/{@code d}, mantisas
+ * largas) se validan primero y luego se delegan en {@link Double#parseDouble(String)}.
+ */
+public final class ConversorTexto {
+
+    /** Valor devuelto por {@link #leerEntero} cuando el rango no es un {@code int} válido. */
+    public static final long NO_ENTERO = Long.MIN_VALUE;
+
+    /** Potencias de diez representables exactamente como {@code double}. */
+    private static final double[] POTENCIAS_DIEZ = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** Mayor mantisa entera que un {@code double} representa sin pérdida (2^53). */
+    private static final long MANTISA_EXACTA = 1L << 53;
+
+    /** Cantidad máxima de dígitos de mantisa que se acumulan sin desbordar un {@code long}. */
+    private static final int MAXIMO_DIGITOS = 18;
+
+    /**
+     * Constructor privado: clase de utilidades estáticas.
+     */
+    private ConversorTexto() {
+    }
+
+    // ---------------------------------------------------------------- CharSequence
+
+    /**
+     * Convierte el rango a entero con las mismas reglas que {@link Integer#parseInt(String)}
+     * (signo opcional, dígitos Unicode, sin espacios).
+     *
+     * @param texto Texto a convertir.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @return Valor del entero, o {@link #NO_ENTERO} si el rango no es un {@code int} válido.
+     */
+    public static long leerEntero(CharSequence texto, int inicio, int fin) {
+        return leerDigitos(texto, inicio, fin, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Indica si el rango es un {@code long} válido según {@link Long#parseLong(String)}.
+     *
+     * @param texto Texto a verificar.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @return {@code true} si el rango puede convertirse con {@link #leerLargo}.
+     */
+    public static boolean esLargo(CharSequence texto, int inicio, int fin) {
+        return leerDigitos(texto, inicio, fin, Long.MAX_VALUE) != NO_ENTERO
+                || esMinimoLargo(texto, inicio, fin);
+    }
+
+    /**
+     * Convierte a {@code long} un rango ya validado con {@link #esLargo}.
+     *
+     * @param texto Texto a convertir.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @return Valor del rango.
+     */
+    public static long leerLargo(CharSequence texto, int inicio, int fin) {
+        long valor = leerDigitos(texto, inicio, fin, Long.MAX_VALUE);
+        return valor == NO_ENTERO ? Long.MIN_VALUE : valor;
+    }
+
+    /**
+     * Convierte el rango a decimal con el mismo resultado que {@link Double#parseDouble(String)}
+     * (que ignora los espacios iniciales y finales).
+     * <p>
+     * Como el texto {@code "NaN"} también se convierte a {@link Double#NaN}, quien necesite
+     * distinguirlo de un valor inválido puede consultar {@link #esDecimal} cuando el resultado es NaN.
+     *
+     * @param texto Texto a convertir.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @return Valor decimal, o {@link Double#NaN} si el rango no es válido.
+     */
+    public static double leerDecimal(CharSequence texto, int inicio, int fin) {
+        while (inicio < fin && texto.charAt(inicio) <= ' ') {
+            inicio++;
+        }
+        while (fin > inicio && texto.charAt(fin - 1) <= ' ') {
+            fin--;
+        }
+        if (inicio == fin) {
+            return Double.NaN;
+        }
+
+        int i = inicio;
+        boolean negativo = false;
+        char primero = texto.charAt(i);
+        if (primero == '-' || primero == '+') {
+            negativo = primero == '-';
+            i++;
+        }
+        long mantisa = 0;
+        int digitos = 0;
+        int decimales = 0;
+        boolean punto = false;
+        for (; i < fin; i++) {
+            char c = texto.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digitos < MAXIMO_DIGITOS) {
+                    mantisa = mantisa * 10 + (c - '0');
+                }
+                digitos++;
+                if (punto) {
+                    decimales++;
+                }
+            } else if (c == '.' && !punto) {
+                punto = true;
+            } else {
+                break;
+            }
+        }
+        int exponente = 0;
+        int digitosExponente = -1;
+        if (i < fin && (texto.charAt(i) == 'e' || texto.charAt(i) == 'E')) {
+            i++;
+            boolean exponenteNegativo = false;
+            if (i < fin && (texto.charAt(i) == '-' || texto.charAt(i) == '+')) {
+                exponenteNegativo = texto.charAt(i) == '-';
+                i++;
+            }
+            digitosExponente = 0;
+            for (; i < fin && texto.charAt(i) >= '0' && texto.charAt(i) <= '9' && digitosExponente < 4; i++) {
+                exponente = exponente * 10 + (texto.charAt(i) - '0');
+                digitosExponente++;
+            }
+            exponente = exponenteNegativo ? -exponente : exponente;
+        }
+
+        if (i == fin && digitosExponente != 0 && digitos > 0 && digitos <= MAXIMO_DIGITOS) {
+            double valor = calcularExacto(mantisa, exponente - decimales);
+            if (!Double.isNaN(valor)) {
+                return negativo ? -valor : valor;
+            }
+        }
+        if (!esDecimal(texto, inicio, fin)) {
+            return Double.NaN;
+        }
+        return Double.parseDouble(texto.subSequence(inicio, fin).toString());
+    }
+
+    /**
+     * Indica si el rango es un decimal válido según la gramática de {@link Double#valueOf(String)}:
+     * espacios opcionales, signo, y luego {@code NaN}, {@code Infinity}, un decimal con exponente
+     * opcional o un hexadecimal con exponente binario, seguidos de un sufijo {@code f}/{@code d} opcional.
+     *
+     * @param texto Texto a verificar.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @return {@code true} si {@link Double#parseDouble(String)} aceptaría el rango.
+     */
+    public static boolean esDecimal(CharSequence texto, int inicio, int fin) {
+        while (inicio < fin && texto.charAt(inicio) <= ' ') {
+            inicio++;
+        }
+        while (fin > inicio && texto.charAt(fin - 1) <= ' ') {
+            fin--;
+        }
+        int i = inicio;
+        if (i < fin && (texto.charAt(i) == '-' || texto.charAt(i) == '+')) {
+            i++;
+        }
+        if (coincide(texto, i, fin, "NaN") || coincide(texto, i, fin, "Infinity")) {
+            return true;
+        }
+
+        boolean hexadecimal = fin - i > 2 && texto.charAt(i) == '0'
+                && (texto.charAt(i + 1) == 'x' || texto.charAt(i + 1) == 'X');
+        if (hexadecimal) {
+            i += 2;
+        }
+        int digitos = 0;
+        boolean punto = false;
+        for (; i < fin; i++) {
+            char c = texto.charAt(i);
+            if (hexadecimal ? Character.digit(c, 16) >= 0 && c < 0x80 : c >= '0' && c <= '9') {
+                digitos++;
+            } else if (c == '.' && !punto) {
+                punto = true;
+            } else {
+                break;
+            }
+        }
+        if (digitos == 0) {
+            return false;
+        }
+
+        boolean conExponente = i < fin && (hexadecimal
+                ? texto.charAt(i) == 'p' || texto.charAt(i) == 'P'
+                : texto.charAt(i) == 'e' || texto.charAt(i) == 'E');
+        if (hexadecimal && !conExponente) {
+            return false;
+        }
+        if (conExponente) {
+            i++;
+            if (i < fin && (texto.charAt(i) == '-' || texto.charAt(i) == '+')) {
+                i++;
+            }
+            int digitosExponente = 0;
+            for (; i < fin && texto.charAt(i) >= '0' && texto.charAt(i) <= '9'; i++) {
+                digitosExponente++;
+            }
+            if (digitosExponente == 0) {
+                return false;
+            }
+        }
+        if (i < fin && "fFdD".indexOf(texto.charAt(i)) >= 0) {
+            i++;
+        }
+        return i == fin;
+    }
+
+    /**
+     * Indica si el rango es {@code true} o {@code false}, sin distinguir mayúsculas.
+     *
+     * @param texto Texto a verificar.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @return {@code true} si el rango es un booleano.
+     */
+    public static boolean esBooleano(CharSequence texto, int inicio, int fin) {
+        return igualIgnorandoMayusculas(texto, inicio, fin, "true") || igualIgnorandoMayusculas(texto, inicio, fin, "false");
+    }
+
+    /**
+     * Indica si el rango es {@code true}, sin distinguir mayúsculas.
+     *
+     * @param texto Texto a verificar.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @return {@code true} si el rango representa el valor verdadero.
+     */
+    public static boolean esVerdadero(CharSequence texto, int inicio, int fin) {
+        return igualIgnorandoMayusculas(texto, inicio, fin, "true");
+    }
+
+    // ---------------------------------------------------------------- bytes
+
+    /**
+     * Indica si todos los bytes del rango son ASCII. Los rangos con otros bytes deben
+     * decodificarse y convertirse con los métodos para {@link CharSequence}.
+     *
+     * @param bytes Bytes a verificar.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @return {@code true} si el rango es ASCII.
+     */
+    public static boolean esAscii(ByteBuffer bytes, int inicio, int fin) {
+        for (int i = inicio; i < fin; i++) {
+            if (bytes.get(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Convierte un rango ASCII a entero con las mismas reglas que {@link Integer#parseInt(String)}.
+     *
+     * @param bytes Bytes a convertir.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @return Valor del entero, o {@link #NO_ENTERO} si el rango no es un {@code int} válido.
+     */
+    public static long leerEntero(ByteBuffer bytes, int inicio, int fin) {
+        int i = inicio;
+        boolean negativo = false;
+        if (i < fin && (bytes.get(i) == '-' || bytes.get(i) == '+')) {
+            negativo = bytes.get(i) == '-';
+            i++;
+        }
+        if (i == fin) {
+            return NO_ENTERO;
+        }
+        long valor = 0;
+        for (; i < fin; i++) {
+            int digito = bytes.get(i) - '0';
+            if (digito < 0 || digito > 9) {
+                return NO_ENTERO;
+            }
+            valor = valor * 10 + digito;
+            if (valor > (long) Integer.MAX_VALUE + 1) {
+                return NO_ENTERO;
+            }
+        }
+        valor = negativo ? -valor : valor;
+        return valor > Integer.MAX_VALUE ? NO_ENTERO : valor;
+    }
+
+    /**
+     * Convierte un rango ASCII a decimal con el mismo resultado que {@link Double#parseDouble(String)}.
+     * <p>
+     * Los casos que no resuelve el camino rápido se decodifican y se convierten con
+     * {@link #leerDecimal(CharSequence, int, int)}.
+     *
+     * @param bytes Bytes a convertir.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @return Valor decimal, o {@link Double#NaN} si el rango no es válido.
+     */
+    public static double leerDecimal(ByteBuffer bytes, int inicio, int fin) {
+        int i = inicio;
+        boolean negativo = false;
+        if (i < fin && (bytes.get(i) == '-' || bytes.get(i) == '+')) {
+            negativo = bytes.get(i) == '-';
+            i++;
+        }
+        long mantisa = 0;
+        int digitos = 0;
+        int decimales = 0;
+        boolean punto = false;
+        for (; i < fin; i++) {
+            byte b = bytes.get(i);
+            if (b >= '0' && b <= '9') {
+                if (digitos < MAXIMO_DIGITOS) {
+                    mantisa = mantisa * 10 + (b - '0');
+                }
+                digitos++;
+                if (punto) {
+                    decimales++;
+                }
+            } else if (b == '.' && !punto) {
+                punto = true;
+            } else {
+                break;
+            }
+        }
+        int exponente = 0;
+        int digitosExponente = -1;
+        if (i < fin && (bytes.get(i) == 'e' || bytes.get(i) == 'E')) {
+            i++;
+            boolean exponenteNegativo = false;
+            if (i < fin && (bytes.get(i) == '-' || bytes.get(i) == '+')) {
+                exponenteNegativo = bytes.get(i) == '-';
+                i++;
+            }
+            digitosExponente = 0;
+            for (; i < fin && bytes.get(i) >= '0' && bytes.get(i) <= '9' && digitosExponente < 4; i++) {
+                exponente = exponente * 10 + (bytes.get(i) - '0');
+                digitosExponente++;
+            }
+            exponente = exponenteNegativo ? -exponente : exponente;
+        }
+
+        if (i == fin && digitosExponente != 0 && digitos > 0 && digitos <= MAXIMO_DIGITOS) {
+            double valor = calcularExacto(mantisa, exponente - decimales);
+            if (!Double.isNaN(valor)) {
+                return negativo ? -valor : valor;
+            }
+        }
+        byte[] copia = new byte[fin - inicio];
+        bytes.get(inicio, copia);
+        String texto = new String(copia, StandardCharsets.ISO_8859_1);
+        return leerDecimal(texto, 0, texto.length());
+    }
+
+    /**
+     * Indica si un rango ASCII es {@code true} o {@code false}, sin distinguir mayúsculas.
+     *
+     * @param bytes Bytes a verificar.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @return {@code true} si el rango es un booleano.
+     */
+    public static boolean esBooleano(ByteBuffer bytes, int inicio, int fin) {
+        return igualIgnorandoMayusculas(bytes, inicio, fin, "true") || igualIgnorandoMayusculas(bytes, inicio, fin, "false");
+    }
+
+    /**
+     * Indica si un rango ASCII es {@code true}, sin distinguir mayúsculas.
+     *
+     * @param bytes Bytes a verificar.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @return {@code true} si el rango representa el valor verdadero.
+     */
+    public static boolean esVerdadero(ByteBuffer bytes, int inicio, int fin) {
+        return igualIgnorandoMayusculas(bytes, inicio, fin, "true");
+    }
+
+    // ---------------------------------------------------------------- auxiliares
+
+    /**
+     * Acumula un entero con signo opcional y dígitos Unicode, como {@link Long#parseLong(String)}.
+     *
+     * @param texto Texto a convertir.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @param maximo Mayor valor positivo admitido ({@link Integer#MAX_VALUE} o {@link Long#MAX_VALUE}).
+     * @return Valor, o {@link #NO_ENTERO} si no es válido o está fuera de rango (incluido {@link Long#MIN_VALUE}).
+     */
+    private static long leerDigitos(CharSequence texto, int inicio, int fin, long maximo) {
+        int i = inicio;
+        boolean negativo = false;
+        if (i < fin && (texto.charAt(i) == '-' || texto.charAt(i) == '+')) {
+            negativo = texto.charAt(i) == '-';
+            i++;
+        }
+        if (i == fin) {
+            return NO_ENTERO;
+        }
+        long limite = negativo ? maximo + (maximo == Long.MAX_VALUE ? 0 : 1) : maximo;
+        long valor = 0;
+        for (; i < fin; i++) {
+            int digito = Character.digit(texto.charAt(i), 10);
+            if (digito < 0 || valor > (limite - digito) / 10) {
+                return NO_ENTERO;
+            }
+            valor = valor * 10 + digito;
+        }
+        return negativo ? -valor : valor;
+    }
+
+    /**
+     * Indica si el rango es exactamente {@code -9223372036854775808} (con dígitos Unicode),
+     * el único {@code long} que no puede distinguirse de {@link #NO_ENTERO}.
+     *
+     * @param texto Texto a verificar.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @return {@code true} si el rango es {@link Long#MIN_VALUE}.
+     */
+    private static boolean esMinimoLargo(CharSequence texto, int inicio, int fin) {
+        String minimo = "9223372036854775808";
+        if (fin - inicio != minimo.length() + 1 || texto.charAt(inicio) != '-') {
+            return false;
+        }
+        for (int i = 0; i < minimo.length(); i++) {
+            if (Character.digit(texto.charAt(inicio + 1 + i), 10) != minimo.charAt(i) - '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calcula {@code mantisa * 10^potencia} cuando el resultado es exacto (algoritmo de Clinger).
+     *
+     * @param mantisa Mantisa entera no negativa.
+     * @param potencia Potencia de diez.
+     * @return Valor, o {@link Double#NaN} si no puede calcularse de forma exacta.
+     */
+    private static double calcularExacto(long mantisa, int potencia) {
+        if (mantisa > MANTISA_EXACTA || potencia < -22 || potencia > 22) {
+            return Double.NaN;
+        }
+        return potencia >= 0 ? mantisa * POTENCIAS_DIEZ[potencia] : mantisa / POTENCIAS_DIEZ[-potencia];
+    }
+
+    /**
+     * Indica si el rango coincide exactamente con una palabra.
+     *
+     * @param texto Texto a comparar.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @param palabra Palabra a comparar.
+     * @return {@code true} si coinciden.
+     */
+    private static boolean coincide(CharSequence texto, int inicio, int fin, String palabra) {
+        if (fin - inicio != palabra.length()) {
+            return false;
+        }
+        for (int i = 0; i < palabra.length(); i++) {
+            if (texto.charAt(inicio + i) != palabra.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compara el rango con una palabra sin distinguir mayúsculas, con las mismas reglas
+     * que {@link String#equalsIgnoreCase(String)}.
+     *
+     * @param texto Texto a comparar.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @param palabra Palabra en minúsculas.
+     * @return {@code true} si coinciden.
+     */
+    private static boolean igualIgnorandoMayusculas(CharSequence texto, int inicio, int fin, String palabra) {
+        if (fin - inicio != palabra.length()) {
+            return false;
+        }
+        for (int i = 0; i < palabra.length(); i++) {
+            char c = texto.charAt(inicio + i);
+            char p = palabra.charAt(i);
+            if (c != p) {
+                char mayuscula = Character.toUpperCase(c);
+                if (mayuscula != Character.toUpperCase(p)
+                        && Character.toLowerCase(mayuscula) != Character.toLowerCase(Character.toUpperCase(p))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compara un rango ASCII con una palabra ASCII en minúsculas, sin distinguir mayúsculas.
+     *
+     * @param bytes Bytes a comparar.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @param palabra Palabra en minúsculas.
+     * @return {@code true} si coinciden.
+     */
+    private static boolean igualIgnorandoMayusculas(ByteBuffer bytes, int inicio, int fin, String palabra) {
+        if (fin - inicio != palabra.length()) {
+            return false;
+        }
+        for (int i = 0; i < palabra.length(); i++) {
+            if ((bytes.get(inicio + i) | 0x20) != palabra.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
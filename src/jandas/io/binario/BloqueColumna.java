@@ -0,0 +1,631 @@
+package jandas.io.binario;
+
+import jandas.base.data.Celda;
+import jandas.base.data.Columna;
+import jandas.base.data.ColumnaBoolean;
+import jandas.base.data.ColumnaDiccionario;
+import jandas.base.data.ColumnaDouble;
+import jandas.base.data.ColumnaInt;
+import jandas.base.data.ColumnaLong;
+import jandas.base.data.Diccionario;
+import jandas.base.data.EstadisticasGrupos;
+import jandas.base.etiquetas.Etiqueta;
+import jandas.base.etiquetas.EtiquetaInt;
+import jandas.base.etiquetas.EtiquetaString;
+import jandas.excepciones.JandasException;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codificación binaria de una columna como bloque contiguo.
+ * <p>
+ * Todos los bloques comienzan en un múltiplo de 8 y usan el orden de bytes nativo, que cada
+ * archivo registra en su encabezado ({@link #escribirEncabezado}) para rechazar los escritos en
+ * una plataforma con otro orden:
+ * </p>
+ * <ul>
+ *   <li>{@link #ENTERO}, {@link #LARGO}, {@link #DECIMAL}: los valores contiguos (0 o {@code NaN}
+ *   en las posiciones NA) y, desde el siguiente múltiplo de 8, el mapa de bits de validez en
+ *   palabras {@code long}. Es la región que espera {@link Columna#mapear}.</li>
+ *   <li>{@link #BOOLEANO}: un mapa de bits con los valores y otro con la validez.</li>
+ *   <li>{@link #TEXTO}, {@link #DICCIONARIO}: la cantidad de valores distintos y cada uno como
+ *   longitud y bytes UTF-8; desde el siguiente múltiplo de 8, el código {@code int} de cada fila
+ *   (-1 si es NA). {@link #DICCIONARIO} se lee como {@link ColumnaDiccionario}.</li>
+ *   <li>{@link #NULOS}: columna {@code Object} sin valores; el bloque está vacío.</li>
+ * </ul>
+ */
+final class BloqueColumna {
+
+    /** Columna {@code Integer}. */
+    static final byte ENTERO = 1;
+
+    /** Columna {@code Long}. */
+    static final byte LARGO = 2;
+
+    /** Columna {@code Double}. */
+    static final byte DECIMAL = 3;
+
+    /** Columna {@code Boolean}. */
+    static final byte BOOLEANO = 4;
+
+    /** Columna {@code String} genérica, guardada con códigos. */
+    static final byte TEXTO = 5;
+
+    /** Columna {@code String} codificada por diccionario. */
+    static final byte DICCIONARIO = 6;
+
+    /** Columna {@code Object} con todas sus filas NA. */
+    static final byte NULOS = 7;
+
+    /** Marca de archivo escrito en little-endian. */
+    static final byte LITTLE_ENDIAN = 1;
+
+    /** Marca de archivo escrito en big-endian. */
+    static final byte BIG_ENDIAN = 2;
+
+    /** Marca del orden de bytes de esta plataforma, con el que se escriben y leen los archivos. */
+    static final byte ORDEN_NATIVO = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? LITTLE_ENDIAN : BIG_ENDIAN;
+
+    /**
+     * Bytes del encabezado de un archivo: identificador, versión, marca del orden de bytes y tres
+     * bytes de relleno.
+     */
+    static final int ENCABEZADO = 3 * Integer.BYTES;
+
+    /** Etiqueta entera. */
+    private static final byte ETIQUETA_ENTERA = 1;
+
+    /** Etiqueta de texto. */
+    private static final byte ETIQUETA_TEXTO = 2;
+
+    /**
+     * Constructor privado: clase de utilidades.
+     */
+    private BloqueColumna() {
+    }
+
+    /**
+     * Determina el código de tipo con que se guarda una columna.
+     *
+     * @param columna Columna a guardar.
+     * @return Código de tipo.
+     * @throws JandasException Si el tipo de la columna no puede guardarse.
+     */
+    static byte codigoDe(Columna<?> columna) {
+        Class<?> tipo = columna.getTipoDato();
+        if (tipo == Integer.class) {
+            return ENTERO;
+        } else if (tipo == Long.class) {
+            return LARGO;
+        } else if (tipo == Double.class) {
+            return DECIMAL;
+        } else if (tipo == Boolean.class) {
+            return BOOLEANO;
+        } else if (tipo == String.class) {
+            return columna.materializar() instanceof ColumnaDiccionario ? DICCIONARIO : TEXTO;
+        } else if (tipo == Object.class && todasNA(columna)) {
+            return NULOS;
+        }
+        throw new JandasException("No se puede guardar la columna '" + columna.getEtiqueta()
+                + "' de tipo " + tipo.getSimpleName());
+    }
+
+    /**
+     * Devuelve el tipo de dato de las columnas guardadas con un código.
+     *
+     * @param codigo Código de tipo.
+     * @return Clase del tipo de dato.
+     * @throws JandasException Si el código no es válido.
+     */
+    static Class<?> tipoDe(byte codigo) {
+        return switch (codigo) {
+            case ENTERO -> Integer.class;
+            case LARGO -> Long.class;
+            case DECIMAL -> Double.class;
+            case BOOLEANO -> Boolean.class;
+            case TEXTO, DICCIONARIO -> String.class;
+            case NULOS -> Object.class;
+            default -> throw new JandasException("Código de tipo de columna inválido: " + codigo);
+        };
+    }
+
+    /**
+     * Indica si las columnas con este código pueden proyectarse desde el archivo.
+     *
+     * @param codigo Código de tipo.
+     * @return true para las columnas numéricas.
+     */
+    static boolean esProyectable(byte codigo) {
+        return codigo == ENTERO || codigo == LARGO || codigo == DECIMAL;
+    }
+
+    /**
+     * Escribe el bloque de una columna a partir de la posición actual, que debe ser múltiplo de 8.
+     *
+     * @param salida Destino del bloque.
+     * @param columna Columna a escribir.
+     * @param codigo Código de tipo obtenido con {@link #codigoDe(Columna)}.
+     * @throws IOException Si falla la escritura.
+     */
+    static void escribir(SalidaBinaria salida, Columna<?> columna, byte codigo) throws IOException {
+        int filas = columna.size();
+        switch (codigo) {
+            case ENTERO -> {
+                for (int i = 0; i < filas; i++) {
+                    salida.escribirInt(columna.isNA(i) ? 0 : columna.getInt(i));
+                }
+                salida.alinear();
+                escribirValidos(salida, columna);
+            }
+            case LARGO -> {
+                for (int i = 0; i < filas; i++) {
+                    salida.escribirLong(columna.isNA(i) ? 0L : columna.getLong(i));
+                }
+                escribirValidos(salida, columna);
+            }
+            case DECIMAL -> {
+                for (int i = 0; i < filas; i++) {
+                    salida.escribirDouble(columna.isNA(i) ? Double.NaN : columna.getDouble(i));
+                }
+                escribirValidos(salida, columna);
+            }
+            case BOOLEANO -> {
+                long palabra = 0;
+                for (int i = 0; i < filas; i++) {
+                    if (!columna.isNA(i) && columna.getBoolean(i)) {
+                        palabra |= 1L << i;
+                    }
+                    if ((i & 63) == 63) {
+                        salida.escribirLong(palabra);
+                        palabra = 0;
+                    }
+                }
+                if ((filas & 63) != 0) {
+                    salida.escribirLong(palabra);
+                }
+                escribirValidos(salida, columna);
+            }
+            case TEXTO, DICCIONARIO -> escribirTextos(salida, columna, codigo);
+            default -> {
+                // NULOS: el bloque está vacío
+            }
+        }
+    }
+
+    /**
+     * Escribe el mapa de bits de validez de una columna.
+     *
+     * @param salida Destino del mapa.
+     * @param columna Columna a recorrer.
+     * @throws IOException Si falla la escritura.
+     */
+    private static void escribirValidos(SalidaBinaria salida, Columna<?> columna) throws IOException {
+        int filas = columna.size();
+        long palabra = 0;
+        for (int i = 0; i < filas; i++) {
+            if (!columna.isNA(i)) {
+                palabra |= 1L << i;
+            }
+            if ((i & 63) == 63) {
+                salida.escribirLong(palabra);
+                palabra = 0;
+            }
+        }
+        if ((filas & 63) != 0) {
+            salida.escribirLong(palabra);
+        }
+    }
+
+    /**
+     * Escribe una columna de texto como sus valores distintos seguidos del código de cada fila.
+     * Las columnas codificadas por diccionario conservan su diccionario y sus códigos.
+     *
+     * @param salida Destino del bloque.
+     * @param columna Columna de texto.
+     * @param codigo {@link #TEXTO} o {@link #DICCIONARIO}.
+     * @throws IOException Si falla la escritura.
+     */
+    private static void escribirTextos(SalidaBinaria salida, Columna<?> columna, byte codigo) throws IOException {
+        int filas = columna.size();
+        int[] codigos = new int[filas];
+        List<String> valores;
+        if (codigo == DICCIONARIO) {
+            ColumnaDiccionario diccionario = (ColumnaDiccionario) columna.materializar();
+            valores = diccionario.getDiccionario().getValores();
+            for (int i = 0; i < filas; i++) {
+                codigos[i] = diccionario.getCodigo(i);
+            }
+        } else {
+            Map<String, Integer> posiciones = new HashMap<>();
+            valores = new ArrayList<>();
+            for (int i = 0; i < filas; i++) {
+                Object valor = columna.getCelda(i).getValor();
+                if (valor == null) {
+                    codigos[i] = -1;
+                } else {
+                    List<String> distintos = valores;
+                    codigos[i] = posiciones.computeIfAbsent(valor.toString(), texto -> {
+                        distintos.add(texto);
+                        return distintos.size() - 1;
+                    });
+                }
+            }
+        }
+        salida.escribirInt(valores.size());
+        for (String valor : valores) {
+            salida.escribirTexto(valor);
+        }
+        salida.alinear();
+        for (int valor : codigos) {
+            salida.escribirInt(valor);
+        }
+    }
+
+    /**
+     * Decodifica al heap el bloque de una columna. Los valores numéricos, los mapas de bits y
+     * los códigos de diccionario se copian en bloque a los arreglos que adopta la columna.
+     *
+     * @param segmento Segmento que contiene el bloque.
+     * @param inicio Byte inicial del bloque, múltiplo de 8.
+     * @param etiqueta Etiqueta de la columna.
+     * @param codigo Código de tipo de la columna.
+     * @param filas Cantidad de filas.
+     * @return Columna con los valores del bloque.
+     * @throws JandasException Si el código de tipo no es válido.
+     */
+    static Columna<?> leer(MemorySegment segmento, long inicio, Etiqueta etiqueta, byte codigo, int filas) {
+        long validos = inicio + alinear((long) filas * anchoValor(codigo));
+        switch (codigo) {
+            case ENTERO -> {
+                int[] valores = new int[filas];
+                MemorySegment.copy(segmento, ValueLayout.JAVA_INT, inicio, valores, 0, filas);
+                return new ColumnaInt(etiqueta, valores, leerPalabras(segmento, validos, filas), filas);
+            }
+            case LARGO -> {
+                long[] valores = new long[filas];
+                MemorySegment.copy(segmento, ValueLayout.JAVA_LONG, inicio, valores, 0, filas);
+                return new ColumnaLong(etiqueta, valores, leerPalabras(segmento, validos, filas), filas);
+            }
+            case DECIMAL -> {
+                double[] valores = new double[filas];
+                MemorySegment.copy(segmento, ValueLayout.JAVA_DOUBLE, inicio, valores, 0, filas);
+                return new ColumnaDouble(etiqueta, valores, leerPalabras(segmento, validos, filas), filas);
+            }
+            case BOOLEANO -> {
+                long bitsValidos = inicio + (long) palabras(filas) * Long.BYTES;
+                return new ColumnaBoolean(etiqueta, leerPalabras(segmento, inicio, filas),
+                        leerPalabras(segmento, bitsValidos, filas), filas);
+            }
+            case TEXTO, DICCIONARIO -> {
+                return leerTextos(segmento, inicio, etiqueta, codigo, filas);
+            }
+            case NULOS -> {
+                Columna<Object> columna = Columna.crear(etiqueta, Object.class);
+                for (int i = 0; i < filas; i++) {
+                    columna.agregarCelda(new Celda<>());
+                }
+                return columna;
+            }
+            default -> throw new JandasException("Código de tipo de columna inválido: " + codigo);
+        }
+    }
+
+    /**
+     * Decodifica un bloque de texto.
+     *
+     * @param segmento Segmento que contiene el bloque.
+     * @param inicio Byte inicial del bloque.
+     * @param etiqueta Etiqueta de la columna.
+     * @param codigo {@link #TEXTO} o {@link #DICCIONARIO}.
+     * @param filas Cantidad de filas.
+     * @return Columna de texto, codificada por diccionario si así se guardó.
+     */
+    private static Columna<String> leerTextos(MemorySegment segmento, long inicio, Etiqueta etiqueta, byte codigo, int filas) {
+        int cantidad = segmento.get(ValueLayout.JAVA_INT_UNALIGNED, inicio);
+        String[] valores = new String[cantidad];
+        long posicion = inicio + Integer.BYTES;
+        for (int i = 0; i < cantidad; i++) {
+            valores[i] = leerTexto(segmento, posicion);
+            posicion += Integer.BYTES + segmento.get(ValueLayout.JAVA_INT_UNALIGNED, posicion);
+        }
+        long codigos = alinear(posicion) / Integer.BYTES;
+
+        if (codigo == DICCIONARIO) {
+            Diccionario diccionario = new Diccionario();
+            for (String valor : valores) {
+                diccionario.codificar(valor);
+            }
+            int[] valoresCodigos = new int[filas];
+            MemorySegment.copy(segmento, ValueLayout.JAVA_INT, codigos * Integer.BYTES, valoresCodigos, 0, filas);
+            return new ColumnaDiccionario(etiqueta, diccionario, valoresCodigos, filas);
+        }
+        Columna<String> columna = Columna.crear(etiqueta, String.class);
+        for (int i = 0; i < filas; i++) {
+            int valor = segmento.getAtIndex(ValueLayout.JAVA_INT, codigos + i);
+            columna.agregarCelda(new Celda<>(valor < 0 ? null : valores[valor]));
+        }
+        return columna;
+    }
+
+    /**
+     * Escribe las estadísticas por grupos de una columna: por cada grupo la cantidad de NA, la
+     * estimación de valores distintos y, si se conocen, el mínimo y el máximo con el tipo de la
+     * columna.
+     *
+     * @param salida Destino de las estadísticas.
+     * @param estadisticas Estadísticas de la columna.
+     * @param codigo Código de tipo de la columna.
+     * @throws IOException Si falla la escritura.
+     */
+    static void escribirEstadisticas(SalidaBinaria salida, EstadisticasGrupos estadisticas, byte codigo)
+            throws IOException {
+        Class<?> tipo = tipoDe(codigo);
+        for (int g = 0; g < estadisticas.cantidadGrupos(); g++) {
+            salida.escribirInt(estadisticas.getCantidadNA(g));
+            salida.escribirInt(estadisticas.getDistintos(g));
+            Object minimo = estadisticas.getMinimo(g);
+            Object maximo = estadisticas.getMaximo(g);
+            boolean conocidos = codigo != NULOS && tipo.isInstance(minimo) && tipo.isInstance(maximo);
+            salida.escribirByte(conocidos ? 1 : 0);
+            if (conocidos) {
+                escribirExtremo(salida, minimo, codigo);
+                escribirExtremo(salida, maximo, codigo);
+            }
+        }
+    }
+
+    /**
+     * Escribe el mínimo o el máximo de un grupo con el tipo de la columna.
+     *
+     * @param salida Destino del valor.
+     * @param valor Valor a escribir.
+     * @param codigo Código de tipo de la columna.
+     * @throws IOException Si falla la escritura.
+     */
+    private static void escribirExtremo(SalidaBinaria salida, Object valor, byte codigo) throws IOException {
+        switch (codigo) {
+            case ENTERO -> salida.escribirInt((Integer) valor);
+            case LARGO -> salida.escribirLong((Long) valor);
+            case DECIMAL -> salida.escribirDouble((Double) valor);
+            case BOOLEANO -> salida.escribirByte((Boolean) valor ? 1 : 0);
+            default -> salida.escribirTexto((String) valor);
+        }
+    }
+
+    /**
+     * Lee las estadísticas escritas con {@link #escribirEstadisticas(SalidaBinaria, EstadisticasGrupos, byte)}.
+     *
+     * @param segmento Segmento que contiene las estadísticas.
+     * @param posicion Posición de las estadísticas; se avanza hasta el byte siguiente.
+     * @param codigo Código de tipo de la columna.
+     * @param filas Cantidad de filas de la columna.
+     * @param filasPorGrupo Cantidad de filas de cada grupo.
+     * @return Estadísticas leídas.
+     */
+    static EstadisticasGrupos leerEstadisticas(MemorySegment segmento, long[] posicion, byte codigo, int filas,
+                                               int filasPorGrupo) {
+        int grupos = (int) (((long) filas + filasPorGrupo - 1) / filasPorGrupo);
+        Object[] minimos = new Object[grupos];
+        Object[] maximos = new Object[grupos];
+        int[] cantidadesNA = new int[grupos];
+        int[] distintos = new int[grupos];
+        for (int g = 0; g < grupos; g++) {
+            cantidadesNA[g] = segmento.get(ValueLayout.JAVA_INT_UNALIGNED, posicion[0]);
+            distintos[g] = segmento.get(ValueLayout.JAVA_INT_UNALIGNED, posicion[0] + Integer.BYTES);
+            posicion[0] += 2 * Integer.BYTES;
+            if (segmento.get(ValueLayout.JAVA_BYTE, posicion[0]++) != 0) {
+                minimos[g] = leerExtremo(segmento, posicion, codigo);
+                maximos[g] = leerExtremo(segmento, posicion, codigo);
+            }
+        }
+        return new EstadisticasGrupos(filas, filasPorGrupo, minimos, maximos, cantidadesNA, distintos);
+    }
+
+    /**
+     * Lee el mínimo o el máximo de un grupo.
+     *
+     * @param segmento Segmento que contiene el valor.
+     * @param posicion Posición del valor; se avanza hasta el byte siguiente.
+     * @param codigo Código de tipo de la columna.
+     * @return Valor leído.
+     */
+    private static Object leerExtremo(MemorySegment segmento, long[] posicion, byte codigo) {
+        long inicio = posicion[0];
+        switch (codigo) {
+            case ENTERO -> {
+                posicion[0] += Integer.BYTES;
+                return segmento.get(ValueLayout.JAVA_INT_UNALIGNED, inicio);
+            }
+            case LARGO -> {
+                posicion[0] += Long.BYTES;
+                return segmento.get(ValueLayout.JAVA_LONG_UNALIGNED, inicio);
+            }
+            case DECIMAL -> {
+                posicion[0] += Double.BYTES;
+                return segmento.get(ValueLayout.JAVA_DOUBLE_UNALIGNED, inicio);
+            }
+            case BOOLEANO -> {
+                posicion[0]++;
+                return segmento.get(ValueLayout.JAVA_BYTE, inicio) != 0;
+            }
+            default -> {
+                posicion[0] += Integer.BYTES + segmento.get(ValueLayout.JAVA_INT_UNALIGNED, inicio);
+                return leerTexto(segmento, inicio);
+            }
+        }
+    }
+
+    /**
+     * Escribe el encabezado de un archivo: identificador, versión y la marca del orden de bytes
+     * con el que se escriben los valores. La marca es un solo byte, así que se lee igual en
+     * cualquier plataforma.
+     *
+     * @param salida Destino del encabezado, al comienzo del archivo.
+     * @param magia Identificador del tipo de archivo.
+     * @param version Versión del formato.
+     * @throws IOException Si falla la escritura.
+     */
+    static void escribirEncabezado(SalidaBinaria salida, int magia, int version) throws IOException {
+        salida.escribirInt(magia);
+        salida.escribirInt(version);
+        salida.escribirByte(ORDEN_NATIVO);
+        for (int i = 1; i < Integer.BYTES; i++) {
+            salida.escribirByte(0);
+        }
+    }
+
+    /**
+     * Verifica el identificador, el orden de bytes y la versión al comienzo de un archivo
+     * escrito por este paquete.
+     *
+     * @param segmento Contenido del archivo.
+     * @param ruta Ruta del archivo, para los mensajes de error.
+     * @param magia Identificador esperado.
+     * @param version Versión esperada del formato.
+     * @throws JandasException Si el archivo no es válido, fue escrito con otro orden de bytes o
+     *                         con una versión distinta del formato.
+     */
+    static void verificarEncabezado(MemorySegment segmento, String ruta, int magia, int version) {
+        int leida = segmento.byteSize() < ENCABEZADO ? 0 : segmento.get(ValueLayout.JAVA_INT_UNALIGNED, 0);
+        if (leida == Integer.reverseBytes(magia)) {
+            throw new JandasException(ruta + " fue escrito con otro orden de bytes");
+        }
+        if (leida != magia) {
+            throw new JandasException(ruta + " no es una tabla binaria de Jandas");
+        }
+        int versionLeida = segmento.get(ValueLayout.JAVA_INT_UNALIGNED, 4);
+        if (versionLeida != version) {
+            throw new JandasException("Versión de formato no soportada en " + ruta + ": " + versionLeida);
+        }
+        byte orden = segmento.get(ValueLayout.JAVA_BYTE, 2 * Integer.BYTES);
+        if (orden != ORDEN_NATIVO) {
+            throw new JandasException(ruta + " fue escrito en " + (orden == BIG_ENDIAN ? "big-endian" : "little-endian")
+                    + " y esta plataforma es " + (ORDEN_NATIVO == BIG_ENDIAN ? "big-endian" : "little-endian"));
+        }
+    }
+
+    /**
+     * Escribe una etiqueta de fila o de columna con su tipo.
+     *
+     * @param salida Destino de la etiqueta.
+     * @param etiqueta Etiqueta a escribir.
+     * @throws IOException Si falla la escritura.
+     */
+    static void escribirEtiqueta(SalidaBinaria salida, Etiqueta etiqueta) throws IOException {
+        if (etiqueta instanceof EtiquetaInt entera) {
+            salida.escribirByte(ETIQUETA_ENTERA);
+            salida.escribirInt(entera.getValor());
+        } else {
+            salida.escribirByte(ETIQUETA_TEXTO);
+            salida.escribirTexto(String.valueOf(etiqueta.getValor()));
+        }
+    }
+
+    /**
+     * Lee una etiqueta escrita con {@link #escribirEtiqueta(SalidaBinaria, Etiqueta)}.
+     *
+     * @param segmento Segmento que contiene la etiqueta.
+     * @param posicion Posición de la etiqueta; se avanza hasta el byte siguiente.
+     * @return Etiqueta leída.
+     * @throws JandasException Si el tipo de etiqueta no es válido.
+     */
+    static Etiqueta leerEtiqueta(MemorySegment segmento, long[] posicion) {
+        byte tipo = segmento.get(ValueLayout.JAVA_BYTE, posicion[0]);
+        posicion[0]++;
+        if (tipo == ETIQUETA_ENTERA) {
+            int valor = segmento.get(ValueLayout.JAVA_INT_UNALIGNED, posicion[0]);
+            posicion[0] += Integer.BYTES;
+            return new EtiquetaInt(valor);
+        } else if (tipo == ETIQUETA_TEXTO) {
+            String valor = leerTexto(segmento, posicion[0]);
+            posicion[0] += Integer.BYTES + segmento.get(ValueLayout.JAVA_INT_UNALIGNED, posicion[0]);
+            return new EtiquetaString(valor);
+        }
+        throw new JandasException("Tipo de etiqueta inválido: " + tipo);
+    }
+
+    /**
+     * Lee un texto escrito como longitud y bytes UTF-8.
+     *
+     * @param segmento Segmento que contiene el texto.
+     * @param posicion Posición de la longitud.
+     * @return Texto leído.
+     */
+    static String leerTexto(MemorySegment segmento, long posicion) {
+        int longitud = segmento.get(ValueLayout.JAVA_INT_UNALIGNED, posicion);
+        byte[] bytes = new byte[longitud];
+        MemorySegment.copy(segmento, ValueLayout.JAVA_BYTE, posicion + Integer.BYTES, bytes, 0, longitud);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Devuelve el ancho en bytes de cada valor de las columnas numéricas.
+     *
+     * @param codigo Código de tipo.
+     * @return Ancho del valor, o 0 si la columna no es numérica.
+     */
+    private static int anchoValor(byte codigo) {
+        return switch (codigo) {
+            case ENTERO -> Integer.BYTES;
+            case LARGO, DECIMAL -> Long.BYTES;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Copia al heap un mapa de bits guardado en palabras {@code long}.
+     *
+     * @param segmento Segmento que contiene el mapa.
+     * @param inicio Byte inicial del mapa, múltiplo de 8.
+     * @param bits Cantidad de bits del mapa.
+     * @return Palabras del mapa.
+     */
+    private static long[] leerPalabras(MemorySegment segmento, long inicio, int bits) {
+        long[] palabras = new long[palabras(bits)];
+        MemorySegment.copy(segmento, ValueLayout.JAVA_LONG, inicio, palabras, 0, palabras.length);
+        return palabras;
+    }
+
+    /**
+     * Calcula la cantidad de palabras de 64 bits necesarias para una cantidad de bits.
+     *
+     * @param bits Cantidad de bits.
+     * @return Cantidad de palabras {@code long}.
+     */
+    private static int palabras(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * Redondea una posición hacia arriba al siguiente múltiplo de 8.
+     *
+     * @param posicion Posición en bytes.
+     * @return Posición alineada.
+     */
+    static long alinear(long posicion) {
+        return (posicion + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    /**
+     * Indica si todas las filas de una columna son NA.
+     *
+     * @param columna Columna a recorrer.
+     * @return true si ninguna fila tiene valor.
+     */
+    private static boolean todasNA(Columna<?> columna) {
+        for (int i = 0; i < columna.size(); i++) {
+            if (!columna.isNA(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,89 @@
+package jandas.io.binario;
+
+import jandas.base.data.Columna;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.Etiqueta;
+import jandas.excepciones.JandasException;
+import jandas.io.EscribirArchivo;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Escribe una {@link Tabla} en un único archivo binario columnar que {@link LeerBinario} carga
+ * copiando cada columna en bloque, sin interpretar texto.
+ * <p>
+ * El archivo tiene tres partes, todas en el orden de bytes nativo de la plataforma que lo escribe:
+ * </p>
+ * <ol>
+ *   <li>Encabezado: identificador {@link #MAGIA}, {@link #VERSION} del formato y la marca del
+ *   orden de bytes ({@link BloqueColumna#escribirEncabezado}).</li>
+ *   <li>El bloque de cada columna en el formato de {@link BloqueColumna}, empezando en un
+ *   múltiplo de 8: valores primitivos contiguos, mapas de bits de validez y textos codificados
+ *   por diccionario.</li>
+ *   <li>Pie con el esquema: cantidad de filas y de columnas; por cada columna su etiqueta, su
+ *   código de tipo y la posición de su bloque; y las etiquetas de filas. Los últimos 12 bytes
+ *   son la posición del pie y otra vez {@link #MAGIA}.</li>
+ * </ol>
+ * <p>
+ * El esquema va al final porque la posición de cada bloque se conoce recién al escribirlo; así
+ * las columnas se escriben en una sola pasada y un archivo truncado se detecta porque no termina
+ * con el identificador.
+ * </p>
+ */
+public class EscribirBinario implements EscribirArchivo {
+
+    /** Identificador de los archivos binarios de tablas. */
+    static final int MAGIA = 0x4A544142;
+
+    /** Versión del formato. */
+    static final int VERSION = 2;
+
+    /** Bytes del cierre del archivo: posición del pie e identificador. */
+    static final int CIERRE = Long.BYTES + Integer.BYTES;
+
+    /**
+     * Escribe la tabla en el archivo indicado, reemplazándolo si existe.
+     *
+     * @param tabla Tabla a escribir.
+     * @param rutaArchivo Archivo de destino.
+     * @throws JandasException Si alguna columna tiene un tipo que no puede guardarse o falla la escritura.
+     */
+    @Override
+    public void escribir(Tabla tabla, String rutaArchivo) {
+        if (tabla == null || rutaArchivo == null) {
+            throw new JandasException("La tabla y la ruta del archivo no pueden ser null");
+        }
+        List<Columna<?>> columnas = tabla.columnasVista();
+        byte[] codigos = new byte[columnas.size()];
+        for (int j = 0; j < columnas.size(); j++) {
+            codigos[j] = BloqueColumna.codigoDe(columnas.get(j));
+        }
+
+        try (SalidaBinaria salida = new SalidaBinaria(Path.of(rutaArchivo))) {
+            BloqueColumna.escribirEncabezado(salida, MAGIA, VERSION);
+            long[] inicios = new long[columnas.size()];
+            for (int j = 0; j < columnas.size(); j++) {
+                salida.alinear();
+                inicios[j] = salida.posicion();
+                BloqueColumna.escribir(salida, columnas.get(j), codigos[j]);
+            }
+
+            long pie = salida.posicion();
+            salida.escribirInt(tabla.cantFilas());
+            salida.escribirInt(columnas.size());
+            List<Etiqueta> etiquetas = tabla.etiquetasColumnasVista();
+            for (int j = 0; j < columnas.size(); j++) {
+                BloqueColumna.escribirEtiqueta(salida, etiquetas.get(j));
+                salida.escribirByte(codigos[j]);
+                salida.escribirLong(inicios[j]);
+            }
+            EscribirColumnasMapeadas.escribirEtiquetasFilas(salida, tabla.etiquetasFilasVista());
+            salida.escribirLong(pie);
+            salida.escribirInt(MAGIA);
+        } catch (IOException e) {
+            throw new JandasException("Error al escribir la tabla en " + rutaArchivo + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package jandas.io.binario;
+
+import jandas.base.data.Columna;
+import jandas.base.data.EstadisticasGrupos;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.Etiqueta;
+import jandas.base.etiquetas.EtiquetaInt;
+import jandas.excepciones.JandasException;
+import jandas.io.EscribirArchivo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Escribe una {@link Tabla} como un directorio de archivos de columnas que
+ * {@link LeerColumnasMapeadas} proyecta en memoria.
+ * <p>
+ * Cada columna se guarda en su propio archivo ({@code columna_0.bin}, {@code columna_1.bin}, ...)
+ * con el formato de {@link BloqueColumna}, de modo que abrir la tabla no lee ninguna columna y
+ * cada operación recorre solo los archivos de las columnas que usa. El archivo
+ * {@code esquema.bin} guarda el orden de bytes de los archivos, la cantidad de filas, la etiqueta y el tipo de cada columna y las
+ * etiquetas de filas; se escribe al final, así un directorio a medio escribir no se confunde
+ * con uno válido.
+ * </p>
+ * <p>
+ * Las filas se dividen en grupos de {@link #getFilasPorGrupo()} filas consecutivas y el esquema
+ * guarda, por cada columna y cada grupo, el mínimo, el máximo, la cantidad de NA y una
+ * estimación de los valores distintos ({@link EstadisticasGrupos}). Como el tamaño de grupo es
+ * múltiplo de 64, los valores y los bits de validez de cada grupo ocupan un tramo propio del
+ * archivo de la columna, y un filtro que descarta el grupo por sus estadísticas no lo lee.
+ * </p>
+ */
+public class EscribirColumnasMapeadas implements EscribirArchivo {
+
+    /** Nombre del archivo de esquema dentro del directorio. */
+    static final String ESQUEMA = "esquema.bin";
+
+    /** Identificador de los archivos de esquema. */
+    static final int MAGIA = 0x4A434F4C;
+
+    /** Versión del formato. */
+    static final int VERSION = 3;
+
+    /** Filas por grupo que se usan si no se indica otra cantidad. */
+    public static final int FILAS_POR_GRUPO = 1 << 16;
+
+    /** Las etiquetas de filas son la secuencia 0, 1, 2, ... y no se guardan. */
+    static final byte FILAS_SECUENCIA = 0;
+
+    /** Las etiquetas de filas se guardan una por una. */
+    static final byte FILAS_EXPLICITAS = 1;
+
+    /** Cantidad de filas de cada grupo. */
+    private final int filasPorGrupo;
+
+    /**
+     * Crea un escritor que divide las filas en grupos de {@link #FILAS_POR_GRUPO} filas.
+     */
+    public EscribirColumnasMapeadas() {
+        this(FILAS_POR_GRUPO);
+    }
+
+    /**
+     * Crea un escritor que divide las filas en grupos del tamaño indicado. Grupos más chicos
+     * permiten descartar más filas al filtrar a cambio de un esquema más grande.
+     *
+     * @param filasPorGrupo Cantidad de filas de cada grupo, múltiplo positivo de 64.
+     * @throws JandasException Si el tamaño de grupo no es válido.
+     */
+    public EscribirColumnasMapeadas(int filasPorGrupo) {
+        EstadisticasGrupos.validarFilasPorGrupo(filasPorGrupo);
+        this.filasPorGrupo = filasPorGrupo;
+    }
+
+    /**
+     * Devuelve la cantidad de filas de cada grupo.
+     *
+     * @return Filas por grupo.
+     */
+    public int getFilasPorGrupo() {
+        return filasPorGrupo;
+    }
+
+    /**
+     * Escribe la tabla en el directorio indicado, creándolo si no existe. Los archivos de una
+     * escritura anterior en el mismo directorio se reemplazan.
+     *
+     * @param tabla Tabla a escribir.
+     * @param rutaDirectorio Directorio de destino.
+     * @throws JandasException Si alguna columna tiene un tipo que no puede guardarse o falla la escritura.
+     */
+    @Override
+    public void escribir(Tabla tabla, String rutaDirectorio) {
+        if (tabla == null || rutaDirectorio == null) {
+            throw new JandasException("La tabla y el directorio no pueden ser null");
+        }
+        List<Columna<?>> columnas = tabla.columnasVista();
+        byte[] codigos = new byte[columnas.size()];
+        for (int j = 0; j < columnas.size(); j++) {
+            codigos[j] = BloqueColumna.codigoDe(columnas.get(j));
+        }
+
+        Path directorio = Path.of(rutaDirectorio);
+        try {
+            Files.createDirectories(directorio);
+            Files.deleteIfExists(directorio.resolve(ESQUEMA));
+            for (int j = 0; j < columnas.size(); j++) {
+                try (SalidaBinaria salida = new SalidaBinaria(archivoColumna(directorio, j))) {
+                    BloqueColumna.escribir(salida, columnas.get(j), codigos[j]);
+                }
+            }
+            try (SalidaBinaria salida = new SalidaBinaria(directorio.resolve(ESQUEMA))) {
+                BloqueColumna.escribirEncabezado(salida, MAGIA, VERSION);
+                salida.escribirInt(tabla.cantFilas());
+                salida.escribirInt(columnas.size());
+                salida.escribirInt(filasPorGrupo);
+                List<Etiqueta> etiquetas = tabla.etiquetasColumnasVista();
+                for (int j = 0; j < columnas.size(); j++) {
+                    BloqueColumna.escribirEtiqueta(salida, etiquetas.get(j));
+                    salida.escribirByte(codigos[j]);
+                    BloqueColumna.escribirEstadisticas(salida,
+                            EstadisticasGrupos.calcular(columnas.get(j), filasPorGrupo), codigos[j]);
+                }
+                escribirEtiquetasFilas(salida, tabla.etiquetasFilasVista());
+            }
+        } catch (IOException e) {
+            throw new JandasException("Error al escribir las columnas en " + rutaDirectorio + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Escribe las etiquetas de filas, o solo una marca si son la secuencia 0, 1, 2, ...
+     *
+     * @param salida Destino de las etiquetas.
+     * @param etiquetas Etiquetas de filas de la tabla.
+     * @throws IOException Si falla la escritura.
+     */
+    static void escribirEtiquetasFilas(SalidaBinaria salida, List<Etiqueta> etiquetas) throws IOException {
+        boolean secuencia = true;
+        for (int i = 0; i < etiquetas.size() && secuencia; i++) {
+            secuencia = etiquetas.get(i) instanceof EtiquetaInt entera && entera.getValor() == i;
+        }
+        if (secuencia) {
+            salida.escribirByte(FILAS_SECUENCIA);
+            return;
+        }
+        salida.escribirByte(FILAS_EXPLICITAS);
+        for (Etiqueta etiqueta : etiquetas) {
+            BloqueColumna.escribirEtiqueta(salida, etiqueta);
+        }
+    }
+
+    /**
+     * Devuelve el archivo de una columna dentro del directorio.
+     *
+     * @param directorio Directorio de la tabla.
+     * @param indice Posición de la columna.
+     * @return Ruta del archivo de la columna.
+     */
+    static Path archivoColumna(Path directorio, int indice) {
+        return directorio.resolve("columna_" + indice + ".bin");
+    }
+}
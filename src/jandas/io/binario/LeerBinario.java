@@ -0,0 +1,93 @@
+package jandas.io.binario;
+
+import jandas.base.data.Columna;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.Etiqueta;
+import jandas.excepciones.JandasException;
+import jandas.io.LeerArchivo;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee al heap una tabla escrita con {@link EscribirBinario}.
+ * <p>
+ * El archivo se proyecta en memoria y cada bloque numérico o booleano se copia de una vez al
+ * arreglo primitivo que adopta la columna, igual que los códigos de las columnas de texto; solo
+ * los valores distintos de texto se decodifican uno por uno. La proyección se libera al terminar
+ * la lectura, de modo que la tabla devuelta no depende del archivo.
+ * </p>
+ */
+public class LeerBinario implements LeerArchivo {
+
+    /**
+     * Lee la tabla guardada en el archivo indicado.
+     *
+     * @param rutaArchivo Archivo escrito con {@link EscribirBinario}.
+     * @return Tabla con los datos del archivo.
+     * @throws JandasException Si el archivo no es una tabla binaria válida o no se puede leer.
+     */
+    @Override
+    public Tabla leer(String rutaArchivo) throws JandasException {
+        if (rutaArchivo == null) {
+            throw new JandasException("La ruta del archivo no puede ser null");
+        }
+        try (Arena arena = Arena.ofConfined();
+             FileChannel canal = FileChannel.open(Path.of(rutaArchivo), StandardOpenOption.READ)) {
+            MemorySegment archivo = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size(), arena);
+            long[] posicion = {ubicarPie(archivo, rutaArchivo)};
+            int filas = archivo.get(ValueLayout.JAVA_INT_UNALIGNED, posicion[0]);
+            int cantidadColumnas = archivo.get(ValueLayout.JAVA_INT_UNALIGNED, posicion[0] + Integer.BYTES);
+            posicion[0] += 2 * Integer.BYTES;
+
+            List<Etiqueta> etiquetasColumnas = new ArrayList<>(cantidadColumnas);
+            List<Columna<?>> columnas = new ArrayList<>(cantidadColumnas);
+            for (int j = 0; j < cantidadColumnas; j++) {
+                Etiqueta etiqueta = BloqueColumna.leerEtiqueta(archivo, posicion);
+                byte codigo = archivo.get(ValueLayout.JAVA_BYTE, posicion[0]++);
+                long inicio = archivo.get(ValueLayout.JAVA_LONG_UNALIGNED, posicion[0]);
+                posicion[0] += Long.BYTES;
+                etiquetasColumnas.add(etiqueta);
+                columnas.add(BloqueColumna.leer(archivo, inicio, etiqueta, codigo, filas));
+            }
+            List<Etiqueta> etiquetasFilas = LeerColumnasMapeadas.leerEtiquetasFilas(archivo, posicion, filas);
+
+            Tabla tabla = new Tabla(etiquetasColumnas, columnas);
+            if (etiquetasFilas != null) {
+                tabla.setEtiquetasFilas(etiquetasFilas);
+            }
+            return tabla;
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new JandasException("Error al leer la tabla binaria " + rutaArchivo + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Verifica el encabezado y el cierre del archivo y devuelve la posición del pie.
+     *
+     * @param archivo Contenido del archivo.
+     * @param ruta Ruta del archivo, para los mensajes de error.
+     * @return Posición del pie con el esquema.
+     * @throws JandasException Si el archivo no es válido o está truncado.
+     */
+    static long ubicarPie(MemorySegment archivo, String ruta) {
+        BloqueColumna.verificarEncabezado(archivo, ruta, EscribirBinario.MAGIA, EscribirBinario.VERSION);
+        long tamanio = archivo.byteSize();
+        if (tamanio < Long.BYTES + EscribirBinario.CIERRE
+                || archivo.get(ValueLayout.JAVA_INT_UNALIGNED, tamanio - Integer.BYTES) != EscribirBinario.MAGIA) {
+            throw new JandasException(ruta + " está incompleto");
+        }
+        long pie = archivo.get(ValueLayout.JAVA_LONG_UNALIGNED, tamanio - EscribirBinario.CIERRE);
+        if (pie < BloqueColumna.ENCABEZADO || pie > tamanio - EscribirBinario.CIERRE) {
+            throw new JandasException(ruta + " está incompleto");
+        }
+        return pie;
+    }
+}
@@ -0,0 +1,153 @@
+package jandas.io.binario;
+
+import jandas.base.data.Columna;
+import jandas.base.data.EstadisticasGrupos;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.Etiqueta;
+import jandas.excepciones.JandasException;
+import jandas.io.LeerArchivo;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Abre una tabla escrita con {@link EscribirColumnasMapeadas} sin leer sus columnas.
+ * <p>
+ * Las columnas {@code Integer}, {@code Long} y {@code Double} se proyectan en memoria
+ * ({@link Columna#mapear}): el sistema operativo trae las páginas del disco a medida que se
+ * recorren y las descarta cuando necesita memoria, de modo que la tabla puede ser más grande
+ * que la memoria disponible. Las columnas booleanas y de texto se cargan al heap recién la
+ * primera vez que se leen ({@link Columna#diferir}). Abrir la tabla solo lee el esquema.
+ * </p>
+ * <p>
+ * La tabla devuelta debe cerrarse con {@link Tabla#close()} para liberar las proyecciones.
+ * Los archivos nunca se modifican: escribir en una columna proyectada la copia a memoria propia.
+ * </p>
+ * <p>
+ * Cada columna conoce las estadísticas por grupos de filas guardadas en el esquema
+ * ({@link Columna#getEstadisticasGrupos()}), de modo que {@link Tabla#filtrar} no lee los grupos
+ * que una comparación descarta por su mínimo y su máximo.
+ * </p>
+ */
+public class LeerColumnasMapeadas implements LeerArchivo {
+
+    /**
+     * Abre la tabla guardada en el directorio indicado.
+     *
+     * @param rutaDirectorio Directorio escrito con {@link EscribirColumnasMapeadas}.
+     * @return Tabla respaldada por los archivos de columnas.
+     * @throws JandasException Si el directorio no contiene una tabla válida o no se puede leer.
+     */
+    @Override
+    public Tabla leer(String rutaDirectorio) throws JandasException {
+        Path directorio = Path.of(rutaDirectorio);
+        List<Columna<?>> columnas = new ArrayList<>();
+        try (Arena arena = Arena.ofConfined();
+             FileChannel canal = FileChannel.open(directorio.resolve(EscribirColumnasMapeadas.ESQUEMA), StandardOpenOption.READ)) {
+            MemorySegment esquema = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size(), arena);
+            BloqueColumna.verificarEncabezado(esquema, rutaDirectorio,
+                    EscribirColumnasMapeadas.MAGIA, EscribirColumnasMapeadas.VERSION);
+            long inicio = BloqueColumna.ENCABEZADO;
+            int filas = esquema.get(ValueLayout.JAVA_INT_UNALIGNED, inicio);
+            int cantidadColumnas = esquema.get(ValueLayout.JAVA_INT_UNALIGNED, inicio + Integer.BYTES);
+            int filasPorGrupo = esquema.get(ValueLayout.JAVA_INT_UNALIGNED, inicio + 2 * Integer.BYTES);
+            long[] posicion = {inicio + 3 * Integer.BYTES};
+
+            List<Etiqueta> etiquetasColumnas = new ArrayList<>(cantidadColumnas);
+            for (int j = 0; j < cantidadColumnas; j++) {
+                Etiqueta etiqueta = BloqueColumna.leerEtiqueta(esquema, posicion);
+                byte codigo = esquema.get(ValueLayout.JAVA_BYTE, posicion[0]++);
+                EstadisticasGrupos estadisticas =
+                        BloqueColumna.leerEstadisticas(esquema, posicion, codigo, filas, filasPorGrupo);
+                etiquetasColumnas.add(etiqueta);
+                columnas.add(abrirColumna(EscribirColumnasMapeadas.archivoColumna(directorio, j), etiqueta, codigo,
+                        filas, estadisticas));
+            }
+            List<Etiqueta> etiquetasFilas = leerEtiquetasFilas(esquema, posicion, filas);
+
+            Tabla tabla = new Tabla(etiquetasColumnas, columnas);
+            if (etiquetasFilas != null) {
+                tabla.setEtiquetasFilas(etiquetasFilas);
+            }
+            return tabla;
+        } catch (IOException | RuntimeException e) {
+            for (Columna<?> columna : columnas) {
+                columna.cerrar();
+            }
+            if (e instanceof JandasException jandas) {
+                throw jandas;
+            }
+            throw new JandasException("Error al abrir las columnas de " + rutaDirectorio + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lee las etiquetas de filas escritas con {@link EscribirColumnasMapeadas#escribirEtiquetasFilas}.
+     *
+     * @param segmento Segmento que contiene las etiquetas.
+     * @param posicion Posición de la marca; se avanza hasta después de las etiquetas.
+     * @param filas Cantidad de filas.
+     * @return Etiquetas leídas, o null si son la secuencia 0, 1, 2, ...
+     */
+    static List<Etiqueta> leerEtiquetasFilas(MemorySegment segmento, long[] posicion, int filas) {
+        byte modo = segmento.get(ValueLayout.JAVA_BYTE, posicion[0]++);
+        if (modo == EscribirColumnasMapeadas.FILAS_SECUENCIA) {
+            return null;
+        }
+        List<Etiqueta> etiquetas = new ArrayList<>(filas);
+        for (int i = 0; i < filas; i++) {
+            etiquetas.add(BloqueColumna.leerEtiqueta(segmento, posicion));
+        }
+        return etiquetas;
+    }
+
+    /**
+     * Abre una columna: proyecta las numéricas y difiere la carga del resto.
+     *
+     * @param archivo Archivo de la columna.
+     * @param etiqueta Etiqueta de la columna.
+     * @param codigo Código de tipo de la columna.
+     * @param filas Cantidad de filas.
+     * @param estadisticas Estadísticas por grupos de la columna.
+     * @return Columna proyectada o de carga diferida.
+     */
+    @SuppressWarnings("unchecked")
+    private static Columna<?> abrirColumna(Path archivo, Etiqueta etiqueta, byte codigo, int filas,
+                                           EstadisticasGrupos estadisticas) {
+        Class<Object> tipo = (Class<Object>) BloqueColumna.tipoDe(codigo);
+        if (BloqueColumna.esProyectable(codigo)) {
+            return Columna.mapear(etiqueta, tipo, archivo, 0, filas, estadisticas);
+        }
+        return Columna.diferir(etiqueta, tipo, filas, estadisticas,
+                () -> (Columna<Object>) cargarColumna(archivo, etiqueta, codigo, filas));
+    }
+
+    /**
+     * Lee al heap el archivo de una columna.
+     *
+     * @param archivo Archivo de la columna.
+     * @param etiqueta Etiqueta de la columna.
+     * @param codigo Código de tipo de la columna.
+     * @param filas Cantidad de filas.
+     * @return Columna con los valores del archivo.
+     * @throws JandasException Si no se puede leer el archivo.
+     */
+    private static Columna<?> cargarColumna(Path archivo, Etiqueta etiqueta, byte codigo, int filas) {
+        try (Arena arena = Arena.ofConfined();
+             FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            MemorySegment bloque = canal.size() == 0
+                    ? MemorySegment.NULL
+                    : canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size(), arena);
+            return BloqueColumna.leer(bloque, 0, etiqueta, codigo, filas);
+        } catch (IOException e) {
+            throw new JandasException("Error al leer la columna " + archivo + ": " + e.getMessage(), e);
+        }
+    }
+}
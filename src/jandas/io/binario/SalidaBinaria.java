@@ -0,0 +1,166 @@
+package jandas.io.binario;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escritura secuencial de valores primitivos en un archivo, en el orden de bytes nativo, que
+ * los lectores verifican con la marca del encabezado ({@link BloqueColumna#escribirEncabezado}).
+ * <p>
+ * Los valores se acumulan en un búfer directo que se vuelca al canal al llenarse, de modo
+ * que escribir millones de valores no hace una llamada al sistema por cada uno.
+ * </p>
+ */
+final class SalidaBinaria implements Closeable {
+
+    /** Tamaño del búfer de escritura. */
+    private static final int TAMANIO_BUFER = 1 << 16;
+
+    /** Canal del archivo de destino. */
+    private final FileChannel canal;
+
+    /** Búfer de escritura en el orden de bytes nativo. */
+    private final ByteBuffer bufer = ByteBuffer.allocateDirect(TAMANIO_BUFER).order(ByteOrder.nativeOrder());
+
+    /** Bytes ya volcados al canal. */
+    private long volcados;
+
+    /**
+     * Crea el archivo (o lo vacía si existe) para escribirlo desde el principio.
+     *
+     * @param archivo Archivo de destino.
+     * @throws IOException Si no se puede abrir el archivo.
+     */
+    SalidaBinaria(Path archivo) throws IOException {
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Devuelve la posición actual en el archivo.
+     *
+     * @return Bytes escritos hasta el momento.
+     */
+    long posicion() {
+        return volcados + bufer.position();
+    }
+
+    /**
+     * Escribe un byte.
+     *
+     * @param valor Byte a escribir.
+     * @throws IOException Si falla la escritura.
+     */
+    void escribirByte(int valor) throws IOException {
+        reservar(Byte.BYTES);
+        bufer.put((byte) valor);
+    }
+
+    /**
+     * Escribe un {@code int}.
+     *
+     * @param valor Valor a escribir.
+     * @throws IOException Si falla la escritura.
+     */
+    void escribirInt(int valor) throws IOException {
+        reservar(Integer.BYTES);
+        bufer.putInt(valor);
+    }
+
+    /**
+     * Escribe un {@code long}.
+     *
+     * @param valor Valor a escribir.
+     * @throws IOException Si falla la escritura.
+     */
+    void escribirLong(long valor) throws IOException {
+        reservar(Long.BYTES);
+        bufer.putLong(valor);
+    }
+
+    /**
+     * Escribe un {@code double}.
+     *
+     * @param valor Valor a escribir.
+     * @throws IOException Si falla la escritura.
+     */
+    void escribirDouble(double valor) throws IOException {
+        reservar(Double.BYTES);
+        bufer.putDouble(valor);
+    }
+
+    /**
+     * Escribe un texto como su longitud en bytes seguida de los bytes en UTF-8.
+     *
+     * @param texto Texto a escribir.
+     * @throws IOException Si falla la escritura.
+     */
+    void escribirTexto(String texto) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escribirInt(bytes.length);
+        for (int escritos = 0; escritos < bytes.length; ) {
+            if (!bufer.hasRemaining()) {
+                volcar();
+            }
+            int cantidad = Math.min(bufer.remaining(), bytes.length - escritos);
+            bufer.put(bytes, escritos, cantidad);
+            escritos += cantidad;
+        }
+    }
+
+    /**
+     * Completa con ceros hasta que la posición sea múltiplo de 8.
+     *
+     * @throws IOException Si falla la escritura.
+     */
+    void alinear() throws IOException {
+        while (posicion() % Long.BYTES != 0) {
+            escribirByte(0);
+        }
+    }
+
+    /**
+     * Vuelca el búfer si no tiene lugar para la cantidad de bytes indicada.
+     *
+     * @param bytes Bytes que se van a escribir.
+     * @throws IOException Si falla la escritura.
+     */
+    private void reservar(int bytes) throws IOException {
+        if (bufer.remaining() < bytes) {
+            volcar();
+        }
+    }
+
+    /**
+     * Escribe en el canal el contenido del búfer.
+     *
+     * @throws IOException Si falla la escritura.
+     */
+    private void volcar() throws IOException {
+        bufer.flip();
+        while (bufer.hasRemaining()) {
+            volcados += canal.write(bufer);
+        }
+        bufer.clear();
+    }
+
+    /**
+     * Vuelca lo pendiente y cierra el archivo.
+     *
+     * @throws IOException Si falla la escritura.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            volcar();
+        } finally {
+            canal.close();
+        }
+    }
+}
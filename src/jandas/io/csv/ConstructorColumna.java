@@ -0,0 +1,393 @@
+package jandas.io.csv;
+
+import jandas.base.data.*;
+import jandas.base.etiquetas.Etiqueta;
+import jandas.excepciones.JandasException;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Construye una columna tipada agregando los valores ya convertidos de un CSV uno por uno.
+ * <p>
+ * Los enteros, decimales y booleanos se guardan directamente en una {@link ColumnaPrimitiva};
+ * los textos se juntan en una lista y al final se codifican por diccionario si corresponde.
+ * <p>
+ * Si el constructor es ampliable, un valor que no entra en el tipo actual amplía la columna
+ * ({@code Integer} a {@code Double}, o cualquier tipo a {@code String}) siguiendo las mismas reglas
+ * que {@link LeerCsv#inferirTipoColumna(List)}, por lo que el resultado no depende del tipo inicial.
+ * Si no es ampliable (esquema explícito o lotes posteriores al primero), el valor produce un error.
+ */
+final class ConstructorColumna {
+
+    /** Etiqueta de la columna. */
+    private final Etiqueta etiqueta;
+
+    /** Configuración de lectura. */
+    private final CsvConfig config;
+
+    /** Indica si la columna puede cambiar de tipo. */
+    private final boolean ampliable;
+
+    /** Número de fila del primer valor, para los mensajes de error. */
+    private final int filaInicial;
+
+    /** Tipo actual, o {@code null} si todavía no hay valores no nulos y no se fijó tipo. */
+    private Class<?> tipo;
+
+    /** Valores nulos agregados antes de conocer el tipo. */
+    private int nulosPendientes;
+
+    /** Almacenamiento de las columnas numéricas y booleanas. */
+    private ColumnaPrimitiva<?> primitiva;
+
+    /** Filas de una columna {@code Double} cuyo valor original era entero. */
+    private BitSet eranEnteros;
+
+    /** Almacenamiento de las columnas de texto. */
+    private List<Object> textos;
+
+    /**
+     * Crea un constructor de columna.
+     *
+     * @param etiqueta Etiqueta de la columna.
+     * @param tipoInicial Tipo inicial ({@code Integer}, {@code Long}, {@code Double}, {@code Boolean} o
+     *                    {@code String}); {@code null} u {@code Object} lo toma del primer valor no nulo.
+     * @param ampliable Si la columna puede ampliar su tipo cuando un valor no entra.
+     * @param filaInicial Número de fila del primer valor.
+     * @param config Configuración de lectura.
+     */
+    ConstructorColumna(Etiqueta etiqueta, Class<?> tipoInicial, boolean ampliable, int filaInicial, CsvConfig config) {
+        this.etiqueta = etiqueta;
+        this.ampliable = ampliable;
+        this.filaInicial = filaInicial;
+        this.config = config;
+        if (tipoInicial != null && tipoInicial != Object.class) {
+            iniciar(tipoInicial);
+        }
+    }
+
+    /**
+     * Agrega un valor convertido al final de la columna.
+     *
+     * @param valor Valor convertido ({@code Integer}, {@code Long}, {@code Double}, {@code Boolean},
+     *              {@code String}) o {@code null}.
+     * @throws JandasException si el constructor no es ampliable y el valor no entra en el tipo.
+     */
+    void agregar(Object valor) {
+        if (valor == null) {
+            if (tipo == null) {
+                nulosPendientes++;
+            } else if (textos != null) {
+                textos.add(null);
+            } else {
+                primitiva.agregarNA();
+            }
+            return;
+        }
+        if (tipo == null) {
+            iniciar(tipoDe(valor));
+        }
+        if (!agregarTipado(valor)) {
+            if (!ampliable) {
+                throw new JandasException("El valor '" + valor + "' de la columna '" + etiqueta + "' en la fila "
+                        + (filaInicial + size()) + " no es compatible con el tipo " + tipo.getSimpleName());
+            }
+            ampliar(tipo == Integer.class && valor instanceof Double ? Double.class : String.class);
+            agregarTipado(valor);
+        }
+    }
+
+    /**
+     * Devuelve el tipo actual de la columna.
+     *
+     * @return Tipo actual, o {@code Object.class} si todavía no se determinó.
+     */
+    Class<?> getTipo() {
+        return tipo == null ? Object.class : tipo;
+    }
+
+    /**
+     * Devuelve la cantidad de valores agregados.
+     *
+     * @return Cantidad de valores.
+     */
+    int size() {
+        if (tipo == null) {
+            return nulosPendientes;
+        }
+        return textos != null ? textos.size() : primitiva.size();
+    }
+
+    /**
+     * Termina la construcción y devuelve la columna.
+     *
+     * @return Columna con todos los valores agregados.
+     */
+    Columna<?> construir() {
+        if (tipo == null) {
+            List<Object> nulos = new ArrayList<>();
+            for (int i = 0; i < nulosPendientes; i++) {
+                nulos.add(null);
+            }
+            return LeerCsv.crearColumnaConTipo(etiqueta, Object.class, nulos, config);
+        }
+        if (textos != null) {
+            return LeerCsv.crearColumnaConTipo(etiqueta, String.class, textos, config);
+        }
+        return primitiva;
+    }
+
+    /**
+     * Agrega al final todos los valores de otro constructor de la misma columna, con el mismo
+     * resultado que si se hubieran agregado uno por uno con {@link #agregar(Object)}.
+     * <p>
+     * Si los tipos difieren, ambos constructores se amplían primero al tipo común. Los valores
+     * primitivos se copian con los accesos primitivos de la columna, sin crear objetos, y el
+     * almacenamiento del otro constructor se libera.
+     *
+     * @param otro Constructor con las filas siguientes de la misma columna; queda vacío.
+     * @throws JandasException si los tipos difieren y alguno de los constructores no es ampliable.
+     */
+    void anexar(ConstructorColumna otro) {
+        Class<?> comun = tipoComun(tipo, otro.tipo);
+        ampliarA(comun);
+        otro.ampliarA(comun);
+        if (comun == null) {
+            nulosPendientes += otro.nulosPendientes;
+        } else if (textos != null) {
+            textos.addAll(otro.textos);
+        } else {
+            int desplazamiento = primitiva.size();
+            copiarPrimitivos(otro.primitiva, primitiva);
+            if (eranEnteros != null) {
+                for (int i = otro.eranEnteros.nextSetBit(0); i >= 0; i = otro.eranEnteros.nextSetBit(i + 1)) {
+                    eranEnteros.set(desplazamiento + i);
+                }
+            }
+            otro.primitiva.cerrar();
+        }
+        otro.tipo = null;
+        otro.nulosPendientes = 0;
+        otro.primitiva = null;
+        otro.eranEnteros = null;
+        otro.textos = null;
+    }
+
+    /**
+     * Amplía la columna al tipo indicado si todavía no lo tiene.
+     *
+     * @param destino Tipo al que ampliar, o {@code null} si todavía no hay tipo.
+     * @throws JandasException si la columna tiene otro tipo y no es ampliable.
+     */
+    private void ampliarA(Class<?> destino) {
+        if (destino == null || destino == tipo) {
+            return;
+        }
+        if (tipo == null) {
+            iniciar(destino);
+        } else if (!ampliable) {
+            throw new JandasException("La columna '" + etiqueta + "' de tipo " + tipo.getSimpleName()
+                    + " no puede ampliarse a " + destino.getSimpleName());
+        } else {
+            ampliar(destino);
+        }
+    }
+
+    /**
+     * Devuelve el tipo que admite los valores de dos partes de una columna, con las mismas
+     * reglas de ampliación que {@link #agregar(Object)}.
+     *
+     * @param tipo1 Tipo de la primera parte, o {@code null} si solo tiene nulos.
+     * @param tipo2 Tipo de la segunda parte, o {@code null} si solo tiene nulos.
+     * @return Tipo común, o {@code null} si ambas partes solo tienen nulos.
+     */
+    private static Class<?> tipoComun(Class<?> tipo1, Class<?> tipo2) {
+        if (tipo1 == null || tipo1 == tipo2) {
+            return tipo2;
+        }
+        if (tipo2 == null) {
+            return tipo1;
+        }
+        if ((tipo1 == Integer.class && tipo2 == Double.class) || (tipo1 == Double.class && tipo2 == Integer.class)) {
+            return Double.class;
+        }
+        return String.class;
+    }
+
+    /**
+     * Copia al final de una columna primitiva los valores de otra del mismo tipo.
+     *
+     * @param origen Columna con los valores a copiar.
+     * @param destino Columna a la que se agregan.
+     */
+    private static void copiarPrimitivos(ColumnaPrimitiva<?> origen, ColumnaPrimitiva<?> destino) {
+        int cantidad = origen.size();
+        if (destino instanceof ColumnaInt enteros) {
+            for (int i = 0; i < cantidad; i++) {
+                if (origen.isNA(i)) {
+                    enteros.agregarNA();
+                } else {
+                    enteros.agregarInt(origen.getInt(i));
+                }
+            }
+        } else if (destino instanceof ColumnaLong largos) {
+            for (int i = 0; i < cantidad; i++) {
+                if (origen.isNA(i)) {
+                    largos.agregarNA();
+                } else {
+                    largos.agregarLong(origen.getLong(i));
+                }
+            }
+        } else if (destino instanceof ColumnaDouble decimales) {
+            for (int i = 0; i < cantidad; i++) {
+                if (origen.isNA(i)) {
+                    decimales.agregarNA();
+                } else {
+                    decimales.agregarDouble(origen.getDouble(i));
+                }
+            }
+        } else {
+            ColumnaBoolean booleanos = (ColumnaBoolean) destino;
+            ColumnaBoolean valores = (ColumnaBoolean) origen;
+            for (int i = 0; i < cantidad; i++) {
+                if (valores.isNA(i)) {
+                    booleanos.agregarNA();
+                } else {
+                    booleanos.agregarBoolean(valores.getBoolean(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Fija el tipo de la columna y crea su almacenamiento, agregando los nulos pendientes.
+     *
+     * @param nuevoTipo Tipo de la columna.
+     * @throws JandasException si el tipo no está soportado.
+     */
+    private void iniciar(Class<?> nuevoTipo) {
+        tipo = nuevoTipo;
+        if (tipo == Integer.class) {
+            primitiva = (ColumnaInt) Columna.crear(etiqueta, Integer.class, config.getAlmacenamiento());
+        } else if (tipo == Long.class) {
+            primitiva = (ColumnaLong) Columna.crear(etiqueta, Long.class, config.getAlmacenamiento());
+        } else if (tipo == Double.class) {
+            primitiva = (ColumnaDouble) Columna.crear(etiqueta, Double.class, config.getAlmacenamiento());
+            eranEnteros = new BitSet();
+        } else if (tipo == Boolean.class) {
+            primitiva = new ColumnaBoolean(etiqueta);
+        } else if (tipo == String.class) {
+            textos = new ArrayList<>();
+        } else {
+            throw new JandasException("Tipo de columna no soportado para CSV: " + tipo.getSimpleName());
+        }
+        for (; nulosPendientes > 0; nulosPendientes--) {
+            if (textos != null) {
+                textos.add(null);
+            } else {
+                primitiva.agregarNA();
+            }
+        }
+    }
+
+    /**
+     * Intenta agregar un valor no nulo con el tipo actual.
+     *
+     * @param valor Valor a agregar.
+     * @return {@code true} si el valor entra en el tipo actual.
+     */
+    private boolean agregarTipado(Object valor) {
+        if (textos != null) {
+            textos.add(valor.toString());
+            return true;
+        }
+        if (primitiva instanceof ColumnaInt enteros && valor instanceof Integer entero) {
+            enteros.agregarInt(entero);
+            return true;
+        }
+        if (primitiva instanceof ColumnaLong largos && (valor instanceof Long || valor instanceof Integer)) {
+            largos.agregarLong(((Number) valor).longValue());
+            return true;
+        }
+        if (primitiva instanceof ColumnaDouble decimales) {
+            if (valor instanceof Double || valor instanceof Float) {
+                decimales.agregarDouble(((Number) valor).doubleValue());
+                return true;
+            }
+            if (valor instanceof Integer entero) {
+                eranEnteros.set(decimales.size());
+                decimales.agregarDouble(entero);
+                return true;
+            }
+            return false;
+        }
+        if (primitiva instanceof ColumnaBoolean booleanos && valor instanceof Boolean booleano) {
+            booleanos.agregarBoolean(booleano);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Amplía la columna a un tipo más general, convirtiendo los valores ya agregados.
+     * <p>
+     * Al pasar a texto, cada valor conserva la representación que tenía al leerse
+     * (un entero guardado en una columna {@code Double} vuelve a escribirse sin decimales).
+     *
+     * @param nuevoTipo {@code Double} o {@code String}.
+     */
+    private void ampliar(Class<?> nuevoTipo) {
+        ColumnaPrimitiva<?> anterior = primitiva;
+        BitSet enterosAnteriores = eranEnteros;
+        primitiva = null;
+        eranEnteros = null;
+        tipo = nuevoTipo;
+
+        if (nuevoTipo == Double.class) {
+            ColumnaDouble decimales = (ColumnaDouble) Columna.crear(etiqueta, Double.class, config.getAlmacenamiento());
+            eranEnteros = new BitSet();
+            for (int i = 0; i < anterior.size(); i++) {
+                if (anterior.isNA(i)) {
+                    decimales.agregarNA();
+                } else {
+                    eranEnteros.set(i);
+                    decimales.agregarDouble(anterior.getDouble(i));
+                }
+            }
+            primitiva = decimales;
+        } else {
+            textos = new ArrayList<>(anterior.size() + 16);
+            for (int i = 0; i < anterior.size(); i++) {
+                if (anterior.isNA(i)) {
+                    textos.add(null);
+                } else if (enterosAnteriores != null && enterosAnteriores.get(i)) {
+                    textos.add(Integer.toString(anterior.getInt(i)));
+                } else {
+                    textos.add(anterior.getCelda(i).getValor().toString());
+                }
+            }
+        }
+        anterior.cerrar();
+    }
+
+    /**
+     * Devuelve el tipo de columna que corresponde a un valor convertido.
+     *
+     * @param valor Valor no nulo.
+     * @return Tipo de columna para el valor.
+     */
+    private static Class<?> tipoDe(Object valor) {
+        if (valor instanceof Integer) {
+            return Integer.class;
+        } else if (valor instanceof Double || valor instanceof Float) {
+            return Double.class;
+        } else if (valor instanceof Boolean) {
+            return Boolean.class;
+        } else if (valor instanceof Long) {
+            return Long.class;
+        }
+        return String.class;
+    }
+}
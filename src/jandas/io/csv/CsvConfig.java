@@ -1,5 +1,12 @@
 package jandas.io.csv;
 
+import jandas.base.data.Almacenamiento;
+import jandas.excepciones.JandasException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Clase de configuración para archivos CSV.
  * <p>
@@ -17,6 +24,33 @@ public class CsvConfig {
     /** Valor que representa datos nulos en el CSV (por defecto: "NA"). */
     private String valorNulo;
 
+    /**
+     * Proporción máxima de valores distintos sobre valores no nulos para que una columna
+     * de texto se codifique por diccionario (por defecto: 0.5). Un valor de 0 la desactiva.
+     */
+    private double proporcionDiccionario = 0.5;
+
+    /** Forma de recorrer el archivo al leerlo (por defecto: {@link ModoLectura#LINEAS}). */
+    private ModoLectura modoLectura = ModoLectura.LINEAS;
+
+    /**
+     * Dónde se guardan las columnas numéricas leídas (por defecto: {@link Almacenamiento#HEAP}).
+     * Con {@link Almacenamiento#FUERA_HEAP}, la tabla leída debe cerrarse para liberar la memoria.
+     */
+    private Almacenamiento almacenamiento = Almacenamiento.HEAP;
+
+    /**
+     * Cantidad de filas de la muestra usada para fijar el tipo inicial de cada columna
+     * (por defecto: 1000). Un valor de 0 o negativo no toma muestra.
+     */
+    private int filasInferencia = 1000;
+
+    /** Indica si la muestra de inferencia se elige al azar en lugar de tomar las primeras filas. */
+    private boolean muestraAleatoria = false;
+
+    /** Tipo explícito de cada columna, por nombre; las columnas ausentes se infieren. */
+    private Map<String, Class<?>> esquema = new LinkedHashMap<>();
+
     /**
      * Constructor por defecto.
      * Establece el separador en coma (","), habilita encabezado y valor nulo "NA".
@@ -95,4 +129,151 @@ public class CsvConfig {
      */
     public void setValorNulo(String valorNulo) { this.valorNulo = valorNulo; }
 
+    /**
+     * Obtiene la proporción máxima de valores distintos para codificar columnas de texto por diccionario.
+     *
+     * @return Proporción entre 0 y 1.
+     */
+    public double getProporcionDiccionario() { return proporcionDiccionario; }
+
+    /**
+     * Establece la proporción máxima de valores distintos sobre valores no nulos para que
+     * una columna de texto se codifique por diccionario. Un valor de 0 desactiva la codificación.
+     *
+     * @param proporcionDiccionario Proporción entre 0 y 1.
+     */
+    public void setProporcionDiccionario(double proporcionDiccionario) { this.proporcionDiccionario = proporcionDiccionario; }
+
+    /**
+     * Obtiene la forma de recorrer el archivo al leerlo.
+     *
+     * @return Modo de lectura.
+     */
+    public ModoLectura getModoLectura() { return modoLectura; }
+
+    /**
+     * Establece la forma de recorrer el archivo al leerlo.
+     *
+     * @param modoLectura Modo de lectura (no null).
+     */
+    public void setModoLectura(ModoLectura modoLectura) { this.modoLectura = modoLectura; }
+
+    /**
+     * Obtiene dónde se guardan las columnas numéricas leídas.
+     *
+     * @return Almacenamiento de las columnas.
+     */
+    public Almacenamiento getAlmacenamiento() { return almacenamiento; }
+
+    /**
+     * Establece dónde se guardan las columnas {@code Integer}, {@code Long} y {@code Double} leídas.
+     * Las columnas booleanas y de texto siempre se guardan en el heap.
+     *
+     * @param almacenamiento Almacenamiento de las columnas (no null).
+     * @throws JandasException si el almacenamiento es null.
+     */
+    public void setAlmacenamiento(Almacenamiento almacenamiento) {
+        if (almacenamiento == null) {
+            throw new JandasException("El almacenamiento no puede ser null");
+        }
+        this.almacenamiento = almacenamiento;
+    }
+
+    /**
+     * Obtiene la cantidad de filas de la muestra usada para inferir los tipos.
+     *
+     * @return Cantidad de filas de la muestra.
+     */
+    public int getFilasInferencia() { return filasInferencia; }
+
+    /**
+     * Establece la cantidad de filas de la muestra usada para fijar el tipo inicial de cada columna.
+     * <p>
+     * El tipo final no depende de la muestra: si una fila posterior no entra en el tipo
+     * inferido, la columna se amplía. Una muestra representativa evita esas ampliaciones.
+     *
+     * @param filasInferencia Cantidad de filas; 0 o negativo no toma muestra.
+     */
+    public void setFilasInferencia(int filasInferencia) { this.filasInferencia = filasInferencia; }
+
+    /**
+     * Indica si la muestra de inferencia se elige al azar.
+     *
+     * @return true si la muestra es aleatoria, false si son las primeras filas.
+     */
+    public boolean isMuestraAleatoria() { return muestraAleatoria; }
+
+    /**
+     * Establece si la muestra de inferencia se elige al azar (muestreo de reservorio)
+     * o se toman las primeras filas del archivo.
+     *
+     * @param muestraAleatoria true para una muestra aleatoria.
+     */
+    public void setMuestraAleatoria(boolean muestraAleatoria) { this.muestraAleatoria = muestraAleatoria; }
+
+    /**
+     * Obtiene el esquema explícito de columnas.
+     *
+     * @return Mapa de solo lectura de nombre de columna a tipo.
+     */
+    public Map<String, Class<?>> getEsquema() { return Collections.unmodifiableMap(esquema); }
+
+    /**
+     * Establece el tipo explícito de algunas columnas, por nombre (o por posición {@code "0"}, {@code "1"}, ...
+     * si el archivo no tiene encabezado). Esas columnas no se infieren: cada valor se convierte al tipo
+     * indicado y un valor incompatible produce un error. Una columna {@code String} conserva el texto original.
+     *
+     * @param esquema Mapa de nombre de columna a tipo ({@code Integer}, {@code Long}, {@code Double},
+     *                {@code Boolean} o {@code String}).
+     * @throws JandasException si algún tipo no está soportado.
+     */
+    public void setEsquema(Map<String, Class<?>> esquema) {
+        for (Map.Entry<String, Class<?>> entrada : esquema.entrySet()) {
+            Class<?> tipo = entrada.getValue();
+            if (tipo != Integer.class && tipo != Long.class && tipo != Double.class
+                    && tipo != Boolean.class && tipo != String.class) {
+                throw new JandasException("Tipo no soportado para la columna '" + entrada.getKey() + "': " + tipo);
+            }
+        }
+        this.esquema = new LinkedHashMap<>(esquema);
+    }
+
+    /**
+     * Describe todos los parámetros de la configuración, de modo que dos configuraciones con la
+     * misma descripción producen la misma tabla al leer el mismo archivo. La usa
+     * {@link LeerCsvConCache} para identificar lecturas equivalentes.
+     *
+     * @return Descripción de la configuración.
+     */
+    String descripcion() {
+        StringBuilder descripcion = new StringBuilder();
+        agregarCampo(descripcion, separador);
+        agregarCampo(descripcion, String.valueOf(tieneEncabezado));
+        agregarCampo(descripcion, valorNulo);
+        agregarCampo(descripcion, String.valueOf(proporcionDiccionario));
+        agregarCampo(descripcion, modoLectura.name());
+        agregarCampo(descripcion, almacenamiento.name());
+        agregarCampo(descripcion, String.valueOf(filasInferencia));
+        agregarCampo(descripcion, String.valueOf(muestraAleatoria));
+        for (Map.Entry<String, Class<?>> entrada : esquema.entrySet()) {
+            agregarCampo(descripcion, entrada.getKey());
+            agregarCampo(descripcion, entrada.getValue().getName());
+        }
+        return descripcion.toString();
+    }
+
+    /**
+     * Agrega un campo a una descripción precedido por su longitud, para que ningún contenido
+     * pueda confundirse con el límite entre dos campos.
+     *
+     * @param descripcion Descripción en construcción.
+     * @param campo Valor del campo; null se describe distinto de cualquier texto.
+     */
+    private static void agregarCampo(StringBuilder descripcion, String campo) {
+        if (campo == null) {
+            descripcion.append("-;");
+        } else {
+            descripcion.append(campo.length()).append(':').append(campo).append(';');
+        }
+    }
 }
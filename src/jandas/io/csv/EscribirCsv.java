@@ -10,6 +10,7 @@ import jandas.io.EscribirArchivo;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -119,6 +120,53 @@ public class EscribirCsv implements EscritorCsv {
         }
     }
 
+    /**
+     * Escribe una secuencia de lotes en un único archivo CSV con la configuración actual.
+     * <p>
+     * Cada lote se escribe apenas se obtiene del iterador, de modo que solo un lote
+     * está en memoria a la vez. El encabezado se toma del primer lote.
+     *
+     * @param lotes lotes con las mismas columnas
+     * @param rutaArchivo ruta destino del archivo CSV
+     * @throws JandasException si los lotes o la ruta son inválidos, si un lote tiene otras columnas
+     * o si ocurre un error de IO
+     */
+    @Override
+    public void escribirPorLotes(Iterator<Tabla> lotes, String rutaArchivo) {
+        if (lotes == null) {
+            throw new JandasException("Los lotes no pueden ser null");
+        }
+
+        if (rutaArchivo == null || rutaArchivo.trim().isEmpty()) {
+            throw new JandasException("La ruta del archivo no puede ser null o vacía");
+        }
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(rutaArchivo))) {
+            long startTime = System.nanoTime();
+
+            List<Etiqueta> columnas = null;
+            while (lotes.hasNext()) {
+                Tabla lote = lotes.next();
+                if (columnas == null) {
+                    columnas = lote.getEtiquetasColumnas();
+                    if (config.isTieneEncabezado()) {
+                        escribirEncabezados(lote, writer, config);
+                    }
+                } else if (!columnas.equals(lote.etiquetasColumnasVista())) {
+                    throw new JandasException("Todos los lotes deben tener las mismas columnas");
+                }
+                escribirDatos(lote, writer, config);
+            }
+
+            long endTime = System.nanoTime();
+            double duration = (endTime - startTime) / 1_000_000_000.0;
+            System.out.printf("Archivo CSV escrito en: %.3f segundos %n", duration);
+
+        } catch (IOException e) {
+            throw new JandasException("Error al escribir el archivo CSV: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Escribe los encabezados (nombres de columnas) en el archivo CSV.
      *
@@ -128,7 +176,7 @@ public class EscribirCsv implements EscritorCsv {
      * @throws IOException si hay error de escritura
      */
     private void escribirEncabezados(Tabla tabla, BufferedWriter writer, CsvConfig config) throws IOException {
-        List<Etiqueta> etiquetasColumnas = tabla.getEtiquetasColumnas();
+        List<Etiqueta> etiquetasColumnas = tabla.etiquetasColumnasVista();
         StringBuilder lineaEncabezado = new StringBuilder();
 
         for (int i = 0; i < etiquetasColumnas.size(); i++) {
@@ -152,11 +200,11 @@ public class EscribirCsv implements EscritorCsv {
      * @throws IOException si ocurre error de escritura
      */
     private void escribirDatos(Tabla tabla, BufferedWriter writer, CsvConfig config) throws IOException {
-        List<Etiqueta> etiquetasFilas = tabla.getEtiquetasFilas();
+        List<Columna<?>> columnas = tabla.columnasVista();
+        StringBuilder lineaDatos = new StringBuilder();
 
-        for (Etiqueta etiquetaFila : etiquetasFilas) {
-            StringBuilder lineaDatos = new StringBuilder();
-            List<Columna<?>> columnas = tabla.getColumnas();
+        for (int indiceFila = 0; indiceFila < tabla.cantFilas(); indiceFila++) {
+            lineaDatos.setLength(0);
 
             for (int i = 0; i < columnas.size(); i++) {
                 if (i > 0) {
@@ -164,9 +212,7 @@ public class EscribirCsv implements EscritorCsv {
                 }
 
                 // Obtener la celda correspondiente a esta fila y columna
-                Columna<?> columna = columnas.get(i);
-                int indiceFila = obtenerIndiceFila(etiquetaFila, tabla.getEtiquetasFilas());
-                Celda<?> celda = columna.getCelda(indiceFila);
+                Celda<?> celda = columnas.get(i).getCelda(indiceFila);
 
                 String valorCelda = formatearValorCelda(celda, config);
                 lineaDatos.append(escaparValor(valorCelda, config));
@@ -177,23 +223,6 @@ public class EscribirCsv implements EscritorCsv {
         }
     }
 
-    /**
-     * Obtiene el índice numérico de una etiqueta de fila dentro de la lista de etiquetas.
-     *
-     * @param etiquetaBuscada etiqueta que se busca
-     * @param etiquetasFilas lista de etiquetas de filas
-     * @return índice entero correspondiente a la posición de la etiqueta
-     * @throws JandasException si la etiqueta no se encuentra en la lista
-     */
-    private int obtenerIndiceFila(Etiqueta etiquetaBuscada, List<Etiqueta> etiquetasFilas) {
-        for (int i = 0; i < etiquetasFilas.size(); i++) {
-            if (etiquetasFilas.get(i).getValor().equals(etiquetaBuscada.getValor())) {
-                return i;
-            }
-        }
-        throw new JandasException("Etiqueta de fila no encontrada: " + etiquetaBuscada.getValor());
-    }
-
     /**
      * Formatea el valor de una celda, reemplazando valores NA por el valor nulo configurado.
      *
@@ -3,6 +3,8 @@ package jandas.io.csv;
 import jandas.base.data.Tabla;
 import jandas.io.EscribirArchivo;
 
+import java.util.Iterator;
+
 /**
  * Interfaz para escribir objetos {@link Tabla} en archivos CSV.
  * Define métodos para exportar tablas con diferentes configuraciones,
@@ -37,5 +39,13 @@ public interface EscritorCsv extends EscribirArchivo {
      * @param valorNulo cadena que representa valores nulos en el archivo CSV
      */
     void escribir(Tabla tabla, String rutaArchivo, String separador, String valorNulo);
-}
 
+    /**
+     * Escribe una secuencia de lotes en un único archivo CSV, uno detrás de otro.
+     * El encabezado se toma del primer lote y se escribe una sola vez.
+     *
+     * @param lotes lotes con las mismas columnas, por ejemplo los de {@link LectorCsv#leerPorLotes(String, int)}
+     * @param rutaArchivo ruta del archivo CSV destino
+     */
+    void escribirPorLotes(Iterator<Tabla> lotes, String rutaArchivo);
+}
@@ -48,5 +48,24 @@ public interface LectorCsv extends LeerArchivo {
      * @return objeto {@link Tabla} con los datos leídos del archivo
      */
     Tabla leer(String rutaArchivo, boolean encabezado, String separador);
-}
 
+    /**
+     * Lee un archivo CSV por lotes de filas usando la configuración actual del lector,
+     * sin cargar el archivo completo en memoria.
+     *
+     * @param rutaArchivo ruta del archivo CSV a leer
+     * @param tamLote cantidad máxima de filas por lote
+     * @return iterador de lotes {@link Tabla} que comparten columnas y tipos
+     */
+    LotesCsv leerPorLotes(String rutaArchivo, int tamLote);
+
+    /**
+     * Lee un archivo CSV por lotes de filas con una configuración personalizada.
+     *
+     * @param rutaArchivo ruta del archivo CSV a leer
+     * @param tamLote cantidad máxima de filas por lote
+     * @param config configuración específica para la lectura CSV
+     * @return iterador de lotes {@link Tabla} que comparten columnas y tipos
+     */
+    LotesCsv leerPorLotes(String rutaArchivo, int tamLote, CsvConfig config);
+}
@@ -0,0 +1,297 @@
+package jandas.io.csv;
+
+import jandas.base.data.*;
+import jandas.base.etiquetas.Etiqueta;
+import jandas.base.etiquetas.EtiquetaInt;
+import jandas.base.etiquetas.EtiquetaString;
+import jandas.excepciones.JandasException;
+import jandas.io.ConversorTexto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector CSV que mapea el archivo en memoria y separa los campos byte a byte.
+ * <p>
+ * Lo usa {@link LeerCsv} cuando la configuración indica {@link ModoLectura#MAPEO_MEMORIA}.
+ * El archivo se recorre dos veces sobre el mapeo: la primera clasifica cada valor para inferir
+ * el tipo de las columnas y la segunda llena las columnas. Los enteros, decimales y booleanos
+ * se convierten directamente desde los bytes con {@link ConversorTexto}, sin crear {@code String} intermedios.
+ * <p>
+ * La inferencia de tipos y la interpretación de cada valor son las mismas que en
+ * {@link LeerCsv#convertirValor(String, CsvConfig)}; además se reconocen campos entre comillas dobles.
+ */
+final class LectorCsvMapeado {
+
+    /** Clase de un valor vacío o igual al valor nulo configurado. */
+    private static final int NULO = 0;
+
+    /** Clase de un valor entero. */
+    private static final int ENTERO = 1;
+
+    /** Clase de un valor decimal. */
+    private static final int DECIMAL = 2;
+
+    /** Clase de un valor booleano. */
+    private static final int BOOLEANO = 3;
+
+    /** Clase de un valor de texto. */
+    private static final int TEXTO = 4;
+
+    /** Configuración de lectura. */
+    private final CsvConfig config;
+
+    /** Codificación del archivo. */
+    private final Charset charset;
+
+    /** Valor nulo configurado, codificado en bytes (o {@code null} si no hay). */
+    private final byte[] nulo;
+
+    /**
+     * Crea un lector mapeado para la configuración dada.
+     *
+     * @param config Configuración de lectura; debe cumplir {@link #admite(CsvConfig)}.
+     */
+    LectorCsvMapeado(CsvConfig config) {
+        this.config = config;
+        this.charset = Charset.defaultCharset();
+        this.nulo = config.getValorNulo() == null ? null : config.getValorNulo().getBytes(charset);
+    }
+
+    /**
+     * Indica si la configuración puede leerse con este lector: el separador debe ser un único
+     * carácter ASCII sin significado especial en expresiones regulares (el modo por líneas lo usa
+     * con {@link String#split(String, int)}) y la codificación por defecto debe ser compatible con ASCII.
+     * Los esquemas explícitos se leen por líneas.
+     *
+     * @param config Configuración de lectura.
+     * @return {@code true} si se puede usar el modo mapeado.
+     */
+    static boolean admite(CsvConfig config) {
+        String separador = config.getSeparador();
+        if (!config.getEsquema().isEmpty() || separador == null || separador.length() != 1) {
+            return false;
+        }
+        char c = separador.charAt(0);
+        if (c >= 0x80 || c == '"' || c == '\n' || c == '\r' || ".$|()[]{}^?*+\\".indexOf(c) >= 0) {
+            return false;
+        }
+        byte[] prueba = (separador + "\n\"").getBytes(Charset.defaultCharset());
+        return prueba.length == 3 && prueba[0] == c && prueba[1] == '\n' && prueba[2] == '"';
+    }
+
+    /**
+     * Lee el archivo indicado y lo convierte en una {@link Tabla}.
+     *
+     * @param rutaArchivo Ruta del archivo CSV.
+     * @return Tabla con los datos leídos.
+     * @throws IOException si no se puede abrir o mapear el archivo.
+     * @throws JandasException si el archivo está vacío.
+     */
+    Tabla leer(String rutaArchivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(Path.of(rutaArchivo), StandardOpenOption.READ)) {
+            TokenizadorCsv tokenizador = new TokenizadorCsv(canal, (byte) config.getSeparador().charAt(0));
+            if (!tokenizador.siguienteFila()) {
+                throw new JandasException("El archivo CSV está vacío");
+            }
+
+            int numColumnas = tokenizador.cantidadCampos();
+            List<Etiqueta> etiquetasColumnas = new ArrayList<>();
+            for (int i = 0; i < numColumnas; i++) {
+                String nombreCol = config.isTieneEncabezado() ? tokenizador.texto(i, charset) : "" + i;
+                etiquetasColumnas.add(new EtiquetaString(nombreCol));
+            }
+            long inicioDatos = config.isTieneEncabezado() ? tokenizador.posicionArchivo() : 0;
+
+            // Primera pasada: clasificar los valores de cada columna
+            int[][] conteos = new int[numColumnas][TEXTO + 1];
+            int filas = 0;
+            tokenizador.posicionar(inicioDatos);
+            while (tokenizador.siguienteFila()) {
+                int campos = Math.min(tokenizador.cantidadCampos(), numColumnas);
+                for (int j = 0; j < campos; j++) {
+                    conteos[j][clasificar(tokenizador, j)]++;
+                }
+                filas++;
+            }
+
+            Class<?>[] tipos = new Class<?>[numColumnas];
+            for (int j = 0; j < numColumnas; j++) {
+                int[] conteo = conteos[j];
+                int noNulos = conteo[ENTERO] + conteo[DECIMAL] + conteo[BOOLEANO] + conteo[TEXTO];
+                tipos[j] = LeerCsv.tipoSegunConteo(conteo[ENTERO], conteo[DECIMAL], conteo[BOOLEANO], noNulos);
+            }
+
+            // Segunda pasada: llenar las columnas primitivas y juntar los textos
+            Columna<?>[] primitivas = new Columna<?>[numColumnas];
+            List<List<Object>> textos = new ArrayList<>();
+            for (int j = 0; j < numColumnas; j++) {
+                Etiqueta etiqueta = etiquetasColumnas.get(j);
+                if (tipos[j] == Integer.class) {
+                    primitivas[j] = Columna.crear(etiqueta, Integer.class, config.getAlmacenamiento());
+                } else if (tipos[j] == Double.class) {
+                    primitivas[j] = Columna.crear(etiqueta, Double.class, config.getAlmacenamiento());
+                } else if (tipos[j] == Boolean.class) {
+                    primitivas[j] = new ColumnaBoolean(etiqueta);
+                }
+                textos.add(primitivas[j] == null ? new ArrayList<>(filas) : null);
+            }
+
+            tokenizador.posicionar(inicioDatos);
+            while (tokenizador.siguienteFila()) {
+                int campos = tokenizador.cantidadCampos();
+                for (int j = 0; j < numColumnas; j++) {
+                    if (j >= campos) {
+                        agregarNulo(primitivas[j], textos.get(j));
+                    } else {
+                        agregarValor(tokenizador, j, primitivas[j], textos.get(j));
+                    }
+                }
+            }
+
+            List<Columna<?>> columnas = new ArrayList<>();
+            for (int j = 0; j < numColumnas; j++) {
+                columnas.add(primitivas[j] != null ? primitivas[j]
+                        : LeerCsv.crearColumnaConTipo(etiquetasColumnas.get(j), tipos[j], textos.get(j), config));
+            }
+
+            List<Etiqueta> etiquetasFilas = new ArrayList<>(filas);
+            for (int i = 0; i < filas; i++) {
+                etiquetasFilas.add(new EtiquetaInt(i));
+            }
+
+            Tabla tabla = new Tabla(etiquetasColumnas, columnas);
+            tabla.setEtiquetasFilas(etiquetasFilas);
+            return tabla;
+        }
+    }
+
+    /**
+     * Agrega un valor faltante a la columna correspondiente.
+     *
+     * @param primitiva Columna primitiva, o {@code null} si la columna es de texto.
+     * @param textos Valores de la columna de texto, o {@code null} si es primitiva.
+     */
+    private static void agregarNulo(Columna<?> primitiva, List<Object> textos) {
+        if (primitiva != null) {
+            ((ColumnaPrimitiva<?>) primitiva).agregarNA();
+        } else {
+            textos.add(null);
+        }
+    }
+
+    /**
+     * Convierte un campo de la fila actual y lo agrega a la columna correspondiente.
+     * <p>
+     * Las columnas de texto reciben la representación del valor convertido, igual que en la
+     * lectura por líneas (por ejemplo, {@code "007"} se guarda como {@code "7"}).
+     *
+     * @param tokenizador Tokenizador posicionado en la fila.
+     * @param campo Índice del campo.
+     * @param primitiva Columna primitiva, o {@code null} si la columna es de texto.
+     * @param textos Valores de la columna de texto, o {@code null} si es primitiva.
+     */
+    private void agregarValor(TokenizadorCsv tokenizador, int campo, Columna<?> primitiva, List<Object> textos) {
+        int clase = clasificar(tokenizador, campo);
+        if (clase == NULO) {
+            agregarNulo(primitiva, textos);
+            return;
+        }
+        ByteBuffer bytes = tokenizador.ventana();
+        int inicio = tokenizador.inicioRecortado(campo);
+        int fin = tokenizador.finRecortado(campo);
+
+        if (!ConversorTexto.esAscii(bytes, inicio, fin)) {
+            Object valor = LeerCsv.convertirValor(tokenizador.texto(inicio, fin, tokenizador.escapado(campo), charset), config);
+            if (primitiva instanceof ColumnaInt enteros) {
+                enteros.agregarInt((Integer) valor);
+            } else if (primitiva instanceof ColumnaDouble decimales) {
+                decimales.agregarDouble(((Number) valor).doubleValue());
+            } else if (primitiva instanceof ColumnaBoolean booleanos) {
+                booleanos.agregarBoolean((Boolean) valor);
+            } else {
+                textos.add(valor.toString());
+            }
+            return;
+        }
+
+        if (primitiva instanceof ColumnaInt enteros) {
+            enteros.agregarInt((int) ConversorTexto.leerEntero(bytes, inicio, fin));
+        } else if (primitiva instanceof ColumnaDouble decimales) {
+            decimales.agregarDouble(clase == ENTERO ? ConversorTexto.leerEntero(bytes, inicio, fin)
+                    : ConversorTexto.leerDecimal(bytes, inicio, fin));
+        } else if (primitiva instanceof ColumnaBoolean booleanos) {
+            booleanos.agregarBoolean(ConversorTexto.esVerdadero(bytes, inicio, fin));
+        } else {
+            switch (clase) {
+                case ENTERO -> textos.add(Long.toString(ConversorTexto.leerEntero(bytes, inicio, fin)));
+                case DECIMAL -> textos.add(Double.toString(ConversorTexto.leerDecimal(bytes, inicio, fin)));
+                case BOOLEANO -> textos.add(Boolean.toString(ConversorTexto.esVerdadero(bytes, inicio, fin)));
+                default -> textos.add(tokenizador.texto(inicio, fin, tokenizador.escapado(campo), charset));
+            }
+        }
+    }
+
+    /**
+     * Clasifica un campo de la fila actual según el tipo de valor que contiene.
+     * <p>
+     * Los campos con bytes no ASCII se decodifican y se clasifican con
+     * {@link LeerCsv#convertirValor(String, CsvConfig)}.
+     *
+     * @param tokenizador Tokenizador posicionado en la fila.
+     * @param campo Índice del campo.
+     * @return Una de las clases {@link #NULO}, {@link #ENTERO}, {@link #DECIMAL}, {@link #BOOLEANO} o {@link #TEXTO}.
+     */
+    private int clasificar(TokenizadorCsv tokenizador, int campo) {
+        ByteBuffer bytes = tokenizador.ventana();
+        int inicio = tokenizador.inicioRecortado(campo);
+        int fin = tokenizador.finRecortado(campo);
+        if (inicio == fin || esNulo(bytes, inicio, fin)) {
+            return NULO;
+        }
+        if (!ConversorTexto.esAscii(bytes, inicio, fin)) {
+            Object valor = LeerCsv.convertirValor(tokenizador.texto(inicio, fin, tokenizador.escapado(campo), charset), config);
+            if (valor == null) {
+                return NULO;
+            }
+            return valor instanceof Integer ? ENTERO : valor instanceof Double ? DECIMAL
+                    : valor instanceof Boolean ? BOOLEANO : TEXTO;
+        }
+        if (ConversorTexto.esBooleano(bytes, inicio, fin)) {
+            return BOOLEANO;
+        }
+        for (int i = inicio; i < fin; i++) {
+            if (bytes.get(i) == '.') {
+                // Un valor con punto nunca es el literal NaN, así que NaN indica texto
+                return Double.isNaN(ConversorTexto.leerDecimal(bytes, inicio, fin)) ? TEXTO : DECIMAL;
+            }
+        }
+        return ConversorTexto.leerEntero(bytes, inicio, fin) == ConversorTexto.NO_ENTERO ? TEXTO : ENTERO;
+    }
+
+    /**
+     * Indica si el rango coincide con el valor nulo configurado.
+     *
+     * @param bytes Bytes del archivo.
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @return {@code true} si el rango es el valor nulo.
+     */
+    private boolean esNulo(ByteBuffer bytes, int inicio, int fin) {
+        if (nulo == null || fin - inicio != nulo.length) {
+            return false;
+        }
+        for (int i = 0; i < nulo.length; i++) {
+            if (bytes.get(inicio + i) != nulo[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -5,6 +5,7 @@ import jandas.base.etiquetas.Etiqueta;
 import jandas.base.etiquetas.EtiquetaInt;
 import jandas.base.etiquetas.EtiquetaString;
 import jandas.excepciones.JandasException;
+import jandas.io.ConversorTexto;
 import jandas.io.LeerArchivo;
 
 import java.io.BufferedReader;
@@ -12,6 +13,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Clase para leer archivos CSV y convertirlos en objetos {@link Tabla} de Jandas.
@@ -39,7 +41,12 @@ public class LeerCsv implements LectorCsv {
      * Lee un archivo CSV desde la ruta especificada y lo convierte en un objeto {@link Tabla}.
      * <p>
      * El archivo puede contener encabezados (nombres de columnas) o no, según la configuración.
-     * Los datos se agrupan por columna y se infiere automáticamente el tipo de dato de cada columna.
+     * El tipo inicial de cada columna se infiere con una muestra de filas (o se toma del esquema explícito
+     * de {@link CsvConfig}) y luego cada valor se convierte directamente en su columna tipada, ampliando
+     * el tipo si un valor posterior no entra.
+     * <p>
+     * Si la configuración indica {@link ModoLectura#MAPEO_MEMORIA}, el archivo se mapea en memoria
+     * y se separa byte a byte; si el separador no es de un solo byte se usa la lectura por líneas.
      * <p>
      * También mide el tiempo de ejecución del proceso de lectura.
      *
@@ -49,6 +56,18 @@ public class LeerCsv implements LectorCsv {
      */
     @Override
     public Tabla leer(String rutaArchivo) {
+        if (config.getModoLectura() == ModoLectura.MAPEO_MEMORIA && LectorCsvMapeado.admite(config)) {
+            try {
+                long startTime = System.nanoTime();
+                Tabla tabla = new LectorCsvMapeado(config).leer(rutaArchivo);
+                double duration = (System.nanoTime() - startTime) / 1_000_000_000.0;
+                System.out.printf("Tiempo de ejecución: %.3f segundos %n", duration);
+                return tabla;
+            } catch (IOException e) {
+                throw new JandasException("Error al leer el archivo CSV: " + e.getMessage());
+            }
+        }
+
         try (BufferedReader br = new BufferedReader(new FileReader(rutaArchivo))) {
             long startTime = System.nanoTime();
 
@@ -78,38 +97,41 @@ public class LeerCsv implements LectorCsv {
 
             int numColumnas = config.isTieneEncabezado() ? encabezados.length : lineasDatos.get(0).length;
 
-            // Agrupar datos por columnas
-            List<List<Object>> datosPorColumna = new ArrayList<>();
             List<Etiqueta> etiquetasColumnas = new ArrayList<>();
-
             for (int i = 0; i < numColumnas; i++) {
                 String nombreCol = config.isTieneEncabezado() ? encabezados[i] : "" + i;
                 etiquetasColumnas.add(new EtiquetaString(nombreCol));
-                datosPorColumna.add(new ArrayList<>());
             }
 
-            // Convertir y agrupar datos fila por fila
+            // Fijar el tipo inicial de cada columna: esquema explícito o muestra de filas
+            int[] muestra = indicesMuestra(lineasDatos.size(), config);
+            Class<?>[] tiposExplicitos = tiposExplicitos(etiquetasColumnas, config);
+            List<ConstructorColumna> constructores = new ArrayList<>();
+            for (int i = 0; i < numColumnas; i++) {
+                if (tiposExplicitos[i] != null) {
+                    constructores.add(new ConstructorColumna(etiquetasColumnas.get(i), tiposExplicitos[i], false, 0, config));
+                } else {
+                    List<Object> valoresMuestra = new ArrayList<>(muestra.length);
+                    for (int indice : muestra) {
+                        String[] fila = lineasDatos.get(indice);
+                        valoresMuestra.add(i < fila.length ? convertirValor(fila[i].trim(), config) : null);
+                    }
+                    Class<?> tipoInicial = inferirTipoColumna(valoresMuestra);
+                    constructores.add(new ConstructorColumna(etiquetasColumnas.get(i), tipoInicial, true, 0, config));
+                }
+            }
+
+            // Convertir cada valor directamente en su columna tipada
             for (String[] fila : lineasDatos) {
                 for (int j = 0; j < numColumnas; j++) {
-                    Object valor;
-                    if (j < fila.length) {
-                        valor = convertirValor(fila[j].trim());
-                    } else {
-                        valor = null; // valor nulo si falta dato
-                    }
-                    datosPorColumna.get(j).add(valor);
+                    Object valor = j < fila.length ? convertirValor(fila[j].trim(), config, tiposExplicitos[j]) : null;
+                    constructores.get(j).agregar(valor);
                 }
             }
 
-            // Crear columnas con tipos inferidos
             List<Columna<?>> columnas = new ArrayList<>();
-            for (int i = 0; i < numColumnas; i++) {
-                Etiqueta etiqueta = etiquetasColumnas.get(i);
-                List<Object> valoresColumna = datosPorColumna.get(i);
-
-                Class<?> tipoInferido = inferirTipoColumna(valoresColumna);
-                Columna<?> columna = crearColumnaConTipo(etiqueta, tipoInferido, valoresColumna);
-                columnas.add(columna);
+            for (ConstructorColumna constructor : constructores) {
+                columnas.add(constructor.construir());
             }
 
             // Crear etiquetas de filas
@@ -142,7 +164,7 @@ public class LeerCsv implements LectorCsv {
      * @param valores Lista de valores de la columna (puede contener null).
      * @return Clase representando el tipo inferido.
      */
-    private Class<?> inferirTipoColumna(List<Object> valores) {
+    static Class<?> inferirTipoColumna(List<Object> valores) {
         if (valores.isEmpty()) {
             return Object.class;
         }
@@ -168,17 +190,33 @@ public class LeerCsv implements LectorCsv {
             }
         }
 
-        if (totalNoNulos == 0) {
+        return tipoSegunConteo(contadorInteger, contadorDouble, contadorBoolean, totalNoNulos);
+    }
+
+    /**
+     * Decide el tipo de una columna a partir de la cantidad de valores de cada clase.
+     * <p>
+     * Aplica las mismas reglas que {@link #inferirTipoColumna(List)}; lo usan también
+     * los lectores que clasifican los valores sin crear objetos.
+     *
+     * @param enteros Cantidad de valores enteros.
+     * @param decimales Cantidad de valores decimales.
+     * @param booleanos Cantidad de valores booleanos.
+     * @param noNulos Cantidad total de valores no nulos.
+     * @return Clase representando el tipo inferido.
+     */
+    static Class<?> tipoSegunConteo(int enteros, int decimales, int booleanos, int noNulos) {
+        if (noNulos == 0) {
             return Object.class;
         }
 
-        if (contadorInteger == totalNoNulos) {
+        if (enteros == noNulos) {
             return Integer.class;
-        } else if (contadorDouble == totalNoNulos) {
+        } else if (decimales == noNulos) {
             return Double.class;
-        } else if (contadorBoolean == totalNoNulos) {
+        } else if (booleanos == noNulos) {
             return Boolean.class;
-        } else if (contadorInteger + contadorDouble == totalNoNulos) {
+        } else if (enteros + decimales == noNulos) {
             return Double.class;
         } else {
             return String.class;
@@ -189,16 +227,19 @@ public class LeerCsv implements LectorCsv {
      * Crea una columna tipada a partir de la etiqueta, tipo inferido y lista de valores.
      * <p>
      * Convierte cada valor al tipo correspondiente, manejando conversiones y valores nulos.
+     * Las columnas numéricas y booleanas se almacenan en arreglos primitivos.
      *
      * @param etiqueta Etiqueta de la columna.
      * @param tipo Tipo inferido para la columna.
      * @param valores Valores a incluir en la columna.
+     * @param config Configuración de lectura (proporción para codificar por diccionario y almacenamiento
+     *               de las columnas numéricas).
      * @return Objeto {@link Columna} con los valores convertidos.
      */
     @SuppressWarnings("unchecked")
-    private Columna<?> crearColumnaConTipo(Etiqueta etiqueta, Class<?> tipo, List<Object> valores) {
+    static Columna<?> crearColumnaConTipo(Etiqueta etiqueta, Class<?> tipo, List<Object> valores, CsvConfig config) {
         if (tipo == Integer.class) {
-            Columna<Integer> columna = new Columna<>(etiqueta, Integer.class);
+            ColumnaInt columna = (ColumnaInt) Columna.crear(etiqueta, Integer.class, config.getAlmacenamiento());
             for (Object valor : valores) {
                 Integer valorInt = null;
                 if (valor != null) {
@@ -212,12 +253,16 @@ public class LeerCsv implements LectorCsv {
                         }
                     }
                 }
-                columna.agregarCelda(new Celda<>(valorInt));
+                if (valorInt == null) {
+                    columna.agregarNA();
+                } else {
+                    columna.agregarInt(valorInt);
+                }
             }
             return columna;
 
         } else if (tipo == Double.class) {
-            Columna<Double> columna = new Columna<>(etiqueta, Double.class);
+            ColumnaDouble columna = (ColumnaDouble) Columna.crear(etiqueta, Double.class, config.getAlmacenamiento());
             for (Object valor : valores) {
                 Double valorDouble = null;
                 if (valor != null) {
@@ -235,12 +280,16 @@ public class LeerCsv implements LectorCsv {
                         }
                     }
                 }
-                columna.agregarCelda(new Celda<>(valorDouble));
+                if (valorDouble == null) {
+                    columna.agregarNA();
+                } else {
+                    columna.agregarDouble(valorDouble);
+                }
             }
             return columna;
 
         } else if (tipo == Boolean.class) {
-            Columna<Boolean> columna = new Columna<>(etiqueta, Boolean.class);
+            ColumnaBoolean columna = new ColumnaBoolean(etiqueta);
             for (Object valor : valores) {
                 Boolean valorBoolean = null;
                 if (valor != null) {
@@ -250,12 +299,20 @@ public class LeerCsv implements LectorCsv {
                         valorBoolean = Boolean.valueOf(valor.toString());
                     }
                 }
-                columna.agregarCelda(new Celda<>(valorBoolean));
+                if (valorBoolean == null) {
+                    columna.agregarNA();
+                } else {
+                    columna.agregarBoolean(valorBoolean);
+                }
             }
             return columna;
 
         } else {
-            // Por defecto String
+            // Por defecto String, codificado por diccionario si la cardinalidad es baja
+            ColumnaDiccionario codificada = crearColumnaCodificada(etiqueta, valores, config);
+            if (codificada != null) {
+                return codificada;
+            }
             Columna<String> columna = new Columna<>(etiqueta, String.class);
             for (Object valor : valores) {
                 String valorString = valor == null ? null : valor.toString();
@@ -265,6 +322,43 @@ public class LeerCsv implements LectorCsv {
         }
     }
 
+    /**
+     * Intenta crear una columna de texto codificada por diccionario.
+     * <p>
+     * Se abandona en cuanto la cantidad de valores distintos supera la proporción
+     * configurada en {@link CsvConfig#getProporcionDiccionario()}.
+     *
+     * @param etiqueta Etiqueta de la columna.
+     * @param valores Valores a incluir en la columna.
+     * @param config Configuración de lectura.
+     * @return Columna codificada, o {@code null} si la cardinalidad es demasiado alta.
+     */
+    private static ColumnaDiccionario crearColumnaCodificada(Etiqueta etiqueta, List<Object> valores, CsvConfig config) {
+        int noNulos = 0;
+        for (Object valor : valores) {
+            if (valor != null) {
+                noNulos++;
+            }
+        }
+        int maxDistintos = (int) (noNulos * config.getProporcionDiccionario());
+        if (maxDistintos < 1) {
+            return null;
+        }
+
+        ColumnaDiccionario columna = new ColumnaDiccionario(etiqueta);
+        for (Object valor : valores) {
+            if (valor == null) {
+                columna.agregarNA();
+            } else {
+                columna.agregarCodigo(columna.getDiccionario().codificar(valor.toString()));
+                if (columna.getDiccionario().size() > maxDistintos) {
+                    return null;
+                }
+            }
+        }
+        return columna;
+    }
+
     /**
      * Lee un archivo CSV usando una configuración personalizada.
      *
@@ -306,32 +400,128 @@ public class LeerCsv implements LectorCsv {
         return leer(rutaArchivo);
     }
 
+    /**
+     * Lee un archivo CSV por lotes de filas usando la configuración actual.
+     * <p>
+     * Los lotes se leen línea por línea, cualquiera sea el modo de lectura configurado.
+     *
+     * @param rutaArchivo Ruta del archivo CSV.
+     * @param tamLote Cantidad máxima de filas por lote.
+     * @return Iterador de lotes que comparten columnas y tipos.
+     */
+    @Override
+    public LotesCsv leerPorLotes(String rutaArchivo, int tamLote) {
+        return new LotesCsv(rutaArchivo, tamLote, config);
+    }
+
+    /**
+     * Lee un archivo CSV por lotes de filas usando una configuración personalizada.
+     *
+     * @param rutaArchivo Ruta del archivo CSV.
+     * @param tamLote Cantidad máxima de filas por lote.
+     * @param config Configuración específica para lectura.
+     * @return Iterador de lotes que comparten columnas y tipos.
+     */
+    @Override
+    public LotesCsv leerPorLotes(String rutaArchivo, int tamLote, CsvConfig config) {
+        this.config = config;
+        return leerPorLotes(rutaArchivo, tamLote);
+    }
+
+    /**
+     * Elige las filas de la muestra usada para inferir el tipo inicial de las columnas.
+     * <p>
+     * Toma las primeras {@link CsvConfig#getFilasInferencia()} filas o, si la muestra es aleatoria,
+     * una muestra uniforme con el algoritmo de reservorio.
+     *
+     * @param cantidadFilas Cantidad de filas de datos.
+     * @param config Configuración de lectura.
+     * @return Índices de las filas de la muestra.
+     */
+    static int[] indicesMuestra(int cantidadFilas, CsvConfig config) {
+        int tamanio = Math.max(0, Math.min(config.getFilasInferencia(), cantidadFilas));
+        int[] muestra = new int[tamanio];
+        for (int i = 0; i < tamanio; i++) {
+            muestra[i] = i;
+        }
+        if (config.isMuestraAleatoria()) {
+            Random random = new Random();
+            for (int i = tamanio; i < cantidadFilas; i++) {
+                int j = random.nextInt(i + 1);
+                if (j < tamanio) {
+                    muestra[j] = i;
+                }
+            }
+        }
+        return muestra;
+    }
+
+    /**
+     * Busca en el esquema explícito el tipo de cada columna.
+     *
+     * @param etiquetasColumnas Etiquetas de las columnas del archivo.
+     * @param config Configuración de lectura.
+     * @return Tipo explícito de cada columna, o {@code null} para las columnas a inferir.
+     */
+    static Class<?>[] tiposExplicitos(List<Etiqueta> etiquetasColumnas, CsvConfig config) {
+        Class<?>[] tipos = new Class<?>[etiquetasColumnas.size()];
+        for (int i = 0; i < tipos.length; i++) {
+            tipos[i] = config.getEsquema().get(etiquetasColumnas.get(i).getValor().toString());
+        }
+        return tipos;
+    }
+
+    /**
+     * Convierte un valor de texto respetando el tipo explícito de su columna.
+     * <p>
+     * Las columnas {@code String} conservan el texto original y las {@code Long} admiten
+     * enteros de 64 bits; el resto se convierte con {@link #convertirValor(String, CsvConfig)}.
+     *
+     * @param valor Valor en texto a convertir.
+     * @param config Configuración de lectura (valor nulo).
+     * @param tipo Tipo explícito de la columna, o {@code null} si se infiere.
+     * @return Objeto convertido o {@code null} si el valor está vacío o es el valor nulo.
+     */
+    static Object convertirValor(String valor, CsvConfig config, Class<?> tipo) {
+        if (tipo == String.class || tipo == Long.class) {
+            if (valor.isEmpty() || valor.equals(config.getValorNulo())) {
+                return null;
+            }
+            if (tipo == String.class) {
+                return valor;
+            }
+            return ConversorTexto.esLargo(valor, 0, valor.length())
+                    ? (Object) ConversorTexto.leerLargo(valor, 0, valor.length()) : valor;
+        }
+        return convertirValor(valor, config);
+    }
+
     /**
      * Convierte un valor de tipo {@link String} a un objeto del tipo más adecuado.
      * <p>
-     * Intenta convertir a {@link Boolean}, {@link Integer} o {@link Double}.
-     * Si no se puede convertir, devuelve el valor como {@link String}.
-     * Los valores vacíos se interpretan como {@code null}.
+     * Intenta convertir a {@link Boolean}, {@link Integer} o {@link Double} con {@link ConversorTexto},
+     * sin usar excepciones. Si no se puede convertir, devuelve el valor como {@link String}.
+     * Los valores vacíos y el valor nulo configurado se interpretan como {@code null}.
      *
      * @param valor Valor en texto a convertir.
-     * @return Objeto convertido o {@code null} si el valor está vacío.
+     * @param config Configuración de lectura (valor nulo).
+     * @return Objeto convertido o {@code null} si el valor está vacío o es el valor nulo.
      */
-    private Object convertirValor(String valor) {
-        if (valor.isEmpty()) {
+    static Object convertirValor(String valor, CsvConfig config) {
+        if (valor.isEmpty() || valor.equals(config.getValorNulo())) {
             return null;
         }
 
-        try {
-            if (valor.equalsIgnoreCase("true") || valor.equalsIgnoreCase("false")) {
-                return Boolean.parseBoolean(valor);
-            }
-            if (valor.contains(".")) {
-                return Double.parseDouble(valor);
-            } else {
-                return Integer.parseInt(valor);
-            }
-        } catch (NumberFormatException e) {
-            return valor;
+        int largo = valor.length();
+        if (ConversorTexto.esBooleano(valor, 0, largo)) {
+            return ConversorTexto.esVerdadero(valor, 0, largo);
+        }
+        if (valor.indexOf('.') >= 0) {
+            // Un valor con punto nunca es el literal NaN, así que NaN indica texto
+            double decimal = ConversorTexto.leerDecimal(valor, 0, largo);
+            return Double.isNaN(decimal) ? valor : (Object) decimal;
         }
+        long entero = ConversorTexto.leerEntero(valor, 0, largo);
+        return entero == ConversorTexto.NO_ENTERO ? valor : (Object) (int) entero;
     }
 }
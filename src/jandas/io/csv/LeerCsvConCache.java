@@ -0,0 +1,517 @@
+package jandas.io.csv;
+
+import jandas.base.data.Almacenamiento;
+import jandas.base.data.Tabla;
+import jandas.excepciones.JandasException;
+import jandas.io.binario.EscribirBinario;
+import jandas.io.binario.LeerBinario;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Lector CSV que guarda en disco una copia binaria de cada tabla leída y la carga en lugar de
+ * volver a interpretar el archivo cuando se repite la misma lectura.
+ * <p>
+ * Cada copia se identifica por una huella de la lectura: la ruta absoluta del archivo, su tamaño,
+ * su fecha de modificación, opcionalmente un resumen SHA-256 de su contenido
+ * ({@link #setVerificarContenido(boolean)}), la clase del lector y todos los parámetros de
+ * {@link CsvConfig}. Si cambia cualquiera de ellos la huella es otra y el archivo se vuelve a
+ * leer; las copias que dejan de usarse terminan expulsadas.
+ * </p>
+ * <p>
+ * Las copias se escriben con {@link EscribirBinario} en el directorio de la caché, que no supera
+ * la cantidad de bytes indicada: al guardar una copia nueva se borran las usadas hace más tiempo.
+ * La fecha de modificación de cada copia registra su último uso, porque muchos sistemas de
+ * archivos no actualizan la de acceso.
+ * </p>
+ * <p>
+ * La caché es una optimización: si una copia está dañada se descarta y se lee el CSV, y si no se
+ * puede guardar (por ejemplo, por una columna de un tipo que el formato binario no admite) la
+ * tabla se devuelve igual. Las lecturas con {@link Almacenamiento#FUERA_HEAP} y las lecturas por
+ * lotes no pasan por la caché, porque la copia se carga al heap.
+ * </p>
+ */
+public class LeerCsvConCache implements LectorCsv {
+
+    /** Versión de la huella; cambiarla invalida todas las copias guardadas. */
+    static final int VERSION = 1;
+
+    /** Extensión de las copias binarias en el directorio de la caché. */
+    static final String EXTENSION = ".jtab";
+
+    /** Tamaño del búfer con el que se resume el contenido del archivo. */
+    private static final int TAMANIO_BUFER = 1 << 20;
+
+    /**
+     * Lector que interpreta el CSV cuando no hay copia.
+     */
+    private final LectorCsv lector;
+
+    /**
+     * Directorio donde se guardan las copias.
+     */
+    private final Path directorio;
+
+    /**
+     * Máximo de bytes que pueden ocupar las copias.
+     */
+    private final long bytesMaximos;
+
+    /**
+     * Configuración de la lectura, que forma parte de la huella.
+     */
+    private CsvConfig config;
+
+    /**
+     * Indica si la huella incluye un resumen del contenido del archivo.
+     */
+    private boolean verificarContenido;
+
+    /**
+     * Lecturas resueltas con una copia guardada.
+     */
+    private long aciertos;
+
+    /**
+     * Lecturas que tuvieron que interpretar el CSV.
+     */
+    private long fallos;
+
+    /**
+     * Crea un lector con caché que interpreta los archivos con {@link LeerCsv}.
+     *
+     * @param directorio Directorio de la caché; se crea si no existe.
+     * @param bytesMaximos Máximo de bytes que pueden ocupar las copias.
+     * @throws JandasException Si el máximo no es positivo o no se puede crear el directorio.
+     */
+    public LeerCsvConCache(String directorio, long bytesMaximos) {
+        this(new LeerCsv(), directorio, bytesMaximos);
+    }
+
+    /**
+     * Crea un lector con caché que interpreta los archivos con el lector indicado.
+     *
+     * @param lector Lector que interpreta el CSV cuando no hay copia.
+     * @param directorio Directorio de la caché; se crea si no existe.
+     * @param bytesMaximos Máximo de bytes que pueden ocupar las copias.
+     * @throws JandasException Si algún argumento es null, el máximo no es positivo o no se puede crear el directorio.
+     */
+    public LeerCsvConCache(LectorCsv lector, String directorio, long bytesMaximos) {
+        if (lector == null || directorio == null) {
+            throw new JandasException("El lector y el directorio de la caché no pueden ser null");
+        }
+        if (bytesMaximos <= 0) {
+            throw new JandasException("El tamaño máximo de la caché debe ser positivo: " + bytesMaximos);
+        }
+        this.lector = lector;
+        this.directorio = Path.of(directorio).toAbsolutePath().normalize();
+        this.bytesMaximos = bytesMaximos;
+        this.config = new CsvConfig();
+        try {
+            Files.createDirectories(this.directorio);
+        } catch (IOException e) {
+            throw new JandasException("No se pudo crear el directorio de la caché " + directorio + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lee el archivo CSV con la configuración actual, desde su copia si la lectura ya se hizo.
+     *
+     * @param rutaArchivo Ruta del archivo CSV a leer.
+     * @return Tabla con los datos del archivo.
+     * @throws JandasException Si el archivo no se puede leer.
+     */
+    @Override
+    public Tabla leer(String rutaArchivo) {
+        if (rutaArchivo == null || config.getAlmacenamiento() != Almacenamiento.HEAP) {
+            return lector.leer(rutaArchivo, config);
+        }
+        Path archivo = Path.of(rutaArchivo).toAbsolutePath().normalize();
+        BasicFileAttributes atributos;
+        String clave;
+        try {
+            atributos = Files.readAttributes(archivo, BasicFileAttributes.class);
+            clave = calcularClave(archivo, atributos);
+        } catch (IOException e) {
+            // El lector informa el error con su mensaje habitual
+            return lector.leer(rutaArchivo, config);
+        }
+
+        Path copia = directorio.resolve(clave + EXTENSION);
+        Tabla tabla = cargar(copia);
+        if (tabla != null) {
+            aciertos++;
+            return tabla;
+        }
+        fallos++;
+        tabla = lector.leer(rutaArchivo, config);
+        if (sinCambios(archivo, atributos)) {
+            guardar(tabla, copia);
+        }
+        return tabla;
+    }
+
+    /**
+     * Lee el archivo CSV con la configuración indicada, que pasa a ser la del lector.
+     *
+     * @param rutaArchivo Ruta del archivo CSV a leer.
+     * @param config Configuración de la lectura.
+     * @return Tabla con los datos del archivo.
+     */
+    @Override
+    public Tabla leer(String rutaArchivo, CsvConfig config) {
+        this.config = config;
+        return leer(rutaArchivo);
+    }
+
+    /**
+     * Lee el archivo CSV indicando si tiene encabezado.
+     *
+     * @param rutaArchivo Ruta del archivo CSV a leer.
+     * @param encabezado Indica si la primera fila es el encabezado.
+     * @return Tabla con los datos del archivo.
+     */
+    @Override
+    public Tabla leer(String rutaArchivo, boolean encabezado) {
+        config.setTieneEncabezado(encabezado);
+        return leer(rutaArchivo);
+    }
+
+    /**
+     * Lee el archivo CSV indicando si tiene encabezado y el separador.
+     *
+     * @param rutaArchivo Ruta del archivo CSV a leer.
+     * @param encabezado Indica si la primera fila es el encabezado.
+     * @param separador Separador de los valores.
+     * @return Tabla con los datos del archivo.
+     */
+    @Override
+    public Tabla leer(String rutaArchivo, boolean encabezado, String separador) {
+        config.setSeparador(separador);
+        config.setTieneEncabezado(encabezado);
+        return leer(rutaArchivo);
+    }
+
+    /**
+     * Lee el archivo CSV por lotes con el lector subyacente, sin pasar por la caché.
+     *
+     * @param rutaArchivo Ruta del archivo CSV a leer.
+     * @param tamLote Cantidad máxima de filas por lote.
+     * @return Iterador de lotes.
+     */
+    @Override
+    public LotesCsv leerPorLotes(String rutaArchivo, int tamLote) {
+        return lector.leerPorLotes(rutaArchivo, tamLote, config);
+    }
+
+    /**
+     * Lee el archivo CSV por lotes con la configuración indicada, sin pasar por la caché.
+     *
+     * @param rutaArchivo Ruta del archivo CSV a leer.
+     * @param tamLote Cantidad máxima de filas por lote.
+     * @param config Configuración de la lectura.
+     * @return Iterador de lotes.
+     */
+    @Override
+    public LotesCsv leerPorLotes(String rutaArchivo, int tamLote, CsvConfig config) {
+        this.config = config;
+        return leerPorLotes(rutaArchivo, tamLote);
+    }
+
+    /**
+     * Indica si la huella incluye un resumen del contenido del archivo.
+     *
+     * @return true si se resume el contenido.
+     */
+    public boolean isVerificarContenido() {
+        return verificarContenido;
+    }
+
+    /**
+     * Define si la huella incluye un resumen SHA-256 del contenido del archivo. Detecta cambios
+     * que conservan el tamaño y la fecha de modificación, a costa de recorrer el archivo en
+     * cada lectura.
+     *
+     * @param verificarContenido true para resumir el contenido.
+     */
+    public void setVerificarContenido(boolean verificarContenido) {
+        this.verificarContenido = verificarContenido;
+    }
+
+    /**
+     * Devuelve la cantidad de lecturas resueltas con una copia guardada.
+     *
+     * @return Cantidad de aciertos.
+     */
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    /**
+     * Devuelve la cantidad de lecturas que tuvieron que interpretar el CSV.
+     *
+     * @return Cantidad de fallos.
+     */
+    public long getFallos() {
+        return fallos;
+    }
+
+    /**
+     * Devuelve los bytes que ocupan las copias guardadas.
+     *
+     * @return Bytes ocupados por la caché.
+     * @throws JandasException Si no se puede recorrer el directorio.
+     */
+    public long bytesOcupados() {
+        long total = 0;
+        for (CopiaGuardada copia : listarCopias()) {
+            total += copia.bytes;
+        }
+        return total;
+    }
+
+    /**
+     * Borra todas las copias guardadas.
+     *
+     * @throws JandasException Si no se puede borrar alguna copia.
+     */
+    public void limpiar() {
+        for (CopiaGuardada copia : listarCopias()) {
+            try {
+                Files.deleteIfExists(copia.ruta);
+            } catch (IOException e) {
+                throw new JandasException("No se pudo borrar " + copia.ruta + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Carga una copia guardada y registra su uso. Una copia dañada se borra.
+     *
+     * @param copia Ruta de la copia.
+     * @return Tabla cargada, o null si no hay una copia válida.
+     */
+    private Tabla cargar(Path copia) {
+        if (!Files.isRegularFile(copia)) {
+            return null;
+        }
+        try {
+            Tabla tabla = new LeerBinario().leer(copia.toString());
+            Files.setLastModifiedTime(copia, FileTime.from(Instant.now()));
+            return tabla;
+        } catch (JandasException | IOException e) {
+            borrarSinFallar(copia);
+            return null;
+        }
+    }
+
+    /**
+     * Guarda la tabla como copia y expulsa las más antiguas si se supera el máximo. La copia se
+     * escribe en un archivo temporal y se renombra al terminar, para que una lectura concurrente
+     * nunca vea una copia a medio escribir. Los errores se ignoran: la tabla ya fue leída.
+     *
+     * @param tabla Tabla leída del CSV.
+     * @param copia Ruta de la copia.
+     */
+    private void guardar(Tabla tabla, Path copia) {
+        Path temporal = null;
+        try {
+            temporal = Files.createTempFile(directorio, "copia", ".tmp");
+            new EscribirBinario().escribir(tabla, temporal.toString());
+            if (Files.size(temporal) > bytesMaximos) {
+                return;
+            }
+            try {
+                Files.move(temporal, copia, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporal, copia, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temporal = null;
+            expulsar(copia);
+        } catch (IOException | JandasException e) {
+            // La tabla no se puede guardar en formato binario; se vuelve a leer la próxima vez
+        } finally {
+            if (temporal != null) {
+                borrarSinFallar(temporal);
+            }
+        }
+    }
+
+    /**
+     * Borra las copias usadas hace más tiempo hasta que la caché no supere el máximo,
+     * conservando la recién guardada.
+     *
+     * @param conservar Copia que no debe expulsarse.
+     */
+    private void expulsar(Path conservar) {
+        List<CopiaGuardada> copias = listarCopias();
+        long total = 0;
+        for (CopiaGuardada copia : copias) {
+            total += copia.bytes;
+        }
+        copias.sort(Comparator.comparing((CopiaGuardada copia) -> copia.ultimoUso));
+        for (int i = 0; i < copias.size() && total > bytesMaximos; i++) {
+            CopiaGuardada copia = copias.get(i);
+            if (!copia.ruta.equals(conservar)) {
+                borrarSinFallar(copia.ruta);
+                total -= copia.bytes;
+            }
+        }
+    }
+
+    /**
+     * Lista las copias del directorio de la caché con su tamaño y su último uso. Las que se
+     * borran mientras se recorre el directorio se omiten.
+     *
+     * @return Copias guardadas.
+     * @throws JandasException Si no se puede recorrer el directorio.
+     */
+    private List<CopiaGuardada> listarCopias() {
+        List<CopiaGuardada> copias = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, "*" + EXTENSION)) {
+            for (Path archivo : archivos) {
+                try {
+                    BasicFileAttributes atributos = Files.readAttributes(archivo, BasicFileAttributes.class);
+                    copias.add(new CopiaGuardada(archivo, atributos.size(), atributos.lastModifiedTime()));
+                } catch (NoSuchFileException e) {
+                    // Otra lectura la expulsó
+                }
+            }
+        } catch (IOException e) {
+            throw new JandasException("No se pudo recorrer la caché " + directorio + ": " + e.getMessage(), e);
+        }
+        return copias;
+    }
+
+    /**
+     * Calcula la huella de la lectura del archivo con la configuración actual.
+     *
+     * @param archivo Ruta absoluta del archivo.
+     * @param atributos Atributos del archivo.
+     * @return Huella en hexadecimal.
+     * @throws IOException Si no se puede leer el archivo al resumir su contenido.
+     */
+    private String calcularClave(Path archivo, BasicFileAttributes atributos) throws IOException {
+        MessageDigest resumen = crearResumen();
+        StringBuilder huella = new StringBuilder();
+        huella.append(VERSION).append('\n')
+                .append(lector.getClass().getName()).append('\n')
+                .append(archivo).append('\n')
+                .append(atributos.size()).append('\n')
+                .append(atributos.lastModifiedTime().toInstant()).append('\n')
+                .append(verificarContenido ? resumirContenido(archivo) : "-").append('\n')
+                .append(config.descripcion());
+        return HexFormat.of().formatHex(resumen.digest(huella.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Resume el contenido del archivo con SHA-256.
+     *
+     * @param archivo Archivo a resumir.
+     * @return Resumen en hexadecimal.
+     * @throws IOException Si no se puede leer el archivo.
+     */
+    private static String resumirContenido(Path archivo) throws IOException {
+        MessageDigest resumen = crearResumen();
+        ByteBuffer bufer = ByteBuffer.allocateDirect(TAMANIO_BUFER);
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            while (canal.read(bufer) >= 0) {
+                bufer.flip();
+                resumen.update(bufer);
+                bufer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(resumen.digest());
+    }
+
+    /**
+     * Crea un resumidor SHA-256.
+     *
+     * @return Resumidor nuevo.
+     * @throws JandasException Si la plataforma no ofrece SHA-256.
+     */
+    private static MessageDigest crearResumen() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new JandasException("SHA-256 no está disponible: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Verifica que el archivo no cambió mientras se leía, para no guardar con una huella
+     * vieja una tabla que corresponde a otro contenido.
+     *
+     * @param archivo Archivo leído.
+     * @param antes Atributos tomados antes de leerlo.
+     * @return true si el tamaño y la fecha de modificación son los mismos.
+     */
+    private static boolean sinCambios(Path archivo, BasicFileAttributes antes) {
+        try {
+            BasicFileAttributes despues = Files.readAttributes(archivo, BasicFileAttributes.class);
+            return despues.size() == antes.size() && despues.lastModifiedTime().equals(antes.lastModifiedTime());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Borra un archivo ignorando los errores.
+     *
+     * @param archivo Archivo a borrar.
+     */
+    private static void borrarSinFallar(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            // Se reintenta en la próxima expulsión
+        }
+    }
+
+    /**
+     * Copia guardada en el directorio de la caché.
+     */
+    private static final class CopiaGuardada {
+
+        /** Ruta de la copia. */
+        private final Path ruta;
+
+        /** Tamaño de la copia en bytes. */
+        private final long bytes;
+
+        /** Fecha de su último uso. */
+        private final FileTime ultimoUso;
+
+        /**
+         * Crea la descripción de una copia.
+         *
+         * @param ruta Ruta de la copia.
+         * @param bytes Tamaño de la copia.
+         * @param ultimoUso Fecha de su último uso.
+         */
+        private CopiaGuardada(Path ruta, long bytes, FileTime ultimoUso) {
+            this.ruta = ruta;
+            this.bytes = bytes;
+            this.ultimoUso = ultimoUso;
+        }
+    }
+}
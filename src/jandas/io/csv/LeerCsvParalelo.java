@@ -0,0 +1,510 @@
+package jandas.io.csv;
+
+import jandas.base.data.Columna;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.Etiqueta;
+import jandas.base.etiquetas.EtiquetaInt;
+import jandas.base.etiquetas.EtiquetaString;
+import jandas.excepciones.JandasException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lector de archivos CSV que divide el archivo en fragmentos y los procesa en paralelo.
+ * <p>
+ * El tipo inicial de cada columna se infiere una sola vez con las primeras filas (o se toma del
+ * esquema explícito de {@link CsvConfig}). Luego el archivo se divide en rangos de bytes ajustados
+ * a finales de línea y cada fragmento se lee, separa y convierte en un hilo del conjunto de
+ * trabajadores directamente en columnas tipadas, ampliando el tipo si un valor no entra. Por
+ * último las partes de cada columna se unen en orden, también en paralelo, ampliándolas al tipo
+ * común solo si difieren. El resultado es idéntico al de {@link LeerCsv} para la misma configuración.
+ * <p>
+ * Requiere una codificación compatible con ASCII (por ejemplo UTF-8 o ISO-8859-1), de modo
+ * que el byte {@code '\n'} solo pueda aparecer como fin de línea. Los finales de línea
+ * {@code "\r\n"} se admiten; los finales {@code "\r"} aislados no.
+ */
+public class LeerCsvParalelo implements LectorCsv {
+
+    /** Tamaño máximo de un fragmento en bytes (64 MB). */
+    private static final int TAMANIO_MAXIMO_FRAGMENTO = 64 * 1024 * 1024;
+
+    /** Bytes que se leen por vez al tomar la muestra de filas para inferir tipos. */
+    private static final int TAMANIO_BLOQUE_MUESTRA = 64 * 1024;
+
+    /** Cantidad de fragmentos por hilo, para repartir mejor la carga entre trabajadores. */
+    private static final int FRAGMENTOS_POR_HILO = 4;
+
+    /**
+     * Configuración para la lectura del archivo CSV, como separador y si tiene encabezado.
+     */
+    private CsvConfig config;
+
+    /** Cantidad de hilos a utilizar cuando no se provee un ejecutor. */
+    private final int hilos;
+
+    /** Ejecutor externo opcional; si es {@code null} se crea uno por lectura. */
+    private final ExecutorService ejecutor;
+
+    /**
+     * Constructor por defecto que usa tantos hilos como procesadores disponibles.
+     */
+    public LeerCsvParalelo() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor que indica la cantidad de hilos de trabajo.
+     * Se crea un conjunto de hilos por lectura, que se libera al terminar.
+     *
+     * @param hilos Cantidad de hilos (mayor a 0).
+     * @throws JandasException si la cantidad de hilos no es positiva.
+     */
+    public LeerCsvParalelo(int hilos) {
+        if (hilos <= 0) {
+            throw new JandasException("La cantidad de hilos debe ser mayor a 0");
+        }
+        this.config = new CsvConfig();
+        this.hilos = hilos;
+        this.ejecutor = null;
+    }
+
+    /**
+     * Constructor que usa un ejecutor provisto por el llamador.
+     * El ejecutor no se cierra al terminar la lectura.
+     *
+     * @param ejecutor Ejecutor donde se procesan los fragmentos (no null).
+     * @throws JandasException si el ejecutor es null.
+     */
+    public LeerCsvParalelo(ExecutorService ejecutor) {
+        if (ejecutor == null) {
+            throw new JandasException("El ejecutor no puede ser null");
+        }
+        this.config = new CsvConfig();
+        this.hilos = Runtime.getRuntime().availableProcessors();
+        this.ejecutor = ejecutor;
+    }
+
+    /**
+     * Lee un archivo CSV procesando sus fragmentos en paralelo.
+     *
+     * @param rutaArchivo Ruta completa del archivo CSV a leer.
+     * @return Objeto {@link Tabla} que contiene los datos del CSV.
+     * @throws JandasException si el archivo está vacío o hay errores en la lectura.
+     */
+    @Override
+    public Tabla leer(String rutaArchivo) {
+        ExecutorService trabajadores = ejecutor != null ? ejecutor : Executors.newFixedThreadPool(hilos);
+        try (FileChannel canal = FileChannel.open(Paths.get(rutaArchivo), StandardOpenOption.READ)) {
+            long startTime = System.nanoTime();
+            Charset charset = Charset.defaultCharset();
+            long tamanio = canal.size();
+
+            if (tamanio == 0) {
+                throw new JandasException("El archivo CSV está vacío");
+            }
+
+            // Leer primera línea para encabezados o cantidad de columnas
+            long finPrimeraLinea = buscarFinDeLinea(canal, 0, tamanio);
+            String primeraLinea = quitarRetorno(new String(leerRango(canal, 0, finPrimeraLinea), charset));
+            String[] primeraFila = primeraLinea.split(config.getSeparador(), -1);
+            long inicioDatos = config.isTieneEncabezado() ? Math.min(finPrimeraLinea + 1, tamanio) : 0;
+            int numColumnas = primeraFila.length;
+
+            List<Etiqueta> etiquetasColumnas = new ArrayList<>();
+            for (int i = 0; i < numColumnas; i++) {
+                String nombreCol = config.isTieneEncabezado() ? primeraFila[i] : "" + i;
+                etiquetasColumnas.add(new EtiquetaString(nombreCol));
+            }
+
+            // Fijar el tipo inicial de cada columna: esquema explícito o muestra de las primeras filas
+            Class<?>[] tiposExplicitos = LeerCsv.tiposExplicitos(etiquetasColumnas, config);
+            Class<?>[] tiposIniciales = inferirTiposIniciales(leerMuestra(canal, inicioDatos, tamanio, charset),
+                    tiposExplicitos, config);
+
+            // Dividir en fragmentos y convertir cada uno en columnas tipadas en paralelo
+            List<long[]> rangos = dividirEnRangos(canal, inicioDatos, tamanio);
+            List<Future<List<ConstructorColumna>>> pendientes = new ArrayList<>();
+            CsvConfig configLectura = config;
+            for (long[] rango : rangos) {
+                pendientes.add(trabajadores.submit(() -> procesarFragmento(canal, rango[0], rango[1], etiquetasColumnas,
+                        tiposIniciales, tiposExplicitos, charset, configLectura)));
+            }
+
+            List<List<ConstructorColumna>> fragmentos = new ArrayList<>();
+            int numFilas = 0;
+            for (Future<List<ConstructorColumna>> pendiente : pendientes) {
+                List<ConstructorColumna> fragmento = esperar(pendiente);
+                fragmentos.add(fragmento);
+                numFilas += fragmento.get(0).size();
+            }
+
+            if (numFilas == 0 && !config.isTieneEncabezado()) {
+                throw new JandasException("No hay datos en el archivo CSV");
+            }
+            if (fragmentos.isEmpty()) {
+                fragmentos.add(crearConstructores(etiquetasColumnas, tiposIniciales, tiposExplicitos, config));
+            }
+
+            // Unir en orden las partes tipadas de cada columna, también en paralelo
+            List<Future<Columna<?>>> columnasPendientes = new ArrayList<>();
+            for (int i = 0; i < numColumnas; i++) {
+                int indiceColumna = i;
+                Callable<Columna<?>> tarea = () -> {
+                    ConstructorColumna columna = fragmentos.get(0).get(indiceColumna);
+                    for (int f = 1; f < fragmentos.size(); f++) {
+                        columna.anexar(fragmentos.get(f).get(indiceColumna));
+                    }
+                    return columna.construir();
+                };
+                columnasPendientes.add(trabajadores.submit(tarea));
+            }
+
+            List<Columna<?>> columnas = new ArrayList<>();
+            for (Future<Columna<?>> pendiente : columnasPendientes) {
+                columnas.add(esperar(pendiente));
+            }
+
+            // Crear etiquetas de filas
+            List<Etiqueta> etiquetasFilas = new ArrayList<>(numFilas);
+            for (int i = 0; i < numFilas; i++) {
+                etiquetasFilas.add(new EtiquetaInt(i));
+            }
+
+            Tabla tabla = new Tabla(etiquetasColumnas, columnas);
+            tabla.setEtiquetasFilas(etiquetasFilas);
+
+            long endTime = System.nanoTime();
+            double duration = (endTime - startTime) / 1_000_000_000.0;
+            System.out.printf("Tiempo de ejecución: %.3f segundos %n", duration);
+
+            return tabla;
+
+        } catch (IOException e) {
+            throw new JandasException("Error al leer el archivo CSV: " + e.getMessage());
+        } finally {
+            if (ejecutor == null) {
+                trabajadores.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Divide el rango de datos del archivo en fragmentos que terminan en fin de línea.
+     *
+     * @param canal Canal del archivo.
+     * @param inicio Primer byte de datos.
+     * @param tamanio Tamaño total del archivo.
+     * @return Lista de rangos {@code [inicio, fin)} en orden.
+     * @throws IOException si ocurre un error de lectura.
+     */
+    private List<long[]> dividirEnRangos(FileChannel canal, long inicio, long tamanio) throws IOException {
+        List<long[]> rangos = new ArrayList<>();
+        long bytesDatos = tamanio - inicio;
+        if (bytesDatos <= 0) {
+            return rangos;
+        }
+
+        long cantidad = Math.max((long) hilos * FRAGMENTOS_POR_HILO, bytesDatos / TAMANIO_MAXIMO_FRAGMENTO + 1);
+        long tamanioFragmento = Math.max(1, bytesDatos / cantidad);
+
+        long desde = inicio;
+        while (desde < tamanio) {
+            long objetivo = Math.min(desde + tamanioFragmento, tamanio);
+            long hasta = objetivo >= tamanio ? tamanio : Math.min(buscarFinDeLinea(canal, objetivo, tamanio) + 1, tamanio);
+            rangos.add(new long[]{desde, hasta});
+            desde = hasta;
+        }
+        return rangos;
+    }
+
+    /**
+     * Lee las primeras filas de datos para inferir el tipo inicial de las columnas.
+     *
+     * @param canal Canal del archivo.
+     * @param inicio Primer byte de datos.
+     * @param tamanio Tamaño total del archivo.
+     * @param charset Codificación del archivo.
+     * @return Hasta {@link CsvConfig#getFilasInferencia()} filas separadas en valores.
+     * @throws IOException si ocurre un error de lectura.
+     */
+    private List<String[]> leerMuestra(FileChannel canal, long inicio, long tamanio, Charset charset) throws IOException {
+        List<String[]> muestra = new ArrayList<>();
+        long desde = inicio;
+        while (muestra.size() < config.getFilasInferencia() && desde < tamanio) {
+            long hasta = Math.min(desde + TAMANIO_BLOQUE_MUESTRA, tamanio);
+            if (hasta < tamanio) {
+                hasta = Math.min(buscarFinDeLinea(canal, hasta, tamanio) + 1, tamanio);
+            }
+            String texto = new String(leerRango(canal, desde, hasta), charset);
+            int posicion = 0;
+            while (posicion < texto.length() && muestra.size() < config.getFilasInferencia()) {
+                int finLinea = texto.indexOf('\n', posicion);
+                if (finLinea == -1) {
+                    finLinea = texto.length();
+                }
+                muestra.add(quitarRetorno(texto.substring(posicion, finLinea)).split(config.getSeparador(), -1));
+                posicion = finLinea + 1;
+            }
+            desde = hasta;
+        }
+        return muestra;
+    }
+
+    /**
+     * Infiere el tipo inicial de cada columna a partir de la muestra.
+     * <p>
+     * El tipo inicial solo evita ampliaciones: los fragmentos amplían sus columnas cuando un valor
+     * no entra y al unirlos se toma el tipo común, de modo que el resultado es el mismo que el de
+     * {@link LeerCsv} aunque la muestra no sea representativa.
+     *
+     * @param muestra Filas de la muestra.
+     * @param tiposExplicitos Tipo explícito de cada columna, o {@code null} para las columnas a inferir.
+     * @param config Configuración de lectura.
+     * @return Tipo inicial de cada columna.
+     */
+    private static Class<?>[] inferirTiposIniciales(List<String[]> muestra, Class<?>[] tiposExplicitos, CsvConfig config) {
+        Class<?>[] tipos = new Class<?>[tiposExplicitos.length];
+        for (int j = 0; j < tipos.length; j++) {
+            if (tiposExplicitos[j] != null) {
+                tipos[j] = tiposExplicitos[j];
+                continue;
+            }
+            List<Object> valores = new ArrayList<>(muestra.size());
+            for (String[] fila : muestra) {
+                valores.add(j < fila.length ? LeerCsv.convertirValor(fila[j].trim(), config) : null);
+            }
+            tipos[j] = LeerCsv.inferirTipoColumna(valores);
+        }
+        return tipos;
+    }
+
+    /**
+     * Crea un constructor por columna con su tipo inicial.
+     *
+     * @param etiquetasColumnas Etiquetas de las columnas.
+     * @param tiposIniciales Tipo inicial de cada columna.
+     * @param tiposExplicitos Tipo explícito de cada columna, o {@code null} para las columnas a inferir.
+     * @param config Configuración de lectura.
+     * @return Constructores de las columnas, en orden.
+     */
+    private static List<ConstructorColumna> crearConstructores(List<Etiqueta> etiquetasColumnas, Class<?>[] tiposIniciales,
+                                                               Class<?>[] tiposExplicitos, CsvConfig config) {
+        List<ConstructorColumna> constructores = new ArrayList<>(tiposIniciales.length);
+        for (int j = 0; j < tiposIniciales.length; j++) {
+            constructores.add(new ConstructorColumna(etiquetasColumnas.get(j), tiposIniciales[j],
+                    tiposExplicitos[j] == null, 0, config));
+        }
+        return constructores;
+    }
+
+    /**
+     * Lee, separa y convierte las líneas de un fragmento directamente en columnas tipadas.
+     *
+     * @param canal Canal del archivo.
+     * @param inicio Primer byte del fragmento (inicio de línea).
+     * @param fin Byte siguiente al último del fragmento (fin de línea o fin de archivo).
+     * @param etiquetasColumnas Etiquetas de las columnas.
+     * @param tiposIniciales Tipo inicial de cada columna.
+     * @param tiposExplicitos Tipo explícito de cada columna, o {@code null} para las columnas a inferir.
+     * @param charset Codificación del archivo.
+     * @param config Configuración de lectura.
+     * @return Un constructor por columna con los valores del fragmento.
+     * @throws IOException si ocurre un error de lectura.
+     * @throws JandasException si un valor no es compatible con el tipo explícito de su columna.
+     */
+    private static List<ConstructorColumna> procesarFragmento(FileChannel canal, long inicio, long fin,
+                                                              List<Etiqueta> etiquetasColumnas, Class<?>[] tiposIniciales,
+                                                              Class<?>[] tiposExplicitos, Charset charset,
+                                                              CsvConfig config) throws IOException {
+        int numColumnas = tiposIniciales.length;
+        String texto = new String(leerRango(canal, inicio, fin), charset);
+        List<ConstructorColumna> constructores = crearConstructores(etiquetasColumnas, tiposIniciales, tiposExplicitos, config);
+
+        int desde = 0;
+        try {
+            while (desde < texto.length()) {
+                int finLinea = texto.indexOf('\n', desde);
+                if (finLinea == -1) {
+                    finLinea = texto.length();
+                }
+                String[] fila = quitarRetorno(texto.substring(desde, finLinea)).split(config.getSeparador(), -1);
+                for (int j = 0; j < numColumnas; j++) {
+                    Object valor = j < fila.length ? LeerCsv.convertirValor(fila[j].trim(), config, tiposExplicitos[j]) : null;
+                    constructores.get(j).agregar(valor);
+                }
+                desde = finLinea + 1;
+            }
+        } catch (JandasException e) {
+            // Las filas del mensaje se cuentan desde el inicio del fragmento
+            throw new JandasException("En el fragmento que empieza en el byte " + inicio + ": " + e.getMessage(), e);
+        }
+        return constructores;
+    }
+
+    /**
+     * Busca la posición del próximo {@code '\n'} a partir de un byte dado.
+     *
+     * @param canal Canal del archivo.
+     * @param desde Posición inicial de búsqueda.
+     * @param tamanio Tamaño del archivo.
+     * @return Posición del fin de línea, o {@code tamanio} si no hay más.
+     * @throws IOException si ocurre un error de lectura.
+     */
+    private static long buscarFinDeLinea(FileChannel canal, long desde, long tamanio) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long posicion = desde;
+        while (posicion < tamanio) {
+            buffer.clear();
+            int leidos = canal.read(buffer, posicion);
+            if (leidos <= 0) {
+                break;
+            }
+            for (int i = 0; i < leidos; i++) {
+                if (buffer.get(i) == '\n') {
+                    return posicion + i;
+                }
+            }
+            posicion += leidos;
+        }
+        return tamanio;
+    }
+
+    /**
+     * Lee un rango de bytes del archivo.
+     *
+     * @param canal Canal del archivo.
+     * @param inicio Primer byte a leer.
+     * @param fin Byte siguiente al último a leer.
+     * @return Bytes leídos.
+     * @throws IOException si ocurre un error de lectura.
+     * @throws JandasException si el rango supera el tamaño máximo de un arreglo.
+     */
+    private static byte[] leerRango(FileChannel canal, long inicio, long fin) throws IOException {
+        if (fin - inicio > Integer.MAX_VALUE - 8) {
+            throw new JandasException("Línea o fragmento demasiado grande: " + (fin - inicio) + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) (fin - inicio));
+        long posicion = inicio;
+        while (buffer.hasRemaining()) {
+            int leidos = canal.read(buffer, posicion);
+            if (leidos < 0) {
+                break;
+            }
+            posicion += leidos;
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Quita un {@code '\r'} final, para admitir archivos con fin de línea {@code "\r\n"}.
+     *
+     * @param linea Línea leída.
+     * @return Línea sin el retorno de carro final.
+     */
+    private static String quitarRetorno(String linea) {
+        return linea.endsWith("\r") ? linea.substring(0, linea.length() - 1) : linea;
+    }
+
+    /**
+     * Espera el resultado de una tarea y traduce sus errores a {@link JandasException}.
+     *
+     * @param <T> Tipo del resultado.
+     * @param pendiente Tarea enviada al ejecutor.
+     * @return Resultado de la tarea.
+     * @throws JandasException si la tarea falló o el hilo fue interrumpido.
+     */
+    private static <T> T esperar(Future<T> pendiente) {
+        try {
+            return pendiente.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JandasException("Lectura interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof JandasException) {
+                throw (JandasException) e.getCause();
+            }
+            throw new JandasException("Error al leer el archivo CSV: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Lee un archivo CSV usando una configuración personalizada.
+     *
+     * @param rutaArchivo Ruta del archivo CSV.
+     * @param config Configuración específica para lectura.
+     * @return Tabla con los datos leídos.
+     */
+    @Override
+    public Tabla leer(String rutaArchivo, CsvConfig config) {
+        this.config = config;
+        return leer(rutaArchivo);
+    }
+
+    /**
+     * Lee un archivo CSV indicando si tiene encabezado o no.
+     *
+     * @param rutaArchivo Ruta del archivo CSV.
+     * @param encabezado {@code true} si el archivo tiene encabezado; {@code false} en caso contrario.
+     * @return Tabla con los datos leídos.
+     */
+    @Override
+    public Tabla leer(String rutaArchivo, boolean encabezado) {
+        config.setTieneEncabezado(encabezado);
+        return leer(rutaArchivo);
+    }
+
+    /**
+     * Lee un archivo CSV indicando si tiene encabezado y el separador a usar.
+     *
+     * @param rutaArchivo Ruta del archivo CSV.
+     * @param encabezado {@code true} si el archivo tiene encabezado.
+     * @param separador Separador de columnas (ej: ",", ";", "\t").
+     * @return Tabla con los datos leídos.
+     */
+    @Override
+    public Tabla leer(String rutaArchivo, boolean encabezado, String separador) {
+        config.setSeparador(separador);
+        config.setTieneEncabezado(encabezado);
+        return leer(rutaArchivo);
+    }
+
+    /**
+     * Lee un archivo CSV por lotes de filas usando la configuración actual.
+     * <p>
+     * Los lotes se leen en secuencia: cada lote es pequeño y no se reparte entre hilos.
+     *
+     * @param rutaArchivo Ruta del archivo CSV.
+     * @param tamLote Cantidad máxima de filas por lote.
+     * @return Iterador de lotes que comparten columnas y tipos.
+     */
+    @Override
+    public LotesCsv leerPorLotes(String rutaArchivo, int tamLote) {
+        return new LotesCsv(rutaArchivo, tamLote, config);
+    }
+
+    /**
+     * Lee un archivo CSV por lotes de filas usando una configuración personalizada.
+     *
+     * @param rutaArchivo Ruta del archivo CSV.
+     * @param tamLote Cantidad máxima de filas por lote.
+     * @param config Configuración específica para lectura.
+     * @return Iterador de lotes que comparten columnas y tipos.
+     */
+    @Override
+    public LotesCsv leerPorLotes(String rutaArchivo, int tamLote, CsvConfig config) {
+        this.config = config;
+        return leerPorLotes(rutaArchivo, tamLote);
+    }
+}
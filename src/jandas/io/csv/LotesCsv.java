@@ -0,0 +1,265 @@
+package jandas.io.csv;
+
+import jandas.base.data.Columna;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.Etiqueta;
+import jandas.base.etiquetas.EtiquetaInt;
+import jandas.base.etiquetas.EtiquetaString;
+import jandas.excepciones.JandasException;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterador que lee un archivo CSV por lotes de filas, sin cargar el archivo completo en memoria.
+ * <p>
+ * Cada llamada a {@link #next()} devuelve una {@link Tabla} con hasta {@code tamLote} filas.
+ * Todos los lotes comparten las mismas columnas y tipos: el tipo de cada columna se toma del
+ * esquema explícito de {@link CsvConfig} o se infiere antes del primer lote con las primeras
+ * {@code max(tamLote, filasInferencia)} filas, que se leen por adelantado, y se mantiene para el
+ * resto del archivo. Una columna sin valores en esas filas se lee como texto. Las etiquetas de filas continúan la numeración del archivo completo,
+ * igual que en {@link LeerCsv#leer(String)}.
+ * <p>
+ * El archivo se cierra al agotarse el iterador; si se abandona antes, debe cerrarse con
+ * {@link #close()} (por ejemplo, con un bloque try-with-resources).
+ */
+public final class LotesCsv implements Iterator<Tabla>, AutoCloseable {
+
+    /** Lector del archivo. */
+    private final BufferedReader lector;
+
+    /** Configuración de lectura. */
+    private final CsvConfig config;
+
+    /** Cantidad máxima de filas por lote. */
+    private final int tamLote;
+
+    /** Etiquetas de las columnas, compartidas por todos los lotes. */
+    private final List<Etiqueta> etiquetasColumnas = new ArrayList<>();
+
+    /** Tipos de las columnas, fijados antes de leer el primer lote. */
+    private Class<?>[] tipos;
+
+    /** Filas ya leídas del archivo que todavía no pertenecen a ningún lote. */
+    private final ArrayDeque<String[]> filasAdelantadas = new ArrayDeque<>();
+
+    /** Próximo lote ya leído, o {@code null} si todavía no se leyó. */
+    private Tabla siguiente;
+
+    /** Cantidad de filas de datos leídas hasta el momento. */
+    private int filasLeidas;
+
+    /** Indica si se llegó al final del archivo o se cerró el iterador. */
+    private boolean terminado;
+
+    /**
+     * Abre el archivo y lee el encabezado (o la primera fila, si no tiene encabezado).
+     *
+     * @param rutaArchivo Ruta del archivo CSV.
+     * @param tamLote Cantidad máxima de filas por lote.
+     * @param config Configuración de lectura.
+     * @throws JandasException si el tamaño de lote no es positivo, el archivo está vacío o no se puede leer.
+     */
+    public LotesCsv(String rutaArchivo, int tamLote, CsvConfig config) {
+        if (tamLote <= 0) {
+            throw new JandasException("El tamaño de lote debe ser mayor a 0");
+        }
+        this.tamLote = tamLote;
+        this.config = config;
+        try {
+            this.lector = new BufferedReader(new FileReader(rutaArchivo));
+        } catch (IOException e) {
+            throw new JandasException("Error al leer el archivo CSV: " + e.getMessage());
+        }
+
+        String linea = leerLinea();
+        if (linea == null) {
+            close();
+            throw new JandasException("El archivo CSV está vacío");
+        }
+        String[] primeraFila = linea.split(config.getSeparador(), -1);
+        for (int i = 0; i < primeraFila.length; i++) {
+            String nombreCol = config.isTieneEncabezado() ? primeraFila[i] : "" + i;
+            etiquetasColumnas.add(new EtiquetaString(nombreCol));
+        }
+        if (!config.isTieneEncabezado()) {
+            filasAdelantadas.add(primeraFila);
+        }
+    }
+
+    /**
+     * Indica si quedan lotes por leer. Lee el próximo lote si todavía no se leyó.
+     *
+     * @return {@code true} si hay al menos un lote más.
+     * @throws JandasException si ocurre un error de lectura o un valor no es compatible con el tipo de su columna.
+     */
+    @Override
+    public boolean hasNext() {
+        if (siguiente == null && !terminado) {
+            siguiente = leerLote();
+        }
+        return siguiente != null;
+    }
+
+    /**
+     * Devuelve el próximo lote de filas.
+     *
+     * @return Tabla con hasta {@code tamLote} filas.
+     * @throws NoSuchElementException si no quedan lotes.
+     */
+    @Override
+    public Tabla next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No quedan lotes en el archivo CSV");
+        }
+        Tabla lote = siguiente;
+        siguiente = null;
+        return lote;
+    }
+
+    /**
+     * Cierra el archivo. Los lotes ya devueltos siguen siendo válidos.
+     */
+    @Override
+    public void close() {
+        terminado = true;
+        try {
+            lector.close();
+        } catch (IOException e) {
+            throw new JandasException("Error al cerrar el archivo CSV: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lee hasta {@code tamLote} filas y las convierte en una tabla con los tipos fijados.
+     *
+     * @return Tabla con el lote, o {@code null} si no quedan filas.
+     * @throws JandasException si un valor no es compatible con el tipo fijado para su columna.
+     */
+    private Tabla leerLote() {
+        int numColumnas = etiquetasColumnas.size();
+        Class<?>[] explicitos = LeerCsv.tiposExplicitos(etiquetasColumnas, config);
+        if (tipos == null) {
+            tipos = inferirTipos(explicitos);
+        }
+        List<ConstructorColumna> constructores = new ArrayList<>();
+        for (int j = 0; j < numColumnas; j++) {
+            constructores.add(new ConstructorColumna(etiquetasColumnas.get(j), tipos[j], false, filasLeidas, config));
+        }
+
+        int filas = 0;
+        while (filas < tamLote) {
+            String[] fila;
+            if (!filasAdelantadas.isEmpty()) {
+                fila = filasAdelantadas.poll();
+            } else {
+                String linea = leerLinea();
+                if (linea == null) {
+                    close();
+                    break;
+                }
+                fila = linea.split(config.getSeparador(), -1);
+            }
+            for (int j = 0; j < numColumnas; j++) {
+                Object valor = j < fila.length ? LeerCsv.convertirValor(fila[j].trim(), config, explicitos[j]) : null;
+                constructores.get(j).agregar(valor);
+            }
+            filas++;
+        }
+
+        if (filas == 0) {
+            return null;
+        }
+
+        List<Columna<?>> columnas = new ArrayList<>();
+        for (ConstructorColumna constructor : constructores) {
+            columnas.add(constructor.construir());
+        }
+
+        List<Etiqueta> etiquetasFilas = new ArrayList<>();
+        for (int i = 0; i < filas; i++) {
+            etiquetasFilas.add(new EtiquetaInt(filasLeidas + i));
+        }
+        filasLeidas += filas;
+
+        Tabla lote = new Tabla(new ArrayList<>(etiquetasColumnas), columnas);
+        lote.setEtiquetasFilas(etiquetasFilas);
+        return lote;
+    }
+
+    /**
+     * Fija el tipo de cada columna antes del primer lote.
+     * <p>
+     * Las columnas sin tipo explícito se infieren con las mismas reglas que
+     * {@link LeerCsv#inferirTipoColumna(List)} sobre las primeras {@code max(tamLote, filasInferencia)}
+     * filas, que quedan guardadas para los lotes. Así una columna con pocos valores al principio
+     * no queda fija con el tipo de un primer lote pequeño.
+     *
+     * @param explicitos Tipo explícito de cada columna, o {@code null} para las columnas a inferir.
+     * @return Tipo de cada columna.
+     * @throws JandasException si ocurre un error de lectura.
+     */
+    private Class<?>[] inferirTipos(Class<?>[] explicitos) {
+        int filasMuestra = Math.max(tamLote, config.getFilasInferencia());
+        while (filasAdelantadas.size() < filasMuestra) {
+            String linea = leerLinea();
+            if (linea == null) {
+                break;
+            }
+            filasAdelantadas.add(linea.split(config.getSeparador(), -1));
+        }
+
+        int numColumnas = explicitos.length;
+        int[] enteros = new int[numColumnas];
+        int[] decimales = new int[numColumnas];
+        int[] booleanos = new int[numColumnas];
+        int[] noNulos = new int[numColumnas];
+        for (String[] fila : filasAdelantadas) {
+            for (int j = 0; j < numColumnas; j++) {
+                Object valor = explicitos[j] == null && j < fila.length ? LeerCsv.convertirValor(fila[j].trim(), config) : null;
+                if (valor != null) {
+                    noNulos[j]++;
+                    if (valor instanceof Integer) {
+                        enteros[j]++;
+                    } else if (valor instanceof Double) {
+                        decimales[j]++;
+                    } else if (valor instanceof Boolean) {
+                        booleanos[j]++;
+                    }
+                }
+            }
+        }
+
+        Class<?>[] inferidos = new Class<?>[numColumnas];
+        for (int j = 0; j < numColumnas; j++) {
+            if (explicitos[j] != null) {
+                inferidos[j] = explicitos[j];
+            } else {
+                Class<?> tipo = LeerCsv.tipoSegunConteo(enteros[j], decimales[j], booleanos[j], noNulos[j]);
+                inferidos[j] = tipo == Object.class ? String.class : tipo;
+            }
+        }
+        return inferidos;
+    }
+
+    /**
+     * Lee la siguiente línea del archivo.
+     *
+     * @return Línea leída, o {@code null} al final del archivo.
+     * @throws JandasException si ocurre un error de lectura.
+     */
+    private String leerLinea() {
+        try {
+            return lector.readLine();
+        } catch (IOException e) {
+            close();
+            throw new JandasException("Error al leer el archivo CSV: " + e.getMessage());
+        }
+    }
+}
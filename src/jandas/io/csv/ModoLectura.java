@@ -0,0 +1,23 @@
+package jandas.io.csv;
+
+/**
+ * Enum que representa la forma en que {@link LeerCsv} recorre el archivo.
+ * <p>
+ * Se selecciona mediante {@link CsvConfig#setModoLectura(ModoLectura)}.
+ * </p>
+ */
+public enum ModoLectura {
+    /**
+     * Lectura línea por línea con {@link java.io.BufferedReader}, separando cada línea
+     * con {@link String#split(String, int)}. Es el modo por defecto.
+     */
+    LINEAS,
+
+    /**
+     * Mapeo del archivo en memoria con {@link java.nio.channels.FileChannel#map} y separación
+     * de campos byte a byte, con soporte de campos entre comillas dobles. Los números se
+     * convierten sin crear cadenas intermedias; solo las columnas de texto crean {@code String}.
+     * Requiere un separador de un solo byte y una codificación compatible con ASCII.
+     */
+    MAPEO_MEMORIA
+}
@@ -0,0 +1,295 @@
+package jandas.io.csv;
+
+import jandas.excepciones.JandasException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Separador de campos CSV que trabaja directamente sobre los bytes de un archivo mapeado en memoria.
+ * <p>
+ * Recorre el archivo fila por fila y, para cada fila, registra la posición de inicio y fin
+ * de cada campo dentro de la ventana mapeada, sin crear objetos por campo. Los campos entre
+ * comillas dobles pueden contener el separador, saltos de línea y comillas escapadas ({@code ""}).
+ * <p>
+ * Los archivos mayores que la ventana de mapeo se recorren en varias ventanas consecutivas;
+ * una fila nunca queda partida entre dos ventanas. Las posiciones de los campos son válidas
+ * hasta la siguiente llamada a {@link #siguienteFila()}.
+ */
+final class TokenizadorCsv {
+
+    /** Tamaño máximo de una ventana de mapeo (1 GB). */
+    private static final long VENTANA_MAXIMA = 1L << 30;
+
+    /** Canal del archivo. */
+    private final FileChannel canal;
+
+    /** Tamaño del archivo en bytes. */
+    private final long tamanio;
+
+    /** Byte separador de campos. */
+    private final byte separador;
+
+    /** Ventana mapeada actual. */
+    private MappedByteBuffer ventana;
+
+    /** Posición en el archivo del primer byte de la ventana. */
+    private long inicioVentana;
+
+    /** Posición dentro de la ventana del inicio de la próxima fila. */
+    private int posicion;
+
+    /** Inicio de cada campo de la fila actual, relativo a la ventana. */
+    private int[] inicios = new int[16];
+
+    /** Fin (exclusivo) de cada campo de la fila actual, relativo a la ventana. */
+    private int[] fines = new int[16];
+
+    /** Indica qué campos contienen comillas escapadas que deben reducirse al decodificar. */
+    private boolean[] escapados = new boolean[16];
+
+    /** Cantidad de campos de la fila actual. */
+    private int cantidad;
+
+    /**
+     * Crea un tokenizador posicionado al inicio del archivo.
+     *
+     * @param canal Canal abierto para lectura.
+     * @param separador Byte separador de campos.
+     * @throws IOException si no se puede mapear el archivo.
+     */
+    TokenizadorCsv(FileChannel canal, byte separador) throws IOException {
+        this.canal = canal;
+        this.tamanio = canal.size();
+        this.separador = separador;
+        posicionar(0);
+    }
+
+    /**
+     * Mueve el tokenizador a una posición del archivo, que debe ser un inicio de fila.
+     *
+     * @param desde Posición en bytes dentro del archivo.
+     * @throws IOException si no se puede mapear el archivo.
+     */
+    void posicionar(long desde) throws IOException {
+        long largo = Math.min(VENTANA_MAXIMA, tamanio - desde);
+        ventana = canal.map(FileChannel.MapMode.READ_ONLY, desde, largo);
+        inicioVentana = desde;
+        posicion = 0;
+        cantidad = 0;
+    }
+
+    /**
+     * Devuelve la posición en el archivo del inicio de la próxima fila.
+     *
+     * @return Posición en bytes.
+     */
+    long posicionArchivo() {
+        return inicioVentana + posicion;
+    }
+
+    /**
+     * Avanza a la siguiente fila del archivo.
+     *
+     * @return {@code true} si se leyó una fila; {@code false} al llegar al final del archivo.
+     * @throws IOException si no se puede mapear la siguiente ventana.
+     * @throws JandasException si una fila no entra en una ventana de mapeo.
+     */
+    boolean siguienteFila() throws IOException {
+        while (true) {
+            if (inicioVentana + posicion >= tamanio) {
+                return false;
+            }
+            if (tokenizarFila()) {
+                return true;
+            }
+            // La fila continúa fuera de la ventana: volver a mapear desde su inicio
+            if (posicion == 0) {
+                throw new JandasException("Fila demasiado grande para mapear en memoria en la posición " + inicioVentana);
+            }
+            posicionar(inicioVentana + posicion);
+        }
+    }
+
+    /**
+     * Separa los campos de la fila que comienza en {@link #posicion}.
+     *
+     * @return {@code true} si la fila está completa dentro de la ventana.
+     */
+    private boolean tokenizarFila() {
+        int limite = ventana.limit();
+        boolean finArchivo = inicioVentana + limite >= tamanio;
+        int p = posicion;
+        cantidad = 0;
+
+        while (true) {
+            if (p < limite && ventana.get(p) == '"') {
+                // Campo entre comillas
+                int inicio = p + 1;
+                int q = inicio;
+                boolean escapado = false;
+                while (true) {
+                    if (q >= limite) {
+                        if (!finArchivo) {
+                            return false;
+                        }
+                        break; // comilla sin cerrar: el campo llega al final del archivo
+                    }
+                    if (ventana.get(q) == '"') {
+                        if (q + 1 < limite && ventana.get(q + 1) == '"') {
+                            escapado = true;
+                            q += 2;
+                            continue;
+                        }
+                        if (q + 1 >= limite && !finArchivo) {
+                            return false;
+                        }
+                        break;
+                    }
+                    q++;
+                }
+                agregarCampo(inicio, Math.min(q, limite), escapado);
+                p = q + 1;
+                // Ignorar lo que haya entre la comilla de cierre y el separador
+                while (p < limite && ventana.get(p) != separador && ventana.get(p) != '\n') {
+                    p++;
+                }
+            } else {
+                int inicio = p;
+                while (p < limite && ventana.get(p) != separador && ventana.get(p) != '\n') {
+                    p++;
+                }
+                if (p >= limite && !finArchivo) {
+                    return false;
+                }
+                int fin = p;
+                if (fin > inicio && ventana.get(fin - 1) == '\r' && (p >= limite || ventana.get(p) == '\n')) {
+                    fin--;
+                }
+                agregarCampo(inicio, fin, false);
+            }
+
+            if (p >= limite) {
+                if (!finArchivo) {
+                    return false;
+                }
+                posicion = limite;
+                return true;
+            }
+            if (ventana.get(p) == separador) {
+                p++;
+                continue;
+            }
+            posicion = p + 1; // fin de línea
+            return true;
+        }
+    }
+
+    /**
+     * Registra un campo de la fila actual.
+     *
+     * @param inicio Inicio del campo.
+     * @param fin Fin (exclusivo) del campo.
+     * @param escapado Si el campo contiene comillas escapadas.
+     */
+    private void agregarCampo(int inicio, int fin, boolean escapado) {
+        if (cantidad == inicios.length) {
+            inicios = Arrays.copyOf(inicios, cantidad * 2);
+            fines = Arrays.copyOf(fines, cantidad * 2);
+            escapados = Arrays.copyOf(escapados, cantidad * 2);
+        }
+        inicios[cantidad] = inicio;
+        fines[cantidad] = fin;
+        escapados[cantidad] = escapado;
+        cantidad++;
+    }
+
+    /**
+     * Devuelve la cantidad de campos de la fila actual.
+     *
+     * @return Cantidad de campos.
+     */
+    int cantidadCampos() {
+        return cantidad;
+    }
+
+    /**
+     * Devuelve la ventana mapeada a la que se refieren las posiciones de los campos.
+     *
+     * @return Ventana actual.
+     */
+    MappedByteBuffer ventana() {
+        return ventana;
+    }
+
+    /**
+     * Devuelve el inicio del campo indicado, omitiendo espacios iniciales
+     * (bytes menores o iguales a {@code ' '}, como {@link String#trim()}).
+     *
+     * @param campo Índice del campo.
+     * @return Inicio recortado del campo.
+     */
+    int inicioRecortado(int campo) {
+        int inicio = inicios[campo];
+        int fin = fines[campo];
+        while (inicio < fin && (ventana.get(inicio) & 0xFF) <= ' ') {
+            inicio++;
+        }
+        return inicio;
+    }
+
+    /**
+     * Devuelve el fin del campo indicado, omitiendo espacios finales.
+     *
+     * @param campo Índice del campo.
+     * @return Fin recortado (exclusivo) del campo.
+     */
+    int finRecortado(int campo) {
+        int inicio = inicios[campo];
+        int fin = fines[campo];
+        while (fin > inicio && (ventana.get(fin - 1) & 0xFF) <= ' ') {
+            fin--;
+        }
+        return fin;
+    }
+
+    /**
+     * Indica si el campo contiene comillas escapadas.
+     *
+     * @param campo Índice del campo.
+     * @return {@code true} si al decodificarlo deben reducirse las comillas dobles.
+     */
+    boolean escapado(int campo) {
+        return escapados[campo];
+    }
+
+    /**
+     * Decodifica un campo completo, sin recortar espacios.
+     *
+     * @param campo Índice del campo.
+     * @param charset Codificación del archivo.
+     * @return Texto del campo.
+     */
+    String texto(int campo, Charset charset) {
+        return texto(inicios[campo], fines[campo], escapados[campo], charset);
+    }
+
+    /**
+     * Decodifica un rango de la ventana como texto.
+     *
+     * @param inicio Inicio del rango.
+     * @param fin Fin (exclusivo) del rango.
+     * @param escapado Si deben reducirse las comillas dobles escapadas.
+     * @param charset Codificación del archivo.
+     * @return Texto del rango.
+     */
+    String texto(int inicio, int fin, boolean escapado, Charset charset) {
+        byte[] bytes = new byte[fin - inicio];
+        ventana.get(inicio, bytes);
+        String texto = new String(bytes, charset);
+        return escapado ? texto.replace("\"\"", "\"") : texto;
+    }
+}
@@ -1,6 +1,7 @@
 package jandas.operaciones;
 
 import jandas.base.data.Tabla;
+import jandas.operaciones.estadisticas.ModoAgrupamiento;
 import jandas.operaciones.estadisticas.OperacionEstadistica;
 
 import java.util.Map;
@@ -55,5 +56,28 @@ public interface Agrupable {
      * @throws IllegalArgumentException si la columna para agrupar no existe.
      */
     Tabla agruparPor(String nombreColumna, OperacionEstadistica operacion);
-}
 
+    /**
+     * Agrupa las filas de la tabla según los valores combinados de múltiples columnas
+     * y aplica operaciones estadísticas a columnas seleccionadas, en el modo indicado.
+     * El resultado es el mismo en modo secuencial y paralelo.
+     *
+     * @param nombresColumnas Array con los nombres de las columnas usadas para agrupar.
+     * @param operaciones Mapa de operaciones estadísticas a aplicar por columna.
+     * @param modo Modo de agrupamiento ({@link ModoAgrupamiento}).
+     * @return Nueva instancia de {@link Tabla} con los resultados de la agregación.
+     */
+    Tabla agruparPor(String[] nombresColumnas, Map<String, OperacionEstadistica> operaciones, ModoAgrupamiento modo);
+
+    /**
+     * Agrupa las filas de la tabla según los valores de una columna específica
+     * y aplica la misma operación estadística a todas las columnas numéricas, en el modo indicado.
+     * El resultado es el mismo en modo secuencial y paralelo.
+     *
+     * @param nombreColumna Nombre de la columna que define los grupos.
+     * @param operacion Operación estadística a aplicar a todas las columnas numéricas.
+     * @param modo Modo de agrupamiento ({@link ModoAgrupamiento}).
+     * @return Nueva instancia de {@link Tabla} con los resultados de la agregación.
+     */
+    Tabla agruparPor(String nombreColumna, OperacionEstadistica operacion, ModoAgrupamiento modo);
+}
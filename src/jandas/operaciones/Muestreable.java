@@ -1,6 +1,7 @@
 package jandas.operaciones;
 
 import jandas.base.data.Tabla;
+import jandas.operaciones.muestreo.ModoMuestreo;
 
 /**
  * Interfaz que define métodos para obtener muestras aleatorias de una {@link Tabla}.
@@ -42,4 +43,50 @@ public interface Muestreable {
      * @throws IllegalArgumentException si la columna no existe o el porcentaje no es válido.
      */
     Tabla muestrearEstratificado(String nombreColumna, int porcentaje);
+
+    /**
+     * Obtiene una muestra aleatoria estratificada según una columna específica,
+     * muestreando los estratos en el modo indicado.
+     *
+     * @param nombreColumna Nombre de la columna sobre la cual se realizará la estratificación.
+     * @param porcentaje Porcentaje de filas a incluir de cada estrato. Debe estar entre 1 y 100.
+     * @param modo Si los estratos se muestrean uno tras otro o en paralelo.
+     * @return Nueva instancia de {@link Tabla} con la muestra estratificada seleccionada.
+     * @throws IllegalArgumentException si la columna no existe o el porcentaje no es válido.
+     */
+    Tabla muestrearEstratificado(String nombreColumna, int porcentaje, ModoMuestreo modo);
+
+    /**
+     * Obtiene una muestra aleatoria de un porcentaje de filas, reproducible a partir de una semilla.
+     *
+     * @param porcentaje Porcentaje de filas a incluir en la muestra. Debe estar entre 1 y 100.
+     * @param semilla Semilla del generador de esta llamada.
+     * @return Nueva instancia de {@link Tabla} con la muestra aleatoria seleccionada.
+     * @throws IllegalArgumentException si el porcentaje está fuera del rango válido.
+     */
+    Tabla muestrear(int porcentaje, long semilla);
+
+    /**
+     * Obtiene una muestra aleatoria con una cantidad fija de filas, reproducible a partir de una semilla.
+     *
+     * @param cantidadFilas Cantidad exacta de filas a incluir en la muestra.
+     * @param exacto Indica si la muestra debe contener exactamente la cantidad especificada.
+     * @param semilla Semilla del generador de esta llamada.
+     * @return Nueva instancia de {@link Tabla} con la muestra aleatoria seleccionada.
+     * @throws IllegalArgumentException si la cantidadFilas es negativa.
+     */
+    Tabla muestrear(int cantidadFilas, boolean exacto, long semilla);
+
+    /**
+     * Obtiene una muestra estratificada reproducible a partir de una semilla, con el mismo
+     * resultado en ambos modos.
+     *
+     * @param nombreColumna Nombre de la columna sobre la cual se realizará la estratificación.
+     * @param porcentaje Porcentaje de filas a incluir de cada estrato. Debe estar entre 1 y 100.
+     * @param modo Si los estratos se muestrean uno tras otro o en paralelo.
+     * @param semilla Semilla del generador de esta llamada.
+     * @return Nueva instancia de {@link Tabla} con la muestra estratificada seleccionada.
+     * @throws IllegalArgumentException si la columna no existe o el porcentaje no es válido.
+     */
+    Tabla muestrearEstratificado(String nombreColumna, int porcentaje, ModoMuestreo modo, long semilla);
 }
@@ -40,5 +40,24 @@ public interface Ordenable {
      * @throws IllegalArgumentException si la lista es nula, vacía o contiene criterios inválidos.
      */
     Tabla ordenarPorCriterios(List<CriterioOrden> criterios);
-}
 
+    /**
+     * Devuelve las primeras {@code n} filas según varios criterios expresados como cadenas de texto,
+     * sin ordenar la tabla completa. Equivale a {@code ordenar(criterios).head(n)}.
+     *
+     * @param n Cantidad de filas a devolver.
+     * @param criterios Array de criterios de ordenamiento en formato String (por ejemplo, "Edad DESC").
+     * @return Nueva instancia de {@link Tabla} con las {@code n} primeras filas en orden.
+     */
+    Tabla topN(int n, String... criterios);
+
+    /**
+     * Devuelve las primeras {@code n} filas según una lista de criterios, sin ordenar la tabla completa.
+     * Equivale a {@code ordenarPorCriterios(criterios).head(n)}.
+     *
+     * @param n Cantidad de filas a devolver.
+     * @param criterios Lista de objetos {@link CriterioOrden} en orden de prioridad.
+     * @return Nueva instancia de {@link Tabla} con las {@code n} primeras filas en orden.
+     */
+    Tabla topN(int n, List<CriterioOrden> criterios);
+}
@@ -51,12 +51,17 @@ public class ConcatenarTabla {
             throw new JandasException("No se pueden concatenar tablas vacías");
         }
 
+        List<Etiqueta> etiquetasEsta = esta.etiquetasColumnasVista();
+        List<Etiqueta> etiquetasOtra = otra.etiquetasColumnasVista();
+        List<Columna<?>> columnasEsta = esta.columnasVista();
+        List<Columna<?>> columnasOtra = otra.columnasVista();
+
         // Validación de etiquetas y tipos
         for (int i = 0; i < esta.cantColumnas(); i++) {
-            Etiqueta etiquetaEsta = esta.getEtiquetasColumnas().get(i);
-            Etiqueta etiquetaOtra = otra.getEtiquetasColumnas().get(i);
-            Class<?> tipoEsta = esta.getColumnas().get(i).getTipoDato();
-            Class<?> tipoOtra = otra.getColumnas().get(i).getTipoDato();
+            Etiqueta etiquetaEsta = etiquetasEsta.get(i);
+            Etiqueta etiquetaOtra = etiquetasOtra.get(i);
+            Class<?> tipoEsta = columnasEsta.get(i).getTipoDato();
+            Class<?> tipoOtra = columnasOtra.get(i).getTipoDato();
 
             if (!etiquetaEsta.getValor().equals(etiquetaOtra.getValor())) {
                 throw new JandasException(String.format(
@@ -79,19 +84,19 @@ public class ConcatenarTabla {
         Tabla resultado = new Tabla();
 
         for (int i = 0; i < esta.cantColumnas(); i++) {
-            Columna<?> columnaEsta = esta.getColumnas().get(i);
-            Columna<?> columnaOtra = otra.getColumnas().get(i);
-            Etiqueta etiquetaColumna = esta.getEtiquetasColumnas().get(i);
+            Columna<?> columnaEsta = columnasEsta.get(i);
+            Columna<?> columnaOtra = columnasOtra.get(i);
+            Etiqueta etiquetaColumna = etiquetasEsta.get(i);
 
-            List<Object> valoresCombinados = new ArrayList<>();
+            List<Object> valoresCombinados = new ArrayList<>(columnaEsta.size() + columnaOtra.size());
 
             // Agrega valores de la primera tabla
-            for (Celda<?> celda : columnaEsta.getCeldas()) {
+            for (Celda<?> celda : columnaEsta.vista()) {
                 valoresCombinados.add(celda.getValor());
             }
 
             // Agrega valores de la segunda tabla
-            for (Celda<?> celda : columnaOtra.getCeldas()) {
+            for (Celda<?> celda : columnaOtra.vista()) {
                 valoresCombinados.add(celda.getValor());
             }
 
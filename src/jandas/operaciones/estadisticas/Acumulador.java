@@ -0,0 +1,490 @@
+package jandas.operaciones.estadisticas;
+
+import jandas.excepciones.JandasException;
+
+/**
+ * Acumulador incremental de una {@link OperacionEstadistica} para todos los grupos de una agregación.
+ * <p>
+ * Guarda un estado por grupo en arreglos primitivos y se actualiza con un valor por vez, de modo
+ * que el resultado de cada grupo se obtiene recorriendo la columna una sola vez, sin copiar los
+ * valores de cada grupo. Los valores NA no deben agregarse; un grupo sin valores da {@code NaN}.
+ * <p>
+ * Dos acumuladores de la misma operación pueden combinarse, lo que permite calcular agregados
+ * parciales por bloques de filas y unirlos después.
+ */
+abstract class Acumulador {
+
+    /** Cantidad de valores agregados en cada grupo. */
+    protected final long[] cuentas;
+
+    /**
+     * Crea un acumulador para la cantidad de grupos indicada.
+     *
+     * @param cantidadGrupos Cantidad de grupos.
+     */
+    protected Acumulador(int cantidadGrupos) {
+        this.cuentas = new long[cantidadGrupos];
+    }
+
+    /**
+     * Crea el acumulador correspondiente a una operación.
+     *
+     * @param operacion Operación estadística.
+     * @param cantidadGrupos Cantidad de grupos.
+     * @return Acumulador de la operación.
+     * @throws JandasException si la operación no es reconocida.
+     */
+    static Acumulador crear(OperacionEstadistica operacion, int cantidadGrupos) {
+        switch (operacion) {
+            case SUMA:
+                return new Suma(cantidadGrupos);
+            case MAXIMO:
+                return new Maximo(cantidadGrupos);
+            case MINIMO:
+                return new Minimo(cantidadGrupos);
+            case CUENTA:
+                return new Cuenta(cantidadGrupos);
+            case MEDIA:
+                return new Media(cantidadGrupos);
+            case VARIANZA:
+                return new Varianza(cantidadGrupos);
+            case DESVIO_ESTANDAR:
+                return new DesvioEstandar(cantidadGrupos);
+            default:
+                throw new JandasException("Operación de agregación no soportada: " + operacion);
+        }
+    }
+
+    /**
+     * Agrega un valor (no NA) a un grupo.
+     *
+     * @param grupo Número de grupo.
+     * @param valor Valor a agregar.
+     */
+    final void agregar(int grupo, double valor) {
+        cuentas[grupo]++;
+        acumular(grupo, valor);
+    }
+
+    /**
+     * Devuelve el resultado de la operación para un grupo.
+     *
+     * @param grupo Número de grupo.
+     * @return Resultado del grupo, o {@code NaN} si el grupo no tiene valores.
+     */
+    final double resultado(int grupo) {
+        return cuentas[grupo] == 0 ? Double.NaN : calcular(grupo);
+    }
+
+    /**
+     * Combina un acumulador parcial de la misma operación con este acumulador.
+     *
+     * @param parcial Acumulador parcial, con sus propios números de grupo.
+     * @param destinos Grupo de este acumulador que corresponde a cada grupo del parcial.
+     */
+    final void combinar(Acumulador parcial, int[] destinos) {
+        for (int origen = 0; origen < destinos.length; origen++) {
+            long cuentaParcial = parcial.cuentas[origen];
+            if (cuentaParcial == 0) {
+                continue;
+            }
+            int destino = destinos[origen];
+            long cuentaAnterior = cuentas[destino];
+            cuentas[destino] = cuentaAnterior + cuentaParcial;
+            fusionar(destino, cuentaAnterior, parcial, origen);
+        }
+    }
+
+    /**
+     * Actualiza el estado de un grupo con un valor. La cuenta del grupo ya está incrementada.
+     *
+     * @param grupo Número de grupo.
+     * @param valor Valor a agregar.
+     */
+    protected abstract void acumular(int grupo, double valor);
+
+    /**
+     * Combina el estado de un grupo del acumulador parcial con el de un grupo de este acumulador.
+     * La cuenta del grupo destino ya incluye la del grupo de origen.
+     *
+     * @param destino Grupo de este acumulador.
+     * @param cuentaAnterior Cuenta del grupo destino antes de combinar.
+     * @param parcial Acumulador parcial de la misma clase.
+     * @param origen Grupo del acumulador parcial, con al menos un valor.
+     */
+    protected abstract void fusionar(int destino, long cuentaAnterior, Acumulador parcial, int origen);
+
+    /**
+     * Calcula el resultado de un grupo con al menos un valor.
+     *
+     * @param grupo Número de grupo.
+     * @return Resultado del grupo.
+     */
+    protected abstract double calcular(int grupo);
+
+    /**
+     * Suma con compensación de Kahan, igual a la de {@link java.util.stream.DoubleStream#sum()}.
+     */
+    private static class Suma extends Acumulador {
+
+        /** Suma compensada de cada grupo. */
+        protected final double[] sumas;
+
+        /** Error de redondeo acumulado de cada grupo. */
+        protected final double[] compensaciones;
+
+        /** Suma simple de cada grupo, para resolver sumas infinitas. */
+        protected final double[] sumasSimples;
+
+        /**
+         * Crea el acumulador.
+         *
+         * @param cantidadGrupos Cantidad de grupos.
+         */
+        Suma(int cantidadGrupos) {
+            super(cantidadGrupos);
+            sumas = new double[cantidadGrupos];
+            compensaciones = new double[cantidadGrupos];
+            sumasSimples = new double[cantidadGrupos];
+        }
+
+        /**
+         * Suma el valor al grupo, acumulando el error de redondeo.
+         *
+         * @param grupo Número de grupo.
+         * @param valor Valor a agregar.
+         */
+        @Override
+        protected void acumular(int grupo, double valor) {
+            sumarCompensado(grupo, valor);
+            sumasSimples[grupo] += valor;
+        }
+
+        /**
+         * Suma al grupo la suma compensada del parcial y resta su error de redondeo.
+         *
+         * @param destino Grupo de este acumulador.
+         * @param cuentaAnterior Cuenta del grupo destino antes de combinar.
+         * @param parcial Acumulador parcial de la misma clase.
+         * @param origen Grupo del acumulador parcial.
+         */
+        @Override
+        protected void fusionar(int destino, long cuentaAnterior, Acumulador parcial, int origen) {
+            Suma otra = (Suma) parcial;
+            sumarCompensado(destino, otra.sumas[origen]);
+            sumarCompensado(destino, -otra.compensaciones[origen]);
+            sumasSimples[destino] += otra.sumasSimples[origen];
+        }
+
+        /**
+         * Suma un valor a la suma compensada del grupo, sin tocar la suma simple.
+         *
+         * @param grupo Número de grupo.
+         * @param valor Valor a sumar.
+         */
+        private void sumarCompensado(int grupo, double valor) {
+            double corregido = valor - compensaciones[grupo];
+            double suma = sumas[grupo];
+            double nueva = suma + corregido;
+            compensaciones[grupo] = (nueva - suma) - corregido;
+            sumas[grupo] = nueva;
+        }
+
+        /**
+         * Devuelve la suma compensada del grupo.
+         *
+         * @param grupo Número de grupo.
+         * @return Suma del grupo.
+         */
+        @Override
+        protected double calcular(int grupo) {
+            double suma = sumas[grupo] - compensaciones[grupo];
+            if (Double.isNaN(suma) && Double.isInfinite(sumasSimples[grupo])) {
+                return sumasSimples[grupo];
+            }
+            return suma;
+        }
+    }
+
+    /**
+     * Media aritmética: suma compensada dividida por la cantidad de valores.
+     */
+    private static final class Media extends Suma {
+
+        /**
+         * Crea el acumulador.
+         *
+         * @param cantidadGrupos Cantidad de grupos.
+         */
+        Media(int cantidadGrupos) {
+            super(cantidadGrupos);
+        }
+
+        /**
+         * Devuelve la media del grupo.
+         *
+         * @param grupo Número de grupo.
+         * @return Media del grupo.
+         */
+        @Override
+        protected double calcular(int grupo) {
+            return super.calcular(grupo) / cuentas[grupo];
+        }
+    }
+
+    /**
+     * Valor máximo.
+     */
+    private static final class Maximo extends Acumulador {
+
+        /** Máximo de cada grupo. */
+        private final double[] maximos;
+
+        /**
+         * Crea el acumulador.
+         *
+         * @param cantidadGrupos Cantidad de grupos.
+         */
+        Maximo(int cantidadGrupos) {
+            super(cantidadGrupos);
+            maximos = new double[cantidadGrupos];
+        }
+
+        /**
+         * Actualiza el máximo del grupo.
+         *
+         * @param grupo Número de grupo.
+         * @param valor Valor a agregar.
+         */
+        @Override
+        protected void acumular(int grupo, double valor) {
+            maximos[grupo] = cuentas[grupo] == 1 ? valor : Math.max(maximos[grupo], valor);
+        }
+
+        /**
+         * Conserva el mayor de los dos máximos.
+         *
+         * @param destino Grupo de este acumulador.
+         * @param cuentaAnterior Cuenta del grupo destino antes de combinar.
+         * @param parcial Acumulador parcial de la misma clase.
+         * @param origen Grupo del acumulador parcial.
+         */
+        @Override
+        protected void fusionar(int destino, long cuentaAnterior, Acumulador parcial, int origen) {
+            double otro = ((Maximo) parcial).maximos[origen];
+            maximos[destino] = cuentaAnterior == 0 ? otro : Math.max(maximos[destino], otro);
+        }
+
+        /**
+         * Devuelve el máximo del grupo.
+         *
+         * @param grupo Número de grupo.
+         * @return Máximo del grupo.
+         */
+        @Override
+        protected double calcular(int grupo) {
+            return maximos[grupo];
+        }
+    }
+
+    /**
+     * Valor mínimo.
+     */
+    private static final class Minimo extends Acumulador {
+
+        /** Mínimo de cada grupo. */
+        private final double[] minimos;
+
+        /**
+         * Crea el acumulador.
+         *
+         * @param cantidadGrupos Cantidad de grupos.
+         */
+        Minimo(int cantidadGrupos) {
+            super(cantidadGrupos);
+            minimos = new double[cantidadGrupos];
+        }
+
+        /**
+         * Actualiza el mínimo del grupo.
+         *
+         * @param grupo Número de grupo.
+         * @param valor Valor a agregar.
+         */
+        @Override
+        protected void acumular(int grupo, double valor) {
+            minimos[grupo] = cuentas[grupo] == 1 ? valor : Math.min(minimos[grupo], valor);
+        }
+
+        /**
+         * Conserva el menor de los dos mínimos.
+         *
+         * @param destino Grupo de este acumulador.
+         * @param cuentaAnterior Cuenta del grupo destino antes de combinar.
+         * @param parcial Acumulador parcial de la misma clase.
+         * @param origen Grupo del acumulador parcial.
+         */
+        @Override
+        protected void fusionar(int destino, long cuentaAnterior, Acumulador parcial, int origen) {
+            double otro = ((Minimo) parcial).minimos[origen];
+            minimos[destino] = cuentaAnterior == 0 ? otro : Math.min(minimos[destino], otro);
+        }
+
+        /**
+         * Devuelve el mínimo del grupo.
+         *
+         * @param grupo Número de grupo.
+         * @return Mínimo del grupo.
+         */
+        @Override
+        protected double calcular(int grupo) {
+            return minimos[grupo];
+        }
+    }
+
+    /**
+     * Cantidad de valores no NA.
+     */
+    private static final class Cuenta extends Acumulador {
+
+        /**
+         * Crea el acumulador.
+         *
+         * @param cantidadGrupos Cantidad de grupos.
+         */
+        Cuenta(int cantidadGrupos) {
+            super(cantidadGrupos);
+        }
+
+        /**
+         * No guarda más estado que la cuenta del grupo.
+         *
+         * @param grupo Número de grupo.
+         * @param valor Valor a agregar.
+         */
+        @Override
+        protected void acumular(int grupo, double valor) {
+        }
+
+        /**
+         * No hay más estado que combinar que la cuenta del grupo.
+         *
+         * @param destino Grupo de este acumulador.
+         * @param cuentaAnterior Cuenta del grupo destino antes de combinar.
+         * @param parcial Acumulador parcial de la misma clase.
+         * @param origen Grupo del acumulador parcial.
+         */
+        @Override
+        protected void fusionar(int destino, long cuentaAnterior, Acumulador parcial, int origen) {
+        }
+
+        /**
+         * Devuelve la cantidad de valores del grupo.
+         *
+         * @param grupo Número de grupo.
+         * @return Cantidad de valores.
+         */
+        @Override
+        protected double calcular(int grupo) {
+            return cuentas[grupo];
+        }
+    }
+
+    /**
+     * Varianza muestral con el algoritmo de Welford: media y suma de cuadrados de las
+     * desviaciones se actualizan en una sola pasada, sin restar cantidades grandes.
+     */
+    private static class Varianza extends Acumulador {
+
+        /** Media parcial de cada grupo. */
+        protected final double[] medias;
+
+        /** Suma de los cuadrados de las desviaciones respecto de la media de cada grupo. */
+        protected final double[] cuadrados;
+
+        /**
+         * Crea el acumulador.
+         *
+         * @param cantidadGrupos Cantidad de grupos.
+         */
+        Varianza(int cantidadGrupos) {
+            super(cantidadGrupos);
+            medias = new double[cantidadGrupos];
+            cuadrados = new double[cantidadGrupos];
+        }
+
+        /**
+         * Actualiza la media y la suma de cuadrados del grupo.
+         *
+         * @param grupo Número de grupo.
+         * @param valor Valor a agregar.
+         */
+        @Override
+        protected void acumular(int grupo, double valor) {
+            double delta = valor - medias[grupo];
+            medias[grupo] += delta / cuentas[grupo];
+            cuadrados[grupo] += delta * (valor - medias[grupo]);
+        }
+
+        /**
+         * Combina medias y sumas de cuadrados con la fórmula de Welford para grupos paralelos
+         * (Chan et al.): la suma de cuadrados se corrige con la diferencia entre las medias.
+         *
+         * @param destino Grupo de este acumulador.
+         * @param cuentaAnterior Cuenta del grupo destino antes de combinar.
+         * @param parcial Acumulador parcial de la misma clase.
+         * @param origen Grupo del acumulador parcial.
+         */
+        @Override
+        protected void fusionar(int destino, long cuentaAnterior, Acumulador parcial, int origen) {
+            Varianza otra = (Varianza) parcial;
+            long cuentaParcial = otra.cuentas[origen];
+            if (cuentaAnterior == 0) {
+                medias[destino] = otra.medias[origen];
+                cuadrados[destino] = otra.cuadrados[origen];
+                return;
+            }
+            double total = cuentas[destino];
+            double delta = otra.medias[origen] - medias[destino];
+            medias[destino] += delta * cuentaParcial / total;
+            cuadrados[destino] += otra.cuadrados[origen] + delta * delta * ((double) cuentaAnterior * cuentaParcial / total);
+        }
+
+        /**
+         * Devuelve la varianza muestral del grupo.
+         *
+         * @param grupo Número de grupo.
+         * @return Varianza del grupo, o {@code NaN} con menos de dos valores.
+         */
+        @Override
+        protected double calcular(int grupo) {
+            return cuentas[grupo] < 2 ? Double.NaN : cuadrados[grupo] / (cuentas[grupo] - 1);
+        }
+    }
+
+    /**
+     * Desvío estándar muestral: raíz cuadrada de la varianza de Welford.
+     */
+    private static final class DesvioEstandar extends Varianza {
+
+        /**
+         * Crea el acumulador.
+         *
+         * @param cantidadGrupos Cantidad de grupos.
+         */
+        DesvioEstandar(int cantidadGrupos) {
+            super(cantidadGrupos);
+        }
+
+        /**
+         * Devuelve el desvío estándar muestral del grupo.
+         *
+         * @param grupo Número de grupo.
+         * @return Desvío estándar del grupo, o {@code NaN} con menos de dos valores.
+         */
+        @Override
+        protected double calcular(int grupo) {
+            return Math.sqrt(super.calcular(grupo));
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package jandas.operaciones.estadisticas;
 
-import jandas.base.data.Celda;
 import jandas.base.data.Columna;
 import jandas.base.data.Tabla;
 import jandas.base.etiquetas.Etiqueta;
@@ -16,6 +15,31 @@ import java.util.stream.Collectors;
  */
 public class AgruparTabla {
 
+    /** Modo usado por los métodos que no reciben un {@link ModoAgrupamiento}. */
+    private static volatile ModoAgrupamiento modoPorDefecto = ModoAgrupamiento.SECUENCIAL;
+
+    /**
+     * Devuelve el modo usado por los métodos que no reciben un {@link ModoAgrupamiento}.
+     *
+     * @return Modo por defecto.
+     */
+    public static ModoAgrupamiento getModoPorDefecto() {
+        return modoPorDefecto;
+    }
+
+    /**
+     * Cambia el modo usado por los métodos que no reciben un {@link ModoAgrupamiento}.
+     *
+     * @param modo Nuevo modo por defecto.
+     * @throws JandasException si el modo es {@code null}.
+     */
+    public static void setModoPorDefecto(ModoAgrupamiento modo) {
+        if (modo == null) {
+            throw new JandasException("El modo de agrupamiento no puede ser null");
+        }
+        modoPorDefecto = modo;
+    }
+
     /**
      * Agrupa las filas por una sola columna y aplica operaciones estadísticas
      * distintas a cada columna numérica.
@@ -26,7 +50,22 @@ public class AgruparTabla {
      * @return Tabla resultante con los valores agregados por grupo.
      */
     public static Tabla agruparPor(Tabla tabla, String nombreColumna, Map<String, OperacionEstadistica> operaciones) {
-        return agruparPor(tabla, new String[]{nombreColumna}, operaciones);
+        return agruparPor(tabla, new String[]{nombreColumna}, operaciones, modoPorDefecto);
+    }
+
+    /**
+     * Agrupa las filas por una sola columna y aplica operaciones estadísticas
+     * distintas a cada columna numérica, en el modo indicado.
+     *
+     * @param tabla Tabla de entrada.
+     * @param nombreColumna Nombre de la columna por la cual agrupar.
+     * @param operaciones Mapa que indica qué operación aplicar a cada columna numérica.
+     * @param modo Modo de agrupamiento (secuencial o paralelo).
+     * @return Tabla resultante con los valores agregados por grupo.
+     */
+    public static Tabla agruparPor(Tabla tabla, String nombreColumna, Map<String, OperacionEstadistica> operaciones,
+                                   ModoAgrupamiento modo) {
+        return agruparPor(tabla, new String[]{nombreColumna}, operaciones, modo);
     }
 
     /**
@@ -40,6 +79,26 @@ public class AgruparTabla {
      * @throws JandasException si alguna columna indicada no es numérica o no existe.
      */
     public static Tabla agruparPor(Tabla tabla, String[] nombresColumnas, Map<String, OperacionEstadistica> operaciones) {
+        return agruparPor(tabla, nombresColumnas, operaciones, modoPorDefecto);
+    }
+
+    /**
+     * Agrupa las filas por múltiples columnas y aplica operaciones estadísticas
+     * distintas a cada columna numérica, en el modo indicado. El resultado es el mismo
+     * en ambos modos.
+     *
+     * @param tabla Tabla de entrada.
+     * @param nombresColumnas Nombres de las columnas por las cuales agrupar.
+     * @param operaciones Mapa que indica qué operación aplicar a cada columna numérica.
+     * @param modo Modo de agrupamiento (secuencial o paralelo).
+     * @return Tabla con resultados agrupados y agregados.
+     * @throws JandasException si alguna columna indicada no es numérica o no existe, o el modo es {@code null}.
+     */
+    public static Tabla agruparPor(Tabla tabla, String[] nombresColumnas, Map<String, OperacionEstadistica> operaciones,
+                                   ModoAgrupamiento modo) {
+        if (modo == null) {
+            throw new JandasException("El modo de agrupamiento no puede ser null");
+        }
         if (tabla.cantFilas() == 0) {
             return new Tabla();
         }
@@ -47,13 +106,14 @@ public class AgruparTabla {
         // Validar columnas de agrupamiento
         List<Columna<?>> columnasAgrupamiento = new ArrayList<>();
         for (String nombre : nombresColumnas) {
-            columnasAgrupamiento.add(tabla.getColumna(nombre));
+            columnasAgrupamiento.add(tabla.getColumna(nombre).materializar());
         }
 
         List<Columna<?>> columnasNumericas = obtenerColumnasNumericas(tabla, Arrays.asList(nombresColumnas));
         validarOperaciones(operaciones, columnasNumericas);
-        Map<String, List<Integer>> grupos = crearGrupos(tabla, columnasAgrupamiento);
-        return crearTablaAgregada(tabla, grupos, columnasNumericas, operaciones);
+        boolean paralelo = modo == ModoAgrupamiento.PARALELO;
+        GruposFilas grupos = crearGrupos(tabla, columnasAgrupamiento, paralelo);
+        return crearTablaAgregada(grupos, columnasAgrupamiento, columnasNumericas, operaciones, paralelo);
     }
 
     /**
@@ -66,6 +126,21 @@ public class AgruparTabla {
      * @return Tabla agrupada y agregada.
      */
     public static Tabla agruparPor(Tabla tabla, String nombreColumna, OperacionEstadistica operacion) {
+        return agruparPor(tabla, nombreColumna, operacion, modoPorDefecto);
+    }
+
+    /**
+     * Agrupa por una columna y aplica la misma operación estadística
+     * a todas las columnas numéricas, en el modo indicado.
+     *
+     * @param tabla Tabla de entrada.
+     * @param nombreColumna Nombre de la columna de agrupamiento.
+     * @param operacion Operación a aplicar a todas las columnas numéricas.
+     * @param modo Modo de agrupamiento (secuencial o paralelo).
+     * @return Tabla agrupada y agregada.
+     */
+    public static Tabla agruparPor(Tabla tabla, String nombreColumna, OperacionEstadistica operacion,
+                                   ModoAgrupamiento modo) {
         if (tabla.cantFilas() == 0) {
             return new Tabla();
         }
@@ -77,7 +152,7 @@ public class AgruparTabla {
             operaciones.put(columna.getEtiqueta().getValor().toString(), operacion);
         }
 
-        return agruparPor(tabla, nombreColumna, operaciones);
+        return agruparPor(tabla, nombreColumna, operaciones, modo);
     }
 
     /**
@@ -90,7 +165,7 @@ public class AgruparTabla {
     private static List<Columna<?>> obtenerColumnasNumericas(Tabla tabla, List<String> excluir) {
         List<Columna<?>> columnasNumericas = new ArrayList<>();
 
-        for (Columna<?> columna : tabla.getColumnas()) {
+        for (Columna<?> columna : tabla.columnasVista()) {
             String nombreColumna = columna.getEtiqueta().getValor().toString();
 
             if (excluir.contains(nombreColumna)) {
@@ -136,78 +211,74 @@ public class AgruparTabla {
     }
 
     /**
-     * Agrupa índices de filas por combinación de valores de las columnas de agrupamiento.
+     * Asigna cada fila a un grupo según la combinación de valores de las columnas de agrupamiento.
+     * Los valores se comparan tipados (sin convertirlos a texto) y los grupos se numeran en orden
+     * de aparición.
      *
      * @param tabla Tabla de entrada.
      * @param columnasAgrupamiento Lista de columnas a usar para agrupar.
-     * @return Mapa de clave de grupo a lista de índices de fila.
+     * @param paralelo Si los bloques de filas se agrupan en paralelo.
+     * @return Asignación de filas a grupos.
      */
-    private static Map<String, List<Integer>> crearGrupos(Tabla tabla, List<Columna<?>> columnasAgrupamiento) {
-        Map<String, List<Integer>> grupos = new LinkedHashMap<>();
-
-        for (int i = 0; i < tabla.cantFilas(); i++) {
-            StringBuilder claveGrupo = new StringBuilder();
-            boolean primerValor = true;
-
-            for (Columna<?> columna : columnasAgrupamiento) {
-                if (!primerValor) {
-                    claveGrupo.append(", ");
-                }
-
-                Celda<?> celda = columna.getCelda(i);
-                String valor = celda.esNA() ? "NA" : celda.getValor().toString();
-                claveGrupo.append(valor);
-                primerValor = false;
-            }
-
-            String clave = claveGrupo.toString();
-            grupos.computeIfAbsent(clave, k -> new ArrayList<>()).add(i);
-        }
-
-        return grupos;
+    private static GruposFilas crearGrupos(Tabla tabla, List<Columna<?>> columnasAgrupamiento, boolean paralelo) {
+        return paralelo
+                ? GruposFilas.agruparParalelo(columnasAgrupamiento, tabla.cantFilas())
+                : GruposFilas.agrupar(columnasAgrupamiento, tabla.cantFilas());
     }
 
     /**
      * Crea una nueva tabla con los resultados de la agregación por grupo.
      *
-     * @param tablaOriginal Tabla original con los datos.
-     * @param grupos Mapa de grupo a índices de filas.
+     * @param grupos Asignación de filas a grupos.
+     * @param columnasAgrupamiento Columnas de agrupamiento, usadas para armar la clave de cada grupo.
      * @param columnasNumericas Columnas numéricas a agregar.
      * @param operaciones Mapa de operación a aplicar por columna.
+     * @param paralelo Si los agregados parciales de cada bloque se calculan en paralelo.
      * @return Tabla con columnas agrupadas y valores agregados.
      */
-    private static Tabla crearTablaAgregada(Tabla tablaOriginal, Map<String, List<Integer>> grupos,
-                                            List<Columna<?>> columnasNumericas, Map<String, OperacionEstadistica> operaciones) {
+    private static Tabla crearTablaAgregada(GruposFilas grupos, List<Columna<?>> columnasAgrupamiento,
+                                            List<Columna<?>> columnasNumericas, Map<String, OperacionEstadistica> operaciones,
+                                            boolean paralelo) {
         Tabla tablaResultado = new Tabla();
+        int cantidadGrupos = grupos.cantidadGrupos();
 
-        List<String> valoresGrupo = new ArrayList<>(grupos.keySet());
+        List<String> valoresGrupo = new ArrayList<>(cantidadGrupos);
+        for (int g = 0; g < cantidadGrupos; g++) {
+            valoresGrupo.add(grupos.clave(g, columnasAgrupamiento));
+        }
         tablaResultado.agregarColumna(new EtiquetaString("Grupo"), String.class, valoresGrupo);
 
+        List<Columna<?>> columnasAgregadas = new ArrayList<>();
+        List<OperacionEstadistica> operacionesAgregadas = new ArrayList<>();
         for (Columna<?> columna : columnasNumericas) {
-            String nombreColumna = columna.getEtiqueta().getValor().toString();
-            OperacionEstadistica operacion = operaciones.get(nombreColumna);
-
+            OperacionEstadistica operacion = operaciones.get(columna.getEtiqueta().getValor().toString());
             if (operacion != null) {
-                List<Double> valoresAgregados = new ArrayList<>();
-
-                for (List<Integer> indicesGrupo : grupos.values()) {
-                    double valorAgregado = calcularAgregacion(columna, indicesGrupo, operacion);
-                    valoresAgregados.add(valorAgregado);
-                }
-
-                tablaResultado.agregarColumna(
-                        new EtiquetaString(nombreColumna),
-                        Double.class,
-                        valoresAgregados
-                );
+                columnasAgregadas.add(columna);
+                operacionesAgregadas.add(operacion);
+            }
+        }
+        Acumulador[] acumuladores = acumular(grupos, columnasAgregadas, operacionesAgregadas, paralelo);
+
+        for (int c = 0; c < columnasAgregadas.size(); c++) {
+            List<Double> valoresAgregados = new ArrayList<>(cantidadGrupos);
+            for (int g = 0; g < cantidadGrupos; g++) {
+                valoresAgregados.add(acumuladores[c].resultado(g));
             }
+
+            tablaResultado.agregarColumna(
+                    new EtiquetaString(columnasAgregadas.get(c).getEtiqueta().getValor().toString()),
+                    Double.class,
+                    valoresAgregados
+            );
         }
 
-        List<Etiqueta> etiquetasFilas = grupos.keySet().stream()
+        List<Etiqueta> etiquetasFilas = valoresGrupo.stream()
                 .map(EtiquetaString::new)
                 .collect(Collectors.toList());
 
-        if (!etiquetasFilas.isEmpty()) {
+        // Claves distintas pueden tener el mismo texto (por ejemplo "1, 2" + "3" y "1" + "2, 3");
+        // en ese caso se conservan las etiquetas numéricas para no repetir etiquetas de fila
+        if (!etiquetasFilas.isEmpty() && new HashSet<>(valoresGrupo).size() == cantidadGrupos) {
             tablaResultado.setEtiquetasFilas(etiquetasFilas);
         }
 
@@ -215,67 +286,71 @@ public class AgruparTabla {
     }
 
     /**
-     * Aplica una operación estadística sobre un grupo de celdas de una columna.
+     * Calcula los acumuladores de todas las columnas agregadas.
+     * <p>
+     * Si la tabla tiene un solo bloque, cada columna se recorre una vez acumulando por grupo.
+     * Si tiene varios, cada (columna, bloque) produce un acumulador parcial con los números
+     * locales de grupo del bloque, y los parciales se combinan en orden de bloque. Los parciales
+     * son los mismos en modo secuencial y paralelo, por lo que el resultado también lo es.
      *
-     * @param columna Columna a procesar.
-     * @param indices Índices de las filas del grupo.
-     * @param operacion Tipo de operación estadística.
-     * @return Resultado numérico de la operación.
-     * @throws JandasException si la operación no es reconocida.
+     * @param grupos Asignación de filas a grupos.
+     * @param columnas Columnas a agregar.
+     * @param operacionesColumnas Operación de cada columna.
+     * @param paralelo Si los parciales se calculan en paralelo.
+     * @return Acumulador final de cada columna.
      */
-    private static double calcularAgregacion(Columna<?> columna, List<Integer> indices, OperacionEstadistica operacion) {
-        List<Double> valores = new ArrayList<>();
-
-        for (Integer indice : indices) {
-            Celda<?> celda = columna.getCelda(indice);
-            if (!celda.esNA()) {
-                Object valor = celda.getValor();
-                if (valor instanceof Number) {
-                    valores.add(((Number) valor).doubleValue());
-                }
-            }
+    private static Acumulador[] acumular(GruposFilas grupos, List<Columna<?>> columnas,
+                                         List<OperacionEstadistica> operacionesColumnas, boolean paralelo) {
+        int cantidadColumnas = columnas.size();
+        int cantidadFilas = grupos.grupoPorFila().length;
+        int bloques = GruposFilas.cantidadBloques(cantidadFilas);
+        Acumulador[] acumuladores = new Acumulador[cantidadColumnas];
+
+        if (bloques <= 1) {
+            TareasParalelas.paraCada(cantidadColumnas, paralelo, c -> {
+                Acumulador acumulador = Acumulador.crear(operacionesColumnas.get(c), grupos.cantidadGrupos());
+                acumular(columnas.get(c), grupos.grupoPorFila(), 0, cantidadFilas, acumulador);
+                acumuladores[c] = acumulador;
+            });
+            return acumuladores;
         }
 
-        if (valores.isEmpty()) {
-            return Double.NaN;
-        }
-
-        switch (operacion) {
-            case SUMA:
-                return valores.stream().mapToDouble(Double::doubleValue).sum();
-            case MAXIMO:
-                return valores.stream().mapToDouble(Double::doubleValue).max().orElse(Double.NaN);
-            case MINIMO:
-                return valores.stream().mapToDouble(Double::doubleValue).min().orElse(Double.NaN);
-            case CUENTA:
-                return valores.size();
-            case MEDIA:
-                return valores.stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN);
-            case VARIANZA:
-                return calcularVarianza(valores);
-            case DESVIO_ESTANDAR:
-                return Math.sqrt(calcularVarianza(valores));
-            default:
-                throw new JandasException("Operación de agregación no soportada: " + operacion);
-        }
+        int[] grupoLocal = grupos.grupoLocal();
+        Acumulador[][] parciales = new Acumulador[cantidadColumnas][bloques];
+        TareasParalelas.paraCada(cantidadColumnas * bloques, paralelo, tarea -> {
+            int c = tarea / bloques;
+            int b = tarea % bloques;
+            int desde = GruposFilas.inicioBloque(b);
+            Acumulador parcial = Acumulador.crear(operacionesColumnas.get(c), grupos.gruposDeBloque(b).length);
+            acumular(columnas.get(c), grupoLocal, desde, GruposFilas.finBloque(b, cantidadFilas), parcial);
+            parciales[c][b] = parcial;
+        });
+
+        TareasParalelas.paraCada(cantidadColumnas, paralelo, c -> {
+            Acumulador acumulador = Acumulador.crear(operacionesColumnas.get(c), grupos.cantidadGrupos());
+            for (int b = 0; b < bloques; b++) {
+                acumulador.combinar(parciales[c][b], grupos.gruposDeBloque(b));
+            }
+            acumuladores[c] = acumulador;
+        });
+        return acumuladores;
     }
 
     /**
-     * Calcula la varianza muestral de una lista de valores.
+     * Recorre un rango de filas de una columna una sola vez y agrega cada valor no NA
+     * al acumulador de su grupo.
      *
-     * @param valores Lista de valores numéricos.
-     * @return Varianza muestral de los valores.
+     * @param columna Columna a procesar.
+     * @param grupoPorFila Grupo de cada fila, en la numeración del acumulador.
+     * @param desde Primera fila del rango.
+     * @param hasta Fila siguiente a la última del rango.
+     * @param acumulador Acumulador de la operación.
      */
-    private static double calcularVarianza(List<Double> valores) {
-        if (valores.size() < 2) {
-            return Double.NaN;
+    private static void acumular(Columna<?> columna, int[] grupoPorFila, int desde, int hasta, Acumulador acumulador) {
+        for (int i = desde; i < hasta; i++) {
+            if (!columna.isNA(i)) {
+                acumulador.agregar(grupoPorFila[i], columna.getDouble(i));
+            }
         }
-
-        double media = valores.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-        double sumaCuadrados = valores.stream()
-                .mapToDouble(valor -> Math.pow(valor - media, 2))
-                .sum();
-
-        return sumaCuadrados / (valores.size() - 1);
     }
-}
\ No newline at end of file
+}
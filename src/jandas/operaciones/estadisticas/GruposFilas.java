@@ -0,0 +1,535 @@
+package jandas.operaciones.estadisticas;
+
+import jandas.base.data.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Asignación de cada fila de una tabla a un grupo, según los valores de una o más columnas.
+ * <p>
+ * Los grupos se identifican con números densos {@code 0..cantidadGrupos()-1}, numerados en orden
+ * de aparición, y la asignación se guarda en un {@code int[]} con una posición por fila.
+ * <p>
+ * La clave de cada fila se compara con los valores tipados de cada columna, sin convertirlos
+ * a texto: los enteros y decimales se comparan por su valor primitivo, las columnas codificadas
+ * por diccionario por su código y el resto con {@link Object#equals(Object)}. Así, dos claves
+ * compuestas distintas nunca se confunden aunque su representación en texto coincida.
+ * <p>
+ * Las filas se dividen además en bloques de {@link #TAMANO_BLOQUE} filas, y dentro de cada bloque
+ * los grupos tienen una numeración local, también en orden de aparición. Los bloques permiten
+ * calcular agregados parciales en paralelo y combinarlos siempre en el mismo orden.
+ */
+final class GruposFilas {
+
+    /** Cantidad de filas de cada bloque (el último puede tener menos). */
+    static final int TAMANO_BLOQUE = 1 << 14;
+
+    /** Grupo de cada fila. */
+    private final int[] grupoPorFila;
+
+    /** Cantidad de grupos distintos. */
+    private final int cantidadGrupos;
+
+    /** Primera fila de cada grupo. */
+    private final int[] primeraFila;
+
+    /** Filas ordenadas por grupo (se calcula al pedirlo). */
+    private int[] filasPorGrupo;
+
+    /** Posición en {@link #filasPorGrupo} donde empieza cada grupo, más una posición final. */
+    private int[] inicioGrupo;
+
+    /** Número local de grupo de cada fila dentro de su bloque (se calcula al pedirlo). */
+    private int[] grupoLocal;
+
+    /** Para cada bloque, el grupo correspondiente a cada número local. */
+    private int[][] gruposDeBloque;
+
+    /**
+     * Crea la asignación a partir de sus partes.
+     *
+     * @param grupoPorFila Grupo de cada fila.
+     * @param cantidadGrupos Cantidad de grupos.
+     */
+    private GruposFilas(int[] grupoPorFila, int cantidadGrupos) {
+        this.grupoPorFila = grupoPorFila;
+        this.cantidadGrupos = cantidadGrupos;
+        this.primeraFila = new int[cantidadGrupos];
+        int siguiente = 0;
+        for (int fila = 0; fila < grupoPorFila.length && siguiente < cantidadGrupos; fila++) {
+            if (grupoPorFila[fila] == siguiente) {
+                primeraFila[siguiente++] = fila;
+            }
+        }
+    }
+
+    /**
+     * Agrupa las filas según los valores de las columnas indicadas.
+     * <p>
+     * Las columnas se procesan de a una: cada columna divide los grupos formados por las
+     * anteriores, usando una tabla hash de claves primitivas (grupo previo, valor).
+     *
+     * @param columnas Columnas de agrupamiento, todas con la misma cantidad de filas.
+     * @param cantidadFilas Cantidad de filas de la tabla.
+     * @return Asignación de filas a grupos.
+     */
+    static GruposFilas agrupar(List<Columna<?>> columnas, int cantidadFilas) {
+        int[] grupos = new int[cantidadFilas];
+        int cantidad = cantidadFilas > 0 ? 1 : 0;
+        long[] valores = new long[cantidadFilas];
+        boolean[] nulos = new boolean[cantidadFilas];
+
+        for (Columna<?> columna : columnas) {
+            codificar(columna, valores, nulos, 0, cantidadFilas);
+            TablaClaves tabla = new TablaClaves(Math.min(cantidadFilas, Math.max(16, cantidad * 2)));
+            for (int fila = 0; fila < cantidadFilas; fila++) {
+                grupos[fila] = tabla.idPara(grupos[fila], valores[fila], nulos[fila]);
+            }
+            cantidad = tabla.size();
+        }
+        return new GruposFilas(grupos, cantidad);
+    }
+
+    /**
+     * Agrupa las filas según los valores de las columnas indicadas, procesando los bloques en paralelo.
+     * <p>
+     * Cada bloque agrupa sus filas con tablas hash propias; luego los grupos locales de cada bloque,
+     * en orden de bloque, se buscan en tablas globales. Como los grupos locales están en orden de
+     * aparición, los números globales quedan en el mismo orden que con {@link #agrupar(List, int)}.
+     *
+     * @param columnas Columnas de agrupamiento, todas con la misma cantidad de filas.
+     * @param cantidadFilas Cantidad de filas de la tabla.
+     * @return Asignación de filas a grupos, igual a la de {@link #agrupar(List, int)}.
+     */
+    static GruposFilas agruparParalelo(List<Columna<?>> columnas, int cantidadFilas) {
+        int bloques = cantidadBloques(cantidadFilas);
+        int cantidadColumnas = columnas.size();
+        if (bloques <= 1 || cantidadColumnas == 0) {
+            return agrupar(columnas, cantidadFilas);
+        }
+
+        // 1 Codificar cada columna; las genéricas de una vez, el resto por bloque
+        long[][] valores = new long[cantidadColumnas][cantidadFilas];
+        boolean[][] nulos = new boolean[cantidadColumnas][cantidadFilas];
+        TareasParalelas.paraCada(cantidadColumnas * bloques, true, tarea -> {
+            int c = tarea / bloques;
+            int b = tarea % bloques;
+            Columna<?> columna = columnas.get(c);
+            if (esGenerica(columna)) {
+                if (b == 0) {
+                    codificar(columna, valores[c], nulos[c], 0, cantidadFilas);
+                }
+            } else {
+                codificar(columna, valores[c], nulos[c], inicioBloque(b), finBloque(b, cantidadFilas));
+            }
+        });
+
+        // 2 Agrupar cada bloque con números locales
+        int[] grupoLocal = new int[cantidadFilas];
+        int[][] primerasLocales = new int[bloques][];
+        TareasParalelas.paraCada(bloques, true, b -> {
+            int desde = inicioBloque(b);
+            int hasta = finBloque(b, cantidadFilas);
+            int cantidad = 1;
+            for (int c = 0; c < cantidadColumnas; c++) {
+                TablaClaves tabla = new TablaClaves(Math.min(hasta - desde, Math.max(16, cantidad * 2)));
+                for (int fila = desde; fila < hasta; fila++) {
+                    grupoLocal[fila] = tabla.idPara(c == 0 ? 0 : grupoLocal[fila], valores[c][fila], nulos[c][fila]);
+                }
+                cantidad = tabla.size();
+            }
+            int[] primeras = new int[cantidad];
+            int siguiente = 0;
+            for (int fila = desde; fila < hasta && siguiente < cantidad; fila++) {
+                if (grupoLocal[fila] == siguiente) {
+                    primeras[siguiente++] = fila;
+                }
+            }
+            primerasLocales[b] = primeras;
+        });
+
+        // 3 Buscar los grupos locales en las tablas globales, en orden de bloque
+        TablaClaves[] globales = new TablaClaves[cantidadColumnas];
+        for (int c = 0; c < cantidadColumnas; c++) {
+            globales[c] = new TablaClaves(16);
+        }
+        int[][] gruposDeBloque = new int[bloques][];
+        for (int b = 0; b < bloques; b++) {
+            int[] primeras = primerasLocales[b];
+            int[] globalesDelBloque = new int[primeras.length];
+            for (int local = 0; local < primeras.length; local++) {
+                int fila = primeras[local];
+                int id = 0;
+                for (int c = 0; c < cantidadColumnas; c++) {
+                    id = globales[c].idPara(id, valores[c][fila], nulos[c][fila]);
+                }
+                globalesDelBloque[local] = id;
+            }
+            gruposDeBloque[b] = globalesDelBloque;
+        }
+
+        // 4 Pasar cada fila a su número global
+        int[] grupos = new int[cantidadFilas];
+        TareasParalelas.paraCada(bloques, true, b -> {
+            int[] globalesDelBloque = gruposDeBloque[b];
+            for (int fila = inicioBloque(b), hasta = finBloque(b, cantidadFilas); fila < hasta; fila++) {
+                grupos[fila] = globalesDelBloque[grupoLocal[fila]];
+            }
+        });
+
+        GruposFilas resultado = new GruposFilas(grupos, globales[cantidadColumnas - 1].size());
+        resultado.grupoLocal = grupoLocal;
+        resultado.gruposDeBloque = gruposDeBloque;
+        return resultado;
+    }
+
+    /**
+     * Indica si una columna se codifica comparando objetos, lo que requiere recorrerla completa.
+     *
+     * @param columna Columna de agrupamiento.
+     * @return {@code true} si la columna no tiene una representación primitiva.
+     */
+    private static boolean esGenerica(Columna<?> columna) {
+        return !(columna instanceof ColumnaDiccionario || columna instanceof ColumnaInt || columna instanceof ColumnaLong
+                || columna instanceof ColumnaDouble || columna instanceof ColumnaBoolean);
+    }
+
+    /**
+     * Representa el valor de cada fila de una columna como un {@code long} comparable por igualdad.
+     *
+     * Las columnas genéricas deben codificarse completas, para que los códigos sean únicos.
+     *
+     * @param columna Columna a codificar.
+     * @param valores Arreglo donde se escribe el valor de cada fila.
+     * @param nulos Arreglo donde se marca cada fila NA.
+     * @param desde Primera fila a codificar.
+     * @param filas Fila siguiente a la última a codificar.
+     */
+    private static void codificar(Columna<?> columna, long[] valores, boolean[] nulos, int desde, int filas) {
+        if (columna instanceof ColumnaDiccionario diccionario) {
+            for (int i = desde; i < filas; i++) {
+                int codigo = diccionario.getCodigo(i);
+                nulos[i] = codigo == -1;
+                valores[i] = codigo;
+            }
+        } else if (columna instanceof ColumnaInt || columna instanceof ColumnaLong) {
+            for (int i = desde; i < filas; i++) {
+                nulos[i] = columna.isNA(i);
+                valores[i] = columna.getLong(i);
+            }
+        } else if (columna instanceof ColumnaDouble) {
+            for (int i = desde; i < filas; i++) {
+                nulos[i] = columna.isNA(i);
+                valores[i] = Double.doubleToLongBits(columna.getDouble(i));
+            }
+        } else if (columna instanceof ColumnaBoolean) {
+            for (int i = desde; i < filas; i++) {
+                nulos[i] = columna.isNA(i);
+                valores[i] = columna.getBoolean(i) ? 1 : 0;
+            }
+        } else {
+            // Columna genérica: cada valor distinto recibe un código por igualdad de objetos
+            Map<Object, Integer> codigos = new HashMap<>();
+            List<? extends Celda<?>> celdas = columna.vista();
+            for (int i = desde; i < filas; i++) {
+                Celda<?> celda = celdas.get(i);
+                nulos[i] = celda.esNA();
+                valores[i] = nulos[i] ? 0 : codigos.computeIfAbsent(celda.getValor(), k -> codigos.size());
+            }
+        }
+    }
+
+    /**
+     * Devuelve la cantidad de grupos.
+     *
+     * @return Cantidad de grupos distintos.
+     */
+    int cantidadGrupos() {
+        return cantidadGrupos;
+    }
+
+    /**
+     * Devuelve el grupo de cada fila. El arreglo no debe modificarse.
+     *
+     * @return Grupo de cada fila.
+     */
+    int[] grupoPorFila() {
+        return grupoPorFila;
+    }
+
+    /**
+     * Devuelve la primera fila de un grupo.
+     *
+     * @param grupo Número de grupo.
+     * @return Índice de la primera fila del grupo.
+     */
+    int primeraFila(int grupo) {
+        return primeraFila[grupo];
+    }
+
+    /**
+     * Devuelve las filas ordenadas por grupo; las del grupo {@code g} ocupan
+     * las posiciones {@code inicioGrupo()[g]} a {@code inicioGrupo()[g + 1] - 1}.
+     *
+     * @return Filas ordenadas por grupo, en orden creciente dentro de cada grupo.
+     */
+    int[] filasPorGrupo() {
+        if (filasPorGrupo == null) {
+            int[] inicios = new int[cantidadGrupos + 1];
+            for (int grupo : grupoPorFila) {
+                inicios[grupo + 1]++;
+            }
+            for (int g = 0; g < cantidadGrupos; g++) {
+                inicios[g + 1] += inicios[g];
+            }
+            int[] posicion = inicios.clone();
+            int[] filas = new int[grupoPorFila.length];
+            for (int fila = 0; fila < grupoPorFila.length; fila++) {
+                filas[posicion[grupoPorFila[fila]]++] = fila;
+            }
+            inicioGrupo = inicios;
+            filasPorGrupo = filas;
+        }
+        return filasPorGrupo;
+    }
+
+    /**
+     * Devuelve dónde empieza cada grupo dentro de {@link #filasPorGrupo()}.
+     *
+     * @return Inicio de cada grupo, con una posición final igual a la cantidad de filas.
+     */
+    int[] inicioGrupo() {
+        filasPorGrupo();
+        return inicioGrupo;
+    }
+
+    /**
+     * Devuelve la cantidad de bloques en que se dividen las filas.
+     *
+     * @param cantidadFilas Cantidad de filas de la tabla.
+     * @return Cantidad de bloques.
+     */
+    static int cantidadBloques(int cantidadFilas) {
+        return (cantidadFilas + TAMANO_BLOQUE - 1) / TAMANO_BLOQUE;
+    }
+
+    /**
+     * Devuelve la primera fila de un bloque.
+     *
+     * @param bloque Número de bloque.
+     * @return Índice de la primera fila del bloque.
+     */
+    static int inicioBloque(int bloque) {
+        return bloque * TAMANO_BLOQUE;
+    }
+
+    /**
+     * Devuelve la fila siguiente a la última de un bloque.
+     *
+     * @param bloque Número de bloque.
+     * @param cantidadFilas Cantidad de filas de la tabla.
+     * @return Índice siguiente a la última fila del bloque.
+     */
+    static int finBloque(int bloque, int cantidadFilas) {
+        return Math.min(cantidadFilas, (bloque + 1) * TAMANO_BLOQUE);
+    }
+
+    /**
+     * Devuelve el número local de grupo de cada fila dentro de su bloque. El arreglo no debe modificarse.
+     *
+     * @return Número local de grupo de cada fila.
+     */
+    int[] grupoLocal() {
+        calcularBloques();
+        return grupoLocal;
+    }
+
+    /**
+     * Devuelve, para un bloque, el grupo correspondiente a cada número local. El arreglo no debe modificarse.
+     *
+     * @param bloque Número de bloque.
+     * @return Grupo de cada número local del bloque.
+     */
+    int[] gruposDeBloque(int bloque) {
+        calcularBloques();
+        return gruposDeBloque[bloque];
+    }
+
+    /**
+     * Numera los grupos de cada bloque en orden de aparición dentro del bloque, si todavía no se hizo.
+     */
+    private void calcularBloques() {
+        if (grupoLocal != null) {
+            return;
+        }
+        int cantidadFilas = grupoPorFila.length;
+        int bloques = cantidadBloques(cantidadFilas);
+        int[] locales = new int[cantidadFilas];
+        int[][] porBloque = new int[bloques][];
+        int[] localDeGrupo = new int[cantidadGrupos];
+        Arrays.fill(localDeGrupo, -1);
+        int[] vistos = new int[Math.min(TAMANO_BLOQUE, cantidadGrupos)];
+
+        for (int b = 0; b < bloques; b++) {
+            int cantidad = 0;
+            for (int fila = inicioBloque(b), hasta = finBloque(b, cantidadFilas); fila < hasta; fila++) {
+                int grupo = grupoPorFila[fila];
+                if (localDeGrupo[grupo] < 0) {
+                    localDeGrupo[grupo] = cantidad;
+                    vistos[cantidad++] = grupo;
+                }
+                locales[fila] = localDeGrupo[grupo];
+            }
+            porBloque[b] = Arrays.copyOf(vistos, cantidad);
+            for (int j = 0; j < cantidad; j++) {
+                localDeGrupo[vistos[j]] = -1;
+            }
+        }
+        gruposDeBloque = porBloque;
+        grupoLocal = locales;
+    }
+
+    /**
+     * Arma el texto que identifica a un grupo: los valores de sus columnas separados
+     * por {@code ", "}, con {@code "NA"} para los valores faltantes.
+     *
+     * @param grupo Número de grupo.
+     * @param columnas Columnas de agrupamiento.
+     * @return Texto de la clave del grupo.
+     */
+    String clave(int grupo, List<Columna<?>> columnas) {
+        int fila = primeraFila[grupo];
+        StringBuilder clave = new StringBuilder();
+        for (int i = 0; i < columnas.size(); i++) {
+            if (i > 0) {
+                clave.append(", ");
+            }
+            Celda<?> celda = columnas.get(i).getCelda(fila);
+            clave.append(celda.esNA() ? "NA" : celda.getValor().toString());
+        }
+        return clave.toString();
+    }
+
+    /**
+     * Tabla hash de direccionamiento abierto que asigna un número denso a cada
+     * clave (grupo previo, valor, nulo), sin crear objetos por fila.
+     */
+    private static final class TablaClaves {
+
+        /** Grupo previo de cada posición. */
+        private int[] grupos;
+
+        /** Valor de cada posición. */
+        private long[] valores;
+
+        /** Indica si el valor de cada posición es NA. */
+        private boolean[] nulos;
+
+        /** Número asignado a cada posición más uno; 0 indica una posición libre. */
+        private int[] ids;
+
+        /** Cantidad de claves distintas. */
+        private int cantidad;
+
+        /**
+         * Crea una tabla con capacidad para la cantidad de claves indicada.
+         *
+         * @param esperadas Cantidad estimada de claves.
+         */
+        TablaClaves(int esperadas) {
+            int capacidad = Integer.highestOneBit(Math.max(16, esperadas * 2) - 1) << 1;
+            reservar(capacidad);
+        }
+
+        /**
+         * Crea los arreglos de la tabla.
+         *
+         * @param capacidad Capacidad (potencia de dos).
+         */
+        private void reservar(int capacidad) {
+            grupos = new int[capacidad];
+            valores = new long[capacidad];
+            nulos = new boolean[capacidad];
+            ids = new int[capacidad];
+        }
+
+        /**
+         * Devuelve el número de la clave, asignando el siguiente si es nueva.
+         *
+         * @param grupo Grupo previo.
+         * @param valor Valor de la columna.
+         * @param nulo Si el valor es NA.
+         * @return Número denso de la clave.
+         */
+        int idPara(int grupo, long valor, boolean nulo) {
+            int mascara = ids.length - 1;
+            int posicion = hash(grupo, valor, nulo) & mascara;
+            while (ids[posicion] != 0) {
+                if (grupos[posicion] == grupo && nulos[posicion] == nulo && (nulo || valores[posicion] == valor)) {
+                    return ids[posicion] - 1;
+                }
+                posicion = (posicion + 1) & mascara;
+            }
+            grupos[posicion] = grupo;
+            valores[posicion] = valor;
+            nulos[posicion] = nulo;
+            ids[posicion] = ++cantidad;
+            if (cantidad * 2 > ids.length) {
+                agrandar();
+            }
+            return cantidad - 1;
+        }
+
+        /**
+         * Duplica la capacidad de la tabla y reubica las claves.
+         */
+        private void agrandar() {
+            int[] gruposAnteriores = grupos;
+            long[] valoresAnteriores = valores;
+            boolean[] nulosAnteriores = nulos;
+            int[] idsAnteriores = ids;
+            reservar(ids.length * 2);
+            int mascara = ids.length - 1;
+            for (int i = 0; i < idsAnteriores.length; i++) {
+                if (idsAnteriores[i] != 0) {
+                    int posicion = hash(gruposAnteriores[i], valoresAnteriores[i], nulosAnteriores[i]) & mascara;
+                    while (ids[posicion] != 0) {
+                        posicion = (posicion + 1) & mascara;
+                    }
+                    grupos[posicion] = gruposAnteriores[i];
+                    valores[posicion] = valoresAnteriores[i];
+                    nulos[posicion] = nulosAnteriores[i];
+                    ids[posicion] = idsAnteriores[i];
+                }
+            }
+        }
+
+        /**
+         * Calcula el hash de una clave mezclando sus bits.
+         *
+         * @param grupo Grupo previo.
+         * @param valor Valor de la columna.
+         * @param nulo Si el valor es NA.
+         * @return Hash de la clave.
+         */
+        private static int hash(int grupo, long valor, boolean nulo) {
+            long h = (nulo ? 0x5DEECE66DL : valor) * 0x9E3779B97F4A7C15L + grupo;
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            return (int) h;
+        }
+
+        /**
+         * Devuelve la cantidad de claves distintas.
+         *
+         * @return Cantidad de claves.
+         */
+        int size() {
+            return cantidad;
+        }
+    }
+}
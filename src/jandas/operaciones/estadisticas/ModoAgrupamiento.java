@@ -0,0 +1,23 @@
+package jandas.operaciones.estadisticas;
+
+/**
+ * Enum que representa la forma en que {@link AgruparTabla} recorre las filas de la tabla.
+ * <p>
+ * Ambos modos producen exactamente la misma tabla: las filas se procesan en bloques de
+ * tamaño fijo cuyos resultados parciales se combinan siempre en el mismo orden.
+ * El modo se elige en cada llamada o para todas con {@link AgruparTabla#setModoPorDefecto(ModoAgrupamiento)}.
+ * </p>
+ */
+public enum ModoAgrupamiento {
+    /**
+     * Los bloques se procesan uno tras otro en el hilo actual. Es el modo por defecto.
+     */
+    SECUENCIAL,
+
+    /**
+     * Los bloques se reparten entre los hilos del {@link java.util.concurrent.ForkJoinPool#commonPool() pool común}:
+     * cada bloque agrupa sus filas con una tabla hash propia y calcula agregados parciales,
+     * que luego se combinan (la varianza, con la fórmula de Welford para grupos paralelos).
+     */
+    PARALELO
+}
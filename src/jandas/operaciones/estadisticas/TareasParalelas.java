@@ -0,0 +1,79 @@
+package jandas.operaciones.estadisticas;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Ejecución de tareas independientes numeradas, en orden en el hilo actual o repartidas
+ * en el {@link ForkJoinPool#commonPool() pool común} de fork-join.
+ */
+final class TareasParalelas {
+
+    /**
+     * Constructor privado: clase de utilidades.
+     */
+    private TareasParalelas() {
+    }
+
+    /**
+     * Ejecuta la tarea para cada número de {@code 0} a {@code cantidad - 1} y espera a que terminen todas.
+     *
+     * @param cantidad Cantidad de tareas.
+     * @param paralelo Si las tareas se reparten entre los hilos del pool común.
+     * @param tarea Tarea a ejecutar con cada número.
+     */
+    static void paraCada(int cantidad, boolean paralelo, IntConsumer tarea) {
+        if (!paralelo || cantidad <= 1) {
+            for (int i = 0; i < cantidad; i++) {
+                tarea.accept(i);
+            }
+        } else {
+            ForkJoinPool.commonPool().invoke(new Rango(0, cantidad, tarea));
+        }
+    }
+
+    /**
+     * Tarea de fork-join que divide un rango de números a la mitad hasta llegar a uno solo.
+     */
+    private static final class Rango extends RecursiveAction {
+
+        /** Versión de serialización; las tareas nunca se serializan. */
+        private static final long serialVersionUID = 1L;
+
+        /** Primer número del rango. */
+        private final int desde;
+
+        /** Número siguiente al último del rango. */
+        private final int hasta;
+
+        /** Tarea a ejecutar con cada número. */
+        private final transient IntConsumer tarea;
+
+        /**
+         * Crea la tarea para un rango.
+         *
+         * @param desde Primer número del rango.
+         * @param hasta Número siguiente al último del rango.
+         * @param tarea Tarea a ejecutar con cada número.
+         */
+        Rango(int desde, int hasta, IntConsumer tarea) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.tarea = tarea;
+        }
+
+        /**
+         * Ejecuta el rango, dividiéndolo si tiene más de un número.
+         */
+        @Override
+        protected void compute() {
+            if (hasta - desde == 1) {
+                tarea.accept(desde);
+            } else {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new Rango(desde, medio, tarea), new Rango(medio, hasta, tarea));
+            }
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package jandas.operaciones.filtros;
 
+import jandas.base.data.Celda;
+import jandas.base.data.Columna;
 import jandas.base.data.Fila;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.Etiqueta;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Interfaz funcional que representa una condición booleana que puede ser evaluada
@@ -14,6 +21,11 @@ import jandas.base.data.Fila;
  * lógicos {@code and}, {@code or} y {@code not}, retornando nuevas condiciones
  * compuestas.
  * </p>
+ * <p>
+ * Para filtrar tablas completas las condiciones se compilan con {@link #compilar(Tabla)}.
+ * Las condiciones de la biblioteca se evalúan columna a columna; las implementaciones
+ * propias (por ejemplo, lambdas) siguen funcionando evaluando fila por fila.
+ * </p>
  */
 public interface Condicion {
 
@@ -25,6 +37,59 @@ public interface Condicion {
      */
     boolean evaluar(Fila fila);
 
+    /**
+     * Compila la condición contra el esquema de una tabla.
+     * <p>
+     * La implementación por defecto evalúa {@link #evaluar(Fila)} fila por fila, por lo que
+     * cualquier condición propia puede usarse para filtrar. Cuando se evalúa con filas
+     * candidatas, solo se construyen y evalúan esas filas, igual que el cortocircuito de
+     * {@code and} y {@code or} al evaluar una {@link Fila}.
+     * </p>
+     *
+     * @param tabla Tabla sobre la que se evaluará la condición
+     * @return Condición compilada para la tabla
+     */
+    default CondicionCompilada compilar(Tabla tabla) {
+        return new CondicionCompilada() {
+            /**
+             * Evalúa la condición sobre todas las filas de la tabla.
+             *
+             * @return Selección con las filas que cumplen la condición
+             */
+            @Override
+            public Seleccion evaluar() {
+                return evaluar(null);
+            }
+
+            /**
+             * Evalúa la condición fila por fila, solo sobre las filas candidatas.
+             *
+             * @param candidatas Filas a evaluar, o {@code null} para evaluar todas
+             * @return Selección con las filas candidatas que cumplen la condición
+             */
+            @Override
+            public Seleccion evaluar(Seleccion candidatas) {
+                List<Etiqueta> etiquetasFilas = tabla.etiquetasFilasVista();
+                List<Etiqueta> etiquetasColumnas = tabla.etiquetasColumnasVista();
+                List<Columna<?>> columnas = tabla.columnasVista();
+                Seleccion seleccion = new Seleccion(tabla.cantFilas());
+                for (int i = 0; i < tabla.cantFilas(); i++) {
+                    if (candidatas != null && !candidatas.get(i)) {
+                        continue;
+                    }
+                    List<Celda<?>> celdas = new ArrayList<>(columnas.size());
+                    for (Columna<?> columna : columnas) {
+                        celdas.add(columna.getCelda(i));
+                    }
+                    if (Condicion.this.evaluar(new Fila(etiquetasFilas.get(i), celdas, etiquetasColumnas))) {
+                        seleccion.marcar(i);
+                    }
+                }
+                return seleccion;
+            }
+        };
+    }
+
     /**
      * Devuelve una condición que representa la conjunción lógica ("AND") entre dos condiciones.
      * La condición resultante se cumple solo si ambas condiciones originales se cumplen.
@@ -1,6 +1,7 @@
 package jandas.operaciones.filtros;
 
 import jandas.base.data.Fila;
+import jandas.base.data.Tabla;
 import jandas.excepciones.JandasException;
 
 /**
@@ -44,7 +45,57 @@ public class CondicionAnd implements Condicion {
     public boolean evaluar(Fila fila) {
         return cond1.evaluar(fila) && cond2.evaluar(fila);
     }
-}
 
+    /**
+     * Compila ambas condiciones y combina sus selecciones mediante la intersección de bits.
+     * <p>
+     * La segunda condición se evalúa solo sobre las filas que cumplen la primera, y los grupos
+     * de filas que alguna de las dos descarta por sus estadísticas no se leen.
+     * </p>
+     *
+     * @param tabla Tabla sobre la que se evaluará la condición
+     * @return Condición compilada para la tabla
+     */
+    @Override
+    public CondicionCompilada compilar(Tabla tabla) {
+        CondicionCompilada compilada1 = cond1.compilar(tabla);
+        CondicionCompilada compilada2 = cond2.compilar(tabla);
+        return new CondicionCompilada() {
+            /**
+             * Evalúa la condición sobre las filas que las estadísticas no descartan.
+             *
+             * @return Selección con las filas que cumplen la condición
+             */
+            @Override
+            public Seleccion evaluar() {
+                return evaluar(candidatas());
+            }
 
+            /**
+             * Evalúa la condición solo sobre las filas candidatas.
+             *
+             * @param candidatas Filas a evaluar, o {@code null} para evaluar todas
+             * @return Selección con las filas candidatas que cumplen la condición
+             */
+            @Override
+            public Seleccion evaluar(Seleccion candidatas) {
+                return compilada2.evaluar(compilada1.evaluar(candidatas));
+            }
 
+            /**
+             * Combina las filas candidatas de ambas condiciones mediante la intersección.
+             *
+             * @return Filas que podrían cumplir la condición, o {@code null} si no se puede descartar ninguna
+             */
+            @Override
+            public Seleccion candidatas() {
+                Seleccion candidatas1 = compilada1.candidatas();
+                Seleccion candidatas2 = compilada2.candidatas();
+                if (candidatas1 == null || candidatas2 == null) {
+                    return candidatas1 == null ? candidatas2 : candidatas1;
+                }
+                return candidatas1.copiar().and(candidatas2);
+            }
+        };
+    }
+}
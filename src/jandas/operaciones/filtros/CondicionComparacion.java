@@ -1,11 +1,22 @@
 package jandas.operaciones.filtros;
 
 import jandas.base.data.Celda;
+import jandas.base.data.CeldaDiccionario;
+import jandas.base.data.Columna;
+import jandas.base.data.ColumnaDiccionario;
+import jandas.base.data.ColumnaDouble;
+import jandas.base.data.ColumnaInt;
+import jandas.base.data.ColumnaLong;
+import jandas.base.data.Diccionario;
+import jandas.base.data.EstadisticasGrupos;
 import jandas.base.data.Fila;
+import jandas.base.data.Tabla;
 import jandas.base.etiquetas.Etiqueta;
 import jandas.excepciones.JandasException;
 
 import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
 
 /**
  * Implementa la interfaz {@link Condicion} para evaluar una comparación
@@ -70,6 +81,10 @@ public class CondicionComparacion implements Condicion {
         Celda<?> celda = fila.getCeldasFila().get(indiceColumna);
         if (celda.esNA()) return false;
 
+        if (operador.equals("=") && celda instanceof CeldaDiccionario && valor instanceof String) {
+            return compararCodigo((CeldaDiccionario) celda);
+        }
+
         Comparable<Object> valorCelda = (Comparable<Object>) celda.getValor();
         Comparable<Object> valorComparar = (Comparable<Object>) valor;
 
@@ -82,6 +97,322 @@ public class CondicionComparacion implements Condicion {
             default: throw new JandasException("Operador no válido: " + operador);
         }
     }
-}
 
+    /**
+     * Evalúa la igualdad sobre una celda codificada comparando códigos enteros.
+     * <p>
+     * El código del valor buscado se busca en el diccionario de la celda en cada llamada,
+     * porque el diccionario crece al modificar la columna y un valor ausente puede agregarse
+     * después. Al filtrar una tabla, {@link #compilar} resuelve los códigos una vez por pasada.
+     * </p>
+     *
+     * @param celda Celda codificada a evaluar
+     * @return {@code true} si la celda contiene el valor buscado
+     */
+    private boolean compararCodigo(CeldaDiccionario celda) {
+        int codigo = celda.getDiccionario().buscarCodigo((String) valor);
+        return codigo != -1 && celda.getCodigo() == codigo;
+    }
+
+    /**
+     * Compila la comparación contra el esquema de la tabla.
+     * <p>
+     * La columna y el operador se resuelven una sola vez. Según el almacenamiento de la
+     * columna se comparan directamente enteros, decimales o códigos de diccionario;
+     * en los demás casos se comparan los valores con {@link Comparable}.
+     * Las celdas NA nunca cumplen la condición.
+     * </p>
+     * <p>
+     * Si la columna conoce sus estadísticas por grupos de filas
+     * ({@link Columna#getEstadisticasGrupos()}), los grupos cuyo mínimo y máximo no pueden
+     * cumplir la comparación no se leen; si no queda ninguno, la columna ni siquiera se carga.
+     * </p>
+     *
+     * @param tabla Tabla sobre la que se evaluará la condición
+     * @return Condición compilada para la tabla
+     * @throws JandasException si la columna no se encuentra o el operador no es válido
+     */
+    @Override
+    public CondicionCompilada compilar(Tabla tabla) {
+        int indiceColumna = -1;
+        List<Etiqueta> etiquetasColumnas = tabla.etiquetasColumnasVista();
+        for (int i = 0; i < etiquetasColumnas.size(); i++) {
+            if (etiquetasColumnas.get(i).getValor().toString().equals(nombreColumna)) {
+                indiceColumna = i;
+                break;
+            }
+        }
+
+        if (indiceColumna == -1) {
+            throw new JandasException("Columna no encontrada: " + nombreColumna);
+        }
+
+        Columna<?> original = tabla.getColumna(indiceColumna);
+        IntPredicate criterio = crearCriterio();
+        int filas = original.size();
+        Seleccion candidatas = candidatas(original.getEstadisticasGrupos(), criterio, filas);
+        if (candidatas != null && candidatas.contar() == 0) {
+            return new ComparacionCompilada(filas, candidatas, () -> (desde, hasta, seleccion) -> { });
+        }
+
+        Columna<?> columna = original.materializar();
+        if (columna instanceof ColumnaDiccionario && valor instanceof String) {
+            return new ComparacionCompilada(filas, candidatas, () -> recorrerCodigos((ColumnaDiccionario) columna, criterio));
+        }
+        if (columna instanceof ColumnaInt && valor instanceof Integer) {
+            int referencia = (Integer) valor;
+            return new ComparacionCompilada(filas, candidatas, () -> (desde, hasta, seleccion) -> {
+                for (int i = desde; i < hasta; i++) {
+                    if (!columna.isNA(i) && criterio.test(Integer.compare(columna.getInt(i), referencia))) {
+                        seleccion.marcar(i);
+                    }
+                }
+            });
+        }
+        if (columna instanceof ColumnaLong && valor instanceof Long) {
+            long referencia = (Long) valor;
+            return new ComparacionCompilada(filas, candidatas, () -> (desde, hasta, seleccion) -> {
+                for (int i = desde; i < hasta; i++) {
+                    if (!columna.isNA(i) && criterio.test(Long.compare(columna.getLong(i), referencia))) {
+                        seleccion.marcar(i);
+                    }
+                }
+            });
+        }
+        if (columna instanceof ColumnaDouble && valor instanceof Double) {
+            double referencia = (Double) valor;
+            return new ComparacionCompilada(filas, candidatas, () -> (desde, hasta, seleccion) -> {
+                for (int i = desde; i < hasta; i++) {
+                    if (!columna.isNA(i) && criterio.test(Double.compare(columna.getDouble(i), referencia))) {
+                        seleccion.marcar(i);
+                    }
+                }
+            });
+        }
+        return new ComparacionCompilada(filas, candidatas, () -> recorrerValores(columna, criterio));
+    }
+
+    /**
+     * Calcula las filas que pueden cumplir la comparación según las estadísticas por grupos
+     * de la columna: un grupo se descarta si no tiene valores o si ningún valor entre su mínimo
+     * y su máximo cumple el operador.
+     *
+     * @param estadisticas Estadísticas de la columna, o null si no se conocen
+     * @param criterio Predicado del operador
+     * @param filas Cantidad de filas de la columna
+     * @return Filas de los grupos que no se pueden descartar, o null si no hay estadísticas
+     */
+    private Seleccion candidatas(EstadisticasGrupos estadisticas, IntPredicate criterio, int filas) {
+        if (estadisticas == null || valor == null || estadisticas.getFilas() != filas) {
+            return null;
+        }
+        Seleccion candidatas = new Seleccion(filas);
+        for (int grupo = 0; grupo < estadisticas.cantidadGrupos(); grupo++) {
+            if (puedeCumplir(estadisticas, grupo, criterio)) {
+                candidatas.marcarRango(estadisticas.inicioGrupo(grupo), estadisticas.finGrupo(grupo));
+            }
+        }
+        return candidatas;
+    }
+
+    /**
+     * Indica si algún valor de un grupo podría cumplir la comparación.
+     * <p>
+     * Los valores del grupo comparados con el valor buscado dan resultados entre el signo de
+     * comparar el mínimo y el de comparar el máximo; el grupo se conserva si el operador acepta
+     * alguno de ellos. Si el mínimo o el máximo no se conocen o son de otro tipo que el valor
+     * buscado, el grupo se conserva.
+     * </p>
+     *
+     * @param estadisticas Estadísticas de la columna
+     * @param grupo Posición del grupo
+     * @param criterio Predicado del operador
+     * @return {@code false} solo si ninguna fila del grupo puede cumplir la comparación
+     */
+    @SuppressWarnings("unchecked")
+    private boolean puedeCumplir(EstadisticasGrupos estadisticas, int grupo, IntPredicate criterio) {
+        if (estadisticas.getCantidadNA(grupo) == estadisticas.finGrupo(grupo) - estadisticas.inicioGrupo(grupo)) {
+            return false;
+        }
+        Object minimo = estadisticas.getMinimo(grupo);
+        Object maximo = estadisticas.getMaximo(grupo);
+        if (minimo == null || maximo == null
+                || minimo.getClass() != valor.getClass() || maximo.getClass() != valor.getClass()) {
+            return true;
+        }
+        int desde = Integer.signum(((Comparable<Object>) minimo).compareTo(valor));
+        int hasta = Integer.signum(((Comparable<Object>) maximo).compareTo(valor));
+        for (int comparacion = desde; comparacion <= hasta; comparacion++) {
+            if (criterio.test(comparacion)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Traduce el operador a un predicado sobre el resultado de una comparación.
+     *
+     * @return Predicado que recibe el resultado de {@code compareTo}
+     * @throws JandasException si el operador no es válido
+     */
+    private IntPredicate crearCriterio() {
+        switch (operador) {
+            case ">": return comparacion -> comparacion > 0;
+            case "<": return comparacion -> comparacion < 0;
+            case "=": return comparacion -> comparacion == 0;
+            case ">=": return comparacion -> comparacion >= 0;
+            case "<=": return comparacion -> comparacion <= 0;
+            default: throw new JandasException("Operador no válido: " + operador);
+        }
+    }
 
+    /**
+     * Prepara la evaluación sobre una columna codificada.
+     * <p>
+     * La comparación se calcula una vez por valor distinto del diccionario
+     * y luego cada fila solo consulta el resultado de su código.
+     * </p>
+     *
+     * @param columna Columna codificada
+     * @param criterio Predicado del operador
+     * @return Recorrido que marca las filas que cumplen la condición
+     */
+    private RecorridoFilas recorrerCodigos(ColumnaDiccionario columna, IntPredicate criterio) {
+        Diccionario diccionario = columna.getDiccionario();
+        boolean[] cumplePorCodigo = new boolean[diccionario.size()];
+        for (int codigo = 0; codigo < cumplePorCodigo.length; codigo++) {
+            cumplePorCodigo[codigo] = criterio.test(diccionario.getValor(codigo).compareTo((String) valor));
+        }
+        return (desde, hasta, seleccion) -> {
+            for (int i = desde; i < hasta; i++) {
+                int codigo = columna.getCodigo(i);
+                if (codigo != -1 && cumplePorCodigo[codigo]) {
+                    seleccion.marcar(i);
+                }
+            }
+        };
+    }
+
+    /**
+     * Prepara la evaluación comparando los valores de la columna con {@link Comparable}.
+     *
+     * @param columna Columna a evaluar
+     * @param criterio Predicado del operador
+     * @return Recorrido que marca las filas que cumplen la condición
+     */
+    @SuppressWarnings("unchecked")
+    private RecorridoFilas recorrerValores(Columna<?> columna, IntPredicate criterio) {
+        Comparable<Object> valorComparar = (Comparable<Object>) valor;
+        return (desde, hasta, seleccion) -> {
+            for (int i = desde; i < hasta; i++) {
+                if (columna.isNA(i)) continue;
+                Comparable<Object> valorCelda = (Comparable<Object>) columna.getCelda(i).getValor();
+                if (criterio.test(valorCelda.compareTo(valorComparar))) {
+                    seleccion.marcar(i);
+                }
+            }
+        };
+    }
+
+    /**
+     * Marca, dentro de un rango de filas, las que cumplen la condición.
+     */
+    @FunctionalInterface
+    private interface RecorridoFilas {
+
+        /**
+         * Evalúa las filas de un rango y marca las que cumplen la condición.
+         *
+         * @param desde Primera fila del rango (inclusive)
+         * @param hasta Última fila del rango (exclusive)
+         * @param seleccion Selección donde marcar las filas
+         */
+        void recorrer(int desde, int hasta, Seleccion seleccion);
+    }
+
+    /**
+     * Comparación compilada que recorre solo los grupos de filas que sus estadísticas
+     * no descartan, y dentro de ellos solo las palabras de 64 filas con candidatas.
+     */
+    private static final class ComparacionCompilada implements CondicionCompilada {
+
+        /** Cantidad de filas de la columna */
+        private final int filas;
+
+        /** Filas que las estadísticas no descartan, o null si no hay estadísticas */
+        private final Seleccion candidatas;
+
+        /** Prepara el recorrido de la columna en cada evaluación */
+        private final Supplier<RecorridoFilas> preparar;
+
+        /**
+         * Crea la comparación compilada.
+         *
+         * @param filas Cantidad de filas de la columna
+         * @param candidatas Filas que las estadísticas no descartan, o null si no hay estadísticas
+         * @param preparar Prepara el recorrido de la columna en cada evaluación
+         */
+        ComparacionCompilada(int filas, Seleccion candidatas, Supplier<RecorridoFilas> preparar) {
+            this.filas = filas;
+            this.candidatas = candidatas;
+            this.preparar = preparar;
+        }
+
+        /**
+         * Evalúa la comparación sobre las filas que las estadísticas no descartan.
+         *
+         * @return Selección con las filas que cumplen la condición
+         */
+        @Override
+        public Seleccion evaluar() {
+            return evaluar(null);
+        }
+
+        /**
+         * Evalúa la comparación solo sobre las filas candidatas que las estadísticas no descartan.
+         * Las palabras de 64 filas sin ninguna candidata no se leen.
+         *
+         * @param externas Filas a evaluar, o {@code null} para evaluar todas
+         * @return Selección con las filas candidatas que cumplen la condición
+         */
+        @Override
+        public Seleccion evaluar(Seleccion externas) {
+            Seleccion efectivas = externas == null ? candidatas
+                    : candidatas == null ? externas : candidatas.copiar().and(externas);
+            Seleccion seleccion = new Seleccion(filas);
+            if (efectivas == null) {
+                preparar.get().recorrer(0, filas, seleccion);
+                return seleccion;
+            }
+            if (efectivas.contar() == 0) {
+                return seleccion;
+            }
+            RecorridoFilas recorrido = preparar.get();
+            int palabras = efectivas.cantidadPalabras();
+            int p = 0;
+            while (p < palabras) {
+                if (efectivas.palabra(p) == 0) {
+                    p++;
+                    continue;
+                }
+                int inicio = p;
+                while (p < palabras && efectivas.palabra(p) != 0) {
+                    p++;
+                }
+                recorrido.recorrer(inicio << 6, Math.min(p << 6, filas), seleccion);
+            }
+            return seleccion.and(efectivas);
+        }
+
+        /**
+         * Devuelve las filas que las estadísticas no descartan.
+         *
+         * @return Filas candidatas, o {@code null} si no hay estadísticas
+         */
+        @Override
+        public Seleccion candidatas() {
+            return candidatas;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package jandas.operaciones.filtros;
+
+/**
+ * Condición ya resuelta contra el esquema de una tabla concreta.
+ * <p>
+ * Se obtiene mediante {@link Condicion#compilar(jandas.base.data.Tabla)}: la búsqueda de
+ * columnas y la elección de la comparación según el tipo de almacenamiento se hacen una
+ * sola vez, y la evaluación recorre cada columna completa en lugar de construir una
+ * {@link jandas.base.data.Fila} por fila.
+ * </p>
+ */
+@FunctionalInterface
+public interface CondicionCompilada {
+
+    /**
+     * Evalúa la condición sobre todas las filas de la tabla para la que fue compilada.
+     *
+     * @return Selección con las filas que cumplen la condición
+     */
+    Seleccion evaluar();
+
+    /**
+     * Evalúa la condición solo sobre las filas candidatas. Las filas que no son candidatas
+     * nunca quedan seleccionadas, y las implementaciones pueden omitir leerlas.
+     * <p>
+     * La implementación por defecto evalúa todas las filas y descarta las que no son candidatas;
+     * la compilación por defecto de {@link Condicion}, que evalúa fila por fila, la redefine para
+     * no evaluar las filas que no son candidatas.
+     * </p>
+     *
+     * @param candidatas Filas a evaluar, o {@code null} para evaluar todas
+     * @return Selección con las filas candidatas que cumplen la condición
+     */
+    default Seleccion evaluar(Seleccion candidatas) {
+        Seleccion seleccion = evaluar();
+        return candidatas == null ? seleccion : seleccion.and(candidatas);
+    }
+
+    /**
+     * Devuelve las filas que podrían cumplir la condición según las estadísticas por grupos de
+     * filas de las columnas ({@link jandas.base.data.EstadisticasGrupos}), sin leer sus valores.
+     * La selección devuelta no debe modificarse.
+     *
+     * @return Filas que podrían cumplir la condición, o {@code null} si no se puede descartar ninguna
+     */
+    default Seleccion candidatas() {
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package jandas.operaciones.filtros;
 
 import jandas.base.data.Fila;
+import jandas.base.data.Tabla;
 import jandas.excepciones.JandasException;
 
 /**
@@ -43,7 +44,39 @@ public class CondicionNot implements Condicion {
     public boolean evaluar(Fila fila) {
         return !condicion.evaluar(fila);
     }
-}
-
 
+    /**
+     * Compila la condición contenida e invierte su selección bit a bit.
+     *
+     * @param tabla Tabla sobre la que se evaluará la condición
+     * @return Condición compilada para la tabla
+     */
+    @Override
+    public CondicionCompilada compilar(Tabla tabla) {
+        CondicionCompilada compilada = condicion.compilar(tabla);
+        return new CondicionCompilada() {
+            /**
+             * Evalúa la condición sobre todas las filas de la tabla.
+             *
+             * @return Selección con las filas que cumplen la condición
+             */
+            @Override
+            public Seleccion evaluar() {
+                return compilada.evaluar().negar();
+            }
 
+            /**
+             * Evalúa la condición contenida solo sobre las filas candidatas e invierte su selección
+             * dentro de ellas.
+             *
+             * @param candidatas Filas a evaluar, o {@code null} para evaluar todas
+             * @return Selección con las filas candidatas que cumplen la condición
+             */
+            @Override
+            public Seleccion evaluar(Seleccion candidatas) {
+                Seleccion seleccion = compilada.evaluar(candidatas).negar();
+                return candidatas == null ? seleccion : seleccion.and(candidatas);
+            }
+        };
+    }
+}
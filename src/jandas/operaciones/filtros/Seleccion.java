@@ -0,0 +1,231 @@
+package jandas.operaciones.filtros;
+
+import jandas.excepciones.JandasException;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de bits que indica qué filas de una tabla cumplen una condición.
+ * <p>
+ * Es el resultado de evaluar una {@link CondicionCompilada}: cada bit corresponde a una
+ * fila en el orden de la tabla. Las condiciones compuestas ({@code AND}, {@code OR},
+ * {@code NOT}) se resuelven con operaciones a nivel de bits sobre palabras de 64 filas.
+ * </p>
+ */
+public class Seleccion {
+
+    /** Bits de la selección, 64 filas por palabra */
+    private final long[] bits;
+
+    /** Cantidad de filas representadas */
+    private final int cantidad;
+
+    /**
+     * Crea una selección vacía (ninguna fila seleccionada).
+     *
+     * @param cantidad Cantidad de filas representadas
+     * @throws JandasException si la cantidad es negativa
+     */
+    public Seleccion(int cantidad) {
+        if (cantidad < 0) {
+            throw new JandasException("La cantidad de filas no puede ser negativa: " + cantidad);
+        }
+        this.cantidad = cantidad;
+        this.bits = new long[(cantidad + 63) >>> 6];
+    }
+
+    /**
+     * Crea una selección con todas las filas seleccionadas.
+     *
+     * @param cantidad Cantidad de filas representadas
+     * @return Selección completa
+     */
+    public static Seleccion todas(int cantidad) {
+        Seleccion seleccion = new Seleccion(cantidad);
+        Arrays.fill(seleccion.bits, -1L);
+        seleccion.limpiarExcedente();
+        return seleccion;
+    }
+
+    /**
+     * Devuelve la cantidad de filas representadas.
+     *
+     * @return Cantidad de filas
+     */
+    public int cantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Indica si una fila está seleccionada.
+     *
+     * @param indice Posición de la fila
+     * @return {@code true} si la fila está seleccionada
+     */
+    public boolean get(int indice) {
+        return (bits[indice >>> 6] & (1L << indice)) != 0;
+    }
+
+    /**
+     * Marca una fila como seleccionada.
+     *
+     * @param indice Posición de la fila
+     */
+    public void marcar(int indice) {
+        bits[indice >>> 6] |= 1L << indice;
+    }
+
+    /**
+     * Marca como seleccionadas todas las filas de un rango.
+     *
+     * @param desde Primera fila del rango (inclusive)
+     * @param hasta Última fila del rango (exclusive)
+     * @throws JandasException si el rango no está dentro de las filas representadas
+     */
+    public void marcarRango(int desde, int hasta) {
+        if (desde < 0 || hasta > cantidad || desde > hasta) {
+            throw new JandasException(String.format("Rango de filas inválido: [%d, %d) de %d", desde, hasta, cantidad));
+        }
+        if (desde == hasta) {
+            return;
+        }
+        int primera = desde >>> 6;
+        int ultima = (hasta - 1) >>> 6;
+        long mascaraInicial = -1L << desde;
+        long mascaraFinal = -1L >>> (63 - ((hasta - 1) & 63));
+        if (primera == ultima) {
+            bits[primera] |= mascaraInicial & mascaraFinal;
+            return;
+        }
+        bits[primera] |= mascaraInicial;
+        Arrays.fill(bits, primera + 1, ultima, -1L);
+        bits[ultima] |= mascaraFinal;
+    }
+
+    /**
+     * Devuelve una copia independiente de esta selección.
+     *
+     * @return Nueva selección con las mismas filas seleccionadas
+     */
+    public Seleccion copiar() {
+        Seleccion copia = new Seleccion(cantidad);
+        System.arraycopy(bits, 0, copia.bits, 0, bits.length);
+        return copia;
+    }
+
+    /**
+     * Devuelve la cantidad de palabras de 64 filas de la selección.
+     *
+     * @return Cantidad de palabras
+     */
+    int cantidadPalabras() {
+        return bits.length;
+    }
+
+    /**
+     * Devuelve los bits de las filas {@code 64 * indice} a {@code 64 * indice + 63}.
+     *
+     * @param indice Posición de la palabra
+     * @return Palabra de la selección
+     */
+    long palabra(int indice) {
+        return bits[indice];
+    }
+
+    /**
+     * Conserva solo las filas seleccionadas en ambas selecciones (modifica esta selección).
+     *
+     * @param otra Selección con la que combinar
+     * @return Esta selección
+     * @throws JandasException si las selecciones tienen distinta cantidad de filas
+     */
+    public Seleccion and(Seleccion otra) {
+        validarCantidad(otra);
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] &= otra.bits[i];
+        }
+        return this;
+    }
+
+    /**
+     * Agrega las filas seleccionadas en la otra selección (modifica esta selección).
+     *
+     * @param otra Selección con la que combinar
+     * @return Esta selección
+     * @throws JandasException si las selecciones tienen distinta cantidad de filas
+     */
+    public Seleccion or(Seleccion otra) {
+        validarCantidad(otra);
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] |= otra.bits[i];
+        }
+        return this;
+    }
+
+    /**
+     * Invierte la selección (modifica esta selección).
+     *
+     * @return Esta selección
+     */
+    public Seleccion negar() {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = ~bits[i];
+        }
+        limpiarExcedente();
+        return this;
+    }
+
+    /**
+     * Cuenta las filas seleccionadas.
+     *
+     * @return Cantidad de filas seleccionadas
+     */
+    public int contar() {
+        int total = 0;
+        for (long palabra : bits) {
+            total += Long.bitCount(palabra);
+        }
+        return total;
+    }
+
+    /**
+     * Devuelve las posiciones de las filas seleccionadas en orden creciente.
+     *
+     * @return Arreglo de posiciones seleccionadas
+     */
+    public int[] indices() {
+        int[] indices = new int[contar()];
+        int k = 0;
+        for (int p = 0; p < bits.length; p++) {
+            long palabra = bits[p];
+            while (palabra != 0) {
+                indices[k++] = (p << 6) + Long.numberOfTrailingZeros(palabra);
+                palabra &= palabra - 1;
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Pone en cero los bits de la última palabra que exceden la cantidad de filas.
+     */
+    private void limpiarExcedente() {
+        int resto = cantidad & 63;
+        if (resto != 0) {
+            bits[bits.length - 1] &= (1L << resto) - 1;
+        }
+    }
+
+    /**
+     * Verifica que otra selección represente la misma cantidad de filas.
+     *
+     * @param otra Selección a verificar
+     * @throws JandasException si las cantidades difieren
+     */
+    private void validarCantidad(Seleccion otra) {
+        if (otra.cantidad != cantidad) {
+            throw new JandasException(String.format(
+                    "Las selecciones tienen distinta cantidad de filas: %d y %d", cantidad, otra.cantidad));
+        }
+    }
+}
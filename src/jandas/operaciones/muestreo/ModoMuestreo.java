@@ -0,0 +1,22 @@
+package jandas.operaciones.muestreo;
+
+/**
+ * Enum que representa la forma en que {@link MuestreadorTabla} muestrea los estratos
+ * de un muestreo estratificado.
+ * <p>
+ * Ambos modos producen exactamente la misma muestra: cada estrato usa un generador propio,
+ * derivado en orden del generador de la llamada antes de muestrear.
+ * </p>
+ */
+public enum ModoMuestreo {
+    /**
+     * Los estratos se muestrean uno tras otro en el hilo actual. Es el modo por defecto.
+     */
+    SECUENCIAL,
+
+    /**
+     * Los estratos se reparten entre los hilos del {@link java.util.concurrent.ForkJoinPool#commonPool() pool común}
+     * y cada uno escribe sus filas en su propio tramo del resultado.
+     */
+    PARALELO
+}
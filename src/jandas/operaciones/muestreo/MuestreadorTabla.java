@@ -2,14 +2,18 @@ package jandas.operaciones.muestreo;
 
 import jandas.base.data.Celda;
 import jandas.base.data.Columna;
+import jandas.base.data.ColumnaDiccionario;
 import jandas.base.data.Tabla;
 import jandas.base.etiquetas.Etiqueta;
 import jandas.excepciones.JandasException;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.SplittableRandom;
 import java.util.stream.IntStream;
 
 
@@ -28,15 +32,23 @@ import java.util.stream.IntStream;
  *     <li>Muestreo aleatorio simple por porcentaje.</li>
  *     <li>Muestreo aleatorio simple por cantidad fija de filas.</li>
  *     <li>Muestreo estratificado por una columna específica.</li>
+ *     <li>Muestreo de reservorio sobre lotes, por ejemplo de un CSV leído por partes.</li>
  * </ul>
  *
  * <p>Los métodos respetan los tipos de datos de las columnas y copian
- * las etiquetas de fila correspondientes a las filas seleccionadas.</p>
+ * las etiquetas de fila correspondientes a las filas seleccionadas. Las columnas
+ * resultantes son vistas de selección que comparten el almacenamiento de la
+ * tabla original hasta que alguna de las dos se modifique.</p>
  */
 
 public class MuestreadorTabla {
 
-    private static final Random random = new Random();
+    /**
+     * Generador del que se derivan, con {@link SplittableRandom#split()}, los generadores de las
+     * llamadas sin semilla. Cada llamada usa su propio generador, de modo que las llamadas
+     * concurrentes no comparten estado salvo al derivarlo.
+     */
+    private static SplittableRandom semillero = new SplittableRandom();
 
     /**
      * Devuelve una muestra aleatoria de una tabla, seleccionando un porcentaje
@@ -48,6 +60,33 @@ public class MuestreadorTabla {
      * @throws JandasException si el porcentaje no está en el rango válido
      */
     public static Tabla muestrear(Tabla tabla, int porcentaje) {
+        return muestrearPorcentaje(tabla, porcentaje, nuevoGenerador());
+    }
+
+    /**
+     * Devuelve una muestra aleatoria de un porcentaje de las filas, reproducible a partir
+     * de la semilla indicada e independiente de otras llamadas y de {@link #setSemilla(long)}.
+     *
+     * @param tabla Tabla original de la cual obtener la muestra
+     * @param porcentaje Porcentaje de filas a seleccionar (1-100)
+     * @param semilla Semilla del generador de esta llamada
+     * @return Una nueva tabla que contiene una muestra aleatoria de las filas
+     * @throws JandasException si el porcentaje no está en el rango válido
+     */
+    public static Tabla muestrear(Tabla tabla, int porcentaje, long semilla) {
+        return muestrearPorcentaje(tabla, porcentaje, new SplittableRandom(semilla));
+    }
+
+    /**
+     * Muestrea un porcentaje de las filas con el generador indicado.
+     *
+     * @param tabla Tabla original de la cual obtener la muestra
+     * @param porcentaje Porcentaje de filas a seleccionar (1-100)
+     * @param generador Generador de esta llamada
+     * @return Una nueva tabla que contiene una muestra aleatoria de las filas
+     * @throws JandasException si el porcentaje no está en el rango válido
+     */
+    private static Tabla muestrearPorcentaje(Tabla tabla, int porcentaje, SplittableRandom generador) {
         if (porcentaje < 1 || porcentaje > 100) {
             throw new JandasException("El porcentaje debe estar entre 1 y 100");
         }
@@ -66,7 +105,7 @@ public class MuestreadorTabla {
         }
 
         // Generar índices aleatorios únicos
-        List<Integer> indicesAleatorios = generarIndicesAleatorios(totalFilas, filasAMuestrear);
+        int[] indicesAleatorios = generarIndicesAleatorios(totalFilas, filasAMuestrear, generador);
 
         // Crear nueva tabla con la muestra
         return crearTablaMuestreada(tabla, indicesAleatorios);
@@ -82,6 +121,34 @@ public class MuestreadorTabla {
      * @throws JandasException si la cantidad es negativa
      */
     public static Tabla muestrear(Tabla tabla, int cantidadFilas, boolean exacto) {
+        return muestrearCantidad(tabla, cantidadFilas, nuevoGenerador());
+    }
+
+    /**
+     * Devuelve una muestra aleatoria de tamaño fijo, reproducible a partir de la semilla
+     * indicada e independiente de otras llamadas y de {@link #setSemilla(long)}.
+     *
+     * @param tabla Tabla original
+     * @param cantidadFilas Número de filas a seleccionar
+     * @param exacto (parámetro ignorado en esta implementación)
+     * @param semilla Semilla del generador de esta llamada
+     * @return Nueva tabla con una muestra de tamaño fijo
+     * @throws JandasException si la cantidad es negativa
+     */
+    public static Tabla muestrear(Tabla tabla, int cantidadFilas, boolean exacto, long semilla) {
+        return muestrearCantidad(tabla, cantidadFilas, new SplittableRandom(semilla));
+    }
+
+    /**
+     * Muestrea una cantidad fija de filas con el generador indicado.
+     *
+     * @param tabla Tabla original
+     * @param cantidadFilas Número de filas a seleccionar
+     * @param generador Generador de esta llamada
+     * @return Nueva tabla con una muestra de tamaño fijo
+     * @throws JandasException si la cantidad es negativa
+     */
+    private static Tabla muestrearCantidad(Tabla tabla, int cantidadFilas, SplittableRandom generador) {
         if (cantidadFilas < 0) {
             throw new JandasException("La cantidad de filas debe ser mayor o igual a 0");
         }
@@ -102,7 +169,7 @@ public class MuestreadorTabla {
         }
 
         // Generar índices aleatorios únicos
-        List<Integer> indicesAleatorios = generarIndicesAleatorios(totalFilas, filasAMuestrear);
+        int[] indicesAleatorios = generarIndicesAleatorios(totalFilas, filasAMuestrear, generador);
 
         // Crear nueva tabla con la muestra
         return crearTablaMuestreada(tabla, indicesAleatorios);
@@ -120,206 +187,522 @@ public class MuestreadorTabla {
      * @throws JandasException si el porcentaje está fuera del rango válido
      */
     public static Tabla muestrearEstratificado(Tabla tabla, String nombreColumna, int porcentaje) {
+        return muestrearEstratificado(tabla, nombreColumna, porcentaje, ModoMuestreo.SECUENCIAL);
+    }
+
+    /**
+     * Devuelve una muestra aleatoria estratificada, agrupando por los valores
+     * de una columna especificada, en el modo de ejecución indicado.
+     * <p>
+     * Las filas se reparten en estratos con una tabla hash del valor al número de estrato
+     * (o con los códigos, si la columna está codificada por diccionario), y cada estrato
+     * guarda sus filas en un arreglo primitivo. Cada estrato se muestrea con el algoritmo
+     * de Floyd y su propio generador, derivado en orden con {@link SplittableRandom#split()}
+     * antes de muestrear: por eso ambos modos devuelven la misma muestra para la misma
+     * semilla, con cualquier cantidad de hilos.
+     * </p>
+     *
+     * @param tabla Tabla original
+     * @param nombreColumna Nombre de la columna usada para estratificar
+     * @param porcentaje Porcentaje de cada estrato a incluir (1-100)
+     * @param modo Si los estratos se muestrean uno tras otro o en paralelo
+     * @return Una nueva tabla con la muestra estratificada
+     * @throws JandasException si el porcentaje está fuera del rango válido o el modo es null
+     */
+    public static Tabla muestrearEstratificado(Tabla tabla, String nombreColumna, int porcentaje, ModoMuestreo modo) {
+        return muestrearEstratos(tabla, nombreColumna, porcentaje, modo, nuevoGenerador());
+    }
+
+    /**
+     * Devuelve una muestra aleatoria estratificada, reproducible a partir de la semilla
+     * indicada e independiente de otras llamadas y de {@link #setSemilla(long)}.
+     *
+     * @param tabla Tabla original
+     * @param nombreColumna Nombre de la columna usada para estratificar
+     * @param porcentaje Porcentaje de cada estrato a incluir (1-100)
+     * @param modo Si los estratos se muestrean uno tras otro o en paralelo
+     * @param semilla Semilla del generador de esta llamada
+     * @return Una nueva tabla con la muestra estratificada
+     * @throws JandasException si el porcentaje está fuera del rango válido o el modo es null
+     */
+    public static Tabla muestrearEstratificado(Tabla tabla, String nombreColumna, int porcentaje, ModoMuestreo modo, long semilla) {
+        return muestrearEstratos(tabla, nombreColumna, porcentaje, modo, new SplittableRandom(semilla));
+    }
+
+    /**
+     * Realiza el muestreo estratificado con el generador indicado.
+     *
+     * @param tabla Tabla original
+     * @param nombreColumna Nombre de la columna usada para estratificar
+     * @param porcentaje Porcentaje de cada estrato a incluir (1-100)
+     * @param modo Si los estratos se muestrean uno tras otro o en paralelo
+     * @param generador Generador de esta llamada, del que se derivan los de cada estrato
+     * @return Una nueva tabla con la muestra estratificada
+     * @throws JandasException si el porcentaje está fuera del rango válido o el modo es null
+     */
+    private static Tabla muestrearEstratos(Tabla tabla, String nombreColumna, int porcentaje, ModoMuestreo modo,
+                                           SplittableRandom generador) {
         if (porcentaje < 1 || porcentaje > 100) {
             throw new JandasException("El porcentaje debe estar entre 1 y 100");
         }
+        if (modo == null) {
+            throw new JandasException("El modo de muestreo no puede ser null");
+        }
 
         if (tabla.cantFilas() == 0) {
             return new Tabla();
         }
 
         // Obtener la columna para estratificar
-        Columna<?> columnaEstrato = tabla.getColumna(nombreColumna);
+        Columna<?> columnaEstrato = tabla.getColumna(nombreColumna).materializar();
 
         // Agrupar índices por valor de la columna
-        List<List<Integer>> estratos = agruparPorValor(columnaEstrato);
-
-        // Muestrear cada estrato
-        List<Integer> indicesMuestreados = new ArrayList<>();
-        for (List<Integer> estrato : estratos) {
-            int filasEstrato = Math.max(1, (int) Math.round(estrato.size() * porcentaje / 100.0));
-            List<Integer> indicesEstrato = generarIndicesAleatorios(estrato, filasEstrato);
-            indicesMuestreados.addAll(indicesEstrato);
+        Estratos estratos = agruparPorValor(columnaEstrato);
+        int cantidadEstratos = estratos.cantidad();
+
+        // Cantidad a muestrear, posición en el resultado y generador de cada estrato
+        int[] desde = new int[cantidadEstratos + 1];
+        SplittableRandom[] generadores = new SplittableRandom[cantidadEstratos];
+        for (int e = 0; e < cantidadEstratos; e++) {
+            int cantidad = Math.max(1, (int) Math.round(estratos.tamanio(e) * porcentaje / 100.0));
+            desde[e + 1] = desde[e] + cantidad;
+            generadores[e] = generador.split();
+        }
+
+        // Muestrear cada estrato en su tramo del resultado
+        int[] indicesMuestreados = new int[desde[cantidadEstratos]];
+        IntStream indicesEstratos = IntStream.range(0, cantidadEstratos);
+        if (modo == ModoMuestreo.PARALELO) {
+            indicesEstratos = indicesEstratos.parallel();
         }
+        indicesEstratos.forEach(e -> {
+            int[] posiciones = generarIndicesAleatorios(estratos.tamanio(e), desde[e + 1] - desde[e], generadores[e]);
+            for (int i = 0; i < posiciones.length; i++) {
+                indicesMuestreados[desde[e] + i] = estratos.fila(e, posiciones[i]);
+            }
+        });
 
         // Mezclar los índices finales para evitar agrupación por estrato
-        Collections.shuffle(indicesMuestreados, random);
+        mezclar(indicesMuestreados, indicesMuestreados.length, generador);
 
         return crearTablaMuestreada(tabla, indicesMuestreados);
     }
 
     /**
-     * Establece una semilla fija para el generador de números aleatorios,
-     * permitiendo que los resultados del muestreo sean reproducibles.
+     * Devuelve una muestra aleatoria de tamaño fijo de una secuencia de lotes, sin
+     * cargarlos todos en memoria (muestreo de reservorio).
+     * <p>
+     * Pensado para {@link jandas.io.csv.LotesCsv}: permite muestrear un archivo CSV leyéndolo
+     * una sola vez. Se usa el algoritmo L de Li, que en lugar de sortear cada fila sortea
+     * cuántas filas saltear hasta el próximo reemplazo, por lo que la cantidad de números
+     * aleatorios es proporcional a {@code cantidadFilas * log(total / cantidadFilas)}.
+     * De cada lote se copian solo las filas que entran al reservorio; el lote se descarta
+     * al pasar al siguiente.
+     * </p>
+     * <p>
+     * Todos los lotes deben tener las mismas columnas. La muestra conserva el orden y las
+     * etiquetas de filas originales. Si hay menos filas que las pedidas, se devuelven todas.
+     * </p>
      *
-     * @param semilla Valor de la semilla
+     * @param lotes Lotes de filas a muestrear, que se consumen por completo
+     * @param cantidadFilas Número de filas a seleccionar
+     * @return Nueva tabla con la muestra, o una tabla vacía si no hay filas
+     * @throws JandasException si la cantidad es negativa
      */
-    public static void setSemilla(long semilla) {
-        random.setSeed(semilla);
+    public static Tabla muestrearReservorio(Iterator<Tabla> lotes, int cantidadFilas) {
+        return muestrearLotes(lotes, cantidadFilas, nuevoGenerador());
     }
 
     /**
-     * Genera una lista de índices aleatorios únicos desde un total de filas.
+     * Devuelve una muestra de reservorio de una secuencia de lotes, reproducible a partir
+     * de la semilla indicada e independiente de otras llamadas y de {@link #setSemilla(long)}.
      *
-     * @param totalFilas Cantidad total de filas
-     * @param cantidadAMuestrear Número de índices a generar
-     * @return Lista con índices seleccionados al azar
+     * @param lotes Lotes de filas a muestrear, que se consumen por completo
+     * @param cantidadFilas Número de filas a seleccionar
+     * @param semilla Semilla del generador de esta llamada
+     * @return Nueva tabla con la muestra, o una tabla vacía si no hay filas
+     * @throws JandasException si la cantidad es negativa
+     * @see #muestrearReservorio(Iterator, int)
+     */
+    public static Tabla muestrearReservorio(Iterator<Tabla> lotes, int cantidadFilas, long semilla) {
+        return muestrearLotes(lotes, cantidadFilas, new SplittableRandom(semilla));
+    }
+
+    /**
+     * Realiza el muestreo de reservorio con el generador indicado.
+     *
+     * @param lotes Lotes de filas a muestrear, que se consumen por completo
+     * @param cantidadFilas Número de filas a seleccionar
+     * @param generador Generador de esta llamada
+     * @return Nueva tabla con la muestra, o una tabla vacía si no hay filas
+     * @throws JandasException si la cantidad es negativa
      */
-    private static List<Integer> generarIndicesAleatorios(int totalFilas, int cantidadAMuestrear) {
-        // Crear lista con todos los índices posibles
-        List<Integer> todosLosIndices = IntStream.range(0, totalFilas)
-                .boxed()
-                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    private static Tabla muestrearLotes(Iterator<Tabla> lotes, int cantidadFilas, SplittableRandom generador) {
+        if (cantidadFilas < 0) {
+            throw new JandasException("La cantidad de filas debe ser mayor o igual a 0");
+        }
 
-        // Mezclar la lista y tomar los primeros N elementos
-        Collections.shuffle(todosLosIndices, random);
+        // Cada lugar del reservorio apunta a una fila de una tabla con las filas copiadas de un lote
+        Tabla[] origenes = new Tabla[cantidadFilas];
+        int[] filasOrigen = new int[cantidadFilas];
+        long[] posiciones = new long[cantidadFilas];
+        Tabla modelo = null;
+
+        long leidas = 0;
+        double w = Math.exp(Math.log(aleatorio(generador)) / Math.max(1, cantidadFilas));
+        long proxima = cantidadFilas + salto(w, generador);
+
+        while (lotes.hasNext()) {
+            Tabla lote = lotes.next();
+            int filasLote = lote.cantFilas();
+
+            // Reemplazos de este lote: lugar del reservorio y fila del lote
+            int[] lugares = new int[0];
+            int[] filas = new int[0];
+            int cantidad = 0;
+            for (long global = leidas; global < leidas + filasLote && cantidadFilas > 0; ) {
+                int lugar;
+                if (global < cantidadFilas) {
+                    lugar = (int) global;
+                } else if (global == proxima) {
+                    lugar = generador.nextInt(cantidadFilas);
+                    w *= Math.exp(Math.log(aleatorio(generador)) / cantidadFilas);
+                    proxima += salto(w, generador) + 1;
+                } else {
+                    global = Math.min(proxima, leidas + filasLote);
+                    continue;
+                }
+                if (cantidad == lugares.length) {
+                    lugares = Arrays.copyOf(lugares, Math.max(16, cantidad * 2));
+                    filas = Arrays.copyOf(filas, lugares.length);
+                }
+                lugares[cantidad] = lugar;
+                filas[cantidad] = (int) (global - leidas);
+                posiciones[lugar] = global;
+                cantidad++;
+                global++;
+            }
 
-        return new ArrayList<>(todosLosIndices.subList(0, cantidadAMuestrear));
+            if (cantidad > 0) {
+                Tabla elegidas = copiarFilas(lote, Arrays.copyOf(filas, cantidad));
+                if (modelo == null) {
+                    modelo = elegidas;
+                }
+                for (int i = 0; i < cantidad; i++) {
+                    origenes[lugares[i]] = elegidas;
+                    filasOrigen[lugares[i]] = i;
+                }
+            }
+            leidas += filasLote;
+        }
+
+        if (modelo == null) {
+            return new Tabla();
+        }
+        return armarMuestra(modelo, origenes, filasOrigen, posiciones, (int) Math.min(cantidadFilas, leidas));
     }
 
     /**
-     * Genera una lista de índices aleatorios únicos desde una lista específica.
+     * Devuelve un número aleatorio uniforme en el intervalo (0, 1].
      *
-     * @param indicesDisponibles Lista de índices posibles
-     * @param cantidadAMuestrear Número de índices a generar
-     * @return Sublista aleatoria de los índices disponibles
+     * @param generador Generador de la llamada
+     * @return Número aleatorio distinto de cero
      */
-    private static List<Integer> generarIndicesAleatorios(List<Integer> indicesDisponibles, int cantidadAMuestrear) {
-        List<Integer> copiaIndices = new ArrayList<>(indicesDisponibles);
-        Collections.shuffle(copiaIndices, random);
+    private static double aleatorio(SplittableRandom generador) {
+        return 1.0 - generador.nextDouble();
+    }
 
-        int cantidad = Math.min(cantidadAMuestrear, copiaIndices.size());
-        return new ArrayList<>(copiaIndices.subList(0, cantidad));
+    /**
+     * Sortea cuántas filas saltear hasta el próximo reemplazo del reservorio (algoritmo L).
+     *
+     * @param w Peso actual del algoritmo, en (0, 1]
+     * @param generador Generador de la llamada
+     * @return Cantidad de filas a saltear
+     */
+    private static long salto(double w, SplittableRandom generador) {
+        double salto = Math.floor(Math.log(aleatorio(generador)) / Math.log1p(-w));
+        return salto >= Long.MAX_VALUE / 2 || Double.isNaN(salto) ? Long.MAX_VALUE / 2 : (long) salto;
     }
 
     /**
-     * Agrupa los índices de las filas de una columna según su valor,
-     * generando listas separadas para cada valor único.
+     * Copia las filas indicadas de un lote a una tabla propia, para no retener el lote completo.
      *
-     * @param columna Columna por la cual agrupar
-     * @return Lista de grupos de índices (estratos)
+     * @param lote Lote de origen
+     * @param filas Filas del lote a copiar
+     * @return Nueva tabla con las filas copiadas
      */
-    private static List<List<Integer>> agruparPorValor(Columna<?> columna) {
-        List<List<Integer>> grupos = new ArrayList<>();
-        List<Object> valoresUnicos = new ArrayList<>();
-
-        for (int i = 0; i < columna.size(); i++) {
-            Celda<?> celda = columna.getCelda(i);
-            Object valor = celda.esNA() ? null : celda.getValor();
-
-            // Buscar si ya existe un grupo para este valor
-            int indiceGrupo = -1;
-            for (int j = 0; j < valoresUnicos.size(); j++) {
-                Object valorExistente = valoresUnicos.get(j);
-                if ((valor == null && valorExistente == null) ||
-                        (valor != null && valor.equals(valorExistente))) {
-                    indiceGrupo = j;
-                    break;
-                }
-            }
+    private static Tabla copiarFilas(Tabla lote, int[] filas) {
+        Tabla elegidas = lote.vistaFilas(filas);
+        for (Columna<?> columna : elegidas.columnasVista()) {
+            columna.materializar();
+        }
+        return elegidas;
+    }
 
-            // Si no existe el grupo, crearlo
-            if (indiceGrupo == -1) {
-                valoresUnicos.add(valor);
-                grupos.add(new ArrayList<>());
-                indiceGrupo = grupos.size() - 1;
+    /**
+     * Arma la tabla de la muestra a partir de los lugares del reservorio, en el orden original.
+     *
+     * @param modelo Tabla con las columnas de referencia
+     * @param origenes Tabla de la que proviene cada lugar del reservorio
+     * @param filasOrigen Fila de su tabla de origen de cada lugar
+     * @param posiciones Posición original de la fila de cada lugar
+     * @param cantidad Cantidad de lugares ocupados
+     * @return Tabla con la muestra
+     */
+    @SuppressWarnings("unchecked")
+    private static Tabla armarMuestra(Tabla modelo, Tabla[] origenes, int[] filasOrigen, long[] posiciones, int cantidad) {
+        Integer[] orden = new Integer[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            orden[i] = i;
+        }
+        Arrays.sort(orden, (a, b) -> Long.compare(posiciones[a], posiciones[b]));
+
+        List<Columna<?>> columnas = new ArrayList<>();
+        for (int c = 0; c < modelo.cantColumnas(); c++) {
+            Columna<Object> columna = (Columna<Object>) modelo.getColumna(c).crearVacia(modelo.getColumna(c).getEtiqueta());
+            for (int lugar : orden) {
+                Columna<Object> origen = (Columna<Object>) origenes[lugar].getColumna(c);
+                columna.agregarCelda(new Celda<>(origen.getCelda(filasOrigen[lugar]).getValor()));
             }
+            columnas.add(columna);
+        }
 
-            // Agregar el índice al grupo correspondiente
-            grupos.get(indiceGrupo).add(i);
+        List<Etiqueta> etiquetasFilas = new ArrayList<>(cantidad);
+        for (int lugar : orden) {
+            etiquetasFilas.add(origenes[lugar].etiquetasFilasVista().get(filasOrigen[lugar]));
         }
 
-        return grupos;
+        Tabla muestra = new Tabla(modelo.getEtiquetasColumnas(), columnas);
+        muestra.setEtiquetasFilas(etiquetasFilas);
+        return muestra;
     }
 
     /**
-     * Crea una nueva tabla a partir de una lista de índices seleccionados.
+     * Establece una semilla fija para el generador de números aleatorios,
+     * permitiendo que los resultados del muestreo sean reproducibles.
+     * <p>
+     * Afecta a las llamadas sin semilla propia, cuyo resultado depende del orden en que se
+     * hagan. Para resultados reproducibles con llamadas concurrentes, usar las variantes
+     * que reciben una semilla.
+     * </p>
      *
-     * @param tablaOriginal Tabla fuente
-     * @param indices Índices de filas a incluir
-     * @return Nueva tabla con las filas seleccionadas
+     * @param semilla Valor de la semilla
      */
-    private static Tabla crearTablaMuestreada(Tabla tablaOriginal, List<Integer> indices) {
-        Tabla tablaMuestreada = new Tabla();
-
-        // Copiar columnas con datos seleccionados
-        for (int i = 0; i < tablaOriginal.cantColumnas(); i++) {
-            Columna<?> columnaOriginal = tablaOriginal.getColumna(i);
-            Etiqueta etiquetaColumna = columnaOriginal.getEtiqueta();
-            Class<?> tipo = columnaOriginal.getTipoDato();
-
-            // Crear nueva columna con datos seleccionados
-            List<Object> valoresSeleccionados = new ArrayList<>();
-            for (Integer indice : indices) {
-                Celda<?> celda = columnaOriginal.getCelda(indice);
-                valoresSeleccionados.add(celda.esNA() ? null : celda.getValor());
-            }
+    public static synchronized void setSemilla(long semilla) {
+        semillero = new SplittableRandom(semilla);
+    }
 
-            // Agregar columna usando el método genérico
-            agregarColumnaMuestreada(tablaMuestreada, etiquetaColumna, tipo, valoresSeleccionados);
-        }
+    /**
+     * Deriva el generador de una llamada sin semilla propia.
+     *
+     * @return Generador independiente para una llamada
+     */
+    private static synchronized SplittableRandom nuevoGenerador() {
+        return semillero.split();
+    }
 
-        // Copiar etiquetas de filas seleccionadas
-        if (tablaOriginal.getEtiquetasFilas() != null) {
-            List<Etiqueta> etiquetasFilasSeleccionadas = new ArrayList<>();
-            for (Integer indice : indices) {
-                etiquetasFilasSeleccionadas.add(tablaOriginal.getEtiquetasFilas().get(indice));
+    /**
+     * Genera índices aleatorios únicos desde un total de filas, ordenados de menor a mayor.
+     * <p>
+     * Usa el algoritmo de Floyd: recorre solo las últimas {@code cantidadAMuestrear} posiciones
+     * y, para cada una, sortea un índice entre 0 y esa posición; si el índice ya fue elegido,
+     * elige la posición misma. Cada subconjunto tiene la misma probabilidad, y el costo es
+     * proporcional a la cantidad a muestrear y no al total de filas.
+     * </p>
+     *
+     * @param totalFilas Cantidad total de filas
+     * @param cantidadAMuestrear Número de índices a generar (no mayor que {@code totalFilas})
+     * @param generador Generador de la llamada
+     * @return Arreglo ordenado con índices seleccionados al azar
+     */
+    private static int[] generarIndicesAleatorios(int totalFilas, int cantidadAMuestrear, SplittableRandom generador) {
+        int[] elegidos = new int[cantidadAMuestrear];
+        // Conjunto de direccionamiento abierto, con capacidad para una carga menor a 1/2
+        int[] conjunto = new int[Integer.highestOneBit(Math.max(1, cantidadAMuestrear)) << 2];
+        Arrays.fill(conjunto, -1);
+
+        int cantidad = 0;
+        for (int j = totalFilas - cantidadAMuestrear; j < totalFilas; j++) {
+            int candidato = generador.nextInt(j + 1);
+            if (!agregarSiAusente(conjunto, candidato)) {
+                // j no pudo elegirse antes: solo se sortearon índices menores a j
+                candidato = j;
+                agregarSiAusente(conjunto, candidato);
             }
-            tablaMuestreada.setEtiquetasFilas(etiquetasFilasSeleccionadas);
+            elegidos[cantidad++] = candidato;
         }
 
-        return tablaMuestreada;
+        Arrays.sort(elegidos);
+        return elegidos;
     }
 
     /**
-     * Método auxiliar que agrega una columna a la tabla muestreada,
-     * preservando el tipo de datos original.
+     * Agrega un índice al conjunto de direccionamiento abierto si todavía no está.
      *
-     * @param tabla Tabla destino
-     * @param etiqueta Etiqueta de la columna
-     * @param tipo Tipo de dato (Integer, Double, etc.)
-     * @param valores Valores a insertar
+     * @param conjunto Tabla del conjunto, con -1 en las posiciones libres y tamaño potencia de dos
+     * @param valor Índice a agregar (no negativo)
+     * @return {@code true} si se agregó; {@code false} si ya estaba
      */
-    @SuppressWarnings("unchecked")
-    private static void agregarColumnaMuestreada(Tabla tabla, Etiqueta etiqueta, Class<?> tipo, List<Object> valores) {
-        if (tipo == Integer.class) {
-            List<Integer> valoresInt = new ArrayList<>();
-            for (Object valor : valores) {
-                valoresInt.add((Integer) valor);
+    private static boolean agregarSiAusente(int[] conjunto, int valor) {
+        int mascara = conjunto.length - 1;
+        int hash = valor * 0x9E3779B9;
+        int posicion = (hash ^ (hash >>> 16)) & mascara;
+        while (conjunto[posicion] != -1) {
+            if (conjunto[posicion] == valor) {
+                return false;
             }
-            tabla.agregarColumna(etiqueta, Integer.class, valoresInt);
-        } else if (tipo == Double.class) {
-            List<Double> valoresDouble = new ArrayList<>();
-            for (Object valor : valores) {
-                valoresDouble.add((Double) valor);
-            }
-            tabla.agregarColumna(etiqueta, Double.class, valoresDouble);
-        } else if (tipo == Boolean.class) {
-            List<Boolean> valoresBoolean = new ArrayList<>();
-            for (Object valor : valores) {
-                valoresBoolean.add((Boolean) valor);
+            posicion = (posicion + 1) & mascara;
+        }
+        conjunto[posicion] = valor;
+        return true;
+    }
+
+    /**
+     * Mezcla en el lugar las primeras posiciones de un arreglo (Fisher-Yates).
+     *
+     * @param indices Arreglo a mezclar
+     * @param cantidad Cantidad de posiciones a mezclar
+     * @param generador Generador de la llamada
+     */
+    private static void mezclar(int[] indices, int cantidad, SplittableRandom generador) {
+        for (int i = cantidad - 1; i > 0; i--) {
+            int j = generador.nextInt(i + 1);
+            int temporal = indices[i];
+            indices[i] = indices[j];
+            indices[j] = temporal;
+        }
+    }
+
+    /**
+     * Agrupa los índices de las filas de una columna según su valor,
+     * generando un estrato para cada valor único (incluido NA), en orden de aparición.
+     * <p>
+     * El estrato de cada fila se obtiene con una tabla hash del valor, o directamente
+     * del código si la columna está codificada por diccionario; luego las filas se
+     * ordenan por estrato con un conteo, sin listas de objetos por estrato.
+     * </p>
+     *
+     * @param columna Columna por la cual agrupar
+     * @return Estratos con las filas de cada uno
+     */
+    private static Estratos agruparPorValor(Columna<?> columna) {
+        int cantidadFilas = columna.size();
+        int[] estratoPorFila = new int[cantidadFilas];
+        int cantidadEstratos = 0;
+
+        if (columna instanceof ColumnaDiccionario diccionario) {
+            // Código + 1 a estrato + 1 (0 indica que el código todavía no tiene estrato)
+            int[] estratoPorCodigo = new int[diccionario.getDiccionario().size() + 1];
+            for (int i = 0; i < cantidadFilas; i++) {
+                int codigo = diccionario.getCodigo(i) + 1;
+                if (estratoPorCodigo[codigo] == 0) {
+                    estratoPorCodigo[codigo] = ++cantidadEstratos;
+                }
+                estratoPorFila[i] = estratoPorCodigo[codigo] - 1;
             }
-            tabla.agregarColumna(etiqueta, Boolean.class, valoresBoolean);
         } else {
-            List<String> valoresString = new ArrayList<>();
-            for (Object valor : valores) {
-                valoresString.add(valor == null ? null : valor.toString());
+            Map<Object, Integer> estratoPorValor = new HashMap<>();
+            for (int i = 0; i < cantidadFilas; i++) {
+                Object valor = columna.isNA(i) ? null : columna.getCelda(i).getValor();
+                Integer estrato = estratoPorValor.get(valor);
+                if (estrato == null) {
+                    estrato = cantidadEstratos++;
+                    estratoPorValor.put(valor, estrato);
+                }
+                estratoPorFila[i] = estrato;
             }
-            tabla.agregarColumna(etiqueta, String.class, valoresString);
         }
+
+        int[] inicio = new int[cantidadEstratos + 1];
+        for (int estrato : estratoPorFila) {
+            inicio[estrato + 1]++;
+        }
+        for (int e = 0; e < cantidadEstratos; e++) {
+            inicio[e + 1] += inicio[e];
+        }
+        int[] filas = new int[cantidadFilas];
+        int[] siguiente = Arrays.copyOf(inicio, cantidadEstratos);
+        for (int i = 0; i < cantidadFilas; i++) {
+            filas[siguiente[estratoPorFila[i]]++] = i;
+        }
+        return new Estratos(filas, inicio);
+    }
+
+    /**
+     * Crea una nueva tabla a partir de una lista de índices seleccionados.
+     * La tabla resultante es una vista de las filas seleccionadas, que conserva el tipo
+     * y el almacenamiento de cada columna y solo copia los valores al modificarse.
+     *
+     * @param tablaOriginal Tabla fuente
+     * @param indices Índices de filas a incluir
+     * @return Nueva tabla con las filas seleccionadas
+     */
+    private static Tabla crearTablaMuestreada(Tabla tablaOriginal, int[] indices) {
+        return tablaOriginal.vistaFilas(indices);
     }
 
     /**
-     * Copia toda la tabla original generando una nueva instancia.
+     * Devuelve una vista de todas las filas de la tabla original en una nueva instancia.
      *
      * @param tablaOriginal Tabla a copiar
-     * @return Copia exacta de la tabla original
+     * @return Nueva tabla con las mismas filas que la original
      */
     private static Tabla copiarTablaCompleta(Tabla tablaOriginal) {
-        List<Integer> todosLosIndices = IntStream.range(0, tablaOriginal.cantFilas())
-                .boxed()
-                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        return tablaOriginal.vistaFilas(IntStream.range(0, tablaOriginal.cantFilas()).toArray());
+    }
+
+    /**
+     * Filas de cada estrato, guardadas de forma contigua: las del estrato {@code e}
+     * ocupan las posiciones {@code inicio[e]} a {@code inicio[e + 1] - 1} de {@code filas},
+     * en orden creciente.
+     */
+    private static final class Estratos {
+
+        /** Filas de todos los estratos, agrupadas por estrato. */
+        private final int[] filas;
+
+        /** Posición en {@link #filas} donde empieza cada estrato, más una posición final. */
+        private final int[] inicio;
+
+        /**
+         * Crea los estratos a partir de sus arreglos.
+         *
+         * @param filas Filas agrupadas por estrato
+         * @param inicio Inicio de cada estrato, con una posición final
+         */
+        Estratos(int[] filas, int[] inicio) {
+            this.filas = filas;
+            this.inicio = inicio;
+        }
 
-        return crearTablaMuestreada(tablaOriginal, todosLosIndices);
+        /**
+         * Devuelve la cantidad de estratos.
+         *
+         * @return Cantidad de estratos
+         */
+        int cantidad() {
+            return inicio.length - 1;
+        }
+
+        /**
+         * Devuelve la cantidad de filas de un estrato.
+         *
+         * @param estrato Número de estrato
+         * @return Cantidad de filas del estrato
+         */
+        int tamanio(int estrato) {
+            return inicio[estrato + 1] - inicio[estrato];
+        }
+
+        /**
+         * Devuelve una fila de un estrato.
+         *
+         * @param estrato Número de estrato
+         * @param posicion Posición de la fila dentro del estrato
+         * @return Índice de la fila en la tabla
+         */
+        int fila(int estrato, int posicion) {
+            return filas[inicio[estrato] + posicion];
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,472 @@
+package jandas.operaciones.ordenamiento;
+
+import jandas.base.data.Columna;
+import jandas.base.data.ColumnaDiccionario;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.Etiqueta;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Claves de orden binarias y normalizadas para ordenar por varios criterios.
+ * <p>
+ * Cada fila se codifica una sola vez en una secuencia de bits que concatena, en el orden de los
+ * criterios, un segmento por columna: un bit de NA (solo si la columna tiene NA) seguido del valor
+ * relativo al mínimo de la columna, con los bits justos para su rango. En orden descendente el valor
+ * se invierte respecto del máximo; el bit de NA no se invierte, de modo que los NA quedan al final en
+ * ambas direcciones. Comparar dos filas equivale entonces a comparar sus claves como enteros sin signo,
+ * palabra por palabra, igual que {@link ComparadorMultiplesCriterios}.
+ * </p>
+ * <p>
+ * Las columnas de texto sin diccionario (y cualquier otro tipo) se codifican por el rango de su valor
+ * entre los valores distintos de la columna, ordenados con {@link ComparadorMultiplesCriterios}.
+ * </p>
+ * <p>
+ * Si la clave entra en una palabra de 64 bits, las filas se ordenan con radix sort; si no, con un
+ * merge sort estable que divide el arreglo de índices entre los hilos del pool común de fork-join.
+ * </p>
+ */
+final class ClavesOrden {
+
+    /** Tamaño a partir del cual una mitad del merge sort se ordena en otra tarea. */
+    private static final int UMBRAL_TAREA = 1 << 13;
+
+    /** Tamaño hasta el cual un tramo se ordena por inserción. */
+    private static final int UMBRAL_INSERCION = 32;
+
+    /** Claves de todas las filas, {@link #palabras} consecutivas por fila. */
+    private final long[] claves;
+
+    /** Cantidad de palabras de 64 bits por fila. */
+    private final int palabras;
+
+    /** Cantidad de filas. */
+    private final int cantidadFilas;
+
+    /**
+     * Codifica las claves de todas las filas de la tabla.
+     *
+     * @param tabla Tabla a ordenar.
+     * @param criterios Criterios de orden, del más al menos significativo.
+     */
+    ClavesOrden(Tabla tabla, List<CriterioOrden> criterios) {
+        this.cantidadFilas = tabla.cantFilas();
+        int cantidadCriterios = criterios.size();
+        long[][] valores = new long[cantidadCriterios][];
+        boolean[][] nulos = new boolean[cantidadCriterios][];
+        int[] bitsValor = new int[cantidadCriterios];
+        boolean[] conNA = new boolean[cantidadCriterios];
+
+        int bitsTotales = 0;
+        for (int c = 0; c < cantidadCriterios; c++) {
+            CriterioOrden criterio = criterios.get(c);
+            Columna<?> columna = tabla.getColumna(criterio.getEtiqueta()).materializar();
+            valores[c] = new long[cantidadFilas];
+            nulos[c] = new boolean[cantidadFilas];
+            conNA[c] = extraer(tabla, criterio.getEtiqueta(), columna, valores[c], nulos[c]);
+            bitsValor[c] = normalizar(valores[c], nulos[c], criterio.getTipoOrden() == Orden.DESCENDENTE);
+            bitsTotales += bitsValor[c] + (conNA[c] ? 1 : 0);
+        }
+
+        this.palabras = Math.max(1, (bitsTotales + Long.SIZE - 1) / Long.SIZE);
+        this.claves = new long[cantidadFilas * palabras];
+        for (int fila = 0; fila < cantidadFilas; fila++) {
+            int base = fila * palabras;
+            int posicion = 0;
+            for (int c = 0; c < cantidadCriterios; c++) {
+                boolean na = nulos[c][fila];
+                if (conNA[c]) {
+                    escribir(base, posicion, na ? 1 : 0, 1);
+                    posicion++;
+                }
+                if (!na) {
+                    escribir(base, posicion, valores[c][fila], bitsValor[c]);
+                }
+                posicion += bitsValor[c];
+            }
+        }
+    }
+
+    /**
+     * Extrae la clave sin signo de cada fila de una columna, cuyo orden coincide con el de sus valores.
+     *
+     * @param tabla Tabla a ordenar.
+     * @param etiqueta Etiqueta de la columna.
+     * @param columna Columna del criterio.
+     * @param valores Arreglo donde se escribe la clave de cada fila.
+     * @param nulos Arreglo donde se marca cada fila NA.
+     * @return {@code true} si la columna tiene al menos un NA.
+     */
+    private static boolean extraer(Tabla tabla, Etiqueta etiqueta, Columna<?> columna, long[] valores, boolean[] nulos) {
+        int cantidadFilas = valores.length;
+        boolean conNA = false;
+        for (int i = 0; i < cantidadFilas; i++) {
+            nulos[i] = columna.isNA(i);
+            conNA |= nulos[i];
+        }
+
+        Class<?> tipo = columna.getTipoDato();
+        if (columna instanceof ColumnaDiccionario diccionario) {
+            int[] rangos = diccionario.getDiccionario().rangos();
+            for (int i = 0; i < cantidadFilas; i++) {
+                valores[i] = nulos[i] ? 0 : rangos[diccionario.getCodigo(i)];
+            }
+        } else if (tipo == Integer.class || tipo == Long.class) {
+            for (int i = 0; i < cantidadFilas; i++) {
+                valores[i] = nulos[i] ? 0 : columna.getLong(i) ^ Long.MIN_VALUE;
+            }
+        } else if (tipo == Double.class || tipo == Float.class) {
+            for (int i = 0; i < cantidadFilas; i++) {
+                valores[i] = nulos[i] ? 0 : OrdenRadix.claveDecimal(columna.getDouble(i));
+            }
+        } else if (tipo == Boolean.class) {
+            for (int i = 0; i < cantidadFilas; i++) {
+                valores[i] = columna.getBoolean(i) ? 1 : 0;
+            }
+        } else {
+            extraerRangos(tabla, etiqueta, columna, valores, nulos);
+        }
+        return conNA;
+    }
+
+    /**
+     * Asigna a cada fila el rango de su valor entre los valores distintos de la columna.
+     * Los valores distintos se ordenan con {@link ComparadorMultiplesCriterios}, por lo que el
+     * orden de los rangos es el mismo que el de la comparación celda a celda.
+     *
+     * @param tabla Tabla a ordenar.
+     * @param etiqueta Etiqueta de la columna.
+     * @param columna Columna del criterio.
+     * @param valores Arreglo donde se escribe el rango de cada fila.
+     * @param nulos Filas NA de la columna.
+     */
+    private static void extraerRangos(Tabla tabla, Etiqueta etiqueta, Columna<?> columna, long[] valores, boolean[] nulos) {
+        // Primera fila de cada valor distinto
+        Map<Object, Integer> distintos = new HashMap<>();
+        int[] distintoDeFila = new int[valores.length];
+        int[] representantes = new int[valores.length];
+        for (int i = 0; i < valores.length; i++) {
+            if (!nulos[i]) {
+                int cantidad = distintos.size();
+                int distinto = distintos.computeIfAbsent(columna.getCelda(i).getValor(), k -> cantidad);
+                if (distinto == cantidad) {
+                    representantes[cantidad] = i;
+                }
+                distintoDeFila[i] = distinto;
+            }
+        }
+
+        int cantidad = distintos.size();
+        Integer[] ordenados = new Integer[cantidad];
+        for (int d = 0; d < cantidad; d++) {
+            ordenados[d] = d;
+        }
+        ComparadorMultiplesCriterios comparador =
+                new ComparadorMultiplesCriterios(List.of(new CriterioOrden(etiqueta, Orden.ASCENDENTE)), tabla);
+        Arrays.sort(ordenados, (a, b) -> comparador.compare(representantes[a], representantes[b]));
+
+        // Valores que el comparador considera iguales comparten rango
+        long[] rangoDeDistinto = new long[cantidad];
+        long rango = 0;
+        for (int k = 0; k < cantidad; k++) {
+            if (k > 0 && comparador.compare(representantes[ordenados[k - 1]], representantes[ordenados[k]]) != 0) {
+                rango++;
+            }
+            rangoDeDistinto[ordenados[k]] = rango;
+        }
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = nulos[i] ? 0 : rangoDeDistinto[distintoDeFila[i]];
+        }
+    }
+
+    /**
+     * Resta el mínimo a las claves de las filas con valor (o las invierte respecto del máximo en
+     * orden descendente) y calcula cuántos bits necesita el rango resultante.
+     *
+     * @param valores Clave sin signo de cada fila; se reemplaza por la clave relativa.
+     * @param nulos Filas NA de la columna.
+     * @param descendente Si el orden es descendente.
+     * @return Cantidad de bits de la clave relativa.
+     */
+    private static int normalizar(long[] valores, boolean[] nulos, boolean descendente) {
+        long minimo = -1L;
+        long maximo = 0L;
+        boolean hayValores = false;
+        for (int i = 0; i < valores.length; i++) {
+            if (!nulos[i]) {
+                hayValores = true;
+                if (Long.compareUnsigned(valores[i], minimo) < 0) {
+                    minimo = valores[i];
+                }
+                if (Long.compareUnsigned(valores[i], maximo) > 0) {
+                    maximo = valores[i];
+                }
+            }
+        }
+        if (!hayValores) {
+            return 0;
+        }
+        for (int i = 0; i < valores.length; i++) {
+            if (!nulos[i]) {
+                valores[i] = descendente ? maximo - valores[i] : valores[i] - minimo;
+            }
+        }
+        return Long.SIZE - Long.numberOfLeadingZeros(maximo - minimo);
+    }
+
+    /**
+     * Escribe un valor en la clave de una fila, a partir del bit indicado (el bit 0 es el más significativo).
+     *
+     * @param base Posición de la primera palabra de la fila en {@link #claves}.
+     * @param posicion Bit donde empieza el valor.
+     * @param valor Valor a escribir, que debe entrar en {@code bits} bits.
+     * @param bits Cantidad de bits del valor (0 a 64).
+     */
+    private void escribir(int base, int posicion, long valor, int bits) {
+        if (bits == 0) {
+            return;
+        }
+        int palabra = base + (posicion >>> 6);
+        int libres = Long.SIZE - (posicion & 63);
+        if (bits <= libres) {
+            claves[palabra] |= valor << (libres - bits);
+        } else {
+            int restantes = bits - libres;
+            claves[palabra] |= valor >>> restantes;
+            claves[palabra + 1] |= valor << (Long.SIZE - restantes);
+        }
+    }
+
+    /**
+     * Compara las claves de dos filas como enteros sin signo.
+     *
+     * @param fila1 Primera fila.
+     * @param fila2 Segunda fila.
+     * @return Un entero negativo, cero o positivo según el orden relativo.
+     */
+    int comparar(int fila1, int fila2) {
+        int base1 = fila1 * palabras;
+        int base2 = fila2 * palabras;
+        for (int k = 0; k < palabras; k++) {
+            int resultado = Long.compareUnsigned(claves[base1 + k], claves[base2 + k]);
+            if (resultado != 0) {
+                return resultado;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Devuelve la cantidad de palabras de 64 bits de cada clave.
+     *
+     * @return Palabras por fila.
+     */
+    int palabras() {
+        return palabras;
+    }
+
+    /**
+     * Calcula la permutación que ordena las filas por sus claves. Las filas con claves iguales
+     * conservan su orden original.
+     *
+     * @return Índices de las filas en el orden resultante.
+     */
+    int[] ordenar() {
+        int[] filas = new int[cantidadFilas];
+        for (int i = 0; i < cantidadFilas; i++) {
+            filas[i] = i;
+        }
+        if (palabras == 1) {
+            OrdenRadix.ordenarPorClaves(claves.clone(), filas, cantidadFilas);
+            return filas;
+        }
+        int[] auxiliar = filas.clone();
+        ForkJoinPool.commonPool().invoke(new MergeSort(auxiliar, filas, 0, cantidadFilas));
+        return filas;
+    }
+
+    /**
+     * Selecciona las {@code cantidad} filas con menor clave, en orden, sin ordenar el resto.
+     * <p>
+     * Recorre las filas una vez manteniendo un heap de máximos acotado a {@code cantidad}
+     * elementos, en O(filas · log cantidad). Ante claves iguales se considera menor la fila
+     * anterior, por lo que el resultado coincide con las primeras filas de {@link #ordenar()}.
+     * </p>
+     *
+     * @param cantidad Cantidad de filas a seleccionar (como máximo la cantidad de filas).
+     * @return Índices de las filas seleccionadas, en orden.
+     */
+    int[] menores(int cantidad) {
+        int[] heap = new int[cantidad];
+        if (cantidad == 0) {
+            return heap;
+        }
+        int tamanio = 0;
+        for (int fila = 0; fila < cantidadFilas; fila++) {
+            if (tamanio < cantidad) {
+                // Subir la fila nueva hasta su lugar
+                int posicion = tamanio++;
+                while (posicion > 0) {
+                    int padre = (posicion - 1) >>> 1;
+                    if (compararConFila(heap[padre], fila) >= 0) {
+                        break;
+                    }
+                    heap[posicion] = heap[padre];
+                    posicion = padre;
+                }
+                heap[posicion] = fila;
+            } else if (compararConFila(fila, heap[0]) < 0) {
+                hundir(heap, fila, tamanio);
+            }
+        }
+
+        // Extraer el máximo repetidamente deja el heap ordenado de menor a mayor
+        for (int fin = tamanio - 1; fin > 0; fin--) {
+            int maximo = heap[0];
+            hundir(heap, heap[fin], fin);
+            heap[fin] = maximo;
+        }
+        return heap;
+    }
+
+    /**
+     * Ubica una fila en la raíz del heap de máximos y la hunde hasta su lugar.
+     *
+     * @param heap Heap de máximos.
+     * @param fila Fila que reemplaza a la raíz.
+     * @param tamanio Cantidad de elementos del heap.
+     */
+    private void hundir(int[] heap, int fila, int tamanio) {
+        int posicion = 0;
+        while (true) {
+            int hijo = 2 * posicion + 1;
+            if (hijo >= tamanio) {
+                break;
+            }
+            if (hijo + 1 < tamanio && compararConFila(heap[hijo + 1], heap[hijo]) > 0) {
+                hijo++;
+            }
+            if (compararConFila(heap[hijo], fila) <= 0) {
+                break;
+            }
+            heap[posicion] = heap[hijo];
+            posicion = hijo;
+        }
+        heap[posicion] = fila;
+    }
+
+    /**
+     * Compara dos filas por su clave y, ante claves iguales, por su posición.
+     *
+     * @param fila1 Primera fila.
+     * @param fila2 Segunda fila.
+     * @return Un entero negativo, cero o positivo según el orden relativo.
+     */
+    private int compararConFila(int fila1, int fila2) {
+        int resultado = comparar(fila1, fila2);
+        return resultado != 0 ? resultado : Integer.compare(fila1, fila2);
+    }
+
+    /**
+     * Merge sort estable de un tramo del arreglo de índices. Ordena el tramo de {@code origen}
+     * dejando el resultado en {@code destino}; ambos arreglos deben empezar con el mismo contenido.
+     * Las dos mitades se ordenan en tareas separadas si el tramo es grande.
+     */
+    private final class MergeSort extends RecursiveAction {
+
+        /** Versión de serialización; las tareas nunca se serializan. */
+        private static final long serialVersionUID = 1L;
+
+        /** Arreglo con el contenido a ordenar (se usa como auxiliar). */
+        private final int[] origen;
+
+        /** Arreglo donde queda el tramo ordenado. */
+        private final int[] destino;
+
+        /** Primera posición del tramo. */
+        private final int desde;
+
+        /** Posición siguiente a la última del tramo. */
+        private final int hasta;
+
+        /**
+         * Crea la tarea para un tramo.
+         *
+         * @param origen Arreglo con el contenido a ordenar.
+         * @param destino Arreglo donde queda el tramo ordenado.
+         * @param desde Primera posición del tramo.
+         * @param hasta Posición siguiente a la última del tramo.
+         */
+        MergeSort(int[] origen, int[] destino, int desde, int hasta) {
+            this.origen = origen;
+            this.destino = destino;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        /**
+         * Ordena el tramo: por inserción si es chico, o cada mitad en el otro arreglo y luego las mezcla.
+         */
+        @Override
+        protected void compute() {
+            int largo = hasta - desde;
+            if (largo <= UMBRAL_INSERCION) {
+                insercion();
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            MergeSort izquierda = new MergeSort(destino, origen, desde, medio);
+            MergeSort derecha = new MergeSort(destino, origen, medio, hasta);
+            if (largo > UMBRAL_TAREA) {
+                invokeAll(izquierda, derecha);
+            } else {
+                izquierda.compute();
+                derecha.compute();
+            }
+            mezclar(medio);
+        }
+
+        /**
+         * Ordena el tramo de {@code destino} por inserción.
+         */
+        private void insercion() {
+            for (int i = desde + 1; i < hasta; i++) {
+                int fila = destino[i];
+                int j = i - 1;
+                while (j >= desde && comparar(destino[j], fila) > 0) {
+                    destino[j + 1] = destino[j];
+                    j--;
+                }
+                destino[j + 1] = fila;
+            }
+        }
+
+        /**
+         * Mezcla en {@code destino} las dos mitades ordenadas de {@code origen}, tomando de la
+         * izquierda ante claves iguales.
+         *
+         * @param medio Posición donde empieza la mitad derecha.
+         */
+        private void mezclar(int medio) {
+            // Si las mitades ya están en orden, alcanza con copiar
+            if (comparar(origen[medio - 1], origen[medio]) <= 0) {
+                System.arraycopy(origen, desde, destino, desde, hasta - desde);
+                return;
+            }
+            int i = desde;
+            int j = medio;
+            for (int k = desde; k < hasta; k++) {
+                if (j >= hasta || (i < medio && comparar(origen[i], origen[j]) <= 0)) {
+                    destino[k] = origen[i++];
+                } else {
+                    destino[k] = origen[j++];
+                }
+            }
+        }
+    }
+}
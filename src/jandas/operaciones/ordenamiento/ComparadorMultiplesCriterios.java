@@ -2,8 +2,10 @@ package jandas.operaciones.ordenamiento;
 
 import jandas.base.data.Celda;
 import jandas.base.data.Columna;
+import jandas.base.data.ColumnaDiccionario;
 import jandas.base.data.Tabla;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -14,7 +16,11 @@ import java.util.List;
  * evaluando cada criterio en orden hasta encontrar una diferencia.
  * </p>
  * <p>
- * Los valores nulos (NA) se consideran mayores y por ende se ordenan al final.
+ * Los valores nulos (NA) se ordenan al final, tanto en orden ascendente como descendente.
+ * </p>
+ * <p>
+ * Las columnas codificadas por diccionario se comparan por el rango lexicográfico
+ * de sus códigos, sin decodificar cadenas.
  * </p>
  */
 public class ComparadorMultiplesCriterios implements Comparator<Integer> {
@@ -25,6 +31,12 @@ public class ComparadorMultiplesCriterios implements Comparator<Integer> {
     /** Tabla sobre la cual se realiza la comparación */
     private final Tabla tabla;
 
+    /** Columnas de cada criterio, resueltas una sola vez */
+    private final List<Columna<?>> columnas;
+
+    /** Rangos lexicográficos por código para cada criterio codificado, o null */
+    private final List<int[]> rangos;
+
     /**
      * Construye un comparador con los criterios y la tabla indicados.
      *
@@ -35,6 +47,15 @@ public class ComparadorMultiplesCriterios implements Comparator<Integer> {
     public ComparadorMultiplesCriterios(List<CriterioOrden> criterios, Tabla tabla) {
         this.criterios = criterios;
         this.tabla = tabla;
+        this.columnas = new ArrayList<>();
+        this.rangos = new ArrayList<>();
+        for (CriterioOrden criterio : criterios) {
+            Columna<?> columna = tabla.getColumna(criterio.getEtiqueta()).materializar();
+            columnas.add(columna);
+            rangos.add(columna instanceof ColumnaDiccionario
+                    ? ((ColumnaDiccionario) columna).getDiccionario().rangos()
+                    : null);
+        }
     }
 
     /**
@@ -47,12 +68,24 @@ public class ComparadorMultiplesCriterios implements Comparator<Integer> {
      */
     @Override
     public int compare(Integer indice1, Integer indice2) {
-        for (CriterioOrden criterio : criterios) {
-            Columna<?> columna = tabla.getColumna(criterio.getEtiqueta());
-            Celda<?> celda1 = columna.getCelda(indice1);
-            Celda<?> celda2 = columna.getCelda(indice2);
+        for (int i = 0; i < criterios.size(); i++) {
+            CriterioOrden criterio = criterios.get(i);
+            Columna<?> columna = columnas.get(i);
+            int[] rangosCriterio = rangos.get(i);
+
+            // Los NA van al final sin importar la dirección del criterio
+            boolean na1 = columna.isNA(indice1);
+            boolean na2 = columna.isNA(indice2);
+            if (na1 || na2) {
+                if (na1 && na2) {
+                    continue;
+                }
+                return na1 ? 1 : -1;
+            }
 
-            int resultado = compararCeldas(celda1, celda2);
+            int resultado = rangosCriterio != null
+                    ? compararCodigos((ColumnaDiccionario) columna, rangosCriterio, indice1, indice2)
+                    : compararCeldas(columna.getCelda(indice1), columna.getCelda(indice2));
 
             if (resultado != 0) {
                 // Si el criterio es descendente, invertir el resultado
@@ -63,7 +96,22 @@ public class ComparadorMultiplesCriterios implements Comparator<Integer> {
     }
 
     /**
-     * Compara dos celdas considerando valores nulos y tipos comparables.
+     * Compara dos filas (no NA) de una columna codificada por el rango de sus códigos.
+     *
+     * @param columna Columna codificada.
+     * @param rangosCriterio Rango lexicográfico de cada código.
+     * @param indice1 Índice de la primera fila.
+     * @param indice2 Índice de la segunda fila.
+     * @return Un entero negativo, cero o positivo según el orden relativo.
+     */
+    private int compararCodigos(ColumnaDiccionario columna, int[] rangosCriterio, int indice1, int indice2) {
+        int codigo1 = columna.getCodigo(indice1);
+        int codigo2 = columna.getCodigo(indice2);
+        return Integer.compare(rangosCriterio[codigo1], rangosCriterio[codigo2]);
+    }
+
+    /**
+     * Compara dos celdas (no NA) considerando tipos comparables.
      *
      * @param celda1 Primera celda a comparar.
      * @param celda2 Segunda celda a comparar.
@@ -71,11 +119,6 @@ public class ComparadorMultiplesCriterios implements Comparator<Integer> {
      */
     @SuppressWarnings("unchecked")
     private int compararCeldas(Celda<?> celda1, Celda<?> celda2) {
-        // Manejo de valores NA (nulos)
-        if (celda1.esNA() && celda2.esNA()) return 0;
-        if (celda1.esNA()) return 1; // NA van al final
-        if (celda2.esNA()) return -1;
-
         Object valor1 = celda1.getValor();
         Object valor2 = celda2.getValor();
 
@@ -0,0 +1,183 @@
+package jandas.operaciones.ordenamiento;
+
+import jandas.base.data.Columna;
+import jandas.base.data.ColumnaDiccionario;
+
+import java.util.Arrays;
+
+/**
+ * Ordenamiento por una columna de tipo primitivo mediante radix sort LSD.
+ * <p>
+ * Los valores de la columna se extraen una sola vez a un arreglo de claves {@code long} cuyo
+ * orden sin signo coincide con el de {@link Comparable#compareTo(Object)} (los enteros con el bit
+ * de signo invertido, los decimales con la transformación habitual de sus bits y los textos
+ * codificados por el rango de su código). El orden descendente invierte las claves. Las filas NA
+ * se ubican al final en ambas direcciones, en su orden original.
+ * </p>
+ * <p>
+ * El radix sort procesa las claves de a un byte y omite los bytes que son iguales en todas las
+ * filas, de modo que columnas con pocos valores distintos se ordenan en una o dos pasadas.
+ * Es estable: las filas con claves iguales conservan su orden original.
+ * </p>
+ */
+final class OrdenRadix {
+
+    /** Bits por dígito del radix sort. */
+    private static final int BITS = 8;
+
+    /** Cantidad de valores distintos de un dígito. */
+    private static final int BASE = 1 << BITS;
+
+    /**
+     * Constructor privado: clase de utilidades.
+     */
+    private OrdenRadix() {
+    }
+
+    /**
+     * Indica si la columna puede ordenarse con claves primitivas.
+     *
+     * @param columna Columna a ordenar.
+     * @return {@code true} si es codificada por diccionario o de tipo entero, decimal o booleano.
+     */
+    static boolean admite(Columna<?> columna) {
+        if (columna instanceof ColumnaDiccionario) {
+            return true;
+        }
+        Class<?> tipo = columna.getTipoDato();
+        return tipo == Integer.class || tipo == Long.class || tipo == Double.class
+                || tipo == Float.class || tipo == Boolean.class;
+    }
+
+    /**
+     * Calcula la permutación que ordena las filas de una columna.
+     *
+     * @param columna Columna admitida por {@link #admite(Columna)}.
+     * @param orden Dirección del orden.
+     * @return Índices de las filas en el orden resultante.
+     */
+    static int[] ordenar(Columna<?> columna, Orden orden) {
+        int cantidadFilas = columna.size();
+        boolean descendente = orden == Orden.DESCENDENTE;
+        int[] filas = new int[cantidadFilas];
+        long[] claves = new long[cantidadFilas];
+
+        // Filas con valor al principio, NA al final (ambas en orden original)
+        int conValor = 0;
+        for (int i = 0; i < cantidadFilas; i++) {
+            if (!columna.isNA(i)) {
+                filas[conValor++] = i;
+            }
+        }
+        for (int i = 0, j = conValor; j < cantidadFilas; i++) {
+            if (columna.isNA(i)) {
+                filas[j++] = i;
+            }
+        }
+
+        extraerClaves(columna, filas, conValor, claves, descendente);
+        ordenarPorClaves(claves, filas, conValor);
+        return filas;
+    }
+
+    /**
+     * Escribe la clave de orden de cada fila con valor.
+     *
+     * @param columna Columna a ordenar.
+     * @param filas Filas con valor en sus primeras {@code cantidad} posiciones.
+     * @param cantidad Cantidad de filas con valor.
+     * @param claves Arreglo donde se escribe la clave de la fila de cada posición.
+     * @param descendente Si las claves se invierten para ordenar de mayor a menor.
+     */
+    private static void extraerClaves(Columna<?> columna, int[] filas, int cantidad, long[] claves, boolean descendente) {
+        if (columna instanceof ColumnaDiccionario diccionario) {
+            int[] rangos = diccionario.getDiccionario().rangos();
+            for (int i = 0; i < cantidad; i++) {
+                claves[i] = rangos[diccionario.getCodigo(filas[i])];
+            }
+        } else {
+            Class<?> tipo = columna.getTipoDato();
+            if (tipo == Double.class || tipo == Float.class) {
+                for (int i = 0; i < cantidad; i++) {
+                    claves[i] = claveDecimal(columna.getDouble(filas[i]));
+                }
+            } else if (tipo == Boolean.class) {
+                for (int i = 0; i < cantidad; i++) {
+                    claves[i] = columna.getBoolean(filas[i]) ? 1 : 0;
+                }
+            } else {
+                for (int i = 0; i < cantidad; i++) {
+                    claves[i] = columna.getLong(filas[i]) ^ Long.MIN_VALUE;
+                }
+            }
+        }
+        if (descendente) {
+            for (int i = 0; i < cantidad; i++) {
+                claves[i] = ~claves[i];
+            }
+        }
+    }
+
+    /**
+     * Transforma un decimal en una clave cuyo orden sin signo coincide con {@link Double#compare(double, double)}.
+     *
+     * @param valor Valor decimal.
+     * @return Clave de orden.
+     */
+    static long claveDecimal(double valor) {
+        long bits = Double.doubleToLongBits(valor);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    /**
+     * Ordena en forma estable las primeras {@code cantidad} posiciones por su clave sin signo,
+     * moviendo las filas junto con sus claves.
+     *
+     * @param claves Clave de cada posición.
+     * @param filas Fila de cada posición.
+     * @param cantidad Cantidad de posiciones a ordenar.
+     */
+    static void ordenarPorClaves(long[] claves, int[] filas, int cantidad) {
+        if (cantidad < 2) {
+            return;
+        }
+        long[] origenClaves = claves;
+        int[] origenFilas = filas;
+        long[] destinoClaves = new long[cantidad];
+        int[] destinoFilas = new int[cantidad];
+        int[] conteos = new int[BASE];
+
+        for (int desplazamiento = 0; desplazamiento < Long.SIZE; desplazamiento += BITS) {
+            Arrays.fill(conteos, 0);
+            for (int i = 0; i < cantidad; i++) {
+                conteos[(int) (origenClaves[i] >>> desplazamiento) & (BASE - 1)]++;
+            }
+            // Si todas las claves tienen el mismo dígito, la pasada no cambia nada
+            if (conteos[(int) (origenClaves[0] >>> desplazamiento) & (BASE - 1)] == cantidad) {
+                continue;
+            }
+            int acumulado = 0;
+            for (int d = 0; d < BASE; d++) {
+                int conteo = conteos[d];
+                conteos[d] = acumulado;
+                acumulado += conteo;
+            }
+            for (int i = 0; i < cantidad; i++) {
+                long clave = origenClaves[i];
+                int posicion = conteos[(int) (clave >>> desplazamiento) & (BASE - 1)]++;
+                destinoClaves[posicion] = clave;
+                destinoFilas[posicion] = origenFilas[i];
+            }
+            long[] clavesLibres = origenClaves;
+            int[] filasLibres = origenFilas;
+            origenClaves = destinoClaves;
+            origenFilas = destinoFilas;
+            destinoClaves = clavesLibres;
+            destinoFilas = filasLibres;
+        }
+        if (origenFilas != filas) {
+            System.arraycopy(origenClaves, 0, claves, 0, cantidad);
+            System.arraycopy(origenFilas, 0, filas, 0, cantidad);
+        }
+    }
+}
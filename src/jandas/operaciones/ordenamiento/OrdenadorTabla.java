@@ -1,6 +1,5 @@
 package jandas.operaciones.ordenamiento;
 
-import jandas.base.data.Celda;
 import jandas.base.data.Columna;
 import jandas.base.data.Tabla;
 import jandas.base.etiquetas.Etiqueta;
@@ -10,7 +9,6 @@ import jandas.excepciones.JandasException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.IntStream;
 
 /**
  * Clase que provee métodos para ordenar tablas según uno o varios criterios.
@@ -70,6 +68,47 @@ public class OrdenadorTabla {
      * @throws JandasException si la lista de criterios está vacía o si alguna columna no existe.
      */
     public static Tabla ordenarPorCriterios(Tabla tabla, List<CriterioOrden> criterios) {
+        validarCriterios(tabla, criterios);
+
+        int[] permutacion = calcularPermutacion(tabla, criterios);
+
+        // Construir y devolver nueva tabla ordenada con los índices ordenados
+        return tabla.vistaFilas(permutacion);
+    }
+
+    /**
+     * Devuelve las primeras {@code n} filas de la tabla según los criterios, sin ordenar la tabla completa.
+     * <p>
+     * El resultado es el mismo que ordenar con {@link #ordenarPorCriterios(Tabla, List)} y tomar
+     * las primeras {@code n} filas, pero solo se copian las filas seleccionadas y la selección
+     * se hace con un heap acotado en O(filas · log n).
+     * </p>
+     *
+     * @param tabla La tabla de entrada.
+     * @param n Cantidad de filas a devolver; si supera la cantidad de filas, se devuelven todas.
+     * @param criterios Lista de criterios de ordenamiento.
+     * @return Una nueva tabla con las {@code n} primeras filas en orden.
+     * @throws JandasException si {@code n} no es positivo, la lista de criterios está vacía o alguna columna no existe.
+     */
+    public static Tabla topN(Tabla tabla, int n, List<CriterioOrden> criterios) {
+        if (n <= 0) {
+            throw new JandasException("El número de filas debe ser positivo");
+        }
+        validarCriterios(tabla, criterios);
+
+        int cantidad = Math.min(n, tabla.cantFilas());
+        int[] seleccion = new ClavesOrden(tabla, criterios).menores(cantidad);
+        return tabla.vistaFilas(seleccion);
+    }
+
+    /**
+     * Verifica que haya al menos un criterio y que todas sus columnas existan en la tabla.
+     *
+     * @param tabla La tabla a ordenar.
+     * @param criterios Lista de criterios de ordenamiento.
+     * @throws JandasException si la lista de criterios está vacía o alguna columna no existe.
+     */
+    private static void validarCriterios(Tabla tabla, List<CriterioOrden> criterios) {
         if (criterios == null || criterios.isEmpty()) {
             throw new JandasException("Debe proporcionar al menos un criterio de ordenamiento");
         }
@@ -82,17 +121,31 @@ public class OrdenadorTabla {
                 throw new JandasException("No se encontró la columna: " + criterio.getEtiqueta().getValor());
             }
         }
+    }
 
-        // Crear lista de índices (filas) para ordenar
-        List<Integer> indices = IntStream.range(0, tabla.cantFilas())
-                .boxed()
-                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
-
-        // Ordenar índices según los criterios usando ComparadorMultiplesCriterios
-        indices.sort(new ComparadorMultiplesCriterios(criterios, tabla));
-
-        // Construir y devolver nueva tabla ordenada con los índices ordenados
-        return crearTablaOrdenada(tabla, indices);
+    /**
+     * Calcula el orden de las filas según los criterios.
+     * <p>
+     * Un único criterio sobre una columna entera, decimal, booleana o codificada por diccionario
+     * se resuelve con {@link OrdenRadix}. En otro caso cada fila se codifica una vez en una clave
+     * binaria normalizada ({@link ClavesOrden}) y se ordenan las claves, en paralelo si no entran
+     * en una palabra. Ambos caminos son estables, ubican los NA al final y dan el mismo orden que
+     * {@link ComparadorMultiplesCriterios}.
+     * </p>
+     *
+     * @param tabla La tabla a ordenar.
+     * @param criterios Lista de criterios de ordenamiento.
+     * @return Índices de las filas en el orden resultante.
+     */
+    static int[] calcularPermutacion(Tabla tabla, List<CriterioOrden> criterios) {
+        if (criterios.size() == 1) {
+            CriterioOrden criterio = criterios.get(0);
+            Columna<?> columna = tabla.getColumna(criterio.getEtiqueta()).materializar();
+            if (OrdenRadix.admite(columna)) {
+                return OrdenRadix.ordenar(columna, criterio.getTipoOrden());
+            }
+        }
+        return new ClavesOrden(tabla, criterios).ordenar();
     }
 
     /**
@@ -117,80 +170,6 @@ public class OrdenadorTabla {
         return ordenarPorCriterios(tabla, criterios);
     }
 
-    /**
-     * Crea una nueva tabla con los datos ordenados según la lista de índices ordenados.
-     *
-     * @param tablaOriginal Tabla original antes del ordenamiento.
-     * @param indicesOrdenados Lista de índices de filas ordenadas.
-     * @return Nueva tabla con filas reordenadas según los índices.
-     */
-    private static Tabla crearTablaOrdenada(Tabla tablaOriginal, List<Integer> indicesOrdenados) {
-        Tabla tablaOrdenada = new Tabla();
-
-        // Copiar columnas con valores ordenados según índices
-        for (int i = 0; i < tablaOriginal.cantColumnas(); i++) {
-            Columna<?> columnaOriginal = tablaOriginal.getColumna(i);
-            Etiqueta etiquetaColumna = columnaOriginal.getEtiqueta();
-            Class<?> tipo = columnaOriginal.getTipoDato();
-
-            List<Object> valoresOrdenados = new ArrayList<>();
-            for (Integer indice : indicesOrdenados) {
-                Celda<?> celda = columnaOriginal.getCelda(indice);
-                valoresOrdenados.add(celda.esNA() ? null : celda.getValor());
-            }
-
-            agregarColumnaOrdenada(tablaOrdenada, etiquetaColumna, tipo, valoresOrdenados);
-        }
-
-        // Reordenar etiquetas de filas si existen
-        if (tablaOriginal.getEtiquetasFilas() != null) {
-            List<Etiqueta> etiquetasFilasOrdenadas = new ArrayList<>();
-            for (Integer indice : indicesOrdenados) {
-                etiquetasFilasOrdenadas.add(tablaOriginal.getEtiquetasFilas().get(indice));
-            }
-            tablaOrdenada.setEtiquetasFilas(etiquetasFilasOrdenadas);
-        }
-
-        return tablaOrdenada;
-    }
-
-    /**
-     * Método auxiliar para agregar una columna a la tabla respetando el tipo de datos.
-     *
-     * @param tabla Tabla donde se agregará la columna.
-     * @param etiqueta Etiqueta que identifica la columna.
-     * @param tipo Tipo de dato de la columna.
-     * @param valores  Lista de valores ordenados para la columna.
-     */
-    @SuppressWarnings("unchecked")
-    private static void agregarColumnaOrdenada(Tabla tabla, Etiqueta etiqueta, Class<?> tipo, List<Object> valores) {
-        if (tipo == Integer.class) {
-            List<Integer> valoresInt = new ArrayList<>();
-            for (Object valor : valores) {
-                valoresInt.add((Integer) valor);
-            }
-            tabla.agregarColumna(etiqueta, Integer.class, valoresInt);
-        } else if (tipo == Double.class) {
-            List<Double> valoresDouble = new ArrayList<>();
-            for (Object valor : valores) {
-                valoresDouble.add((Double) valor);
-            }
-            tabla.agregarColumna(etiqueta, Double.class, valoresDouble);
-        } else if (tipo == Boolean.class) {
-            List<Boolean> valoresBoolean = new ArrayList<>();
-            for (Object valor : valores) {
-                valoresBoolean.add((Boolean) valor);
-            }
-            tabla.agregarColumna(etiqueta, Boolean.class, valoresBoolean);
-        } else {
-            List<String> valoresString = new ArrayList<>();
-            for (Object valor : valores) {
-                valoresString.add(valor == null ? null : valor.toString());
-            }
-            tabla.agregarColumna(etiqueta, String.class, valoresString);
-        }
-    }
-
     /**
      * Crea un criterio de orden ascendente para una columna dada por nombre.
      *
@@ -79,7 +79,7 @@ public class FormatoTabla {
      */
     public static List<Integer> calcularAnchos(Tabla tabla, int maxColumnas, int maxLargoCadena) {
         List<Integer> anchos = new ArrayList<>();
-        List<Etiqueta> etiquetasColumnas = tabla.getEtiquetasColumnas();
+        List<Etiqueta> etiquetasColumnas = tabla.etiquetasColumnasVista();
         int numColumnas = Math.min(etiquetasColumnas.size(), maxColumnas);
 
         for (int i = 0; i < numColumnas; i++) {
@@ -110,7 +110,7 @@ public class FormatoTabla {
      */
     public static String formatearEncabezado(Tabla tabla, List<Integer> anchos, VConfig config) {
         StringBuilder encabezado = new StringBuilder();
-        List<Etiqueta> etiquetasColumnas = tabla.getEtiquetasColumnas();
+        List<Etiqueta> etiquetasColumnas = tabla.etiquetasColumnasVista();
         int numColumnas = Math.min(etiquetasColumnas.size(), config.getMaxColumnas());
 
         if (config.isMostrarEtiquetaFila()) {
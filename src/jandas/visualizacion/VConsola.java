@@ -87,7 +87,7 @@ public class VConsola implements Visualizable {
         System.out.println(FormatoTabla.formatearEncabezado(tabla, anchos, config));
         System.out.println(separador);
 
-        List<Etiqueta> etiquetasFilas = tabla.getEtiquetasFilas();
+        List<Etiqueta> etiquetasFilas = tabla.etiquetasFilasVista();
         int numFilas = Math.min(etiquetasFilas.size(), config.getMaxFilas());
 
         for (int i = 0; i < numFilas; i++) {
@@ -0,0 +1,48 @@
+package tests;
+
+import jandas.base.data.Columna;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.EtiquetaString;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.operaciones.estadisticas.OperacionEstadistica;
+import jandas.visualizacion.VConsola;
+import jandas.visualizacion.Visualizable;
+
+import java.util.List;
+
+public class TestAcumuladores {
+
+    private static final int REPETICIONES = 5;
+
+    public static void main(String[] args) {
+
+        Visualizable consola = new VConsola();
+        LectorCsv csv = new LeerCsv();
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+
+        // 1 Cada operación sobre todas las columnas numéricas, con una pasada por columna
+
+        for (OperacionEstadistica operacion : OperacionEstadistica.values()) {
+            Tabla agrupada = null;
+            double mejor = Double.MAX_VALUE;
+            for (int r = 0; r < REPETICIONES; r++) {
+                long inicio = System.nanoTime();
+                agrupada = vuelos.agruparPor("origin", operacion);
+                mejor = Math.min(mejor, (System.nanoTime() - inicio) / 1_000_000.0);
+            }
+            Columna<?> demora = agrupada.getColumna("dep_delay");
+            System.out.printf("%-16s %6.1f ms  dep_delay(%s) = %s%n",
+                    operacion, mejor, agrupada.getColumna("Grupo").getCelda(0).getValor(), demora.getCelda(0).getValor());
+        }
+
+        // 2 La varianza de Welford no pierde precisión con valores grandes y cercanos
+
+        Tabla grandes = new Tabla();
+        grandes.agregarColumna(new EtiquetaString("g"), String.class, List.of("x", "x", "x", "x"));
+        grandes.agregarColumna(new EtiquetaString("v"), Double.class,
+                List.of(1e9 + 4, 1e9 + 7, 1e9 + 13, 1e9 + 16));
+        consola.visualizar(grandes.agruparPor("g", OperacionEstadistica.VARIANZA));
+        System.out.println("Esperado: 30.0");
+    }
+}
@@ -0,0 +1,52 @@
+package tests;
+
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.EtiquetaString;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.operaciones.estadisticas.OperacionEstadistica;
+import jandas.visualizacion.VConsola;
+import jandas.visualizacion.Visualizable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestAgruparHash {
+
+    private static final int REPETICIONES = 5;
+
+    public static void main(String[] args) {
+
+        Visualizable consola = new VConsola();
+        LectorCsv csv = new LeerCsv();
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+
+        // 1 Agrupar por varias columnas de distinto tipo (texto codificado y enteros)
+
+        Map<String, OperacionEstadistica> operaciones = new HashMap<>();
+        operaciones.put("dep_delay", OperacionEstadistica.MEDIA);
+        operaciones.put("distance", OperacionEstadistica.MAXIMO);
+        String[] claves = {"carrier", "origin", "month"};
+
+        Tabla agrupada = vuelos.agruparPor(claves, operaciones);
+        System.out.println("Grupos: " + agrupada.cantFilas());
+        consola.visualizar(agrupada.head(5));
+
+        for (int r = 0; r < REPETICIONES; r++) {
+            long inicio = System.nanoTime();
+            vuelos.agruparPor(claves, operaciones);
+            System.out.printf("Ronda %d: %.1f ms%n", r + 1, (System.nanoTime() - inicio) / 1_000_000.0);
+        }
+
+        // 2 Claves compuestas cuyo texto coincide quedan en grupos distintos
+
+        Tabla ambigua = new Tabla();
+        ambigua.agregarColumna(new EtiquetaString("a"), String.class, List.of("1, 2", "1"));
+        ambigua.agregarColumna(new EtiquetaString("b"), String.class, List.of("3", "2, 3"));
+        ambigua.agregarColumna(new EtiquetaString("valor"), Integer.class, List.of(10, 20));
+        Tabla separada = ambigua.agruparPor(new String[]{"a", "b"}, Map.of("valor", OperacionEstadistica.SUMA));
+        System.out.println("Grupos con el mismo texto de clave: " + separada.cantFilas());
+        consola.visualizar(separada);
+    }
+}
@@ -0,0 +1,65 @@
+package tests;
+
+import jandas.base.data.Tabla;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.operaciones.estadisticas.AgruparTabla;
+import jandas.operaciones.estadisticas.ModoAgrupamiento;
+import jandas.operaciones.estadisticas.OperacionEstadistica;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestAgruparParalelo {
+
+    private static final int COPIAS = 8;
+    private static final int REPETICIONES = 5;
+
+    public static void main(String[] args) {
+
+        LectorCsv csv = new LeerCsv();
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+        Tabla grande = vuelos;
+        for (int i = 1; i < COPIAS; i++) {
+            grande = grande.concatenacion(vuelos);
+        }
+        System.out.println("Filas: " + grande.cantFilas());
+
+        // 1 Mismo resultado en modo secuencial y paralelo, para cada operación
+
+        for (OperacionEstadistica operacion : OperacionEstadistica.values()) {
+            Tabla secuencial = grande.agruparPor("dest", operacion, ModoAgrupamiento.SECUENCIAL);
+            Tabla paralela = grande.agruparPor("dest", operacion, ModoAgrupamiento.PARALELO);
+            System.out.println(operacion + " iguales: " + secuencial.equals(paralela));
+        }
+
+        // 2 Claves compuestas, incluida una columna de texto con muchos valores distintos
+
+        Map<String, OperacionEstadistica> operaciones = new HashMap<>();
+        operaciones.put("dep_delay", OperacionEstadistica.VARIANZA);
+        operaciones.put("arr_delay", OperacionEstadistica.MEDIA);
+        operaciones.put("distance", OperacionEstadistica.SUMA);
+        String[] claves = {"tailnum", "origin", "day"};
+
+        Tabla secuencial = grande.agruparPor(claves, operaciones, ModoAgrupamiento.SECUENCIAL);
+        Tabla paralela = grande.agruparPor(claves, operaciones, ModoAgrupamiento.PARALELO);
+        System.out.println("Grupos: " + secuencial.cantFilas() + ", iguales: " + secuencial.equals(paralela));
+
+        for (ModoAgrupamiento modo : ModoAgrupamiento.values()) {
+            double mejor = Double.MAX_VALUE;
+            for (int r = 0; r < REPETICIONES; r++) {
+                long inicio = System.nanoTime();
+                grande.agruparPor(claves, operaciones, modo);
+                mejor = Math.min(mejor, (System.nanoTime() - inicio) / 1_000_000.0);
+            }
+            System.out.printf("%s: %.1f ms%n", modo, mejor);
+        }
+
+        // 3 Modo global: los métodos sin modo usan el modo por defecto
+
+        AgruparTabla.setModoPorDefecto(ModoAgrupamiento.PARALELO);
+        System.out.println("Modo por defecto: " + AgruparTabla.getModoPorDefecto()
+                + ", iguales: " + secuencial.equals(grande.agruparPor(claves, operaciones)));
+        AgruparTabla.setModoPorDefecto(ModoAgrupamiento.SECUENCIAL);
+    }
+}
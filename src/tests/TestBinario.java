@@ -0,0 +1,122 @@
+package tests;
+
+import jandas.base.data.ColumnaBoolean;
+import jandas.base.data.ColumnaDouble;
+import jandas.base.data.ColumnaInt;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.EtiquetaString;
+import jandas.excepciones.JandasException;
+import jandas.io.binario.EscribirBinario;
+import jandas.io.binario.LeerBinario;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.operaciones.estadisticas.OperacionEstadistica;
+import jandas.operaciones.filtros.CondicionComparacion;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+public class TestBinario {
+
+    private static final int FILAS = 10_000_000;
+
+    public static void main(String[] args) throws IOException {
+
+        // 1 Guardo la tabla leída del CSV en un único archivo binario
+
+        long inicio = System.nanoTime();
+        LectorCsv csv = new LeerCsv();
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+        double msCsv = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        Path archivo = Files.createTempFile("vuelos", ".jtab");
+        inicio = System.nanoTime();
+        new EscribirBinario().escribir(vuelos, archivo.toString());
+        System.out.printf("Escritura: %.1f ms, %,d bytes%n", (System.nanoTime() - inicio) / 1_000_000.0, Files.size(archivo));
+
+        // 2 Cargarla es copiar bloques: mucho más rápido que volver a interpretar el CSV
+
+        Tabla cargada = null;
+        double msBinario = Double.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            inicio = System.nanoTime();
+            cargada = new LeerBinario().leer(archivo.toString());
+            msBinario = Math.min(msBinario, (System.nanoTime() - inicio) / 1_000_000.0);
+        }
+        System.out.printf("CSV: %.1f ms, binario: %.1f ms%n", msCsv, msBinario);
+
+        // 3 La tabla cargada es igual a la original y se opera igual
+
+        System.out.println("Tabla completa: " + cargada.equals(vuelos));
+        System.out.println("Filtrar: " + cargada.filtrar(new CondicionComparacion("dep_delay", ">", 60))
+                .equals(vuelos.filtrar(new CondicionComparacion("dep_delay", ">", 60))));
+        System.out.println("Agrupar: " + cargada.agruparPor("origin", OperacionEstadistica.MEDIA)
+                .equals(vuelos.agruparPor("origin", OperacionEstadistica.MEDIA)));
+
+        // 4 Se conservan las etiquetas de filas propias
+
+        Tabla conEtiquetas = vuelos.head(5);
+        conEtiquetas.setEtiquetasFilas(List.of(new EtiquetaString("a"), new EtiquetaString("b"),
+                new EtiquetaString("c"), new EtiquetaString("d"), new EtiquetaString("e")));
+        new EscribirBinario().escribir(conEtiquetas, archivo.toString());
+        System.out.println("Etiquetas de filas: " + new LeerBinario().leer(archivo.toString()).equals(conEtiquetas));
+
+        // 5 Un archivo truncado se rechaza
+
+        new EscribirBinario().escribir(vuelos, archivo.toString());
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 3);
+        }
+        try {
+            new LeerBinario().leer(archivo.toString());
+            System.out.println("Truncado: aceptado");
+        } catch (JandasException e) {
+            System.out.println("Truncado: " + e.getMessage().replace(archivo.toString(), "<archivo>"));
+        }
+
+        // 6 Millones de filas numéricas se cargan a velocidad de copia de memoria
+
+        Tabla grande = crearGrande();
+        new EscribirBinario().escribir(grande, archivo.toString());
+        double msGrande = Double.MAX_VALUE;
+        Tabla grandeCargada = null;
+        for (int i = 0; i < 3; i++) {
+            inicio = System.nanoTime();
+            grandeCargada = new LeerBinario().leer(archivo.toString());
+            msGrande = Math.min(msGrande, (System.nanoTime() - inicio) / 1_000_000.0);
+        }
+        System.out.printf("Grande: %,d filas, %,d bytes cargados en %.1f ms, iguales: %b%n",
+                grandeCargada.cantFilas(), Files.size(archivo), msGrande, grandeCargada.equals(grande));
+
+        Files.delete(archivo);
+    }
+
+    /**
+     * Crea una tabla de {@link #FILAS} filas con columnas {@code Integer}, {@code Double} y {@code Boolean}.
+     *
+     * @return Tabla creada
+     */
+    private static Tabla crearGrande() {
+        ColumnaInt claves = new ColumnaInt(new EtiquetaString("clave"));
+        ColumnaDouble valores = new ColumnaDouble(new EtiquetaString("valor"));
+        ColumnaBoolean pares = new ColumnaBoolean(new EtiquetaString("par"));
+        for (int i = 0; i < FILAS; i++) {
+            claves.agregarInt(i);
+            if (i % 10 == 0) {
+                valores.agregarNA();
+            } else {
+                valores.agregarDouble(i * 0.5);
+            }
+            pares.agregarBoolean(i % 2 == 0);
+        }
+        Tabla tabla = new Tabla();
+        tabla.agregarColumna(claves);
+        tabla.agregarColumna(valores);
+        tabla.agregarColumna(pares);
+        return tabla;
+    }
+}
@@ -0,0 +1,128 @@
+package tests;
+
+import jandas.base.data.Tabla;
+import jandas.io.csv.CsvConfig;
+import jandas.io.csv.LeerCsv;
+import jandas.io.csv.LeerCsvConCache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+public class TestCacheCsv {
+
+    public static void main(String[] args) throws IOException {
+
+        Path directorio = Files.createTempDirectory("cache_csv");
+        Path cache = directorio.resolve("cache");
+        Path vuelos = directorio.resolve("vuelos.csv");
+        Files.copy(Path.of("df/flights_september.csv"), vuelos);
+        Tabla original = new LeerCsv().leer(vuelos.toString());
+
+        // 1 La primera lectura interpreta el CSV; la segunda carga la copia binaria
+
+        LeerCsvConCache lector = new LeerCsvConCache(cache.toString(), 64L << 20);
+        medir("Primera lectura", lector, vuelos);
+        Tabla copia = medir("Segunda lectura", lector, vuelos);
+        System.out.println("Igual a la original: " + copia.equals(original)
+                + ", aciertos " + lector.getAciertos() + ", fallos " + lector.getFallos());
+
+        // 2 Otra configuración es otra lectura
+
+        CsvConfig config = new CsvConfig();
+        config.setValorNulo("-");
+        lector.leer(vuelos.toString(), config);
+        System.out.println("Con otro valor nulo: aciertos " + lector.getAciertos() + ", fallos " + lector.getFallos());
+
+        // 3 Si el archivo cambia, la copia vieja no se usa
+
+        Files.writeString(vuelos, Files.readString(vuelos).replaceFirst("\n2013,", "\n2014,"));
+        Tabla modificada = lector.leer(vuelos.toString());
+        System.out.println("Tras modificar: fallos " + lector.getFallos()
+                + ", primer año " + modificada.getCeldaColYFila("year", 0));
+
+        // 4 Con verificación de contenido se detecta un cambio que conserva tamaño y fecha
+
+        lector.setVerificarContenido(true);
+        lector.leer(vuelos.toString());
+        FileTime fecha = Files.getLastModifiedTime(vuelos);
+        Files.writeString(vuelos, Files.readString(vuelos).replaceFirst("\n2014,", "\n2015,"));
+        Files.setLastModifiedTime(vuelos, fecha);
+        Tabla verificada = lector.leer(vuelos.toString());
+        System.out.println("Mismo tamaño y fecha: primer año " + verificada.getCeldaColYFila("year", 0));
+        lector.setVerificarContenido(false);
+
+        // 5 La caché no supera su tamaño: se expulsan las copias usadas hace más tiempo
+
+        lector.limpiar();
+        Path[] archivos = new Path[3];
+        for (int i = 0; i < archivos.length; i++) {
+            archivos[i] = directorio.resolve("vuelos" + i + ".csv");
+            Files.copy(Path.of("df/flights_september.csv"), archivos[i], StandardCopyOption.REPLACE_EXISTING);
+        }
+        LeerCsvConCache chica = new LeerCsvConCache(cache.toString(), 1L << 40);
+        chica.leer(archivos[0].toString());
+        long tamanioCopia = chica.bytesOcupados();
+        long maximo = 2 * tamanioCopia + tamanioCopia / 2;
+        chica = new LeerCsvConCache(cache.toString(), maximo);
+        chica.leer(archivos[1].toString());
+        usarDespues(chica, archivos[0]);
+        chica.leer(archivos[2].toString());
+        System.out.printf("Copias: %d bytes de un máximo de %d%n", chica.bytesOcupados(), maximo);
+        for (int i : new int[]{0, 2, 1}) {
+            long aciertos = chica.getAciertos();
+            chica.leer(archivos[i].toString());
+            System.out.println("vuelos" + i + ".csv en caché: " + (chica.getAciertos() > aciertos));
+        }
+
+        borrar(directorio);
+    }
+
+    /**
+     * Lee un archivo con el lector y muestra cuánto tardó.
+     *
+     * @param nombre Descripción de la lectura
+     * @param lector Lector con caché
+     * @param archivo Archivo a leer
+     * @return Tabla leída
+     */
+    private static Tabla medir(String nombre, LeerCsvConCache lector, Path archivo) {
+        long inicio = System.nanoTime();
+        Tabla tabla = lector.leer(archivo.toString());
+        System.out.printf("%s: %.1f ms%n", nombre, (System.nanoTime() - inicio) / 1_000_000.0);
+        return tabla;
+    }
+
+    /**
+     * Vuelve a leer un archivo un instante después, para que su copia sea la usada más recientemente.
+     *
+     * @param lector Lector con caché
+     * @param archivo Archivo a leer
+     */
+    private static void usarDespues(LeerCsvConCache lector, Path archivo) {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lector.leer(archivo.toString());
+    }
+
+    /**
+     * Borra un directorio temporal y sus archivos.
+     *
+     * @param directorio Directorio a borrar
+     * @throws IOException Si no se puede borrar
+     */
+    private static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(archivo);
+            }
+        }
+    }
+}
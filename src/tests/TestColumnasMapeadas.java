@@ -0,0 +1,142 @@
+package tests;
+
+import jandas.base.data.Celda;
+import jandas.base.data.Columna;
+import jandas.base.data.ColumnaDiferida;
+import jandas.base.data.ColumnaDouble;
+import jandas.base.data.ColumnaLong;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.EtiquetaString;
+import jandas.io.binario.EscribirColumnasMapeadas;
+import jandas.io.binario.LeerColumnasMapeadas;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.operaciones.estadisticas.OperacionEstadistica;
+import jandas.operaciones.filtros.CondicionComparacion;
+import jandas.operaciones.ordenamiento.Orden;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+public class TestColumnasMapeadas {
+
+    private static final int FILAS = 10_000_000;
+
+    public static void main(String[] args) throws IOException {
+
+        LectorCsv csv = new LeerCsv();
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+        Path directorio = Files.createTempDirectory("vuelos");
+
+        // 1 Escribo la tabla como archivos de columnas y la abro proyectada en memoria
+
+        long inicio = System.nanoTime();
+        new EscribirColumnasMapeadas().escribir(vuelos, directorio.toString());
+        System.out.printf("Escritura: %.1f ms%n", (System.nanoTime() - inicio) / 1_000_000.0);
+
+        inicio = System.nanoTime();
+        try (Tabla mapeada = new LeerColumnasMapeadas().leer(directorio.toString())) {
+            System.out.printf("Apertura: %.1f ms, %d filas%n", (System.nanoTime() - inicio) / 1_000_000.0, mapeada.cantFilas());
+
+            // 2 Una operación carga solo las columnas que recorre
+
+            Tabla demorados = mapeada.filtrar(new CondicionComparacion("dep_delay", ">", 60))
+                    .ordenar("arr_delay", Orden.DESCENDENTE);
+            Tabla porOrigen = mapeada.agruparPor("origin", OperacionEstadistica.MEDIA);
+            System.out.println("dep_delay: " + mapeada.getColumna("dep_delay").getAlmacenamiento()
+                    + ", origin cargada: " + ((ColumnaDiferida<?>) mapeada.getColumna("origin")).estaCargada()
+                    + ", tailnum cargada: " + ((ColumnaDiferida<?>) mapeada.getColumna("tailnum")).estaCargada());
+
+            // 3 Mismos resultados que con la tabla leída del CSV
+
+            System.out.println("Filtrar y ordenar: " + demorados.equals(vuelos.filtrar(new CondicionComparacion("dep_delay", ">", 60))
+                    .ordenar("arr_delay", Orden.DESCENDENTE)));
+            System.out.println("Agrupar: " + porOrigen.equals(vuelos.agruparPor("origin", OperacionEstadistica.MEDIA)));
+            System.out.println("Tabla completa: " + mapeada.equals(vuelos));
+
+            // 4 Escribir en una columna proyectada no modifica el archivo
+
+            @SuppressWarnings("unchecked")
+            Columna<Object> distancias = (Columna<Object>) mapeada.getColumna("distance");
+            distancias.setCelda(0, new Celda<>(-1));
+            try (Tabla otra = new LeerColumnasMapeadas().leer(directorio.toString())) {
+                System.out.println("Modificada: " + distancias.getCelda(0) + ", en el archivo: " + otra.getColumna("distance").getCelda(0));
+            }
+        }
+
+        // 5 Una tabla de millones de filas se abre en milisegundos y se recorre sin ocupar el heap
+
+        Path grande = Files.createTempDirectory("grande");
+        escribirGrande(grande);
+        inicio = System.nanoTime();
+        try (Tabla tabla = new LeerColumnasMapeadas().leer(grande.toString())) {
+            double msApertura = (System.nanoTime() - inicio) / 1_000_000.0;
+            long antes = heapUsado();
+            inicio = System.nanoTime();
+            Columna<?> valores = tabla.getColumna("valor");
+            double suma = 0;
+            for (int i = 0; i < valores.size(); i++) {
+                if (!valores.isNA(i)) {
+                    suma += valores.getDouble(i);
+                }
+            }
+            System.out.printf("Grande: %,d filas abiertas en %.1f ms, suma %.1f en %.1f ms, %,d bytes de heap%n",
+                    tabla.cantFilas(), msApertura, suma, (System.nanoTime() - inicio) / 1_000_000.0, heapUsado() - antes);
+        }
+
+        borrar(directorio);
+        borrar(grande);
+    }
+
+    /**
+     * Escribe una tabla de {@link #FILAS} filas con una columna {@code Long} y otra {@code Double}.
+     *
+     * @param directorio Directorio de destino
+     */
+    private static void escribirGrande(Path directorio) {
+        ColumnaLong claves = new ColumnaLong(new EtiquetaString("clave"));
+        ColumnaDouble valores = new ColumnaDouble(new EtiquetaString("valor"));
+        for (int i = 0; i < FILAS; i++) {
+            claves.agregarLong(i);
+            if (i % 10 == 0) {
+                valores.agregarNA();
+            } else {
+                valores.agregarDouble(i * 0.5);
+            }
+        }
+        Tabla tabla = new Tabla();
+        tabla.agregarColumna(claves);
+        tabla.agregarColumna(valores);
+        new EscribirColumnasMapeadas().escribir(tabla, directorio.toString());
+    }
+
+    /**
+     * Devuelve los bytes ocupados en el heap después de recolectar la basura.
+     *
+     * @return Bytes del heap en uso
+     */
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Borra un directorio temporal y sus archivos.
+     *
+     * @param directorio Directorio a borrar
+     * @throws IOException Si no se puede borrar
+     */
+    private static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(archivo);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package tests;
+
+import jandas.base.data.Columna;
+import jandas.base.data.ColumnaDouble;
+import jandas.base.data.ColumnaInt;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.EtiquetaString;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.visualizacion.VConsola;
+import jandas.visualizacion.Visualizable;
+
+public class TestColumnasPrimitivas {
+
+    public static void main(String[] args) {
+
+        Visualizable consola = new VConsola();
+
+        // 1 Creo columnas respaldadas por arreglos primitivos
+
+        ColumnaInt edades = new ColumnaInt(new EtiquetaString("Edad"));
+        edades.agregarInt(22);
+        edades.agregarNA();
+        edades.agregarInt(30);
+
+        ColumnaDouble alturas = new ColumnaDouble(new EtiquetaString("Altura"));
+        alturas.agregarDouble(1.98);
+        alturas.agregarDouble(1.75);
+        alturas.agregarNA();
+
+        Tabla df = new Tabla();
+        df.agregarColumna(edades);
+        df.agregarColumna(alturas);
+        consola.visualizar(df);
+
+        // 2 Recorro sin crear celdas
+
+        double suma = 0;
+        for (int i = 0; i < alturas.size(); i++) {
+            if (!alturas.isNA(i)) {
+                suma += alturas.getDouble(i);
+            }
+        }
+        System.out.println("Suma de alturas: " + suma);
+
+        // 3 Las tablas leídas de CSV usan columnas primitivas para los tipos numéricos
+
+        LectorCsv csv = new LeerCsv();
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+        Columna<?> demora = vuelos.getColumna("dep_delay");
+        System.out.println("Columna dep_delay: " + demora.getClass().getSimpleName());
+
+        long totalDemora = 0;
+        for (int i = 0; i < demora.size(); i++) {
+            if (!demora.isNA(i)) {
+                totalDemora += demora.getInt(i);
+            }
+        }
+        System.out.println("Demora total: " + totalDemora);
+
+        // 4 Imputar reemplaza los NA en el almacenamiento primitivo
+        df.imputarDefault();
+        consola.visualizar(df);
+    }
+}
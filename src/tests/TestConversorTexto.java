@@ -0,0 +1,159 @@
+package tests;
+
+import jandas.base.data.Tabla;
+import jandas.io.ConversorTexto;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class TestConversorTexto {
+
+    private static final String[] CASOS = {
+            "0", "-0", "+5", "007", "2147483647", "2147483648", "-2147483648", "-2147483649", "٣٤",
+            "1.5", "1.", ".5", "-.5e3", "2.5E-3", "1e400", "1.5f", "2.0d", "0x1.8p1", " 2.5 ", "NaN", "-Infinity",
+            "4.9e-324", "1.7976931348623157E308", "0.1", "9007199254740993.0", "123456789012345678901.5",
+            "abc", "1.2.3", "e5", ".", "-", "+", "1e", "N216JB", "2013-09-02T03:00:00Z", "true", "FALSE", "tru"
+    };
+
+    private static final int REPETICIONES = 5;
+
+    public static void main(String[] args) throws IOException {
+
+        // 1 Mismo resultado que los métodos de Java, sin excepciones
+
+        boolean coinciden = true;
+        for (String caso : CASOS) {
+            int largo = caso.length();
+            long entero = ConversorTexto.leerEntero(caso, 0, largo);
+            Object esperadoEntero = conExcepcion(() -> (long) Integer.parseInt(caso));
+            Object obtenidoEntero = entero == ConversorTexto.NO_ENTERO ? null : entero;
+
+            double decimal = ConversorTexto.leerDecimal(caso, 0, largo);
+            Object esperadoDecimal = conExcepcion(() -> Double.parseDouble(caso));
+            Object obtenidoDecimal = Double.isNaN(decimal) && !ConversorTexto.esDecimal(caso, 0, largo) ? null : decimal;
+
+            Object esperadoLargo = conExcepcion(() -> Long.parseLong(caso));
+            Object obtenidoLargo = ConversorTexto.esLargo(caso, 0, largo) ? ConversorTexto.leerLargo(caso, 0, largo) : null;
+
+            boolean iguales = Objects.equals(esperadoEntero, obtenidoEntero)
+                    && Objects.equals(esperadoDecimal, obtenidoDecimal)
+                    && Objects.equals(esperadoLargo, obtenidoLargo)
+                    && ConversorTexto.esBooleano(caso, 0, largo) == (caso.equalsIgnoreCase("true") || caso.equalsIgnoreCase("false"));
+            if (!iguales) {
+                System.out.println("Diferencia en '" + caso + "': " + obtenidoEntero + " " + obtenidoDecimal + " " + obtenidoLargo);
+                coinciden = false;
+            }
+        }
+        System.out.println("Coinciden con Integer/Long/Double.parse*: " + coinciden);
+
+        // 2 Comparación con la conversión por excepciones sobre columnas con mucho texto
+
+        List<String> lineas = Files.readAllLines(Path.of("df/flights_september.csv"));
+        String[] encabezado = lineas.get(0).split(",", -1);
+        List<String> valores = new ArrayList<>();
+        for (int i = 1; i < lineas.size(); i++) {
+            String[] fila = lineas.get(i).split(",", -1);
+            for (int j = 0; j < encabezado.length; j++) {
+                valores.add(fila[j].trim());
+            }
+        }
+        System.out.println("Valores: " + valores.size());
+
+        for (int r = 0; r < REPETICIONES; r++) {
+            long inicio = System.nanoTime();
+            int textosAntes = 0;
+            for (String valor : valores) {
+                if (convertirConExcepciones(valor) instanceof String) {
+                    textosAntes++;
+                }
+            }
+            double msAntes = (System.nanoTime() - inicio) / 1_000_000.0;
+
+            inicio = System.nanoTime();
+            int textosDespues = 0;
+            for (String valor : valores) {
+                if (convertirSinExcepciones(valor) instanceof String) {
+                    textosDespues++;
+                }
+            }
+            double msDespues = (System.nanoTime() - inicio) / 1_000_000.0;
+            System.out.printf("Ronda %d: con excepciones %.1f ms, sin excepciones %.1f ms (textos %d / %d)%n",
+                    r + 1, msAntes, msDespues, textosAntes, textosDespues);
+        }
+
+        // 3 El constructor Tabla(List<String>, int) usa la misma conversión
+
+        List<String> datos = new ArrayList<>(List.of(encabezado));
+        datos.addAll(valores);
+        for (int r = 0; r < REPETICIONES; r++) {
+            long inicio = System.nanoTime();
+            Tabla tabla = new Tabla(datos, encabezado.length);
+            System.out.printf("Tabla(List<String>, int): %d filas en %.1f ms%n",
+                    tabla.cantFilas(), (System.nanoTime() - inicio) / 1_000_000.0);
+        }
+    }
+
+    /**
+     * Conversión anterior de los valores CSV, basada en capturar {@link NumberFormatException}.
+     *
+     * @param valor Valor en texto
+     * @return Valor convertido
+     */
+    private static Object convertirConExcepciones(String valor) {
+        if (valor.isEmpty() || valor.equals("NA")) {
+            return null;
+        }
+        try {
+            if (valor.equalsIgnoreCase("true") || valor.equalsIgnoreCase("false")) {
+                return Boolean.parseBoolean(valor);
+            }
+            if (valor.contains(".")) {
+                return Double.parseDouble(valor);
+            } else {
+                return Integer.parseInt(valor);
+            }
+        } catch (NumberFormatException e) {
+            return valor;
+        }
+    }
+
+    /**
+     * Conversión de los valores CSV con {@link ConversorTexto}.
+     *
+     * @param valor Valor en texto
+     * @return Valor convertido
+     */
+    private static Object convertirSinExcepciones(String valor) {
+        if (valor.isEmpty() || valor.equals("NA")) {
+            return null;
+        }
+        int largo = valor.length();
+        if (ConversorTexto.esBooleano(valor, 0, largo)) {
+            return ConversorTexto.esVerdadero(valor, 0, largo);
+        }
+        if (valor.indexOf('.') >= 0) {
+            double decimal = ConversorTexto.leerDecimal(valor, 0, largo);
+            return Double.isNaN(decimal) ? valor : (Object) decimal;
+        }
+        long entero = ConversorTexto.leerEntero(valor, 0, largo);
+        return entero == ConversorTexto.NO_ENTERO ? valor : (Object) (int) entero;
+    }
+
+    /**
+     * Ejecuta una conversión de Java y devuelve {@code null} si lanza {@link NumberFormatException}.
+     *
+     * @param conversion Conversión a ejecutar
+     * @return Resultado o {@code null}
+     */
+    private static Object conExcepcion(java.util.function.Supplier<Object> conversion) {
+        try {
+            return conversion.get();
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package tests;
+
+import jandas.base.data.Columna;
+import jandas.base.data.ColumnaDiccionario;
+import jandas.base.data.Tabla;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.operaciones.estadisticas.AgruparTabla;
+import jandas.operaciones.estadisticas.OperacionEstadistica;
+import jandas.operaciones.filtros.CondicionComparacion;
+import jandas.operaciones.ordenamiento.Orden;
+import jandas.operaciones.ordenamiento.OrdenadorTabla;
+import jandas.visualizacion.VConsola;
+import jandas.visualizacion.Visualizable;
+
+public class TestDiccionario {
+
+    public static void main(String[] args) {
+
+        Visualizable consola = new VConsola();
+
+        // 1 Las columnas de texto con pocos valores distintos se codifican por diccionario
+
+        LectorCsv csv = new LeerCsv();
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+        Columna<?> aerolinea = vuelos.getColumna("carrier");
+        System.out.println("Columna carrier: " + aerolinea.getClass().getSimpleName());
+
+        ColumnaDiccionario codificada = (ColumnaDiccionario) aerolinea;
+        System.out.println("Valores distintos: " + codificada.getDiccionario().size()
+                + " en " + codificada.size() + " filas");
+        System.out.println("Diccionario: " + codificada.getDiccionario().getValores());
+
+        // 2 Filtrar por igualdad compara códigos
+
+        Tabla soloAA = vuelos.filtrar(new CondicionComparacion("carrier", "=", "AA"));
+        System.out.println("Vuelos de AA: " + soloAA.cantFilas());
+        System.out.println("Columna filtrada: " + soloAA.getColumna("carrier").getClass().getSimpleName());
+
+        // 3 Agrupar por una columna codificada agrupa por código
+
+        Tabla demoras = AgruparTabla.agruparPor(vuelos, "carrier", OperacionEstadistica.MEDIA);
+        consola.visualizar(demoras.head(5));
+
+        // 4 Ordenar por una columna codificada compara rangos de los códigos
+
+        Tabla ordenada = OrdenadorTabla.ordenar(vuelos, "carrier", Orden.DESCENDENTE);
+        consola.visualizar(ordenada.head(5));
+    }
+}
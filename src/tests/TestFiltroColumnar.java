@@ -0,0 +1,62 @@
+package tests;
+
+import jandas.base.data.Tabla;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.operaciones.filtros.Condicion;
+import jandas.operaciones.filtros.CondicionComparacion;
+import jandas.operaciones.filtros.Seleccion;
+import jandas.visualizacion.VConsola;
+import jandas.visualizacion.Visualizable;
+
+public class TestFiltroColumnar {
+
+    public static void main(String[] args) {
+
+        Visualizable consola = new VConsola();
+
+        LectorCsv csv = new LeerCsv();
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+
+        // 1 Condición compuesta: se compila una vez y se evalúa columna a columna
+
+        Condicion demorados = new CondicionComparacion("dep_delay", ">", 60);
+        Condicion deJFK = new CondicionComparacion("origin", "=", "JFK");
+        Condicion deUA = new CondicionComparacion("carrier", "=", "UA");
+        Condicion condicion = Condicion.and(demorados, Condicion.or(deJFK, Condicion.not(deUA)));
+
+        long inicio = System.nanoTime();
+        Seleccion seleccion = condicion.compilar(vuelos).evaluar();
+        System.out.printf("Filas seleccionadas: %d de %d (%.1f ms)%n",
+                seleccion.contar(), seleccion.cantidad(), (System.nanoTime() - inicio) / 1_000_000.0);
+
+        inicio = System.nanoTime();
+        Tabla filtrada = vuelos.filtrar(condicion);
+        System.out.printf("filtrar columnar: %d filas (%.1f ms)%n",
+                filtrada.cantFilas(), (System.nanoTime() - inicio) / 1_000_000.0);
+
+        // 2 Una lambda propia se evalúa fila por fila y da el mismo resultado
+
+        Condicion lambda = fila -> condicion.evaluar(fila);
+        inicio = System.nanoTime();
+        Tabla filtradaLambda = vuelos.filtrar(lambda);
+        System.out.printf("filtrar fila por fila: %d filas (%.1f ms)%n",
+                filtradaLambda.cantFilas(), (System.nanoTime() - inicio) / 1_000_000.0);
+        System.out.println("Mismas etiquetas de filas: "
+                + filtrada.getEtiquetasFilas().equals(filtradaLambda.getEtiquetasFilas()));
+
+        consola.visualizar(filtrada.head(5));
+
+        // 3 and/or conservan el cortocircuito: la lambda no se evalúa sobre la fila con NA
+
+        Object[][] datos = {{"n", "edad"}, {"a", 30}, {"b", null}, {"c", 10}};
+        Tabla personas = new Tabla(datos);
+        Condicion conEdad = new CondicionComparacion("edad", ">", 0);
+        Condicion sinEdad = Condicion.not(conEdad);
+        Condicion mayor = fila -> ((Integer) fila.getCeldasFila().get(1).getValor()) > 20;
+        System.out.println("and con lambda: " + personas.filtrar(Condicion.and(conEdad, mayor)).cantFilas() + " fila(s)");
+        System.out.println("or con lambda: " + personas.filtrar(Condicion.or(sinEdad, mayor)).cantFilas() + " fila(s)");
+        System.out.println("and con not de lambda: "
+                + personas.filtrar(Condicion.and(conEdad, Condicion.not(mayor))).cantFilas() + " fila(s)");
+    }
+}
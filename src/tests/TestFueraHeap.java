@@ -0,0 +1,175 @@
+package tests;
+
+import jandas.base.data.Almacenamiento;
+import jandas.base.data.Celda;
+import jandas.base.data.Columna;
+import jandas.base.data.ColumnaDouble;
+import jandas.base.data.ColumnaLong;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.EtiquetaString;
+import jandas.excepciones.JandasException;
+import jandas.io.csv.CsvConfig;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.operaciones.estadisticas.ModoAgrupamiento;
+import jandas.operaciones.estadisticas.OperacionEstadistica;
+import jandas.operaciones.filtros.CondicionComparacion;
+import jandas.operaciones.ordenamiento.Orden;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+
+public class TestFueraHeap {
+
+    private static final int FILAS = 5_000_000;
+
+    public static void main(String[] args) {
+
+        LectorCsv csv = new LeerCsv();
+        CsvConfig fueraHeap = new CsvConfig();
+        fueraHeap.setAlmacenamiento(Almacenamiento.FUERA_HEAP);
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+
+        // 1 Lectura fuera del heap: mismas celdas, columnas numéricas en memoria nativa
+
+        Tabla nativos = csv.leer("df/flights_september.csv", fueraHeap);
+        Tabla filtradaNativa;
+        try {
+            System.out.println("Iguales al leer: " + vuelos.columnasVista().equals(nativos.columnasVista()));
+            for (String nombre : new String[]{"dep_delay", "carrier", "distance"}) {
+                System.out.println("  " + nombre + ": " + nativos.getColumna(nombre).getAlmacenamiento());
+            }
+
+            // 2 Ordenar, filtrar y agrupar leen la memoria nativa sin copiarla al heap
+
+            Tabla ordenadaHeap = vuelos.ordenar("arr_delay", Orden.DESCENDENTE);
+            Tabla ordenadaNativa = nativos.ordenar("arr_delay", Orden.DESCENDENTE);
+            System.out.println("Ordenar: " + ordenadaHeap.columnasVista().equals(ordenadaNativa.columnasVista())
+                    + " " + ordenadaHeap.getEtiquetasFilas().equals(ordenadaNativa.getEtiquetasFilas()));
+
+            CondicionComparacion demorados = new CondicionComparacion("dep_delay", ">", 60);
+            Tabla filtradaHeap = vuelos.filtrar(demorados);
+            filtradaNativa = nativos.filtrar(demorados);
+            System.out.println("Filtrar: " + filtradaHeap.columnasVista().equals(filtradaNativa.columnasVista())
+                    + ", almacenamiento " + filtradaNativa.getColumna("dep_delay").getAlmacenamiento());
+
+            for (ModoAgrupamiento modo : ModoAgrupamiento.values()) {
+                Tabla agrupadaHeap = vuelos.agruparPor("carrier", OperacionEstadistica.MEDIA, modo);
+                Tabla agrupadaNativa = nativos.agruparPor("carrier", OperacionEstadistica.MEDIA, modo);
+                System.out.println("Agrupar " + modo + ": " + agrupadaHeap.equals(agrupadaNativa));
+            }
+
+            // 3 Copia al escribir sobre una vista fuera del heap
+
+            Tabla primeras = nativos.head(3);
+            @SuppressWarnings("unchecked")
+            Columna<Object> distancias = (Columna<Object>) primeras.getColumna("distance");
+            distancias.setCelda(0, new Celda<>(-1));
+            System.out.println("Vista modificada: " + distancias.getCelda(0)
+                    + ", original: " + nativos.getColumna("distance").getCelda(0)
+                    + ", copia " + distancias.getAlmacenamiento());
+            primeras.close();
+        } finally {
+            nativos.close();
+        }
+
+        // 4 Cerrar la tabla invalida las vistas que leen de ella
+
+        try {
+            filtradaNativa.getColumna("dep_delay").getDouble(0);
+            System.out.println("ERROR: la vista se leyó después de cerrar");
+        } catch (JandasException e) {
+            System.out.println("Vista tras cerrar: " + e.getMessage());
+        }
+
+        // 5 Memoria del heap ocupada por una tabla grande en cada almacenamiento
+        //   (las etiquetas de filas quedan en el heap en ambos casos)
+
+        for (Almacenamiento almacenamiento : Almacenamiento.values()) {
+            System.out.printf("%s: %,d filas, %,d bytes de heap%n", almacenamiento, FILAS, medirHeap(almacenamiento));
+        }
+
+        // 6 Las tablas derivadas que no se cierran liberan su memoria nativa al recolectarse
+
+        Tabla grande = crearGrande(Almacenamiento.FUERA_HEAP);
+        try {
+            long antes = memoriaNativa();
+            for (int i = 0; i < 20; i++) {
+                grande.filtrar(new CondicionComparacion("valor", ">", 10.0)).ordenar("valor").cantFilas();
+            }
+            System.out.printf("Memoria nativa tras 20 ordenamientos: %,d MB antes, %,d MB después%n",
+                    antes >> 20, memoriaNativa() >> 20);
+        } finally {
+            grande.close();
+        }
+    }
+
+    /**
+     * Mide el heap que ocupa una tabla grande mientras está abierta.
+     *
+     * @param almacenamiento Dónde se guardan los valores
+     * @return Bytes del heap ocupados por la tabla
+     */
+    private static long medirHeap(Almacenamiento almacenamiento) {
+        long antes = heapUsado();
+        Tabla grande = crearGrande(almacenamiento);
+        try {
+            return heapUsado() - antes;
+        } finally {
+            grande.close();
+        }
+    }
+
+    /**
+     * Crea una tabla con una columna {@code Long} y otra {@code Double} con el almacenamiento indicado.
+     *
+     * @param almacenamiento Dónde se guardan los valores
+     * @return Tabla con {@link #FILAS} filas
+     */
+    private static Tabla crearGrande(Almacenamiento almacenamiento) {
+        ColumnaLong claves = (ColumnaLong) Columna.crear(new EtiquetaString("clave"), Long.class, almacenamiento);
+        ColumnaDouble valores = (ColumnaDouble) Columna.crear(new EtiquetaString("valor"), Double.class, almacenamiento);
+        for (int i = 0; i < FILAS; i++) {
+            claves.agregarLong(i * 31L);
+            if (i % 10 == 0) {
+                valores.agregarNA();
+            } else {
+                valores.agregarDouble(i * 0.5);
+            }
+        }
+        Tabla tabla = new Tabla();
+        tabla.agregarColumna(claves);
+        tabla.agregarColumna(valores);
+        return tabla;
+    }
+
+    /**
+     * Devuelve los bytes de memoria nativa reservados después de recolectar la basura.
+     *
+     * @return Bytes del grupo de búferes directos en uso
+     */
+    private static long memoriaNativa() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        for (BufferPoolMXBean grupo : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (grupo.getName().equals("direct")) {
+                return grupo.getMemoryUsed();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Devuelve los bytes ocupados en el heap después de recolectar la basura.
+     *
+     * @return Bytes del heap en uso
+     */
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
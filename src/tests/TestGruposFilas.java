@@ -0,0 +1,147 @@
+package tests;
+
+import jandas.base.data.Celda;
+import jandas.base.data.Columna;
+import jandas.base.data.ColumnaDiccionario;
+import jandas.base.data.ColumnaDiferida;
+import jandas.base.data.ColumnaDouble;
+import jandas.base.data.ColumnaInt;
+import jandas.base.data.EstadisticasGrupos;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.EtiquetaString;
+import jandas.io.binario.EscribirColumnasMapeadas;
+import jandas.io.binario.LeerColumnasMapeadas;
+import jandas.operaciones.filtros.Condicion;
+import jandas.operaciones.filtros.CondicionAnd;
+import jandas.operaciones.filtros.CondicionComparacion;
+import jandas.operaciones.filtros.CondicionOr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+public class TestGruposFilas {
+
+    private static final int FILAS = 12_000_000;
+
+    public static void main(String[] args) throws IOException {
+
+        // 1 Una tabla ordenada por mes, como suelen llegar los datos por fecha
+
+        Tabla tabla = crearTabla();
+        Path directorio = Files.createTempDirectory("grupos");
+        Path sinGrupos = Files.createTempDirectory("sin_grupos");
+        long inicio = System.nanoTime();
+        new EscribirColumnasMapeadas().escribir(tabla, directorio.toString());
+        System.out.printf("Escritura con estadísticas: %.1f ms%n", (System.nanoTime() - inicio) / 1_000_000.0);
+        new EscribirColumnasMapeadas(Integer.MAX_VALUE & -64).escribir(tabla, sinGrupos.toString());
+
+        try (Tabla mapeada = new LeerColumnasMapeadas().leer(directorio.toString());
+             Tabla unGrupo = new LeerColumnasMapeadas().leer(sinGrupos.toString())) {
+
+            // 2 Si ningún grupo puede cumplir, la columna diferida ni siquiera se carga
+
+            System.out.println("origen = ZZZ: " + mapeada.filtrar(new CondicionComparacion("origen", "=", "ZZZ")).cantFilas()
+                    + " filas, origen cargada: " + ((ColumnaDiferida<?>) mapeada.getColumna("origen")).estaCargada());
+
+            // 3 Estadísticas del primer grupo de cada columna
+
+            for (String nombre : new String[]{"mes", "retraso", "origen"}) {
+                EstadisticasGrupos estadisticas = mapeada.getColumna(nombre).getEstadisticasGrupos();
+                System.out.println(nombre + ": " + estadisticas.cantidadGrupos() + " grupos, primero ["
+                        + estadisticas.getMinimo(0) + ", " + estadisticas.getMaximo(0) + "], NA "
+                        + estadisticas.getCantidadNA(0) + ", distintos ~" + estadisticas.getDistintos(0));
+            }
+
+            // 4 Los filtros saltean los grupos que no pueden cumplir y dan lo mismo que en el heap
+
+            comparar("mes = 3", mapeada, unGrupo, tabla, new CondicionComparacion("mes", "=", 3));
+            comparar("mes = 3 AND retraso > 100", mapeada, unGrupo, tabla,
+                    new CondicionAnd(new CondicionComparacion("mes", "=", 3), new CondicionComparacion("retraso", ">", 100.0)));
+            comparar("mes < 2 OR mes >= 12", mapeada, unGrupo, tabla,
+                    new CondicionOr(new CondicionComparacion("mes", "<", 2), new CondicionComparacion("mes", ">=", 12)));
+            comparar("mes > 12", mapeada, unGrupo, tabla, new CondicionComparacion("mes", ">", 12));
+            comparar("retraso > 0 (sin descartes)", mapeada, unGrupo, tabla, new CondicionComparacion("retraso", ">", 0.0));
+
+            // 5 Modificar la columna descarta sus estadísticas y el filtro sigue siendo correcto
+
+            @SuppressWarnings("unchecked")
+            Columna<Integer> meses = (Columna<Integer>) mapeada.getColumna("mes");
+            meses.setCelda(0, new Celda<>(99));
+            System.out.println("Estadísticas tras modificar: " + meses.getEstadisticasGrupos()
+                    + ", filas con mes = 99: " + mapeada.filtrar(new CondicionComparacion("mes", "=", 99)).cantFilas());
+        }
+        borrar(sinGrupos);
+        borrar(directorio);
+    }
+
+    /**
+     * Filtra con la misma condición la tabla proyectada con grupos y la escrita en un único grupo,
+     * compara sus tiempos y verifica el resultado contra la tabla del heap.
+     *
+     * @param nombre Descripción de la condición
+     * @param mapeada Tabla abierta con estadísticas por grupo
+     * @param unGrupo Misma tabla escrita en un único grupo
+     * @param heap Tabla original en el heap
+     * @param condicion Condición a aplicar
+     */
+    private static void comparar(String nombre, Tabla mapeada, Tabla unGrupo, Tabla heap, Condicion condicion) {
+        double msGrupos = Double.MAX_VALUE;
+        double msUnGrupo = Double.MAX_VALUE;
+        Tabla resultado = null;
+        for (int i = 0; i < 3; i++) {
+            long inicio = System.nanoTime();
+            resultado = mapeada.filtrar(condicion);
+            msGrupos = Math.min(msGrupos, (System.nanoTime() - inicio) / 1_000_000.0);
+            inicio = System.nanoTime();
+            unGrupo.filtrar(condicion);
+            msUnGrupo = Math.min(msUnGrupo, (System.nanoTime() - inicio) / 1_000_000.0);
+        }
+        System.out.printf("%-30s %,10d filas  con grupos %7.1f ms  un grupo %7.1f ms  iguales: %b%n", nombre,
+                resultado.cantFilas(), msGrupos, msUnGrupo, resultado.equals(heap.filtrar(condicion)));
+    }
+
+    /**
+     * Crea una tabla de {@link #FILAS} filas ordenada por mes, con retrasos aleatorios y un origen.
+     *
+     * @return Tabla creada
+     */
+    private static Tabla crearTabla() {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        ColumnaInt meses = new ColumnaInt(new EtiquetaString("mes"));
+        ColumnaDouble retrasos = new ColumnaDouble(new EtiquetaString("retraso"));
+        ColumnaDiccionario origenes = new ColumnaDiccionario(new EtiquetaString("origen"));
+        String[] aeropuertos = {"EWR", "JFK", "LGA"};
+        for (int i = 0; i < FILAS; i++) {
+            meses.agregarInt(1 + i / (FILAS / 12));
+            if (aleatorio.nextInt(50) == 0) {
+                retrasos.agregarNA();
+            } else {
+                retrasos.agregarDouble(aleatorio.nextDouble(-30, 120));
+            }
+            origenes.agregarCelda(new Celda<>(aeropuertos[aleatorio.nextInt(aeropuertos.length)]));
+        }
+        Tabla tabla = new Tabla();
+        tabla.agregarColumna(meses);
+        tabla.agregarColumna(retrasos);
+        tabla.agregarColumna(origenes);
+        return tabla;
+    }
+
+    /**
+     * Borra un directorio temporal y sus archivos.
+     *
+     * @param directorio Directorio a borrar
+     * @throws IOException Si no se puede borrar
+     */
+    private static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(archivo);
+            }
+        }
+    }
+}
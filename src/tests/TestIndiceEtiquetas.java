@@ -0,0 +1,79 @@
+package tests;
+
+import jandas.base.data.ColumnaDouble;
+import jandas.base.data.ColumnaInt;
+import jandas.base.data.Fila;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.Etiqueta;
+import jandas.base.etiquetas.EtiquetaInt;
+import jandas.base.etiquetas.EtiquetaString;
+
+import java.util.List;
+
+public class TestIndiceEtiquetas {
+
+    private static final int FILAS = 1_000_000;
+    private static final int ACCESOS = 2_000;
+
+    public static void main(String[] args) {
+
+        // 1 Creo una tabla de un millón de filas
+
+        ColumnaInt ids = new ColumnaInt(new EtiquetaString("id"));
+        ColumnaDouble valores = new ColumnaDouble(new EtiquetaString("valor"));
+        for (int i = 0; i < FILAS; i++) {
+            ids.agregarInt(i);
+            valores.agregarDouble(i * 0.5);
+        }
+        Tabla df = new Tabla();
+        df.agregarColumna(ids);
+        df.agregarColumna(valores);
+        System.out.println("Filas: " + df.cantFilas());
+
+        // 2 Acceso por etiqueta recorriendo la lista (como se hacía antes del índice)
+
+        List<Etiqueta> etiquetas = df.getEtiquetasFilas();
+        long inicio = System.nanoTime();
+        long sumaLineal = 0;
+        for (int k = 0; k < ACCESOS; k++) {
+            Etiqueta buscada = new EtiquetaInt(FILAS - 1 - k * 37);
+            for (int i = 0; i < etiquetas.size(); i++) {
+                if (etiquetas.get(i).getValor().equals(buscada.getValor())) {
+                    sumaLineal += ids.getInt(i);
+                    break;
+                }
+            }
+        }
+        double msLineal = (System.nanoTime() - inicio) / 1_000_000.0;
+        System.out.printf("Búsqueda lineal: %d accesos en %.1f ms%n", ACCESOS, msLineal);
+
+        // 3 Acceso por etiqueta con el índice hash de la tabla
+
+        inicio = System.nanoTime();
+        long sumaIndice = 0;
+        for (int k = 0; k < ACCESOS; k++) {
+            Fila fila = df.getFila(new EtiquetaInt(FILAS - 1 - k * 37));
+            sumaIndice += (Integer) fila.getCeldasFila().get(0).getValor();
+        }
+        double msIndice = (System.nanoTime() - inicio) / 1_000_000.0;
+        System.out.printf("Índice hash: %d accesos en %.1f ms (incluye construir el índice)%n", ACCESOS, msIndice);
+        System.out.println("Mismos resultados: " + (sumaLineal == sumaIndice));
+
+        // 4 Recorrer todas las filas por etiqueta ya no es cuadrático
+
+        inicio = System.nanoTime();
+        for (Etiqueta etiqueta : etiquetas) {
+            df.getFila(etiqueta);
+        }
+        System.out.printf("getFila sobre %d filas: %.1f ms%n", FILAS, (System.nanoTime() - inicio) / 1_000_000.0);
+
+        // 5 El índice se mantiene al modificar la tabla
+
+        df.eliminarFila(0);
+        System.out.println("Valor de la fila 1 tras eliminar la 0: " + df.getCeldaColYFila("id", 1));
+        df.setValoresCelda(FILAS - 1, "valor", -1.0);
+        System.out.println("Valor modificado: " + df.getCeldaColYFila("valor", FILAS - 1));
+        df.eliminarColumna("id");
+        System.out.println("Columnas tras eliminar id: " + df.getEtiquetasColumnas());
+    }
+}
@@ -0,0 +1,92 @@
+package tests;
+
+import jandas.base.data.Columna;
+import jandas.base.data.Tabla;
+import jandas.excepciones.JandasException;
+import jandas.io.csv.CsvConfig;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.visualizacion.VConsola;
+import jandas.visualizacion.Visualizable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TestInferenciaTipos {
+
+    public static void main(String[] args) throws IOException {
+
+        Visualizable consola = new VConsola();
+        LectorCsv csv = new LeerCsv();
+
+        // 1 La muestra solo fija el tipo inicial: el resultado es el mismo que inferir con todas las filas
+
+        CsvConfig muestra = new CsvConfig();
+        CsvConfig aleatoria = new CsvConfig();
+        aleatoria.setFilasInferencia(100);
+        aleatoria.setMuestraAleatoria(true);
+        CsvConfig sinMuestra = new CsvConfig();
+        sinMuestra.setFilasInferencia(0);
+
+        Tabla vuelos = csv.leer("df/flights_september.csv", muestra);
+        System.out.println("Muestra aleatoria igual: " + vuelos.equals(csv.leer("df/flights_september.csv", aleatoria)));
+        System.out.println("Sin muestra igual: " + vuelos.equals(csv.leer("df/flights_september.csv", sinMuestra)));
+
+        // 2 Un valor posterior a la muestra amplía la columna
+
+        Path archivo = Files.createTempFile("tipos", ".csv");
+        StringBuilder contenido = new StringBuilder("id,codigo,medida\n");
+        for (int i = 0; i < 2_000; i++) {
+            contenido.append(i).append(",00").append(i % 7).append(",").append(i % 10).append("\n");
+        }
+        contenido.append("2000,007,2.5\n");
+        contenido.append("2001,A07,abc\n");
+        Files.writeString(archivo, contenido.toString());
+
+        CsvConfig chica = new CsvConfig();
+        chica.setFilasInferencia(10);
+        Tabla ampliada = csv.leer(archivo.toString(), chica);
+        imprimirTipos(ampliada);
+        System.out.println("Igual a inferir con todas las filas: " + ampliada.equals(csv.leer(archivo.toString(), sinMuestra)));
+        consola.visualizar(ampliada.tail(3));
+
+        // 3 Esquema explícito: sin inferencia, el texto se conserva y los enteros pueden ser long
+
+        Map<String, Class<?>> esquema = new LinkedHashMap<>();
+        esquema.put("id", Long.class);
+        esquema.put("codigo", String.class);
+        CsvConfig explicita = new CsvConfig();
+        explicita.setEsquema(esquema);
+        Tabla tipada = csv.leer(archivo.toString(), explicita);
+        imprimirTipos(tipada);
+        consola.visualizar(tipada.tail(3));
+
+        // 4 Un valor que no entra en el tipo explícito produce un error
+
+        esquema.put("medida", Integer.class);
+        explicita.setEsquema(esquema);
+        try {
+            csv.leer(archivo.toString(), explicita);
+        } catch (JandasException e) {
+            System.out.println("Error esperado: " + e.getMessage());
+        }
+
+        Files.delete(archivo);
+    }
+
+    /**
+     * Imprime el tipo de cada columna de la tabla.
+     *
+     * @param tabla Tabla a describir
+     */
+    private static void imprimirTipos(Tabla tabla) {
+        StringBuilder tipos = new StringBuilder("Tipos:");
+        for (Columna<?> columna : tabla.getColumnas()) {
+            tipos.append(' ').append(columna.getEtiqueta()).append('=').append(columna.getTipoDato().getSimpleName());
+        }
+        System.out.println(tipos);
+    }
+}
@@ -0,0 +1,53 @@
+package tests;
+
+import jandas.base.data.Tabla;
+import jandas.io.csv.CsvConfig;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.io.csv.ModoLectura;
+import jandas.visualizacion.VConsola;
+import jandas.visualizacion.Visualizable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TestLeerCsvMapeado {
+
+    public static void main(String[] args) throws IOException {
+
+        Visualizable consola = new VConsola();
+        LectorCsv csv = new LeerCsv();
+
+        CsvConfig lineas = new CsvConfig();
+        CsvConfig mapeo = new CsvConfig();
+        mapeo.setModoLectura(ModoLectura.MAPEO_MEMORIA);
+
+        // 1 Leo el mismo archivo por líneas y mapeado en memoria
+
+        for (String ruta : new String[] {"df/results.csv", "df/flights_september.csv"}) {
+            long inicio = System.nanoTime();
+            Tabla porLineas = csv.leer(ruta, lineas);
+            System.out.printf("%s por líneas: %d filas en %.1f ms%n", ruta, porLineas.cantFilas(), (System.nanoTime() - inicio) / 1_000_000.0);
+
+            inicio = System.nanoTime();
+            Tabla mapeada = csv.leer(ruta, mapeo);
+            System.out.printf("%s mapeado: %d filas en %.1f ms%n", ruta, mapeada.cantFilas(), (System.nanoTime() - inicio) / 1_000_000.0);
+
+            // 2 Ambos modos producen la misma tabla
+            System.out.println("Tablas iguales: " + porLineas.equals(mapeada));
+        }
+
+        // 3 El modo mapeado reconoce campos entre comillas con separadores, saltos de línea y comillas escapadas
+
+        Path archivo = Files.createTempFile("comillas", ".csv");
+        Files.writeString(archivo, "nombre,nota,comentario\r\n"
+                + "Ana,7.5,\"simple\"\r\n"
+                + "\"Pérez, Luis\",NA,\"dijo \"\"hola\"\"\"\r\n"
+                + "Eva,9,\"dos\nlíneas\"\r\n");
+        Tabla comillas = csv.leer(archivo.toString(), mapeo);
+        consola.visualizar(comillas);
+        System.out.println("Tipo de nota: " + comillas.getColumna("nota").getTipoDato().getSimpleName());
+        Files.delete(archivo);
+    }
+}
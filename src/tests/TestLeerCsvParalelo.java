@@ -0,0 +1,39 @@
+package tests;
+
+import jandas.base.data.Tabla;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.io.csv.LeerCsvParalelo;
+import jandas.visualizacion.VConsola;
+import jandas.visualizacion.Visualizable;
+
+public class TestLeerCsvParalelo {
+
+    public static void main(String[] args) {
+
+        Visualizable consola = new VConsola();
+
+        // 1 Leo el mismo archivo con el lector secuencial y con el paralelo
+
+        LectorCsv secuencial = new LeerCsv();
+        LectorCsv paralelo = new LeerCsvParalelo(4);
+
+        long inicio = System.nanoTime();
+        Tabla resultados = secuencial.leer("df/results.csv");
+        System.out.printf("LeerCsv: %d filas en %.1f ms%n", resultados.cantFilas(), (System.nanoTime() - inicio) / 1_000_000.0);
+
+        inicio = System.nanoTime();
+        Tabla resultadosParalelo = paralelo.leer("df/results.csv");
+        System.out.printf("LeerCsvParalelo: %d filas en %.1f ms%n", resultadosParalelo.cantFilas(), (System.nanoTime() - inicio) / 1_000_000.0);
+
+        // 2 Ambos lectores producen la misma tabla
+
+        System.out.println("Tablas iguales: " + resultados.equals(resultadosParalelo));
+
+        Tabla vuelos = secuencial.leer("df/flights_september.csv");
+        Tabla vuelosParalelo = paralelo.leer("df/flights_september.csv");
+        System.out.println("Tablas iguales: " + vuelos.equals(vuelosParalelo));
+
+        consola.visualizar(resultadosParalelo.tail(5));
+    }
+}
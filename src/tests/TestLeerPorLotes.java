@@ -0,0 +1,109 @@
+package tests;
+
+import jandas.base.data.Tabla;
+import jandas.io.csv.CsvConfig;
+import jandas.io.csv.EscribirCsv;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.io.csv.LotesCsv;
+import jandas.operaciones.estadisticas.OperacionEstadistica;
+import jandas.operaciones.filtros.Condicion;
+import jandas.operaciones.filtros.CondicionComparacion;
+import jandas.visualizacion.VConsola;
+import jandas.visualizacion.Visualizable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class TestLeerPorLotes {
+
+    private static final int TAM_LOTE = 5_000;
+
+    public static void main(String[] args) throws IOException {
+
+        Visualizable consola = new VConsola();
+        LectorCsv csv = new LeerCsv();
+        Condicion demorados = new CondicionComparacion("dep_delay", ">", 60);
+
+        // 1 Recorro el archivo por lotes: solo un lote está en memoria a la vez
+
+        int lotes = 0;
+        int filas = 0;
+        int filasDemoradas = 0;
+        Map<String, Double> vuelosPorAerolinea = new TreeMap<>();
+        try (LotesCsv lector = csv.leerPorLotes("df/flights_september.csv", TAM_LOTE)) {
+            while (lector.hasNext()) {
+                Tabla lote = lector.next();
+                lotes++;
+                filas += lote.cantFilas();
+
+                // 2 Filtrar y agrupar funcionan sobre cada lote
+                filasDemoradas += lote.filtrar(demorados).cantFilas();
+                Tabla cuenta = lote.agruparPor("carrier", OperacionEstadistica.CUENTA);
+                for (int i = 0; i < cuenta.cantFilas(); i++) {
+                    String aerolinea = (String) cuenta.getColumna("Grupo").getCelda(i).getValor();
+                    Double cantidad = (Double) cuenta.getColumna("flight").getCelda(i).getValor();
+                    vuelosPorAerolinea.merge(aerolinea, cantidad, Double::sum);
+                }
+            }
+        }
+        System.out.println("Lotes: " + lotes + ", filas: " + filas + ", demorados: " + filasDemoradas);
+        System.out.println("Vuelos por aerolínea: " + vuelosPorAerolinea);
+
+        // 3 El resultado coincide con leer el archivo completo
+
+        Tabla completa = csv.leer("df/flights_september.csv");
+        System.out.println("Mismas filas: " + (filas == completa.cantFilas()));
+        System.out.println("Mismos demorados: " + (filasDemoradas == completa.filtrar(demorados).cantFilas()));
+
+        // 4 Escribo los vuelos demorados lote por lote en un único archivo
+
+        LotesCsv lector = csv.leerPorLotes("df/flights_september.csv", TAM_LOTE);
+        Iterator<Tabla> filtrados = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return lector.hasNext();
+            }
+
+            @Override
+            public Tabla next() {
+                return lector.next().filtrar(demorados);
+            }
+        };
+        Path archivo = Files.createTempFile("demorados", ".csv");
+        try {
+            new EscribirCsv().escribirPorLotes(filtrados, archivo.toString());
+
+            Tabla escrita = csv.leer(archivo.toString());
+            System.out.println("Filas escritas: " + escrita.cantFilas());
+            consola.visualizar(escrita.head(5));
+
+            // 5 Los tipos se infieren con más filas que un lote: una columna vacía al principio
+            //   toma el tipo de los valores que aparecen después
+
+            StringBuilder texto = new StringBuilder("id,retraso\n");
+            for (int i = 0; i < 500; i++) {
+                texto.append(i).append(',').append(i < 300 ? "NA" : i % 2 == 0 ? "1.5" : "2").append('\n');
+            }
+            Files.writeString(archivo, texto);
+            CsvConfig config = new CsvConfig();
+            config.setFilasInferencia(400);
+            double suma = 0;
+            try (LotesCsv chicos = csv.leerPorLotes(archivo.toString(), 50, config)) {
+                while (chicos.hasNext()) {
+                    Tabla lote = chicos.next();
+                    for (int i = 0; i < lote.cantFilas(); i++) {
+                        suma += lote.getColumna("retraso").isNA(i) ? 0 : lote.getColumna("retraso").getDouble(i);
+                    }
+                }
+            }
+            System.out.println("Suma de retrasos en lotes de 50: " + suma);
+        } finally {
+            Files.delete(archivo);
+        }
+    }
+}
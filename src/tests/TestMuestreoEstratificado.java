@@ -0,0 +1,116 @@
+package tests;
+
+import jandas.base.data.Celda;
+import jandas.base.data.Columna;
+import jandas.base.data.Tabla;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.operaciones.muestreo.ModoMuestreo;
+import jandas.operaciones.muestreo.MuestreadorTabla;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestMuestreoEstratificado {
+
+    private static final int REPETICIONES = 5;
+
+    public static void main(String[] args) {
+
+        LectorCsv csv = new LeerCsv();
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+
+        // 1 Estratificar por una columna de muchos valores: búsqueda lineal contra tabla hash
+
+        long inicio = System.nanoTime();
+        int estratosLineal = agruparLineal(vuelos.getColumna("tailnum")).size();
+        System.out.printf("Búsqueda lineal de estratos: %d estratos (%.1f ms)%n",
+                estratosLineal, (System.nanoTime() - inicio) / 1_000_000.0);
+
+        Tabla muestra = null;
+        for (int r = 0; r < REPETICIONES; r++) {
+            inicio = System.nanoTime();
+            muestra = vuelos.muestrearEstratificado("tailnum", 10);
+            double msSecuencial = (System.nanoTime() - inicio) / 1_000_000.0;
+
+            inicio = System.nanoTime();
+            Tabla paralela = vuelos.muestrearEstratificado("tailnum", 10, ModoMuestreo.PARALELO);
+            double msParalelo = (System.nanoTime() - inicio) / 1_000_000.0;
+            System.out.printf("Ronda %d: secuencial %.1f ms, paralelo %.1f ms (%d / %d filas)%n",
+                    r + 1, msSecuencial, msParalelo, muestra.cantFilas(), paralela.cantFilas());
+        }
+
+        // 2 Cada estrato aporta max(1, round(10% de sus filas)) filas
+
+        Map<Object, Integer> porEstrato = contar(vuelos.getColumna("tailnum"));
+        Map<Object, Integer> enMuestra = contar(muestra.getColumna("tailnum"));
+        boolean cantidadesCorrectas = true;
+        for (Map.Entry<Object, Integer> estrato : porEstrato.entrySet()) {
+            int esperado = Math.max(1, (int) Math.round(estrato.getValue() * 10 / 100.0));
+            cantidadesCorrectas &= enMuestra.getOrDefault(estrato.getKey(), 0) == esperado;
+        }
+        System.out.println("Estratos: " + porEstrato.size() + ", cantidades por estrato correctas: " + cantidadesCorrectas);
+
+        // 3 Con la misma semilla, ambos modos dan la misma muestra
+
+        MuestreadorTabla.setSemilla(7);
+        Tabla secuencial = vuelos.muestrearEstratificado("carrier", 5, ModoMuestreo.SECUENCIAL);
+        MuestreadorTabla.setSemilla(7);
+        Tabla paralela = vuelos.muestrearEstratificado("carrier", 5, ModoMuestreo.PARALELO);
+        System.out.println("Misma muestra en ambos modos: "
+                + secuencial.getEtiquetasFilas().equals(paralela.getEtiquetasFilas()));
+
+        // 4 También con columnas no codificadas por diccionario (NA forma su propio estrato)
+
+        Tabla porDemora = vuelos.muestrearEstratificado("dep_delay", 50);
+        System.out.println("Estratificado por dep_delay: " + porDemora.cantFilas() + " filas, "
+                + contar(vuelos.getColumna("dep_delay")).size() + " estratos");
+    }
+
+    /**
+     * Agrupa las filas por valor buscando cada valor en la lista de valores únicos,
+     * como lo hacía el muestreo estratificado antes de usar una tabla hash.
+     *
+     * @param columna Columna por la cual agrupar
+     * @return Filas de cada estrato
+     */
+    private static List<List<Integer>> agruparLineal(Columna<?> columna) {
+        List<List<Integer>> grupos = new ArrayList<>();
+        List<Object> valoresUnicos = new ArrayList<>();
+        for (int i = 0; i < columna.size(); i++) {
+            Celda<?> celda = columna.getCelda(i);
+            Object valor = celda.esNA() ? null : celda.getValor();
+            int indiceGrupo = -1;
+            for (int j = 0; j < valoresUnicos.size(); j++) {
+                Object valorExistente = valoresUnicos.get(j);
+                if ((valor == null && valorExistente == null) || (valor != null && valor.equals(valorExistente))) {
+                    indiceGrupo = j;
+                    break;
+                }
+            }
+            if (indiceGrupo == -1) {
+                valoresUnicos.add(valor);
+                grupos.add(new ArrayList<>());
+                indiceGrupo = grupos.size() - 1;
+            }
+            grupos.get(indiceGrupo).add(i);
+        }
+        return grupos;
+    }
+
+    /**
+     * Cuenta las filas de cada valor de una columna.
+     *
+     * @param columna Columna a contar
+     * @return Cantidad de filas por valor (null para NA)
+     */
+    private static Map<Object, Integer> contar(Columna<?> columna) {
+        Map<Object, Integer> cuentas = new HashMap<>();
+        for (int i = 0; i < columna.size(); i++) {
+            cuentas.merge(columna.getCelda(i).getValor(), 1, Integer::sum);
+        }
+        return cuentas;
+    }
+}
@@ -0,0 +1,136 @@
+package tests;
+
+import jandas.base.data.ColumnaInt;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.EtiquetaString;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.io.csv.LotesCsv;
+import jandas.operaciones.muestreo.MuestreadorTabla;
+import jandas.visualizacion.VConsola;
+import jandas.visualizacion.Visualizable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+public class TestMuestreoReservorio {
+
+    private static final int FILAS = 5_000_000;
+
+    private static final int REPETICIONES = 5;
+
+    public static void main(String[] args) {
+
+        Visualizable consola = new VConsola();
+
+        // 1 Muestra del 1% de una tabla grande: Floyd contra mezclar todos los índices
+
+        ColumnaInt numeros = new ColumnaInt(new EtiquetaString("numero"));
+        for (int i = 0; i < FILAS; i++) {
+            numeros.agregarInt(i);
+        }
+        Tabla grande = new Tabla();
+        grande.agregarColumna(numeros);
+
+        Random random = new Random(1);
+        for (int r = 0; r < REPETICIONES; r++) {
+            long inicio = System.nanoTime();
+            Tabla muestra = grande.muestrear(1);
+            double msFloyd = (System.nanoTime() - inicio) / 1_000_000.0;
+
+            inicio = System.nanoTime();
+            List<Integer> todos = IntStream.range(0, FILAS).boxed()
+                    .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+            Collections.shuffle(todos, random);
+            List<Integer> mezclados = new ArrayList<>(todos.subList(0, muestra.cantFilas()));
+            double msMezcla = (System.nanoTime() - inicio) / 1_000_000.0;
+
+            System.out.printf("Ronda %d: muestrear(1%%) %.1f ms, solo mezclar índices %.1f ms (%d filas)%n",
+                    r + 1, msFloyd, msMezcla, mezclados.size());
+        }
+
+        // 2 Los índices son distintos, ordenados y uniformes
+
+        Tabla muestra = grande.muestrear(50_000, true);
+        boolean ordenados = true;
+        for (int i = 1; i < muestra.cantFilas(); i++) {
+            ordenados &= muestra.getColumna("numero").getInt(i - 1) < muestra.getColumna("numero").getInt(i);
+        }
+        System.out.println("Distintos y ordenados: " + ordenados + " (" + muestra.cantFilas() + " filas)");
+
+        Tabla chica = grande.head(10);
+        int[] frecuencias = new int[10];
+        MuestreadorTabla.setSemilla(42);
+        for (int r = 0; r < 100_000; r++) {
+            Tabla elegidas = chica.muestrear(3, true);
+            for (int i = 0; i < elegidas.cantFilas(); i++) {
+                frecuencias[elegidas.getColumna("numero").getInt(i)]++;
+            }
+        }
+        System.out.println("Frecuencia de cada fila (esperado 30000): " + java.util.Arrays.toString(frecuencias));
+
+        // 3 Reservorio sobre lotes de una tabla: cada fila con la misma probabilidad
+
+        Tabla cien = grande.head(100);
+        int[] frecuenciasReservorio = new int[100];
+        for (int r = 0; r < 20_000; r++) {
+            Tabla elegidas = MuestreadorTabla.muestrearReservorio(lotes(cien, 7), 10);
+            for (int i = 0; i < elegidas.cantFilas(); i++) {
+                frecuenciasReservorio[elegidas.getColumna("numero").getInt(i)]++;
+            }
+        }
+        int minimo = IntStream.of(frecuenciasReservorio).min().getAsInt();
+        int maximo = IntStream.of(frecuenciasReservorio).max().getAsInt();
+        System.out.println("Reservorio, frecuencia mínima y máxima (esperado 2000): " + minimo + " / " + maximo);
+
+        // 4 Muestra de un CSV leído por lotes, sin cargar el archivo
+
+        LectorCsv csv = new LeerCsv();
+        long inicio = System.nanoTime();
+        Tabla vuelos;
+        try (LotesCsv lector = csv.leerPorLotes("df/flights_september.csv", 5_000)) {
+            vuelos = MuestreadorTabla.muestrearReservorio(lector, 8);
+        }
+        System.out.printf("Muestra del CSV por lotes: %d filas (%.1f ms)%n",
+                vuelos.cantFilas(), (System.nanoTime() - inicio) / 1_000_000.0);
+        consola.visualizar(vuelos);
+
+        Tabla completo = csv.leer("df/flights_september.csv");
+        boolean coinciden = true;
+        for (int i = 0; i < vuelos.cantFilas(); i++) {
+            int fila = (Integer) vuelos.etiquetasFilasVista().get(i).getValor();
+            coinciden &= completo.getColumna("tailnum").getCelda(fila).equals(vuelos.getColumna("tailnum").getCelda(i));
+        }
+        System.out.println("Las etiquetas apuntan a las filas del archivo: " + coinciden);
+    }
+
+    /**
+     * Divide una tabla en lotes consecutivos.
+     *
+     * @param tabla Tabla a dividir
+     * @param tamLote Cantidad máxima de filas por lote
+     * @return Iterador de lotes
+     */
+    private static Iterator<Tabla> lotes(Tabla tabla, int tamLote) {
+        return new Iterator<>() {
+            private int inicio = 0;
+
+            @Override
+            public boolean hasNext() {
+                return inicio < tabla.cantFilas();
+            }
+
+            @Override
+            public Tabla next() {
+                int fin = Math.min(inicio + tamLote, tabla.cantFilas());
+                Tabla lote = tabla.vistaFilas(IntStream.range(inicio, fin).toArray());
+                inicio = fin;
+                return lote;
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package tests;
+
+import jandas.base.data.Tabla;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.io.csv.LotesCsv;
+import jandas.operaciones.muestreo.ModoMuestreo;
+import jandas.operaciones.muestreo.MuestreadorTabla;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+public class TestMuestreoSemilla {
+
+    private static final int LLAMADAS = 32;
+
+    public static void main(String[] args) throws Exception {
+
+        LectorCsv csv = new LeerCsv();
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+
+        // 1 La misma semilla da la misma muestra; otra semilla, otra muestra
+
+        Tabla a = vuelos.muestrear(1, 42L);
+        Tabla b = vuelos.muestrear(1, 42L);
+        Tabla c = vuelos.muestrear(1, 43L);
+        System.out.println("Misma semilla, misma muestra: " + a.getEtiquetasFilas().equals(b.getEtiquetasFilas()));
+        System.out.println("Otra semilla, otra muestra: " + !a.getEtiquetasFilas().equals(c.getEtiquetasFilas()));
+
+        // 2 Llamadas concurrentes con semilla propia: el resultado no depende del orden de los hilos
+
+        List<List<?>> esperadas = new ArrayList<>();
+        for (int i = 0; i < LLAMADAS; i++) {
+            esperadas.add(vuelos.muestrear(100, true, i).getEtiquetasFilas());
+        }
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        List<Future<List<?>>> futuras = new ArrayList<>();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < LLAMADAS; i++) {
+            long semilla = i;
+            futuras.add(hilos.submit(() -> vuelos.muestrear(100, true, semilla).getEtiquetasFilas()));
+        }
+        boolean iguales = true;
+        for (int i = 0; i < LLAMADAS; i++) {
+            iguales &= futuras.get(i).get().equals(esperadas.get(i));
+        }
+        hilos.shutdown();
+        System.out.printf("%d llamadas concurrentes iguales a las secuenciales: %b (%.1f ms)%n",
+                LLAMADAS, iguales, (System.nanoTime() - inicio) / 1_000_000.0);
+
+        // 3 Estratificado paralelo: misma muestra con cualquier cantidad de hilos
+
+        List<?> secuencial = vuelos.muestrearEstratificado("tailnum", 10, ModoMuestreo.SECUENCIAL, 7L).getEtiquetasFilas();
+        for (int paralelismo : new int[]{1, 2, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(paralelismo);
+            List<?> paralela = pool.submit(() ->
+                    vuelos.muestrearEstratificado("tailnum", 10, ModoMuestreo.PARALELO, 7L).getEtiquetasFilas()).get();
+            pool.shutdown();
+            System.out.println("Paralelo con " + paralelismo + " hilos igual al secuencial: " + paralela.equals(secuencial));
+        }
+
+        // 4 El reservorio sobre lotes también acepta una semilla
+
+        List<?> primera;
+        List<?> segunda;
+        try (LotesCsv lector = csv.leerPorLotes("df/flights_september.csv", 5_000)) {
+            primera = MuestreadorTabla.muestrearReservorio(lector, 20, 11L).getEtiquetasFilas();
+        }
+        try (LotesCsv lector = csv.leerPorLotes("df/flights_september.csv", 3_000)) {
+            segunda = MuestreadorTabla.muestrearReservorio(lector, 20, 11L).getEtiquetasFilas();
+        }
+        System.out.println("Reservorio con la misma semilla y otro tamaño de lote: " + primera.equals(segunda));
+
+        // 5 setSemilla sigue fijando la secuencia de las llamadas sin semilla
+
+        MuestreadorTabla.setSemilla(5);
+        List<?> primeraLlamada = vuelos.muestrear(1).getEtiquetasFilas();
+        MuestreadorTabla.setSemilla(5);
+        System.out.println("setSemilla reproducible: " + vuelos.muestrear(1).getEtiquetasFilas().equals(primeraLlamada));
+    }
+}
@@ -0,0 +1,101 @@
+package tests;
+
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.Etiqueta;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.operaciones.ordenamiento.ComparadorMultiplesCriterios;
+import jandas.operaciones.ordenamiento.CriterioOrden;
+import jandas.operaciones.ordenamiento.Orden;
+import jandas.operaciones.ordenamiento.OrdenadorTabla;
+import jandas.visualizacion.VConsola;
+import jandas.visualizacion.Visualizable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestOrdenClaves {
+
+    private static final int COPIAS = 8;
+    private static final int REPETICIONES = 3;
+
+    public static void main(String[] args) {
+
+        Visualizable consola = new VConsola();
+        LectorCsv csv = new LeerCsv();
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+
+        // 1 Mismo orden que el comparador celda a celda (incluye NA, DESC y texto sin diccionario)
+
+        String[][] casos = {
+                {"carrier DESC", "dep_delay"},
+                {"origin", "dest", "sched_dep_time DESC"},
+                {"tailnum", "arr_delay DESC"},
+                {"dep_delay DESC", "air_time DESC", "time_hour"}
+        };
+        for (String[] caso : casos) {
+            System.out.println(Arrays.toString(caso) + " igual al comparador: "
+                    + mismoOrden(vuelos, vuelos.ordenar(caso), criterios(caso)));
+        }
+        consola.visualizar(vuelos.ordenar("carrier DESC", "dep_delay").head(3));
+
+        // 2 Tiempos sobre una tabla más grande
+
+        Tabla grande = vuelos;
+        for (int i = 1; i < COPIAS; i++) {
+            grande = grande.concatenacion(vuelos);
+        }
+        System.out.println("Filas: " + grande.cantFilas());
+        String[] criterios = {"origin", "dest", "sched_dep_time DESC", "tailnum"};
+        for (int r = 0; r < REPETICIONES; r++) {
+            long inicio = System.nanoTime();
+            grande.ordenar(criterios);
+            double msClaves = (System.nanoTime() - inicio) / 1_000_000.0;
+
+            inicio = System.nanoTime();
+            Integer[] indices = new Integer[grande.cantFilas()];
+            Arrays.setAll(indices, i -> i);
+            Arrays.sort(indices, new ComparadorMultiplesCriterios(criterios(criterios), grande));
+            double msComparador = (System.nanoTime() - inicio) / 1_000_000.0;
+            System.out.printf("Ronda %d: claves %.1f ms, comparador (solo índices) %.1f ms%n", r + 1, msClaves, msComparador);
+        }
+    }
+
+    /**
+     * Convierte criterios en texto ("Columna DESC") a objetos {@link CriterioOrden}.
+     *
+     * @param textos Criterios en texto
+     * @return Lista de criterios
+     */
+    private static List<CriterioOrden> criterios(String[] textos) {
+        List<CriterioOrden> lista = new ArrayList<>();
+        for (String texto : textos) {
+            String[] partes = texto.split(" ");
+            lista.add(partes.length > 1 ? OrdenadorTabla.desc(partes[0]) : OrdenadorTabla.asc(partes[0]));
+        }
+        return lista;
+    }
+
+    /**
+     * Verifica que las filas de la tabla ordenada estén en el orden que da el comparador.
+     * Las etiquetas de filas de la tabla ordenada son las posiciones originales.
+     *
+     * @param original Tabla original
+     * @param ordenada Tabla ordenada
+     * @param criterios Criterios de orden
+     * @return true si el orden coincide
+     */
+    private static boolean mismoOrden(Tabla original, Tabla ordenada, List<CriterioOrden> criterios) {
+        Integer[] indices = new Integer[original.cantFilas()];
+        Arrays.setAll(indices, i -> i);
+        Arrays.sort(indices, new ComparadorMultiplesCriterios(criterios, original));
+        List<Etiqueta> etiquetas = ordenada.etiquetasFilasVista();
+        for (int i = 0; i < indices.length; i++) {
+            if (!etiquetas.get(i).getValor().equals(indices[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
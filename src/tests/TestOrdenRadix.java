@@ -0,0 +1,64 @@
+package tests;
+
+import jandas.base.data.Tabla;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.operaciones.ordenamiento.CriterioOrden;
+import jandas.operaciones.ordenamiento.Orden;
+import jandas.operaciones.ordenamiento.OrdenadorTabla;
+import jandas.visualizacion.VConsola;
+import jandas.visualizacion.Visualizable;
+
+import java.util.List;
+
+public class TestOrdenRadix {
+
+    private static final int REPETICIONES = 5;
+
+    public static void main(String[] args) {
+
+        Visualizable consola = new VConsola();
+        LectorCsv csv = new LeerCsv();
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+
+        // 1 Un criterio usa radix sort; repetir la columna usa claves de varios criterios. El orden es el mismo
+
+        String[] columnas = {"dep_delay", "arr_delay", "distance", "carrier", "tailnum", "air_time"};
+        for (String columna : columnas) {
+            for (Orden orden : Orden.values()) {
+                Tabla radix = OrdenadorTabla.ordenar(vuelos, columna, orden);
+                Tabla claves = OrdenadorTabla.ordenarPorCriterios(vuelos,
+                        List.of(criterio(columna, orden), criterio(columna, orden)));
+                System.out.println(columna + " " + orden + " iguales: " + radix.equals(claves));
+            }
+        }
+
+        // 2 Los NA quedan al final también en orden descendente
+
+        consola.visualizar(vuelos.ordenar("dep_delay DESC").tail(3));
+
+        // 3 Tiempos: radix sort de un criterio contra claves de dos criterios
+
+        for (int r = 0; r < REPETICIONES; r++) {
+            long inicio = System.nanoTime();
+            vuelos.ordenar("dep_delay DESC");
+            double msRadix = (System.nanoTime() - inicio) / 1_000_000.0;
+
+            inicio = System.nanoTime();
+            vuelos.ordenar("dep_delay DESC", "dep_delay DESC");
+            double msClaves = (System.nanoTime() - inicio) / 1_000_000.0;
+            System.out.printf("Ronda %d: radix %.1f ms, claves %.1f ms%n", r + 1, msRadix, msClaves);
+        }
+    }
+
+    /**
+     * Crea un criterio de orden para una columna.
+     *
+     * @param columna Nombre de la columna
+     * @param orden Dirección del orden
+     * @return Criterio de orden
+     */
+    private static CriterioOrden criterio(String columna, Orden orden) {
+        return orden == Orden.ASCENDENTE ? OrdenadorTabla.asc(columna) : OrdenadorTabla.desc(columna);
+    }
+}
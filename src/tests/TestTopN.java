@@ -0,0 +1,59 @@
+package tests;
+
+import jandas.base.data.Tabla;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.visualizacion.VConsola;
+import jandas.visualizacion.Visualizable;
+
+public class TestTopN {
+
+    private static final int COPIAS = 8;
+    private static final int REPETICIONES = 5;
+
+    public static void main(String[] args) {
+
+        Visualizable consola = new VConsola();
+        LectorCsv csv = new LeerCsv();
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+
+        // 1 Las 5 mayores demoras
+        consola.visualizar(vuelos.topN(5, "dep_delay DESC"));
+
+        // 2 Mismo resultado que ordenar y tomar las primeras filas (empates en orden original, NA al final)
+
+        String[][] casos = {
+                {"dep_delay DESC"},
+                {"dep_delay"},
+                {"carrier", "arr_delay DESC"},
+                {"origin DESC", "tailnum"}
+        };
+        for (String[] caso : casos) {
+            for (int n : new int[]{1, 100, 27_000, 30_000}) {
+                boolean iguales = vuelos.topN(n, caso).equals(vuelos.ordenar(caso).head(n));
+                if (!iguales) {
+                    System.out.println("Diferencia en " + String.join(", ", caso) + " con n = " + n);
+                }
+            }
+        }
+        System.out.println("topN coincide con ordenar + head");
+
+        // 3 Tiempos sobre una tabla más grande
+
+        Tabla grande = vuelos;
+        for (int i = 1; i < COPIAS; i++) {
+            grande = grande.concatenacion(vuelos);
+        }
+        System.out.println("Filas: " + grande.cantFilas());
+        for (int r = 0; r < REPETICIONES; r++) {
+            long inicio = System.nanoTime();
+            grande.topN(100, "arr_delay DESC", "dep_delay DESC");
+            double msTopN = (System.nanoTime() - inicio) / 1_000_000.0;
+
+            inicio = System.nanoTime();
+            grande.ordenar("arr_delay DESC", "dep_delay DESC").head(100);
+            double msOrdenar = (System.nanoTime() - inicio) / 1_000_000.0;
+            System.out.printf("Ronda %d: topN %.1f ms, ordenar + head %.1f ms%n", r + 1, msTopN, msOrdenar);
+        }
+    }
+}
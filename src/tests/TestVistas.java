@@ -0,0 +1,80 @@
+package tests;
+
+import jandas.base.data.Celda;
+import jandas.base.data.Columna;
+import jandas.base.data.ColumnaInt;
+import jandas.base.data.Tabla;
+import jandas.base.etiquetas.Etiqueta;
+import jandas.base.etiquetas.EtiquetaString;
+import jandas.operaciones.ordenamiento.Orden;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+public class TestVistas {
+
+    private static final int FILAS = 1_000_000;
+
+    private static final com.sun.management.ThreadMXBean HILOS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+
+        // 1 Creo una tabla de un millón de filas con una columna genérica y una primitiva
+
+        Columna<String> nombres = new Columna<>(new EtiquetaString("nombre"), String.class);
+        ColumnaInt numeros = new ColumnaInt(new EtiquetaString("numero"));
+        for (int i = 0; i < FILAS; i++) {
+            nombres.agregarCelda(new Celda<>("n" + (i % 100)));
+            numeros.agregarInt(FILAS - i);
+        }
+        Tabla df = new Tabla();
+        df.agregarColumna(nombres);
+        df.agregarColumna(numeros);
+
+        // 2 Perfil de asignaciones: copia defensiva contra vista
+
+        long bytes = asignado();
+        List<Celda<String>> copia = nombres.getCeldas();
+        System.out.printf("getCeldas(): %,d bytes asignados%n", asignado() - bytes);
+
+        bytes = asignado();
+        List<Celda<String>> vista = nombres.vista();
+        System.out.printf("vista(): %,d bytes asignados%n", asignado() - bytes);
+        System.out.println("Mismo contenido: " + copia.equals(vista));
+
+        bytes = asignado();
+        List<Etiqueta> etiquetas = df.getEtiquetasFilas();
+        System.out.printf("getEtiquetasFilas(): %,d bytes asignados%n", asignado() - bytes);
+
+        bytes = asignado();
+        List<Etiqueta> etiquetasVista = df.etiquetasFilasVista();
+        System.out.printf("etiquetasFilasVista(): %,d bytes asignados%n", asignado() - bytes);
+        System.out.println("Mismo contenido: " + etiquetas.equals(etiquetasVista));
+
+        // 3 La vista es de solo lectura
+
+        try {
+            vista.add(new Celda<>("x"));
+        } catch (UnsupportedOperationException e) {
+            System.out.println("La vista no se puede modificar");
+        }
+
+        // 4 Ordenar ya no copia las etiquetas de filas por cada fila
+
+        Tabla chica = df.head(20_000);
+        bytes = asignado();
+        Tabla ordenada = chica.ordenar("numero", Orden.ASCENDENTE);
+        System.out.printf("ordenar 20.000 filas: %,d bytes asignados (primera etiqueta: %s)%n",
+                asignado() - bytes, ordenada.etiquetasFilasVista().get(0));
+    }
+
+    /**
+     * Devuelve los bytes asignados hasta el momento por el hilo actual.
+     *
+     * @return Bytes asignados por el hilo actual
+     */
+    private static long asignado() {
+        return HILOS.getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+}
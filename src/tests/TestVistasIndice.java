@@ -0,0 +1,108 @@
+package tests;
+
+import jandas.base.data.Celda;
+import jandas.base.data.Columna;
+import jandas.base.data.ColumnaSeleccion;
+import jandas.base.data.Tabla;
+import jandas.io.csv.LectorCsv;
+import jandas.io.csv.LeerCsv;
+import jandas.operaciones.filtros.CondicionComparacion;
+import jandas.operaciones.ordenamiento.Orden;
+import jandas.visualizacion.VConsola;
+import jandas.visualizacion.Visualizable;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestVistasIndice {
+
+    private static final int REPETICIONES = 5;
+
+    private static final com.sun.management.ThreadMXBean HILOS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+
+        Visualizable consola = new VConsola();
+
+        LectorCsv csv = new LeerCsv();
+        Tabla vuelos = csv.leer("df/flights_september.csv");
+
+        // 1 filtrar -> ordenar -> head con vistas de índices contra copias en cada paso
+
+        CondicionComparacion demorados = new CondicionComparacion("dep_delay", ">", 0);
+        Tabla conVistas = null;
+        Tabla conCopias = null;
+        for (int r = 0; r < REPETICIONES; r++) {
+            long bytes = asignado();
+            long inicio = System.nanoTime();
+            conVistas = vuelos.filtrar(demorados).ordenar("arr_delay", Orden.DESCENDENTE).head(10);
+            double msVistas = (System.nanoTime() - inicio) / 1_000_000.0;
+            long bytesVistas = asignado() - bytes;
+
+            bytes = asignado();
+            inicio = System.nanoTime();
+            conCopias = copiar(copiar(copiar(vuelos.filtrar(demorados)).ordenar("arr_delay", Orden.DESCENDENTE)).head(10));
+            double msCopias = (System.nanoTime() - inicio) / 1_000_000.0;
+            long bytesCopias = asignado() - bytes;
+
+            System.out.printf("Ronda %d: vistas %.1f ms / %,d bytes, copias %.1f ms / %,d bytes%n",
+                    r + 1, msVistas, bytesVistas, msCopias, bytesCopias);
+        }
+        System.out.println("Mismo resultado: " + conVistas.columnasVista().equals(conCopias.columnasVista())
+                + " " + conVistas.getEtiquetasFilas().equals(conCopias.getEtiquetasFilas()));
+        System.out.println("Columna del resultado es una vista: "
+                + (conVistas.getColumna("carrier") instanceof ColumnaSeleccion));
+        consola.visualizar(conVistas);
+
+        // 2 Copia al escribir: modificar la vista no altera la tabla original
+
+        Tabla primeras = vuelos.head(3);
+        @SuppressWarnings("unchecked")
+        Columna<Object> destinos = (Columna<Object>) primeras.getColumna("dest");
+        destinos.setCelda(0, new Celda<>("XXX"));
+        System.out.println("Vista modificada: " + primeras.getColumna("dest").getCelda(0)
+                + ", original: " + vuelos.getColumna("dest").getCelda(0)
+                + ", materializada: " + ((ColumnaSeleccion<?>) primeras.getColumna("dest")).estaMaterializada());
+
+        // 3 Copia al escribir: modificar la tabla original no altera las vistas ya creadas
+
+        Tabla ultimas = vuelos.tail(2);
+        Celda<?> antes = ultimas.getColumna("distance").getCelda(1);
+        @SuppressWarnings("unchecked")
+        Columna<Object> distancias = (Columna<Object>) vuelos.getColumna("distance");
+        distancias.setCelda(vuelos.cantFilas() - 1, new Celda<>(-999));
+        System.out.println("Vista antes: " + antes + ", vista después: " + ultimas.getColumna("distance").getCelda(1)
+                + ", original: " + distancias.getCelda(vuelos.cantFilas() - 1));
+    }
+
+    /**
+     * Copia todas las columnas de una tabla, como hacían filtrar, ordenar y head antes de las vistas.
+     *
+     * @param tabla Tabla a copiar
+     * @return Nueva tabla con columnas propias
+     */
+    private static Tabla copiar(Tabla tabla) {
+        int[] todas = new int[tabla.cantFilas()];
+        for (int i = 0; i < todas.length; i++) {
+            todas[i] = i;
+        }
+        List<Columna<?>> columnas = new ArrayList<>();
+        for (Columna<?> columna : tabla.columnasVista()) {
+            columnas.add(columna.seleccionarFilas(todas));
+        }
+        Tabla copia = new Tabla(tabla.getEtiquetasColumnas(), columnas);
+        copia.setEtiquetasFilas(tabla.getEtiquetasFilas());
+        return copia;
+    }
+
+    /**
+     * Devuelve los bytes asignados hasta el momento por el hilo actual.
+     *
+     * @return Bytes asignados por el hilo actual
+     */
+    private static long asignado() {
+        return HILOS.getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+}